@@ -0,0 +1,50 @@
+package com.store.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea en Postgres el índice de trigramas sobre el artículo de los productos.
+ *
+ * Las búsquedas por subcadena del repositorio (findByArticuloContainingIgnoreCase)
+ * se traducen a {@code upper(articulo) like upper(?)}, que con un índice B-tree
+ * recorre toda la tabla. Un índice GIN con pg_trgm sobre la misma expresión permite
+ * resolverlas por índice. Con otras bases de datos (H2 en los tests) no hace nada y
+ * las búsquedas del buscador se resuelven con IndiceArticulos en memoria.
+ */
+@Component
+public class IndiceTrigramaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTrigramaInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndiceTrigramaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Habilita pg_trgm y crea el índice si la base de datos es Postgres.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void crearIndice() {
+        try {
+            String baseDeDatos = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(baseDeDatos)) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_producto_articulo_trgm "
+                    + "ON producto USING gin (upper(articulo) gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            log.warn("No se pudo crear el índice de trigramas sobre producto.articulo", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.store.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas de la aplicación (por ejemplo, la persistencia
+ * periódica de los sketches de ventas).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -51,6 +51,12 @@ public class SecurityConfig {
             .anonymous(anonymous -> anonymous.authorities("ROLE_USER"))
             .authorizeHttpRequests(authz -> authz
 
+                .requestMatchers(HttpMethod.GET, "/api/productos/*/ventas").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/productos/cache/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/productos/valorizacion").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/productos/sin-ventas").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/productos/reposicion", "/api/productos/*/pronostico").hasRole("ADMIN")
+
                 .requestMatchers(HttpMethod.GET, "/api/categorias", "/api/categorias/**").hasAnyRole("ADMIN", "USER")
                 .requestMatchers(HttpMethod.GET, "/api/productos", "/api/productos/**").hasAnyRole("ADMIN", "USER")
                 .requestMatchers(HttpMethod.GET, "/api/companias", "/api/companias/**").hasAnyRole("ADMIN", "USER")
@@ -7,12 +7,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.store.api.dto.categoria.CategoriaCreateDTO;
 import com.store.api.dto.categoria.CategoriaResponseDTO;
 import com.store.api.dto.categoria.CategoriaUpdateDTO;
 import com.store.api.entity.Categoria;
 import com.store.api.service.CategoriaService;
+import com.store.api.service.VersionCatalogo;
+import com.store.api.service.VersionCatalogo.Recurso;
 
 import java.util.List;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,19 +28,29 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final VersionCatalogo versionCatalogo;
 
-    public CategoriaController(CategoriaService categoriaService) {
+    public CategoriaController(CategoriaService categoriaService, VersionCatalogo versionCatalogo) {
         this.categoriaService = categoriaService;
+        this.versionCatalogo = versionCatalogo;
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoriaResponseDTO>> list() {
+    public ResponseEntity<List<CategoriaResponseDTO>> list(WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.CATEGORIAS, request)) {
+            return null;
+        }
         return ResponseEntity.ok(categoriaService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoriaResponseDTO> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoriaService.findById(id));
+    public ResponseEntity<CategoriaResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+        VersionCatalogo.Version version = versionCatalogo.version(Recurso.CATEGORIAS);
+        CategoriaResponseDTO categoria = categoriaService.findById(id);
+        if (versionCatalogo.noModificado(version, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(categoria);
     }
 
     @PostMapping
@@ -2,11 +2,14 @@ package com.store.api.controller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.store.api.dto.compania.CompaniaCreateDTO;
 import com.store.api.dto.compania.CompaniaResponseDTO;
 import com.store.api.dto.compania.CompaniaUpdateDTO;
 import com.store.api.service.CompaniaService;
+import com.store.api.service.VersionCatalogo;
+import com.store.api.service.VersionCatalogo.Recurso;
 
 import java.util.List;
 
@@ -26,19 +29,29 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class CompaniaController {
     
     private final CompaniaService companiaService;
+    private final VersionCatalogo versionCatalogo;
 
-    public CompaniaController(CompaniaService companiaService) {
+    public CompaniaController(CompaniaService companiaService, VersionCatalogo versionCatalogo) {
         this.companiaService = companiaService;
+        this.versionCatalogo = versionCatalogo;
     }
 
     @GetMapping()
-    public ResponseEntity<List<CompaniaResponseDTO>> list() {
+    public ResponseEntity<List<CompaniaResponseDTO>> list(WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.COMPANIAS, request)) {
+            return null;
+        }
         return ResponseEntity.ok(companiaService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompaniaResponseDTO> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(companiaService.findById(id));
+    public ResponseEntity<CompaniaResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+        VersionCatalogo.Version version = versionCatalogo.version(Recurso.COMPANIAS);
+        CompaniaResponseDTO compania = companiaService.findById(id);
+        if (versionCatalogo.noModificado(version, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(compania);
     }
 
     @PostMapping
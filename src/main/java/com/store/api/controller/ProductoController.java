@@ -1,6 +1,8 @@
 package com.store.api.controller;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,34 +10,382 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
+import com.store.api.dto.producto.AlertaStockDTO;
+import com.store.api.dto.producto.BusquedaTextoDTO;
+import com.store.api.dto.producto.FacetasProductoDTO;
+import com.store.api.dto.producto.FiltroProductoDTO;
+import com.store.api.dto.producto.ImportacionProductosDTO;
 import com.store.api.dto.producto.ProductoCreateDTO;
+import com.store.api.dto.producto.ProductoPaginaDTO;
+import com.store.api.dto.producto.ProductoPaginaParcialDTO;
 import com.store.api.dto.producto.ProductoResponseDTO;
 import com.store.api.dto.producto.ProductoUpdateDTO;
+import com.store.api.dto.producto.PronosticoProductoDTO;
+import com.store.api.dto.producto.ReposicionDTO;
+import com.store.api.dto.producto.SincronizacionProductosDTO;
+import com.store.api.dto.producto.StockInmovilizadoDTO;
+import com.store.api.dto.producto.SugerenciaProductoDTO;
+import com.store.api.dto.producto.ValorizacionInventarioDTO;
+import com.store.api.dto.venta.VentaPaginaDTO;
+import com.store.api.service.CambiosProductos;
+import com.store.api.service.ImportacionProductosService;
 import com.store.api.service.ProductoService;
+import com.store.api.service.PronosticoDemanda;
+import com.store.api.service.StockInmovilizado;
+import com.store.api.service.VentaService;
+import com.store.api.service.VersionCatalogo;
+import com.store.api.service.VersionCatalogo.Recurso;
+import com.store.api.util.CacheAcotada;
 
 @RestController
 @RequestMapping("/api/productos")
 public class ProductoController {
 
     private final ProductoService productoService;
+    private final VentaService ventaService;
+    private final VersionCatalogo versionCatalogo;
+    private final ImportacionProductosService importacionProductosService;
+    private final CambiosProductos cambiosProductos;
+    private final StockInmovilizado stockInmovilizado;
+    private final PronosticoDemanda pronosticoDemanda;
 
-    public ProductoController(ProductoService productoService) {
+    public ProductoController(ProductoService productoService, VentaService ventaService,
+                              VersionCatalogo versionCatalogo, ImportacionProductosService importacionProductosService,
+                              CambiosProductos cambiosProductos, StockInmovilizado stockInmovilizado,
+                              PronosticoDemanda pronosticoDemanda) {
         this.productoService = productoService;
+        this.ventaService = ventaService;
+        this.versionCatalogo = versionCatalogo;
+        this.importacionProductosService = importacionProductosService;
+        this.cambiosProductos = cambiosProductos;
+        this.stockInmovilizado = stockInmovilizado;
+        this.pronosticoDemanda = pronosticoDemanda;
     }
 
+    /**
+     * Obtiene todos los productos, completos o solo con los campos pedidos.
+     * 
+     * @param fields Campos a incluir en cada producto, separados por coma (opcional)
+     * @return Lista de ProductoResponseDTO, o de mapas campo-valor si se indica fields
+     */
+    @GetMapping(params = {"!page", "!size", "!sort", "!ids"})
+    public ResponseEntity<List<?>> list(
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        List<ProductoResponseDTO> productos = productoService.findAll();
+        return ResponseEntity.ok(fields == null ? productos : ProductoService.seleccionarCampos(productos, fields));
+    }
+
+    /**
+     * Obtiene varios productos por sus IDs en una sola llamada.
+     * 
+     * @param ids IDs de los productos separados por coma (máximo {@value ProductoService#CANTIDAD_IDS_MAXIMA})
+     * @param fields Campos a incluir en cada producto, separados por coma (opcional)
+     * @return Lista de ProductoResponseDTO en el orden pedido, sin los IDs inexistentes, o de
+     *         mapas campo-valor si se indica fields
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<?>> listPorIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        List<ProductoResponseDTO> productos = productoService.findAllById(ids);
+        return ResponseEntity.ok(fields == null ? productos : ProductoService.seleccionarCampos(productos, fields));
+    }
+
+    /**
+     * Obtiene una página de productos sin contar el total de resultados.
+     * 
+     * @param page Número de página empezando en 0 (opcional)
+     * @param size Cantidad de productos por página (opcional, máximo {@value ProductoService#TAMANIO_PAGINA_MAXIMO})
+     * @param sort Criterios de orden con la forma campo[,asc|desc] (opcional, repetible)
+     * @param fields Campos a incluir en cada producto, separados por coma (opcional)
+     * @return ProductoPaginaDTO con los productos y si existe una página siguiente, o
+     *         ProductoPaginaParcialDTO si se indica fields
+     */
     @GetMapping
-    public ResponseEntity<List<ProductoResponseDTO>> list() {
-        return ResponseEntity.ok(productoService.findAll());
+    public ResponseEntity<?> listPaginado(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) List<String> sort,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        ProductoPaginaDTO pagina = productoService.findAll(ProductoService.paginacion(page, size, sort));
+        if (fields == null) {
+            return ResponseEntity.ok(pagina);
+        }
+        return ResponseEntity.ok(new ProductoPaginaParcialDTO(ProductoService.seleccionarCampos(pagina.getProductos(), fields),
+                pagina.getPagina(), pagina.getTamanio(), pagina.isHaySiguiente()));
+    }
+
+    /**
+     * Obtiene las métricas de la caché de productos por ID.
+     * 
+     * @return Estadisticas de aciertos, fallos, desalojos, expiraciones e invalidaciones
+     */
+    @GetMapping("/cache/estadisticas")
+    public ResponseEntity<CacheAcotada.Estadisticas> estadisticasCache() {
+        return ResponseEntity.ok(productoService.estadisticasCache());
+    }
+
+    /**
+     * Busca productos combinando cualquiera de los filtros en una sola consulta a la base de datos.
+     * 
+     * @param companiaId ID de la compañía (opcional)
+     * @param categoriaId ID de la categoría (opcional)
+     * @param articulo Subcadena del artículo (opcional)
+     * @param stock Stock exacto (opcional)
+     * @param precioMin Precio mínimo inclusive (opcional)
+     * @param precioMax Precio máximo inclusive (opcional)
+     * @param page Número de página empezando en 0 (opcional)
+     * @param size Cantidad de productos por página (opcional)
+     * @param sort Criterios de orden con la forma campo[,asc|desc] (opcional, repetible)
+     * @return ProductoPaginaDTO con los productos que cumplen los filtros
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductoPaginaDTO> search(
+            @RequestParam(required = false) Long companiaId,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) String articulo,
+            @RequestParam(required = false) Integer stock,
+            @RequestParam(required = false) Integer precioMin,
+            @RequestParam(required = false) Integer precioMax,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) List<String> sort,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        FiltroProductoDTO filtro = new FiltroProductoDTO(companiaId, categoriaId, articulo, stock, precioMin, precioMax);
+        return ResponseEntity.ok(productoService.buscar(filtro, ProductoService.paginacion(page, size, sort)));
+    }
+
+    /**
+     * Busca productos por subcadena del artículo, ordenados por relevancia.
+     * 
+     * @param articulo Término de búsqueda
+     * @param limite Cantidad máxima de resultados
+     * @return Lista de ProductoResponseDTO que coinciden con el término
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<List<ProductoResponseDTO>> buscar(
+            @RequestParam String articulo,
+            @RequestParam(defaultValue = "" + ProductoService.LIMITE_BUSQUEDA_POR_DEFECTO) int limite,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.buscarPorArticulo(articulo, limite));
+    }
+
+    /**
+     * Busca productos por artículo tolerando errores de tipeo.
+     * 
+     * @param articulo Término de búsqueda
+     * @param limite Cantidad máxima de resultados
+     * @return Lista de ProductoResponseDTO, primero los más parecidos
+     */
+    @GetMapping("/aproximado")
+    public ResponseEntity<List<ProductoResponseDTO>> buscarAproximado(
+            @RequestParam String articulo,
+            @RequestParam(defaultValue = "" + ProductoService.LIMITE_BUSQUEDA_POR_DEFECTO) int limite,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.buscarAproximado(articulo, limite));
+    }
+
+    /**
+     * Busca productos por palabras del artículo o la descripción, ordenados por relevancia.
+     * 
+     * @param q Palabras a buscar
+     * @param page Número de página empezando en 0 (opcional)
+     * @param size Cantidad de productos por página (opcional)
+     * @return BusquedaTextoDTO con la página de productos y el total de coincidencias
+     */
+    @GetMapping("/texto")
+    public ResponseEntity<BusquedaTextoDTO> buscarTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.buscarTexto(q, page, size));
+    }
+
+    /**
+     * Sugiere productos cuyo artículo o descripción tiene una palabra que empieza con el prefijo.
+     * 
+     * @param prefijo Texto ingresado
+     * @param limite Cantidad máxima de sugerencias
+     * @return Lista de SugerenciaProductoDTO
+     */
+    @GetMapping("/autocompletar")
+    public ResponseEntity<List<SugerenciaProductoDTO>> autocompletar(
+            @RequestParam String prefijo,
+            @RequestParam(defaultValue = "" + ProductoService.LIMITE_SUGERENCIAS_POR_DEFECTO) int limite,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.autocompletar(prefijo, limite));
+    }
+
+    /**
+     * Filtra productos por categoría, compañía, banda de precios y stock, con los conteos de cada faceta.
+     * 
+     * @param categoria IDs de categoría (opcional, repetible)
+     * @param compania IDs de compañía (opcional, repetible)
+     * @param banda Índices de banda de precios (opcional, repetible)
+     * @param enStock Disponibilidad de stock (opcional)
+     * @param limite Cantidad máxima de productos a devolver
+     * @return FacetasProductoDTO con los productos, el total y los conteos
+     */
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasProductoDTO> facetas(
+            @RequestParam(required = false) List<Long> categoria,
+            @RequestParam(required = false) List<Long> compania,
+            @RequestParam(required = false) List<Integer> banda,
+            @RequestParam(required = false) Boolean enStock,
+            @RequestParam(defaultValue = "" + ProductoService.TAMANIO_PAGINA_POR_DEFECTO) int limite,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.filtrarPorFacetas(categoria, compania, banda, enStock, limite));
+    }
+
+    /**
+     * Abre un flujo de server-sent events con los cambios de stock y precio de los
+     * productos. Con Last-Event-ID recibe primero los cambios que se perdió.
+     * 
+     * @param ultimoId ID del último evento recibido, al reconectarse (opcional)
+     * @return SseEmitter de la conexión
+     */
+    @GetMapping(value = "/cambios", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter cambios(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoId) {
+        return cambiosProductos.suscribir(ultimoId);
+    }
+
+    /**
+     * Obtiene los productos con stock bajo su umbral de reposición, desde memoria.
+     * 
+     * @return Lista de AlertaStockDTO ordenada por ID de producto
+     */
+    @GetMapping("/stock-bajo")
+    public ResponseEntity<List<AlertaStockDTO>> stockBajo(WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.findStockBajo());
+    }
+
+    /**
+     * Obtiene los productos con stock sin ventas recientes, según la última ejecución de
+     * la búsqueda periódica.
+     * 
+     * @return StockInmovilizadoDTO con los productos y el momento del cálculo
+     */
+    @GetMapping("/sin-ventas")
+    public ResponseEntity<StockInmovilizadoDTO> sinVentas() {
+        return ResponseEntity.ok(stockInmovilizado.obtener());
+    }
+
+    /**
+     * Obtiene los productos a reponer según el último pronóstico de demanda.
+     * 
+     * @return ReposicionDTO con las cantidades sugeridas
+     */
+    @GetMapping("/reposicion")
+    public ResponseEntity<ReposicionDTO> reposicion() {
+        return ResponseEntity.ok(pronosticoDemanda.reposicion());
+    }
+
+    /**
+     * Obtiene el último pronóstico de demanda de un producto.
+     * 
+     * @param id ID del producto
+     * @return PronosticoProductoDTO con la demanda diaria y el punto de pedido
+     */
+    @GetMapping("/{id}/pronostico")
+    public ResponseEntity<PronosticoProductoDTO> pronostico(@PathVariable Long id) {
+        return ResponseEntity.ok(pronosticoDemanda.deProducto(id));
+    }
+
+    /**
+     * Obtiene la valorización del inventario, total o de una categoría o compañía, desde
+     * los totales en memoria.
+     * 
+     * @param categoriaId ID de la categoría (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @return ValorizacionInventarioDTO con las unidades y su valor a costo y a precio cliente
+     */
+    @GetMapping("/valorizacion")
+    public ResponseEntity<ValorizacionInventarioDTO> valorizacion(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long companiaId,
+            WebRequest request) {
+        if (versionCatalogo.noModificado(Recurso.PRODUCTOS, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productoService.valorizacion(categoriaId, companiaId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductoResponseDTO> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(productoService.findById(id));
+    public ResponseEntity<ProductoResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+        VersionCatalogo.Version version = versionCatalogo.version(Recurso.PRODUCTOS);
+        ProductoResponseDTO producto = productoService.findById(id);
+        if (versionCatalogo.noModificado(version, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(producto);
+    }
+
+    /**
+     * Obtiene el historial de ventas de un producto paginado por cursor.
+     * 
+     * @param id ID del producto
+     * @param desde Primer día del rango (opcional, formato ISO)
+     * @param hasta Último día del rango (opcional, formato ISO; por defecto hoy)
+     * @param cursor Cursor devuelto por la página anterior (opcional)
+     * @param limite Cantidad máxima de ventas por página
+     * @return VentaPaginaDTO con las ventas y el cursor de la página siguiente
+     */
+    @GetMapping("/{id}/ventas")
+    public ResponseEntity<VentaPaginaDTO> ventas(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + VentaService.LIMITE_HISTORIAL_POR_DEFECTO) int limite) {
+        return ResponseEntity.ok(ventaService.ventasDeProducto(id, desde, hasta, cursor, limite));
     }
 
     @PostMapping
@@ -44,11 +394,73 @@ public class ProductoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(creado);
     }
 
+    /**
+     * Importa productos desde un CSV con encabezado, leyendo el cuerpo a medida que llega.
+     * 
+     * @param cuerpo Contenido del CSV en UTF-8
+     * @return ImportacionProductosDTO con los contadores y las filas rechazadas
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ImportacionProductosDTO> importarCsv(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionProductosService.importarCsv(new InputStreamReader(cuerpo, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Importa productos desde NDJSON (un objeto JSON por línea), leyendo el cuerpo a medida que llega.
+     * 
+     * @param cuerpo Contenido del NDJSON en UTF-8
+     * @return ImportacionProductosDTO con los contadores y las filas rechazadas
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportacionProductosDTO> importarNdjson(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionProductosService.importarNdjson(new InputStreamReader(cuerpo, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Crea o actualiza productos por artículo desde un CSV con encabezado. Las filas sin
+     * cambios respecto del producto existente no se escriben.
+     * 
+     * @param cuerpo Contenido del CSV en UTF-8
+     * @return SincronizacionProductosDTO con los insertados, actualizados, sin cambios y rechazados
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @PostMapping(value = "/sincronizar", consumes = "text/csv")
+    public ResponseEntity<SincronizacionProductosDTO> sincronizarCsv(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionProductosService.sincronizarCsv(new InputStreamReader(cuerpo, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Crea o actualiza productos por artículo desde NDJSON.
+     * 
+     * @param cuerpo Contenido del NDJSON en UTF-8
+     * @return SincronizacionProductosDTO con los insertados, actualizados, sin cambios y rechazados
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @PostMapping(value = "/sincronizar", consumes = "application/x-ndjson")
+    public ResponseEntity<SincronizacionProductosDTO> sincronizarNdjson(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionProductosService.sincronizarNdjson(new InputStreamReader(cuerpo, StandardCharsets.UTF_8)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductoResponseDTO> update(@PathVariable Long id, @RequestBody ProductoUpdateDTO dto) {
         return ResponseEntity.ok(productoService.update(id, dto));
     }
 
+    /**
+     * Establece el umbral de reposición de un producto; sin valor, lo quita.
+     * 
+     * @param id ID del producto
+     * @param valor Stock a partir del cual se pide reponer (opcional)
+     */
+    @PutMapping("/{id}/stock-minimo")
+    public ResponseEntity<Void> actualizarStockMinimo(@PathVariable Long id,
+                                                      @RequestParam(required = false) Integer valor) {
+        productoService.actualizarStockMinimo(id, valor);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         productoService.delete(id);
@@ -0,0 +1,110 @@
+package com.store.api.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.store.api.dto.reporte.ComparacionVentasDTO;
+import com.store.api.dto.reporte.DistribucionVentasDTO;
+import com.store.api.dto.reporte.MapaCalorDTO;
+import com.store.api.dto.reporte.ProductosDistintosDTO;
+import com.store.api.service.ComparacionVentaService;
+import com.store.api.service.DistribucionVentaService;
+import com.store.api.service.MapaCalorVentaService;
+import com.store.api.service.ProductosDistintosService;
+
+@RestController
+@RequestMapping("/api/ventas/reportes")
+public class ReporteVentaController {
+
+    private final DistribucionVentaService distribucionVentaService;
+    private final ComparacionVentaService comparacionVentaService;
+    private final MapaCalorVentaService mapaCalorVentaService;
+    private final ProductosDistintosService productosDistintosService;
+
+    public ReporteVentaController(DistribucionVentaService distribucionVentaService,
+                                  ComparacionVentaService comparacionVentaService,
+                                  MapaCalorVentaService mapaCalorVentaService,
+                                  ProductosDistintosService productosDistintosService) {
+        this.distribucionVentaService = distribucionVentaService;
+        this.comparacionVentaService = comparacionVentaService;
+        this.mapaCalorVentaService = mapaCalorVentaService;
+        this.productosDistintosService = productosDistintosService;
+    }
+
+    /**
+     * Obtiene los percentiles de cantidad e importe por venta en un rango de días.
+     * 
+     * @param desde Primer día del rango (inclusive, formato ISO)
+     * @param hasta Último día del rango (inclusive, formato ISO)
+     * @param percentiles Percentiles a calcular, entre 0 y 100
+     * @return DistribucionVentasDTO con las distribuciones del rango
+     */
+    @GetMapping("/distribucion")
+    public DistribucionVentasDTO distribucion(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "50,90,95,99") List<Double> percentiles) {
+        return distribucionVentaService.distribucion(desde, hasta, percentiles);
+    }
+
+    /**
+     * Compara las ventas de un período con las de un período de referencia.
+     * 
+     * Si no se indica el período de referencia se usa el mismo período 52 semanas antes.
+     * 
+     * @param desde Primer día del período actual (inclusive, formato ISO)
+     * @param hasta Último día del período actual (inclusive, formato ISO)
+     * @param desdeReferencia Primer día del período de referencia (opcional)
+     * @param hastaReferencia Último día del período de referencia (opcional)
+     * @return ComparacionVentasDTO con los totales y el detalle por día y producto
+     */
+    @GetMapping("/comparacion")
+    public ComparacionVentasDTO comparacion(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desdeReferencia,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hastaReferencia) {
+        return comparacionVentaService.comparar(desde, hasta, desdeReferencia, hastaReferencia);
+    }
+
+    /**
+     * Obtiene las unidades e importe vendidos por día de la semana y hora.
+     * 
+     * Sin rango devuelve el mes en curso, que se mantiene en memoria.
+     * 
+     * @param desde Primer día del rango (opcional, inclusive, formato ISO)
+     * @param hasta Último día del rango (opcional, inclusive, formato ISO)
+     * @return MapaCalorDTO con matrices de 7 días por 24 horas
+     */
+    @GetMapping("/mapa-calor")
+    public MapaCalorDTO mapaCalor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        if (desde == null && hasta == null) {
+            return mapaCalorVentaService.mapaCalorMesActual();
+        }
+        return mapaCalorVentaService.mapaCalor(desde, hasta);
+    }
+
+    /**
+     * Estima la cantidad de productos distintos vendidos en un rango, en total y por período.
+     * 
+     * @param desde Primer día del rango (inclusive, formato ISO)
+     * @param hasta Último día del rango (inclusive, formato ISO)
+     * @param agrupacion Agrupación de los períodos: dia, semana o mes
+     * @return ProductosDistintosDTO con las estimaciones del rango
+     */
+    @GetMapping("/productos-distintos")
+    public ProductosDistintosDTO productosDistintos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "dia") String agrupacion) {
+        return productosDistintosService.productosDistintos(desde, hasta, agrupacion);
+    }
+}
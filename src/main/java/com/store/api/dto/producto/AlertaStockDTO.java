@@ -0,0 +1,44 @@
+package com.store.api.dto.producto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alerta de stock bajo de un producto.
+ * 
+ * @param productoId ID del producto
+ * @param articulo Artículo del producto
+ * @param stock Stock actual
+ * @param stockMinimo Umbral de reposición del producto
+ * @param desde Momento en que el stock bajó del umbral
+ */
+public class AlertaStockDTO {
+    private Long productoId;
+    private String articulo;
+    private int stock;
+    private int stockMinimo;
+    private LocalDateTime desde;
+
+    public AlertaStockDTO(Long productoId, String articulo, int stock, int stockMinimo, LocalDateTime desde) {
+        this.productoId = productoId;
+        this.articulo = articulo;
+        this.stock = stock;
+        this.stockMinimo = stockMinimo;
+        this.desde = desde;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public int getStock() {
+        return stock;
+    }
+    public int getStockMinimo() {
+        return stockMinimo;
+    }
+    public LocalDateTime getDesde() {
+        return desde;
+    }
+}
@@ -0,0 +1,36 @@
+package com.store.api.dto.producto;
+
+/**
+ * Banda de precios del filtrado por facetas con la cantidad de productos que contiene.
+ * 
+ * @param banda Índice de la banda, usado como valor del filtro
+ * @param desde Precio mínimo inclusive, o null si la banda no tiene límite inferior
+ * @param hasta Precio máximo exclusive, o null si la banda no tiene límite superior
+ * @param cantidad Cantidad de productos en la banda
+ */
+public class BandaPrecioDTO {
+    private int banda;
+    private Integer desde;
+    private Integer hasta;
+    private long cantidad;
+
+    public BandaPrecioDTO(int banda, Integer desde, Integer hasta, long cantidad) {
+        this.banda = banda;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.cantidad = cantidad;
+    }
+
+    public int getBanda() {
+        return banda;
+    }
+    public Integer getDesde() {
+        return desde;
+    }
+    public Integer getHasta() {
+        return hasta;
+    }
+    public long getCantidad() {
+        return cantidad;
+    }
+}
@@ -0,0 +1,38 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda de texto completo, ordenados por relevancia.
+ * 
+ * @param productos Productos de la página
+ * @param pagina Número de página empezando en 0
+ * @param tamanio Tamaño de página pedido
+ * @param total Cantidad total de productos que coinciden con la consulta
+ */
+public class BusquedaTextoDTO {
+    private List<ProductoResponseDTO> productos;
+    private int pagina;
+    private int tamanio;
+    private int total;
+
+    public BusquedaTextoDTO(List<ProductoResponseDTO> productos, int pagina, int tamanio, int total) {
+        this.productos = productos;
+        this.pagina = pagina;
+        this.tamanio = tamanio;
+        this.total = total;
+    }
+
+    public List<ProductoResponseDTO> getProductos() {
+        return productos;
+    }
+    public int getPagina() {
+        return pagina;
+    }
+    public int getTamanio() {
+        return tamanio;
+    }
+    public int getTotal() {
+        return total;
+    }
+}
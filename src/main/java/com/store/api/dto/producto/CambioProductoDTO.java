@@ -0,0 +1,42 @@
+package com.store.api.dto.producto;
+
+/**
+ * Cambio de stock o precio de un producto enviado por el flujo de cambios.
+ * 
+ * @param id ID del producto
+ * @param stock Stock después del cambio
+ * @param precio Precio después del cambio
+ * @param version Número de secuencia del cambio, creciente dentro del flujo
+ * @param eliminado true si el producto fue eliminado
+ */
+public class CambioProductoDTO {
+    private Long id;
+    private int stock;
+    private int precio;
+    private long version;
+    private boolean eliminado;
+
+    public CambioProductoDTO(Long id, int stock, int precio, long version, boolean eliminado) {
+        this.id = id;
+        this.stock = stock;
+        this.precio = precio;
+        this.version = version;
+        this.eliminado = eliminado;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public int getStock() {
+        return stock;
+    }
+    public int getPrecio() {
+        return precio;
+    }
+    public long getVersion() {
+        return version;
+    }
+    public boolean isEliminado() {
+        return eliminado;
+    }
+}
@@ -0,0 +1,59 @@
+package com.store.api.dto.producto;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de ProductoResponseDTO que pueden pedirse en una respuesta parcial ({@code fields=}).
+ *
+ * Cada campo conoce su nombre en el JSON y cómo leer su valor del DTO.
+ */
+public enum CampoProducto {
+    ID("id", ProductoResponseDTO::getId),
+    ARTICULO("articulo", ProductoResponseDTO::getArticulo),
+    DESCRIPCION("descripcion", ProductoResponseDTO::getDescripcion),
+    STOCK("stock", ProductoResponseDTO::getStock),
+    PRECIO("precio", ProductoResponseDTO::getPrecio),
+    CATEGORIA_ID("categoriaId", ProductoResponseDTO::getCategoriaId),
+    CATEGORIA_NOMBRE("categoriaNombre", ProductoResponseDTO::getCategoriaNombre),
+    IMAGEN_URL("imagenUrl", ProductoResponseDTO::getImagenUrl),
+    COMPANIA_ID("companiaId", ProductoResponseDTO::getCompaniaId),
+    COMPANIA_NOMBRE("companiaNombre", ProductoResponseDTO::getCompaniaNombre);
+
+    private static final Map<String, CampoProducto> POR_NOMBRE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(CampoProducto::getNombre, Function.identity()));
+
+    private final String nombre;
+    private final Function<ProductoResponseDTO, Object> valor;
+
+    CampoProducto(String nombre, Function<ProductoResponseDTO, Object> valor) {
+        this.nombre = nombre;
+        this.valor = valor;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Lee el valor del campo en un producto.
+     *
+     * @param producto ProductoResponseDTO de origen
+     * @return Valor del campo
+     */
+    public Object valor(ProductoResponseDTO producto) {
+        return valor.apply(producto);
+    }
+
+    /**
+     * Busca un campo por su nombre en el JSON.
+     *
+     * @param nombre Nombre del campo
+     * @return CampoProducto correspondiente, o null si no existe
+     */
+    public static CampoProducto deNombre(String nombre) {
+        return POR_NOMBRE.get(nombre);
+    }
+}
@@ -0,0 +1,30 @@
+package com.store.api.dto.producto;
+
+/**
+ * Fila rechazada durante una importación de productos.
+ * 
+ * @param linea Número de línea del archivo donde empieza la fila
+ * @param articulo Artículo de la fila, si se pudo leer
+ * @param mensaje Motivo del rechazo
+ */
+public class ErrorImportacionDTO {
+    private int linea;
+    private String articulo;
+    private String mensaje;
+
+    public ErrorImportacionDTO(int linea, String articulo, String mensaje) {
+        this.linea = linea;
+        this.articulo = articulo;
+        this.mensaje = mensaje;
+    }
+
+    public int getLinea() {
+        return linea;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public String getMensaje() {
+        return mensaje;
+    }
+}
@@ -0,0 +1,61 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado del filtrado de productos por facetas.
+ * 
+ * Los conteos de cada faceta se calculan con los filtros de las demás facetas, de modo
+ * que indican cuántos productos quedarían al agregar ese valor a la selección.
+ * 
+ * @param total Cantidad de productos que cumplen todos los filtros
+ * @param productos Primeros productos que cumplen los filtros, ordenados por ID
+ * @param categorias Cantidad de productos por ID de categoría
+ * @param companias Cantidad de productos por ID de compañía
+ * @param bandasPrecio Cantidad de productos por banda de precios
+ * @param conStock Cantidad de productos con stock
+ * @param sinStock Cantidad de productos sin stock
+ */
+public class FacetasProductoDTO {
+    private long total;
+    private List<ProductoResponseDTO> productos;
+    private Map<Long, Long> categorias;
+    private Map<Long, Long> companias;
+    private List<BandaPrecioDTO> bandasPrecio;
+    private long conStock;
+    private long sinStock;
+
+    public FacetasProductoDTO(long total, List<ProductoResponseDTO> productos, Map<Long, Long> categorias,
+                              Map<Long, Long> companias, List<BandaPrecioDTO> bandasPrecio, long conStock, long sinStock) {
+        this.total = total;
+        this.productos = productos;
+        this.categorias = categorias;
+        this.companias = companias;
+        this.bandasPrecio = bandasPrecio;
+        this.conStock = conStock;
+        this.sinStock = sinStock;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+    public List<ProductoResponseDTO> getProductos() {
+        return productos;
+    }
+    public Map<Long, Long> getCategorias() {
+        return categorias;
+    }
+    public Map<Long, Long> getCompanias() {
+        return companias;
+    }
+    public List<BandaPrecioDTO> getBandasPrecio() {
+        return bandasPrecio;
+    }
+    public long getConStock() {
+        return conStock;
+    }
+    public long getSinStock() {
+        return sinStock;
+    }
+}
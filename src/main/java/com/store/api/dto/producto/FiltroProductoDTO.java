@@ -0,0 +1,51 @@
+package com.store.api.dto.producto;
+
+/**
+ * Filtros opcionales de la búsqueda combinada de productos.
+ * 
+ * Cada filtro nulo se omite; los presentes se combinan con AND.
+ * 
+ * @param companiaId ID de la compañía
+ * @param categoriaId ID de la categoría
+ * @param articulo Subcadena del artículo (insensible a mayúsculas/minúsculas)
+ * @param stock Stock exacto
+ * @param precioMin Precio mínimo (inclusive)
+ * @param precioMax Precio máximo (inclusive)
+ */
+public class FiltroProductoDTO {
+    private Long companiaId;
+    private Long categoriaId;
+    private String articulo;
+    private Integer stock;
+    private Integer precioMin;
+    private Integer precioMax;
+
+    public FiltroProductoDTO(Long companiaId, Long categoriaId, String articulo,
+                             Integer stock, Integer precioMin, Integer precioMax) {
+        this.companiaId = companiaId;
+        this.categoriaId = categoriaId;
+        this.articulo = articulo;
+        this.stock = stock;
+        this.precioMin = precioMin;
+        this.precioMax = precioMax;
+    }
+
+    public Long getCompaniaId() {
+        return companiaId;
+    }
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public Integer getStock() {
+        return stock;
+    }
+    public Integer getPrecioMin() {
+        return precioMin;
+    }
+    public Integer getPrecioMax() {
+        return precioMax;
+    }
+}
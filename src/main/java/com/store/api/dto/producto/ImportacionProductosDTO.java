@@ -0,0 +1,45 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación de productos.
+ * 
+ * @param filasLeidas Cantidad de filas de datos leídas, sin contar el encabezado
+ * @param importados Cantidad de productos guardados
+ * @param rechazados Cantidad de filas rechazadas
+ * @param errores Detalle de las primeras filas rechazadas
+ * @param duracionMs Duración de la importación en milisegundos
+ */
+public class ImportacionProductosDTO {
+    private int filasLeidas;
+    private int importados;
+    private int rechazados;
+    private List<ErrorImportacionDTO> errores;
+    private long duracionMs;
+
+    public ImportacionProductosDTO(int filasLeidas, int importados, int rechazados,
+                                   List<ErrorImportacionDTO> errores, long duracionMs) {
+        this.filasLeidas = filasLeidas;
+        this.importados = importados;
+        this.rechazados = rechazados;
+        this.errores = errores;
+        this.duracionMs = duracionMs;
+    }
+
+    public int getFilasLeidas() {
+        return filasLeidas;
+    }
+    public int getImportados() {
+        return importados;
+    }
+    public int getRechazados() {
+        return rechazados;
+    }
+    public List<ErrorImportacionDTO> getErrores() {
+        return errores;
+    }
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+}
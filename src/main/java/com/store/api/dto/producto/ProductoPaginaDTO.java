@@ -0,0 +1,35 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+
+/**
+ * Página de productos obtenida sin contar el total de resultados.
+ * 
+ * Indica si existe una página siguiente en lugar de informar la cantidad de páginas.
+ */
+public class ProductoPaginaDTO {
+    private List<ProductoResponseDTO> productos;
+    private int pagina;
+    private int tamanio;
+    private boolean haySiguiente;
+
+    public ProductoPaginaDTO(List<ProductoResponseDTO> productos, int pagina, int tamanio, boolean haySiguiente) {
+        this.productos = productos;
+        this.pagina = pagina;
+        this.tamanio = tamanio;
+        this.haySiguiente = haySiguiente;
+    }
+
+    public List<ProductoResponseDTO> getProductos() {
+        return productos;
+    }
+    public int getPagina() {
+        return pagina;
+    }
+    public int getTamanio() {
+        return tamanio;
+    }
+    public boolean isHaySiguiente() {
+        return haySiguiente;
+    }
+}
@@ -0,0 +1,36 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página de productos con solo los campos pedidos en cada producto (respuesta parcial).
+ * 
+ * Tiene la misma forma que ProductoPaginaDTO, con un mapa campo-valor por producto.
+ */
+public class ProductoPaginaParcialDTO {
+    private List<Map<String, Object>> productos;
+    private int pagina;
+    private int tamanio;
+    private boolean haySiguiente;
+
+    public ProductoPaginaParcialDTO(List<Map<String, Object>> productos, int pagina, int tamanio, boolean haySiguiente) {
+        this.productos = productos;
+        this.pagina = pagina;
+        this.tamanio = tamanio;
+        this.haySiguiente = haySiguiente;
+    }
+
+    public List<Map<String, Object>> getProductos() {
+        return productos;
+    }
+    public int getPagina() {
+        return pagina;
+    }
+    public int getTamanio() {
+        return tamanio;
+    }
+    public boolean isHaySiguiente() {
+        return haySiguiente;
+    }
+}
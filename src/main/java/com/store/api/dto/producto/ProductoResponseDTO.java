@@ -3,15 +3,24 @@ package com.store.api.dto.producto;
 import com.store.api.entity.Categoria;
 import com.store.api.entity.Compania;
 
+/**
+ * DTO de respuesta de un producto.
+ *
+ * La categoría y la compañía se exponen aplanadas (ID y nombre) en lugar de como
+ * entidades anidadas, así cada producto no repite la descripción de la categoría y
+ * las instantáneas en memoria no retienen entidades JPA.
+ */
 public class ProductoResponseDTO {
     private Long id;
     private String articulo;
     private String descripcion;
     private int stock;
     private int precio;
-    private Categoria categoria;
+    private Long categoriaId;
+    private String categoriaNombre;
     private String imagenUrl;
-    private Compania compania;
+    private Long companiaId;
+    private String companiaNombre;
 
     public ProductoResponseDTO() {}
 
@@ -22,15 +31,17 @@ public class ProductoResponseDTO {
         this.descripcion = descripcion;
         this.stock = stock;
         this.precio = precio;
-        this.categoria = categoria;
         this.imagenUrl = imagenUrl;
-        this.compania = compania;
+        if (categoria != null) {
+            this.categoriaId = categoria.getId();
+            this.categoriaNombre = categoria.getNombre();
+        }
+        if (compania != null) {
+            this.companiaId = compania.getId();
+            this.companiaNombre = compania.getNombre();
+        }
     }
 
-    public Compania getCompania() {
-        return compania;
-    }
-    
     public String getImagenUrl() {
         return imagenUrl;
     }
@@ -55,9 +66,19 @@ public class ProductoResponseDTO {
         return precio;
     }
 
-    public Categoria getCategoria() {
-        return categoria;
+    public Long getCategoriaId() {
+        return categoriaId;
     }
 
+    public String getCategoriaNombre() {
+        return categoriaNombre;
+    }
 
+    public Long getCompaniaId() {
+        return companiaId;
+    }
+
+    public String getCompaniaNombre() {
+        return companiaNombre;
+    }
 }
@@ -0,0 +1,45 @@
+package com.store.api.dto.producto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Producto con stock sin ventas en el período analizado.
+ * 
+ * @param productoId ID del producto
+ * @param articulo Artículo del producto
+ * @param stock Stock actual
+ * @param valorCosto Valor del stock a precio unitario (stock × precioUnitario)
+ * @param ultimaVenta Fecha de la última venta, o null si nunca se vendió
+ */
+public class ProductoSinVentasDTO {
+    private Long productoId;
+    private String articulo;
+    private int stock;
+    private long valorCosto;
+    private LocalDateTime ultimaVenta;
+
+    public ProductoSinVentasDTO(Long productoId, String articulo, int stock, long valorCosto,
+                                LocalDateTime ultimaVenta) {
+        this.productoId = productoId;
+        this.articulo = articulo;
+        this.stock = stock;
+        this.valorCosto = valorCosto;
+        this.ultimaVenta = ultimaVenta;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public int getStock() {
+        return stock;
+    }
+    public long getValorCosto() {
+        return valorCosto;
+    }
+    public LocalDateTime getUltimaVenta() {
+        return ultimaVenta;
+    }
+}
@@ -0,0 +1,49 @@
+package com.store.api.dto.producto;
+
+/**
+ * Pronóstico de demanda y sugerencia de reposición de un producto.
+ * 
+ * @param productoId ID del producto
+ * @param stock Stock al momento del cálculo
+ * @param demandaDiaria Unidades por día pronosticadas por suavizado exponencial
+ * @param desvioDiario Desvío estimado de la demanda diaria
+ * @param puntoPedido Stock a partir del cual conviene reponer
+ * @param cantidadSugerida Unidades a pedir, o 0 si el stock supera el punto de pedido
+ */
+public class PronosticoProductoDTO {
+    private Long productoId;
+    private int stock;
+    private double demandaDiaria;
+    private double desvioDiario;
+    private int puntoPedido;
+    private int cantidadSugerida;
+
+    public PronosticoProductoDTO(Long productoId, int stock, double demandaDiaria, double desvioDiario,
+                                 int puntoPedido, int cantidadSugerida) {
+        this.productoId = productoId;
+        this.stock = stock;
+        this.demandaDiaria = demandaDiaria;
+        this.desvioDiario = desvioDiario;
+        this.puntoPedido = puntoPedido;
+        this.cantidadSugerida = cantidadSugerida;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+    public int getStock() {
+        return stock;
+    }
+    public double getDemandaDiaria() {
+        return demandaDiaria;
+    }
+    public double getDesvioDiario() {
+        return desvioDiario;
+    }
+    public int getPuntoPedido() {
+        return puntoPedido;
+    }
+    public int getCantidadSugerida() {
+        return cantidadSugerida;
+    }
+}
@@ -0,0 +1,33 @@
+package com.store.api.dto.producto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Productos a reponer según el último pronóstico de demanda.
+ * 
+ * @param calculado Momento en que se calculó el pronóstico
+ * @param diasHistorial Días de ventas usados para el pronóstico
+ * @param productos Productos con cantidad sugerida mayor a 0, ordenados por ID
+ */
+public class ReposicionDTO {
+    private LocalDateTime calculado;
+    private int diasHistorial;
+    private List<PronosticoProductoDTO> productos;
+
+    public ReposicionDTO(LocalDateTime calculado, int diasHistorial, List<PronosticoProductoDTO> productos) {
+        this.calculado = calculado;
+        this.diasHistorial = diasHistorial;
+        this.productos = productos;
+    }
+
+    public LocalDateTime getCalculado() {
+        return calculado;
+    }
+    public int getDiasHistorial() {
+        return diasHistorial;
+    }
+    public List<PronosticoProductoDTO> getProductos() {
+        return productos;
+    }
+}
@@ -0,0 +1,57 @@
+package com.store.api.dto.producto;
+
+import java.util.List;
+
+/**
+ * Resultado de una sincronización de productos por artículo.
+ * 
+ * @param filasLeidas Cantidad de filas de datos leídas, sin contar el encabezado
+ * @param insertados Cantidad de productos nuevos
+ * @param actualizados Cantidad de productos existentes cuyo contenido cambió
+ * @param sinCambios Cantidad de filas iguales al producto existente, que no se enviaron a la base de datos
+ * @param rechazados Cantidad de filas rechazadas
+ * @param errores Detalle de las primeras filas rechazadas
+ * @param duracionMs Duración de la sincronización en milisegundos
+ */
+public class SincronizacionProductosDTO {
+    private int filasLeidas;
+    private int insertados;
+    private int actualizados;
+    private int sinCambios;
+    private int rechazados;
+    private List<ErrorImportacionDTO> errores;
+    private long duracionMs;
+
+    public SincronizacionProductosDTO(int filasLeidas, int insertados, int actualizados, int sinCambios,
+                                      int rechazados, List<ErrorImportacionDTO> errores, long duracionMs) {
+        this.filasLeidas = filasLeidas;
+        this.insertados = insertados;
+        this.actualizados = actualizados;
+        this.sinCambios = sinCambios;
+        this.rechazados = rechazados;
+        this.errores = errores;
+        this.duracionMs = duracionMs;
+    }
+
+    public int getFilasLeidas() {
+        return filasLeidas;
+    }
+    public int getInsertados() {
+        return insertados;
+    }
+    public int getActualizados() {
+        return actualizados;
+    }
+    public int getSinCambios() {
+        return sinCambios;
+    }
+    public int getRechazados() {
+        return rechazados;
+    }
+    public List<ErrorImportacionDTO> getErrores() {
+        return errores;
+    }
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+}
@@ -0,0 +1,46 @@
+package com.store.api.dto.producto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de la última búsqueda de productos con stock sin ventas recientes.
+ * 
+ * @param dias Días sin ventas considerados
+ * @param calculado Momento en que se hizo la búsqueda
+ * @param stock Unidades inmovilizadas en total
+ * @param valorCosto Valor a precio unitario del stock inmovilizado
+ * @param productos Productos sin ventas, ordenados por ID
+ */
+public class StockInmovilizadoDTO {
+    private int dias;
+    private LocalDateTime calculado;
+    private long stock;
+    private long valorCosto;
+    private List<ProductoSinVentasDTO> productos;
+
+    public StockInmovilizadoDTO(int dias, LocalDateTime calculado, long stock, long valorCosto,
+                                List<ProductoSinVentasDTO> productos) {
+        this.dias = dias;
+        this.calculado = calculado;
+        this.stock = stock;
+        this.valorCosto = valorCosto;
+        this.productos = productos;
+    }
+
+    public int getDias() {
+        return dias;
+    }
+    public LocalDateTime getCalculado() {
+        return calculado;
+    }
+    public long getStock() {
+        return stock;
+    }
+    public long getValorCosto() {
+        return valorCosto;
+    }
+    public List<ProductoSinVentasDTO> getProductos() {
+        return productos;
+    }
+}
@@ -0,0 +1,26 @@
+package com.store.api.dto.producto;
+
+/**
+ * Sugerencia del autocompletado de productos, con los datos mínimos para mostrarla.
+ */
+public class SugerenciaProductoDTO {
+    private Long id;
+    private String articulo;
+    private String descripcion;
+
+    public SugerenciaProductoDTO(Long id, String articulo, String descripcion) {
+        this.id = id;
+        this.articulo = articulo;
+        this.descripcion = descripcion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,36 @@
+package com.store.api.dto.producto;
+
+/**
+ * Valorización del inventario de todos los productos o de una categoría o compañía.
+ * 
+ * @param productos Cantidad de productos
+ * @param stock Unidades en stock
+ * @param valorCosto Valor del stock a precio unitario (stock × precioUnitario)
+ * @param valorVenta Valor del stock a precio cliente (stock × precio)
+ */
+public class ValorizacionInventarioDTO {
+    private long productos;
+    private long stock;
+    private long valorCosto;
+    private long valorVenta;
+
+    public ValorizacionInventarioDTO(long productos, long stock, long valorCosto, long valorVenta) {
+        this.productos = productos;
+        this.stock = stock;
+        this.valorCosto = valorCosto;
+        this.valorVenta = valorVenta;
+    }
+
+    public long getProductos() {
+        return productos;
+    }
+    public long getStock() {
+        return stock;
+    }
+    public long getValorCosto() {
+        return valorCosto;
+    }
+    public long getValorVenta() {
+        return valorVenta;
+    }
+}
@@ -0,0 +1,58 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+
+/**
+ * Comparación de un día del período actual con el día equivalente del período de referencia.
+ * 
+ * Los días se alinean por posición dentro de cada período; si un período es más corto,
+ * la fecha correspondiente es nula y sus valores son cero.
+ */
+public class ComparacionDiaDTO {
+    private int indice;
+    private LocalDate fecha;
+    private LocalDate fechaReferencia;
+    private long unidades;
+    private long unidadesReferencia;
+    private long importe;
+    private long importeReferencia;
+
+    public ComparacionDiaDTO(int indice, LocalDate fecha, LocalDate fechaReferencia,
+                             long unidades, long unidadesReferencia, long importe, long importeReferencia) {
+        this.indice = indice;
+        this.fecha = fecha;
+        this.fechaReferencia = fechaReferencia;
+        this.unidades = unidades;
+        this.unidadesReferencia = unidadesReferencia;
+        this.importe = importe;
+        this.importeReferencia = importeReferencia;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+    public LocalDate getFecha() {
+        return fecha;
+    }
+    public LocalDate getFechaReferencia() {
+        return fechaReferencia;
+    }
+    public long getUnidades() {
+        return unidades;
+    }
+    public long getUnidadesReferencia() {
+        return unidadesReferencia;
+    }
+    public long getImporte() {
+        return importe;
+    }
+    public long getImporteReferencia() {
+        return importeReferencia;
+    }
+    public long getDeltaUnidades() {
+        return unidades - unidadesReferencia;
+    }
+    public long getDeltaImporte() {
+        return importe - importeReferencia;
+    }
+}
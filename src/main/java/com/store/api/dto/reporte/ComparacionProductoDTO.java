@@ -0,0 +1,48 @@
+package com.store.api.dto.reporte;
+
+/**
+ * Comparación de las ventas de un producto entre el período actual y el de referencia.
+ */
+public class ComparacionProductoDTO {
+    private Long productoId;
+    private String articulo;
+    private long unidades;
+    private long unidadesReferencia;
+    private long importe;
+    private long importeReferencia;
+
+    public ComparacionProductoDTO(Long productoId, String articulo, long unidades, long unidadesReferencia,
+                                  long importe, long importeReferencia) {
+        this.productoId = productoId;
+        this.articulo = articulo;
+        this.unidades = unidades;
+        this.unidadesReferencia = unidadesReferencia;
+        this.importe = importe;
+        this.importeReferencia = importeReferencia;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+    public String getArticulo() {
+        return articulo;
+    }
+    public long getUnidades() {
+        return unidades;
+    }
+    public long getUnidadesReferencia() {
+        return unidadesReferencia;
+    }
+    public long getImporte() {
+        return importe;
+    }
+    public long getImporteReferencia() {
+        return importeReferencia;
+    }
+    public long getDeltaUnidades() {
+        return unidades - unidadesReferencia;
+    }
+    public long getDeltaImporte() {
+        return importe - importeReferencia;
+    }
+}
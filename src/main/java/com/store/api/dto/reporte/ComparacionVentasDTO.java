@@ -0,0 +1,75 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Comparación de ventas entre un período actual y un período de referencia.
+ * 
+ * Incluye los totales de ambos períodos, el detalle alineado por día y el detalle
+ * por producto ordenado por la mayor variación de importe.
+ */
+public class ComparacionVentasDTO {
+    private LocalDate desde;
+    private LocalDate hasta;
+    private LocalDate desdeReferencia;
+    private LocalDate hastaReferencia;
+    private long unidades;
+    private long unidadesReferencia;
+    private long importe;
+    private long importeReferencia;
+    private List<ComparacionDiaDTO> dias;
+    private List<ComparacionProductoDTO> productos;
+
+    public ComparacionVentasDTO(LocalDate desde, LocalDate hasta, LocalDate desdeReferencia, LocalDate hastaReferencia,
+                                long unidades, long unidadesReferencia, long importe, long importeReferencia,
+                                List<ComparacionDiaDTO> dias, List<ComparacionProductoDTO> productos) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.desdeReferencia = desdeReferencia;
+        this.hastaReferencia = hastaReferencia;
+        this.unidades = unidades;
+        this.unidadesReferencia = unidadesReferencia;
+        this.importe = importe;
+        this.importeReferencia = importeReferencia;
+        this.dias = dias;
+        this.productos = productos;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+    public LocalDate getHasta() {
+        return hasta;
+    }
+    public LocalDate getDesdeReferencia() {
+        return desdeReferencia;
+    }
+    public LocalDate getHastaReferencia() {
+        return hastaReferencia;
+    }
+    public long getUnidades() {
+        return unidades;
+    }
+    public long getUnidadesReferencia() {
+        return unidadesReferencia;
+    }
+    public long getImporte() {
+        return importe;
+    }
+    public long getImporteReferencia() {
+        return importeReferencia;
+    }
+    public long getDeltaUnidades() {
+        return unidades - unidadesReferencia;
+    }
+    public long getDeltaImporte() {
+        return importe - importeReferencia;
+    }
+    public List<ComparacionDiaDTO> getDias() {
+        return dias;
+    }
+    public List<ComparacionProductoDTO> getProductos() {
+        return productos;
+    }
+}
@@ -0,0 +1,40 @@
+package com.store.api.dto.reporte;
+
+import java.util.Map;
+
+/**
+ * Resumen de la distribución de un valor (cantidad o importe) en un rango de fechas.
+ * 
+ * Los percentiles se indexan por su nombre ("p50", "p90", "p99.9", ...).
+ */
+public class DistribucionDTO {
+    private long muestras;
+    private long minimo;
+    private long maximo;
+    private double media;
+    private Map<String, Long> percentiles;
+
+    public DistribucionDTO(long muestras, long minimo, long maximo, double media, Map<String, Long> percentiles) {
+        this.muestras = muestras;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.media = media;
+        this.percentiles = percentiles;
+    }
+
+    public long getMuestras() {
+        return muestras;
+    }
+    public long getMinimo() {
+        return minimo;
+    }
+    public long getMaximo() {
+        return maximo;
+    }
+    public double getMedia() {
+        return media;
+    }
+    public Map<String, Long> getPercentiles() {
+        return percentiles;
+    }
+}
@@ -0,0 +1,33 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+
+/**
+ * Distribuciones de cantidad por venta y de importe por venta en un rango de días.
+ */
+public class DistribucionVentasDTO {
+    private LocalDate desde;
+    private LocalDate hasta;
+    private DistribucionDTO cantidad;
+    private DistribucionDTO total;
+
+    public DistribucionVentasDTO(LocalDate desde, LocalDate hasta, DistribucionDTO cantidad, DistribucionDTO total) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.cantidad = cantidad;
+        this.total = total;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+    public LocalDate getHasta() {
+        return hasta;
+    }
+    public DistribucionDTO getCantidad() {
+        return cantidad;
+    }
+    public DistribucionDTO getTotal() {
+        return total;
+    }
+}
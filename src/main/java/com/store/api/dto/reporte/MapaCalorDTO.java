@@ -0,0 +1,35 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+
+/**
+ * Intensidad de ventas por día de la semana y hora del día.
+ * 
+ * Las matrices tienen 7 filas (lunes a domingo) y 24 columnas (hora 0 a 23).
+ */
+public class MapaCalorDTO {
+    private LocalDate desde;
+    private LocalDate hasta;
+    private long[][] unidades;
+    private long[][] importe;
+
+    public MapaCalorDTO(LocalDate desde, LocalDate hasta, long[][] unidades, long[][] importe) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.unidades = unidades;
+        this.importe = importe;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+    public LocalDate getHasta() {
+        return hasta;
+    }
+    public long[][] getUnidades() {
+        return unidades;
+    }
+    public long[][] getImporte() {
+        return importe;
+    }
+}
@@ -0,0 +1,28 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+
+/**
+ * Cantidad estimada de productos distintos vendidos en un período (día, semana o mes).
+ */
+public class PeriodoProductosDistintosDTO {
+    private LocalDate desde;
+    private LocalDate hasta;
+    private long productosDistintos;
+
+    public PeriodoProductosDistintosDTO(LocalDate desde, LocalDate hasta, long productosDistintos) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.productosDistintos = productosDistintos;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+    public LocalDate getHasta() {
+        return hasta;
+    }
+    public long getProductosDistintos() {
+        return productosDistintos;
+    }
+}
@@ -0,0 +1,42 @@
+package com.store.api.dto.reporte;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cantidad estimada de productos distintos vendidos en un rango, total y por período.
+ * 
+ * Los valores provienen de sketches HyperLogLog, con un error relativo típico del 1,6 %.
+ */
+public class ProductosDistintosDTO {
+    private LocalDate desde;
+    private LocalDate hasta;
+    private String agrupacion;
+    private long productosDistintos;
+    private List<PeriodoProductosDistintosDTO> periodos;
+
+    public ProductosDistintosDTO(LocalDate desde, LocalDate hasta, String agrupacion,
+                                 long productosDistintos, List<PeriodoProductosDistintosDTO> periodos) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.agrupacion = agrupacion;
+        this.productosDistintos = productosDistintos;
+        this.periodos = periodos;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+    public LocalDate getHasta() {
+        return hasta;
+    }
+    public String getAgrupacion() {
+        return agrupacion;
+    }
+    public long getProductosDistintos() {
+        return productosDistintos;
+    }
+    public List<PeriodoProductosDistintosDTO> getPeriodos() {
+        return periodos;
+    }
+}
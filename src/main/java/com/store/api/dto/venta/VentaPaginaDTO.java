@@ -0,0 +1,25 @@
+package com.store.api.dto.venta;
+
+import java.util.List;
+
+/**
+ * Página de ventas obtenida por cursor.
+ * 
+ * El cursor siguiente es opaco para el cliente y es nulo cuando no hay más resultados.
+ */
+public class VentaPaginaDTO {
+    private List<VentaResponseDTO> ventas;
+    private String siguienteCursor;
+
+    public VentaPaginaDTO(List<VentaResponseDTO> ventas, String siguienteCursor) {
+        this.ventas = ventas;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<VentaResponseDTO> getVentas() {
+        return ventas;
+    }
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+}
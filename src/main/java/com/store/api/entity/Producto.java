@@ -17,8 +17,13 @@ import jakarta.persistence.*;
  * @param imagenUrl URL de la imagen del producto
  * @param compania Compañía propietaria del producto
  * @param precioUnitario Precio cliente del producto
+ * @param stockMinimo Stock a partir del cual se pide reponer el producto, o null si no tiene
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_producto_precio", columnList = "precio"),
+        @Index(name = "idx_producto_articulo", columnList = "articulo", unique = true)
+})
 public class Producto {
 
     /** Identificador único del producto. */
@@ -26,7 +31,7 @@ public class Producto {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /** Nombre o código del artículo. */
+    /** Nombre o código del artículo, único entre los productos. */
     private String articulo;
     
     /** Descripción detallada del producto. */
@@ -52,6 +57,9 @@ public class Producto {
     @ManyToOne
     private Compania compania;
 
+    /** Stock a partir del cual se pide reponer el producto, o null si no tiene umbral. */
+    private Integer stockMinimo;
+
     public Producto() {}
 
     public Producto(Long id, String articulo, String descripcion, int precio, Categoria categoria,
@@ -93,4 +101,7 @@ public class Producto {
 
     public Compania getCompania() { return compania; }
     public void setCompania(Compania compania) { this.compania = compania; }
+
+    public Integer getStockMinimo() { return stockMinimo; }
+    public void setStockMinimo(Integer stockMinimo) { this.stockMinimo = stockMinimo; }
 }
@@ -0,0 +1,44 @@
+package com.store.api.entity;
+
+import java.time.LocalDate;
+
+import com.store.api.util.HyperLogLog;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Entidad que guarda el sketch HyperLogLog de los productos vendidos en un día.
+ * 
+ * Cada fila ocupa un tamaño fijo de 4 KB sin importar cuántas ventas tuvo el día, y
+ * combinar las filas de un rango estima la cantidad de productos distintos vendidos
+ * sin recorrer la tabla de ventas.
+ * 
+ * @param dia Día al que corresponde el sketch
+ * @param registros Registros serializados del sketch
+ */
+@Entity
+public class SketchProductosDia {
+
+    /** Día al que corresponde el sketch. */
+    @Id
+    private LocalDate dia;
+
+    /** Registros del sketch, un byte por registro. */
+    @Column(nullable = false, length = HyperLogLog.REGISTROS)
+    private byte[] registros;
+
+    public SketchProductosDia() {}
+
+    public SketchProductosDia(LocalDate dia, byte[] registros) {
+        this.dia = dia;
+        this.registros = registros;
+    }
+
+    public LocalDate getDia() { return dia; }
+    public void setDia(LocalDate dia) { this.dia = dia; }
+
+    public byte[] getRegistros() { return registros; }
+    public void setRegistros(byte[] registros) { this.registros = registros; }
+}
@@ -8,8 +8,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 /**
@@ -19,12 +21,19 @@ import jakarta.persistence.Transient;
  * la cantidad y la fecha de realización. Se relaciona con la entidad Producto para
  * obtener el precio unitario al momento de la venta.
  * 
+ * El índice (producto_id, fecha, id) permite recorrer el historial de un producto
+ * como un rango del índice, en el mismo orden que usa la paginación por cursor.
+ * El índice sobre fecha sostiene los reportes agrupados por rango de fechas.
+ * 
  * @param id Identificador de la venta
  * @param producto Producto vendido
  * @param cantidad Cantidad de unidades vendidas
- * 
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_venta_producto_fecha", columnList = "producto_id, fecha, id"),
+    @Index(name = "idx_venta_fecha", columnList = "fecha")
+})
 public class Venta {
     
     /** Identificador único de la venta. */
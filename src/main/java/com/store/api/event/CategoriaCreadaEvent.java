@@ -0,0 +1,20 @@
+package com.store.api.event;
+
+/**
+ * Evento publicado por CategoriaService cuando se crea una categoría.
+ * 
+ * Ningún producto puede pertenecer todavía a la categoría, por lo que las vistas en
+ * memoria de productos no necesitan descartarse; solo cambia el listado de categorías.
+ * 
+ * @param categoriaId Identificador de la categoría creada
+ */
+public class CategoriaCreadaEvent {
+
+    private final Long categoriaId;
+
+    public CategoriaCreadaEvent(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public Long getCategoriaId() { return categoriaId; }
+}
@@ -0,0 +1,20 @@
+package com.store.api.event;
+
+/**
+ * Evento publicado por CategoriaService cuando una categoría se actualiza o se elimina.
+ * 
+ * Las respuestas de productos incluyen su categoría, por lo que las vistas en memoria
+ * de productos deben descartarse al recibirlo.
+ * 
+ * @param categoriaId Identificador de la categoría modificada
+ */
+public class CategoriaModificadaEvent {
+
+    private final Long categoriaId;
+
+    public CategoriaModificadaEvent(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public Long getCategoriaId() { return categoriaId; }
+}
@@ -0,0 +1,20 @@
+package com.store.api.event;
+
+/**
+ * Evento publicado por CompaniaService cuando se crea una compañía.
+ * 
+ * Ningún producto puede pertenecer todavía a la compañía, por lo que las vistas en
+ * memoria de productos no necesitan descartarse; solo cambia el listado de compañías.
+ * 
+ * @param companiaId Identificador de la compañía creada
+ */
+public class CompaniaCreadaEvent {
+
+    private final Long companiaId;
+
+    public CompaniaCreadaEvent(Long companiaId) {
+        this.companiaId = companiaId;
+    }
+
+    public Long getCompaniaId() { return companiaId; }
+}
@@ -0,0 +1,20 @@
+package com.store.api.event;
+
+/**
+ * Evento publicado por CompaniaService cuando una compañía se actualiza o se elimina.
+ * 
+ * Las respuestas de productos incluyen su compañía, por lo que las vistas en memoria
+ * de productos deben descartarse al recibirlo.
+ * 
+ * @param companiaId Identificador de la compañía modificada
+ */
+public class CompaniaModificadaEvent {
+
+    private final Long companiaId;
+
+    public CompaniaModificadaEvent(Long companiaId) {
+        this.companiaId = companiaId;
+    }
+
+    public Long getCompaniaId() { return companiaId; }
+}
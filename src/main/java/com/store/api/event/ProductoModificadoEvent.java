@@ -0,0 +1,40 @@
+package com.store.api.event;
+
+import com.store.api.entity.Producto;
+
+/**
+ * Evento publicado cuando un producto se crea, se actualiza, cambia su stock o se elimina.
+ * 
+ * Lo publican ProductoService y VentaService (al descontar el stock de una venta) después
+ * de guardar el cambio, para que las vistas en memoria del catálogo se actualicen sin
+ * volver a leer todos los productos.
+ * 
+ * Los consumidores lo escuchan con {@code @TransactionalEventListener(AFTER_COMMIT)} y
+ * {@code fallbackExecution}: si se publica dentro de una transacción (la de una venta)
+ * lo reciben recién después del commit y nunca si se revierte; si no, en el momento.
+ * 
+ * @param productoId Identificador del producto modificado
+ * @param producto Estado del producto después del cambio, o null si fue eliminado
+ */
+public class ProductoModificadoEvent {
+
+    private final Long productoId;
+    private final Producto producto;
+
+    public ProductoModificadoEvent(Long productoId, Producto producto) {
+        this.productoId = productoId;
+        this.producto = producto;
+    }
+
+    public Long getProductoId() { return productoId; }
+    public Producto getProducto() { return producto; }
+
+    /**
+     * Indica si el producto fue eliminado.
+     * 
+     * @return true si el evento corresponde a una eliminación
+     */
+    public boolean eliminado() {
+        return producto == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.store.api.event;
+
+/**
+ * Evento publicado por ImportacionProductosService al terminar una importación o
+ * sincronización que guardó al menos un producto.
+ * 
+ * Los productos se insertan o actualizan por lotes sin pasar por ProductoService, por lo
+ * que no se publica un ProductoModificadoEvent por cada uno: las vistas en memoria del
+ * catálogo y la caché por ID deben descartarse y volver a cargarse.
+ * 
+ * @param cantidad Cantidad de productos insertados o actualizados
+ */
+public class ProductosImportadosEvent {
+
+    private final int cantidad;
+
+    public ProductosImportadosEvent(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public int getCantidad() { return cantidad; }
+}
@@ -0,0 +1,23 @@
+package com.store.api.event;
+
+import com.store.api.dto.producto.AlertaStockDTO;
+
+/**
+ * Evento publicado por AlertasStock cuando el stock de un producto baja de su umbral
+ * de reposición.
+ * 
+ * Se publica una sola vez por cada bajada: mientras el producto siga en alerta, los
+ * cambios de stock no vuelven a publicarlo.
+ * 
+ * @param alerta Alerta con el producto, su stock y su umbral
+ */
+public class StockBajoEvent {
+
+    private final AlertaStockDTO alerta;
+
+    public StockBajoEvent(AlertaStockDTO alerta) {
+        this.alerta = alerta;
+    }
+
+    public AlertaStockDTO getAlerta() { return alerta; }
+}
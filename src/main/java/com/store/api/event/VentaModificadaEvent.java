@@ -0,0 +1,38 @@
+package com.store.api.event;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Evento publicado por VentaService cuando una venta existente se actualiza o se elimina.
+ * 
+ * Los agregados en memoria no pueden restar una venta de forma incremental, por lo que
+ * este evento les indica qué días deben reconstruir. Si los días no se conocen
+ * (por ejemplo al actualizar una venta sin fecha), el conjunto está vacío y los
+ * consumidores deben invalidar todo lo que tengan en memoria.
+ * 
+ * @param ventaId Identificador de la venta modificada
+ * @param dias Días afectados por la modificación
+ */
+public class VentaModificadaEvent {
+
+    private final Long ventaId;
+    private final Set<LocalDate> dias;
+
+    public VentaModificadaEvent(Long ventaId, Set<LocalDate> dias) {
+        this.ventaId = ventaId;
+        this.dias = dias != null ? Set.copyOf(dias) : Set.of();
+    }
+
+    public Long getVentaId() { return ventaId; }
+    public Set<LocalDate> getDias() { return dias; }
+
+    /**
+     * Indica si se conocen los días afectados por la modificación.
+     * 
+     * @return true si el evento trae los días afectados, false si hay que invalidar todo
+     */
+    public boolean diasConocidos() {
+        return !dias.isEmpty();
+    }
+}
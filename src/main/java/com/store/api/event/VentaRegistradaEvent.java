@@ -0,0 +1,57 @@
+package com.store.api.event;
+
+import java.time.LocalDateTime;
+
+import com.store.api.entity.Venta;
+
+/**
+ * Evento publicado por VentaService cuando se registra una nueva venta.
+ * 
+ * Copia los valores relevantes de la venta en el momento de su creación para que
+ * los componentes que mantienen agregados en memoria puedan actualizarse de forma
+ * incremental sin volver a consultar la base de datos.
+ * 
+ * Se publica dentro de la transacción de la venta; los consumidores lo escuchan con
+ * {@code @TransactionalEventListener(AFTER_COMMIT)}, así solo ven ventas confirmadas.
+ * 
+ * @param ventaId Identificador de la venta registrada
+ * @param productoId Identificador del producto vendido
+ * @param cantidad Cantidad de unidades vendidas
+ * @param precio Precio cliente del producto al momento de la venta
+ * @param precioUnitario Precio unitario del producto al momento de la venta
+ * @param fecha Fecha y hora de la venta
+ */
+public class VentaRegistradaEvent {
+
+    private final Long ventaId;
+    private final Long productoId;
+    private final int cantidad;
+    private final int precio;
+    private final int precioUnitario;
+    private final LocalDateTime fecha;
+
+    public VentaRegistradaEvent(Venta venta) {
+        this.ventaId = venta.getId();
+        this.productoId = venta.getProducto() != null ? venta.getProducto().getId() : null;
+        this.cantidad = venta.getCantidad() != null ? venta.getCantidad() : 0;
+        this.precio = venta.getPrecio();
+        this.precioUnitario = venta.getPrecioUnitario();
+        this.fecha = venta.getFecha();
+    }
+
+    public Long getVentaId() { return ventaId; }
+    public Long getProductoId() { return productoId; }
+    public int getCantidad() { return cantidad; }
+    public int getPrecio() { return precio; }
+    public int getPrecioUnitario() { return precioUnitario; }
+    public LocalDateTime getFecha() { return fecha; }
+
+    /**
+     * Calcula el importe de la venta a precio cliente (cantidad × precio).
+     * 
+     * @return long con el total de la venta
+     */
+    public long getTotal() {
+        return (long) cantidad * precio;
+    }
+}
@@ -12,7 +12,8 @@ public enum ErrorCode {
     STOCK_INSUFFICIENT("Stock insuficiente para la operación"),
     OPERATION_NOT_ALLOWED("Operación no permitida"),
     UNAUTHORIZED_OPERATION("Operación no autorizada"),
-    DATA_INTEGRITY("Inconsistencia de datos detectada");
+    DATA_INTEGRITY("Inconsistencia de datos detectada"),
+    SERVICE_UNAVAILABLE("Servicio no disponible temporalmente");
 
     private final String defaultMessage;
 
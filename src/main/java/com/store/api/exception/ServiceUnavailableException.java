@@ -0,0 +1,13 @@
+package com.store.api.exception;
+
+/**
+ * El servicio no puede atender la solicitud por falta de capacidad; puede reintentarse más tarde.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException() {
+        super(ErrorCode.SERVICE_UNAVAILABLE.defaultMessage());
+    }
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
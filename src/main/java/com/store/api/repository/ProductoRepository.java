@@ -1,14 +1,37 @@
 package com.store.api.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.store.api.entity.Producto;
+import com.store.api.repository.projection.ProductoSinVentas;
+import com.store.api.repository.projection.TotalesInventario;
+import com.store.api.repository.projection.ValoresProducto;
+
+/**
+ * Repositorio JPA para la entidad Producto.
+ * 
+ * Cada búsqueda tiene una variante paginada que devuelve un Slice: la página se pide
+ * con un elemento de más para saber si hay una siguiente, sin la consulta COUNT que
+ * requeriría una Page. La búsqueda que combina varios filtros está en ProductoRepositoryCustom.
+ */
+public interface ProductoRepository extends JpaRepository<Producto, Long>, ProductoRepositoryCustom {
+
+    /**
+     * Obtiene una página de productos sin contar el total.
+     * 
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos
+     */
+    Slice<Producto> findAllBy(Pageable pageable);
 
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
-    
     /**
      * Verifica si existe un producto con el artículo especificado.
      * 
@@ -17,6 +40,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     boolean existsByArticulo(String articulo);
 
+    /**
+     * Verifica si otro producto distinto del indicado tiene el artículo especificado.
+     * 
+     * @param articulo Artículo del producto
+     * @param id ID del producto a excluir
+     * @return true si otro producto tiene el artículo, false en caso contrario
+     */
+    boolean existsByArticuloAndIdNot(String articulo, Long id);
+
     /**
      * Encuentra productos cuyo precio esté entre los valores especificados.
      * 
@@ -26,6 +58,16 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByPrecioBetween(int i, int j);
 
+    /**
+     * Obtiene una página de productos cuyo precio esté entre los valores especificados.
+     * 
+     * @param i Precio mínimo
+     * @param j Precio máximo
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos dentro del rango de precios
+     */
+    Slice<Producto> findByPrecioBetween(int i, int j, Pageable pageable);
+
     /**
      * Encuentra productos con el stock especificado.
      * 
@@ -34,6 +76,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByStock(int stock);
 
+    /**
+     * Obtiene una página de productos con el stock especificado.
+     * 
+     * @param stock Cantidad de stock
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos con el stock especificado
+     */
+    Slice<Producto> findByStock(int stock, Pageable pageable);
+
     /**
      * Encuentra productos cuyo artículo contenga la cadena especificada (sin distinguir mayúsculas/minúsculas).
      * 
@@ -42,6 +93,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByArticuloContainingIgnoreCase(String articulo);
 
+    /**
+     * Obtiene una página de productos cuyo artículo contenga la cadena especificada.
+     * 
+     * @param articulo Cadena a buscar en el artículo
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos cuyo artículo contiene la cadena especificada
+     */
+    Slice<Producto> findByArticuloContainingIgnoreCase(String articulo, Pageable pageable);
+
     /**
      * Encuentra productos por el ID de su categoría.
      * 
@@ -50,6 +110,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByCategoriaId(Long categoriaId);
 
+    /**
+     * Obtiene una página de productos de una categoría.
+     * 
+     * @param categoriaId ID de la categoría
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos pertenecientes a la categoría especificada
+     */
+    Slice<Producto> findByCategoriaId(Long categoriaId, Pageable pageable);
+
 
     /**
      * Encuentra productos por el ID de su compañía.
@@ -59,6 +128,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByCompaniaId(Long companiaId);
 
+    /**
+     * Obtiene una página de productos de una compañía.
+     * 
+     * @param companiaId ID de la compañía
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos pertenecientes a la compañía especificada
+     */
+    Slice<Producto> findByCompaniaId(Long companiaId, Pageable pageable);
+
     /**
      * Encuentra productos que pertenecen a una compañía y categoría específicas.
      * 
@@ -68,13 +146,111 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByCompaniaIdAndCategoriaId(Long companiaId, Long categoriaId);
 
+    /**
+     * Obtiene una página de productos de una compañía y categoría específicas.
+     * 
+     * @param companiaId ID de la compañía
+     * @param categoriaId ID de la categoría
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos filtrados
+     */
+    Slice<Producto> findByCompaniaIdAndCategoriaId(Long companiaId, Long categoriaId, Pageable pageable);
+
     /**
      * Obtiene el stock total de todos los productos.
      * 
      * @return Stock total
      */
     @Query("SELECT COALESCE(SUM(p.stock), 0) FROM Producto p")
-    int getTotalStock();
+    long getTotalStock();
+
+    /**
+     * Resta unidades del stock de un producto en una sola sentencia, solo si alcanza.
+     * 
+     * Como la condición y la resta se evalúan en el mismo UPDATE, dos ventas simultáneas
+     * del mismo producto no pueden perder un descuento ni dejar el stock negativo.
+     * Vacía el contexto de persistencia, así que el producto debe volver a leerse.
+     * 
+     * @param id ID del producto
+     * @param cantidad Unidades a descontar
+     * @return 1 si se descontó, 0 si el producto no existe o no tiene stock suficiente
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Producto p SET p.stock = p.stock - :cantidad WHERE p.id = :id AND p.stock >= :cantidad")
+    int descontarStock(@Param("id") Long id, @Param("cantidad") int cantidad);
+
+    /**
+     * Obtiene el stock, los precios, la categoría y la compañía de todos los productos.
+     * 
+     * @return Lista de valores por producto
+     */
+    @Query("""
+            SELECT p.id AS id, p.stock AS stock, p.precio AS precio, p.precioUnitario AS precioUnitario,
+                   c.id AS categoriaId, co.id AS companiaId
+            FROM Producto p LEFT JOIN p.categoria c LEFT JOIN p.compania co
+            """)
+    List<ValoresProducto> findValores();
+
+    /**
+     * Suma el stock y su valor a costo y a precio cliente por categoría.
+     * 
+     * @return Lista de totales por categoría, con grupo null para los productos sin categoría
+     */
+    @Query("""
+            SELECT c.id AS grupoId, COUNT(p) AS productos, SUM(p.stock) AS stock,
+                   SUM(CAST(p.stock AS Long) * p.precioUnitario) AS valorCosto,
+                   SUM(CAST(p.stock AS Long) * p.precio) AS valorVenta
+            FROM Producto p LEFT JOIN p.categoria c
+            GROUP BY c.id
+            """)
+    List<TotalesInventario> sumarInventarioPorCategoria();
+
+    /**
+     * Suma el stock y su valor a costo y a precio cliente por compañía.
+     * 
+     * @return Lista de totales por compañía, con grupo null para los productos sin compañía
+     */
+    @Query("""
+            SELECT co.id AS grupoId, COUNT(p) AS productos, SUM(p.stock) AS stock,
+                   SUM(CAST(p.stock AS Long) * p.precioUnitario) AS valorCosto,
+                   SUM(CAST(p.stock AS Long) * p.precio) AS valorVenta
+            FROM Producto p LEFT JOIN p.compania co
+            GROUP BY co.id
+            """)
+    List<TotalesInventario> sumarInventarioPorCompania();
+
+    /**
+     * Encuentra los productos con umbral de reposición cuyo stock no lo supera.
+     * 
+     * @return Lista de productos con stock bajo
+     */
+    @Query("SELECT p FROM Producto p WHERE p.stockMinimo IS NOT NULL AND p.stock <= p.stockMinimo")
+    List<Producto> findConStockBajo();
+
+    /**
+     * Obtiene un lote de productos con stock que no tienen ventas desde una fecha, con
+     * la fecha de su última venta.
+     * 
+     * El NOT EXISTS es un anti-join que se resuelve con el índice (producto_id, fecha)
+     * de venta, sin leer el historial de cada producto. Los lotes se recorren por ID
+     * (keyset), así cada consulta es corta y no se mantiene una transacción abierta.
+     * 
+     * @param desde Fecha desde la que se buscan ventas (inclusive)
+     * @param despuesDe ID del último producto del lote anterior (0 para el primero)
+     * @param pageable Tamaño del lote (se ignora el número de página)
+     * @return Lista de productos sin ventas ordenada por ID
+     */
+    @Query("""
+            SELECT p.id AS id, p.articulo AS articulo, p.stock AS stock, p.precioUnitario AS precioUnitario,
+                   (SELECT MAX(u.fecha) FROM Venta u WHERE u.producto = p) AS ultimaVenta
+            FROM Producto p
+            WHERE p.id > :despuesDe AND p.stock > 0
+              AND NOT EXISTS (SELECT v.id FROM Venta v WHERE v.producto = p AND v.fecha >= :desde)
+            ORDER BY p.id
+            """)
+    List<ProductoSinVentas> findSinVentasDesde(@Param("desde") LocalDateTime desde,
+                                               @Param("despuesDe") Long despuesDe,
+                                               Pageable pageable);
 
 }
 
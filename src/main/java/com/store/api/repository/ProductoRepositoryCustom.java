@@ -0,0 +1,22 @@
+package com.store.api.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.store.api.dto.producto.FiltroProductoDTO;
+import com.store.api.entity.Producto;
+
+/**
+ * Consultas de productos que no se pueden expresar como métodos derivados.
+ */
+public interface ProductoRepositoryCustom {
+
+    /**
+     * Busca productos combinando con AND los filtros presentes, en una sola consulta.
+     * 
+     * @param filtro Filtros opcionales
+     * @param pageable Página, tamaño y orden
+     * @return Slice de productos que cumplen los filtros
+     */
+    Slice<Producto> buscar(FiltroProductoDTO filtro, Pageable pageable);
+}
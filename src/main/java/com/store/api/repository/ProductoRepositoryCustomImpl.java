@@ -0,0 +1,148 @@
+package com.store.api.repository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import com.store.api.dto.producto.FiltroProductoDTO;
+import com.store.api.entity.Producto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Implementación de la búsqueda combinada de productos.
+ * 
+ * La consulta JPQL se arma según qué filtros están presentes (la "forma" del filtro),
+ * con parámetros con nombre para los valores. Cada forma produce siempre el mismo
+ * texto, que se guarda ya armado, de modo que las búsquedas repetidas reutilizan la
+ * consulta compilada de la caché de planes de Hibernate y, en Postgres, la sentencia
+ * preparada del driver, en lugar de volver a interpretarla.
+ */
+public class ProductoRepositoryCustomImpl implements ProductoRepositoryCustom {
+
+    private static final int COMPANIA = 1;
+    private static final int CATEGORIA = 1 << 1;
+    private static final int ARTICULO = 1 << 2;
+    private static final int STOCK = 1 << 3;
+    private static final int PRECIO_MIN = 1 << 4;
+    private static final int PRECIO_MAX = 1 << 5;
+
+    private static final Pattern PROPIEDAD = Pattern.compile("[A-Za-z]+");
+
+    /** Texto de la consulta sin ORDER BY para cada forma de filtro. */
+    private final AtomicReferenceArray<String> consultas = new AtomicReferenceArray<>(1 << 6);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Producto> buscar(FiltroProductoDTO filtro, Pageable pageable) {
+        int forma = forma(filtro);
+        TypedQuery<Producto> query = entityManager.createQuery(consulta(forma) + orden(pageable.getSort()), Producto.class);
+        if ((forma & COMPANIA) != 0) {
+            query.setParameter("companiaId", filtro.getCompaniaId());
+        }
+        if ((forma & CATEGORIA) != 0) {
+            query.setParameter("categoriaId", filtro.getCategoriaId());
+        }
+        if ((forma & ARTICULO) != 0) {
+            query.setParameter("articulo", "%" + escaparLike(filtro.getArticulo().toUpperCase(Locale.ROOT)) + "%");
+        }
+        if ((forma & STOCK) != 0) {
+            query.setParameter("stock", filtro.getStock());
+        }
+        if ((forma & PRECIO_MIN) != 0) {
+            query.setParameter("precioMin", filtro.getPrecioMin());
+        }
+        if ((forma & PRECIO_MAX) != 0) {
+            query.setParameter("precioMax", filtro.getPrecioMax());
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<Producto> productos = query.getResultList();
+        boolean haySiguiente = productos.size() > pageable.getPageSize();
+        return new SliceImpl<>(haySiguiente ? productos.subList(0, pageable.getPageSize()) : productos, pageable, haySiguiente);
+    }
+
+    private static int forma(FiltroProductoDTO filtro) {
+        int forma = 0;
+        if (filtro.getCompaniaId() != null) {
+            forma |= COMPANIA;
+        }
+        if (filtro.getCategoriaId() != null) {
+            forma |= CATEGORIA;
+        }
+        if (filtro.getArticulo() != null) {
+            forma |= ARTICULO;
+        }
+        if (filtro.getStock() != null) {
+            forma |= STOCK;
+        }
+        if (filtro.getPrecioMin() != null) {
+            forma |= PRECIO_MIN;
+        }
+        if (filtro.getPrecioMax() != null) {
+            forma |= PRECIO_MAX;
+        }
+        return forma;
+    }
+
+    private String consulta(int forma) {
+        String consulta = consultas.get(forma);
+        if (consulta == null) {
+            consulta = armarConsulta(forma);
+            consultas.set(forma, consulta);
+        }
+        return consulta;
+    }
+
+    private static String armarConsulta(int forma) {
+        StringJoiner condiciones = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if ((forma & COMPANIA) != 0) {
+            condiciones.add("p.compania.id = :companiaId");
+        }
+        if ((forma & CATEGORIA) != 0) {
+            condiciones.add("p.categoria.id = :categoriaId");
+        }
+        if ((forma & ARTICULO) != 0) {
+            // upper() coincide con la expresión del índice de trigramas de Postgres.
+            condiciones.add("UPPER(p.articulo) LIKE :articulo ESCAPE '!'");
+        }
+        if ((forma & STOCK) != 0) {
+            condiciones.add("p.stock = :stock");
+        }
+        if ((forma & PRECIO_MIN) != 0) {
+            condiciones.add("p.precio >= :precioMin");
+        }
+        if ((forma & PRECIO_MAX) != 0) {
+            condiciones.add("p.precio <= :precioMax");
+        }
+        return "SELECT p FROM Producto p" + condiciones;
+    }
+
+    private static String orden(Sort sort) {
+        StringJoiner orden = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        for (Sort.Order criterio : sort) {
+            if (!PROPIEDAD.matcher(criterio.getProperty()).matches()) {
+                throw new IllegalArgumentException("Propiedad de orden inválida: " + criterio.getProperty());
+            }
+            orden.add("p." + criterio.getProperty() + (criterio.isAscending() ? " ASC" : " DESC"));
+        }
+        return orden.toString();
+    }
+
+    private static String escaparLike(String texto) {
+        // '!' en lugar de '\\' para no depender de cómo cada base trata la barra invertida.
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
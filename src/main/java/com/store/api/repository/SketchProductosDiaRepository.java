@@ -0,0 +1,20 @@
+package com.store.api.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.store.api.entity.SketchProductosDia;
+
+public interface SketchProductosDiaRepository extends JpaRepository<SketchProductosDia, LocalDate> {
+
+    /**
+     * Obtiene los sketches de un rango de días.
+     * 
+     * @param desde Primer día (inclusive)
+     * @param hasta Último día (inclusive)
+     * @return Lista de sketches de los días con ventas
+     */
+    List<SketchProductosDia> findByDiaBetween(LocalDate desde, LocalDate hasta);
+}
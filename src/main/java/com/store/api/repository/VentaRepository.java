@@ -2,11 +2,20 @@ package com.store.api.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.store.api.entity.Venta;
+import com.store.api.repository.projection.VentaDiaCantidadPrecio;
+import com.store.api.repository.projection.VentaDiaHora;
+import com.store.api.repository.projection.VentaDiaProducto;
+import com.store.api.repository.projection.VentaDiaProductoId;
+import com.store.api.repository.projection.VentaDiaProductoUnidades;
 
 /**
  * Repositorio JPA para la entidad Venta.
@@ -64,4 +73,191 @@ public interface VentaRepository extends JpaRepository<Venta, Long> {
      * @return Lista de ventas dentro del rango
      */
     List<Venta> findByFechaBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
+
+    /**
+     * Obtiene la fecha de la primera venta registrada.
+     * 
+     * @return Fecha de la venta más antigua, vacío si no hay ventas
+     */
+    @Query("SELECT MIN(v.fecha) FROM Venta v")
+    Optional<LocalDateTime> findPrimeraFecha();
+
+    /**
+     * Obtiene la fecha de la última venta registrada.
+     * 
+     * @return Fecha de la venta más reciente, vacío si no hay ventas
+     */
+    @Query("SELECT MAX(v.fecha) FROM Venta v")
+    Optional<LocalDateTime> findUltimaFecha();
+
+    /**
+     * Obtiene la fecha de la primera venta de un producto.
+     * 
+     * @param productoId ID del producto
+     * @return Fecha de la venta más antigua del producto, vacío si no tiene ventas
+     */
+    @Query("SELECT MIN(v.fecha) FROM Venta v WHERE v.producto.id = :productoId")
+    Optional<LocalDateTime> findPrimeraFechaDeProducto(@Param("productoId") Long productoId);
+
+    /**
+     * Obtiene la fecha de la última venta de un producto.
+     * 
+     * @param productoId ID del producto
+     * @return Fecha de la venta más reciente del producto, vacío si no tiene ventas
+     */
+    @Query("SELECT MAX(v.fecha) FROM Venta v WHERE v.producto.id = :productoId")
+    Optional<LocalDateTime> findUltimaFechaDeProducto(@Param("productoId") Long productoId);
+
+    /**
+     * Agrupa las ventas de un rango por día, cantidad y precio del producto.
+     * 
+     * Devuelve una fila por combinación distinta, por lo que el resultado crece con la
+     * variedad de tickets y no con la cantidad de ventas.
+     * 
+     * @param inicio Fecha de inicio (inclusive)
+     * @param fin Fecha de fin (inclusive)
+     * @return Lista de grupos con la cantidad de ventas de cada uno
+     */
+    @Query("""
+            SELECT year(v.fecha) AS anio, month(v.fecha) AS mes, day(v.fecha) AS dia,
+                   v.cantidad AS cantidad, p.precio AS precio, COUNT(v) AS ventas
+            FROM Venta v JOIN v.producto p
+            WHERE v.fecha BETWEEN :inicio AND :fin
+            GROUP BY year(v.fecha), month(v.fecha), day(v.fecha), v.cantidad, p.precio
+            """)
+    List<VentaDiaCantidadPrecio> resumirPorDiaCantidadYPrecio(@Param("inicio") LocalDateTime inicio,
+                                                             @Param("fin") LocalDateTime fin);
+
+    /**
+     * Agrupa por día y producto las ventas de dos rangos de fechas en una sola consulta.
+     * 
+     * Los rangos pueden solaparse; cada fila corresponde a un día y el llamador decide
+     * a qué rango pertenece.
+     * 
+     * @param inicioA Fecha de inicio del primer rango (inclusive)
+     * @param finA Fecha de fin del primer rango (inclusive)
+     * @param inicioB Fecha de inicio del segundo rango (inclusive)
+     * @param finB Fecha de fin del segundo rango (inclusive)
+     * @return Lista de unidades e importe por día y producto
+     */
+    @Query("""
+            SELECT year(v.fecha) AS anio, month(v.fecha) AS mes, day(v.fecha) AS dia,
+                   p.id AS productoId, p.articulo AS articulo,
+                   SUM(v.cantidad) AS unidades, SUM(CAST(v.cantidad AS Long) * p.precio) AS importe
+            FROM Venta v JOIN v.producto p
+            WHERE v.fecha BETWEEN :inicioA AND :finA
+               OR v.fecha BETWEEN :inicioB AND :finB
+            GROUP BY year(v.fecha), month(v.fecha), day(v.fecha), p.id, p.articulo
+            """)
+    List<VentaDiaProducto> resumirPorDiaYProductoEnDosRangos(@Param("inicioA") LocalDateTime inicioA,
+                                                             @Param("finA") LocalDateTime finA,
+                                                             @Param("inicioB") LocalDateTime inicioB,
+                                                             @Param("finB") LocalDateTime finB);
+
+    /**
+     * Obtiene la primera página del historial de ventas de un producto, de la más reciente
+     * a la más antigua.
+     * 
+     * @param productoId ID del producto
+     * @param desde Fecha de inicio (inclusive)
+     * @param hasta Fecha de fin (inclusive)
+     * @param pageable Tamaño de la página (se ignora el número de página)
+     * @return Lista de ventas del producto ordenadas por fecha e ID descendentes
+     */
+    @Query("""
+            SELECT v FROM Venta v
+            WHERE v.producto.id = :productoId
+              AND v.fecha BETWEEN :desde AND :hasta
+            ORDER BY v.fecha DESC, v.id DESC
+            """)
+    List<Venta> findHistorialDeProducto(@Param("productoId") Long productoId,
+                                        @Param("desde") LocalDateTime desde,
+                                        @Param("hasta") LocalDateTime hasta,
+                                        Pageable pageable);
+
+    /**
+     * Obtiene la página siguiente del historial de ventas de un producto a partir de un cursor.
+     * 
+     * El cursor es la fecha y el ID de la última venta de la página anterior, por lo que la
+     * consulta continúa el rango del índice sin recorrer las filas ya devueltas.
+     * 
+     * @param productoId ID del producto
+     * @param desde Fecha de inicio (inclusive)
+     * @param hasta Fecha de fin (inclusive)
+     * @param fechaCursor Fecha de la última venta de la página anterior
+     * @param idCursor ID de la última venta de la página anterior
+     * @param pageable Tamaño de la página (se ignora el número de página)
+     * @return Lista de ventas del producto posteriores al cursor
+     */
+    @Query("""
+            SELECT v FROM Venta v
+            WHERE v.producto.id = :productoId
+              AND v.fecha BETWEEN :desde AND :hasta
+              AND (v.fecha < :fechaCursor OR (v.fecha = :fechaCursor AND v.id < :idCursor))
+            ORDER BY v.fecha DESC, v.id DESC
+            """)
+    List<Venta> findHistorialDeProductoDespuesDe(@Param("productoId") Long productoId,
+                                                 @Param("desde") LocalDateTime desde,
+                                                 @Param("hasta") LocalDateTime hasta,
+                                                 @Param("fechaCursor") LocalDateTime fechaCursor,
+                                                 @Param("idCursor") Long idCursor,
+                                                 Pageable pageable);
+
+    /**
+     * Agrupa las ventas de un rango por día y hora.
+     * 
+     * El día de la semana se deriva de la fecha de cada grupo, por lo que el resultado
+     * tiene como máximo 24 filas por día del rango.
+     * 
+     * @param inicio Fecha de inicio (inclusive)
+     * @param fin Fecha de fin (inclusive)
+     * @return Lista de unidades e importe por día y hora
+     */
+    @Query("""
+            SELECT year(v.fecha) AS anio, month(v.fecha) AS mes, day(v.fecha) AS dia, hour(v.fecha) AS hora,
+                   SUM(v.cantidad) AS unidades, SUM(CAST(v.cantidad AS Long) * p.precio) AS importe
+            FROM Venta v JOIN v.producto p
+            WHERE v.fecha BETWEEN :inicio AND :fin
+            GROUP BY year(v.fecha), month(v.fecha), day(v.fecha), hour(v.fecha)
+            """)
+    List<VentaDiaHora> resumirPorDiaYHora(@Param("inicio") LocalDateTime inicio,
+                                          @Param("fin") LocalDateTime fin);
+
+    /**
+     * Obtiene los pares distintos de día y producto vendido en un rango.
+     * 
+     * Se usa para reconstruir los sketches de productos distintos por día.
+     * 
+     * @param inicio Fecha de inicio (inclusive)
+     * @param fin Fecha de fin (inclusive)
+     * @return Lista de productos vendidos por día
+     */
+    @Query("""
+            SELECT DISTINCT year(v.fecha) AS anio, month(v.fecha) AS mes, day(v.fecha) AS dia,
+                   v.producto.id AS productoId
+            FROM Venta v
+            WHERE v.fecha BETWEEN :inicio AND :fin
+            """)
+    List<VentaDiaProductoId> findProductosPorDia(@Param("inicio") LocalDateTime inicio,
+                                                 @Param("fin") LocalDateTime fin);
+
+    /**
+     * Agrupa las unidades vendidas de un rango por día y producto.
+     * 
+     * Se usa para pronosticar la demanda diaria de cada producto sin leer las ventas
+     * individuales.
+     * 
+     * @param inicio Fecha de inicio (inclusive)
+     * @param fin Fecha de fin (inclusive)
+     * @return Lista de unidades vendidas por día y producto
+     */
+    @Query("""
+            SELECT year(v.fecha) AS anio, month(v.fecha) AS mes, day(v.fecha) AS dia,
+                   v.producto.id AS productoId, SUM(v.cantidad) AS unidades
+            FROM Venta v
+            WHERE v.fecha BETWEEN :inicio AND :fin
+            GROUP BY year(v.fecha), month(v.fecha), day(v.fecha), v.producto.id
+            """)
+    List<VentaDiaProductoUnidades> resumirUnidadesPorDiaYProducto(@Param("inicio") LocalDateTime inicio,
+                                                                  @Param("fin") LocalDateTime fin);
 }
@@ -0,0 +1,24 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un producto con stock que no tiene ventas recientes.
+ */
+public interface ProductoSinVentas {
+
+    Long getId();
+
+    String getArticulo();
+
+    Integer getStock();
+
+    Integer getPrecioUnitario();
+
+    /**
+     * Obtiene la fecha de la última venta del producto.
+     * 
+     * @return LocalDateTime de la última venta, o null si nunca se vendió
+     */
+    LocalDateTime getUltimaVenta();
+}
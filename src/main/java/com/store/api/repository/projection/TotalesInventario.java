@@ -0,0 +1,18 @@
+package com.store.api.repository.projection;
+
+/**
+ * Proyección de los totales del inventario de un grupo de productos (una categoría o
+ * una compañía; sin grupo, los productos que no tienen).
+ */
+public interface TotalesInventario {
+
+    Long getGrupoId();
+
+    Long getProductos();
+
+    Long getStock();
+
+    Long getValorCosto();
+
+    Long getValorVenta();
+}
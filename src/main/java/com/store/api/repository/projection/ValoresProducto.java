@@ -0,0 +1,20 @@
+package com.store.api.repository.projection;
+
+/**
+ * Proyección de los valores de un producto que intervienen en la valorización del
+ * inventario.
+ */
+public interface ValoresProducto {
+
+    Long getId();
+
+    Integer getStock();
+
+    Integer getPrecio();
+
+    Integer getPrecioUnitario();
+
+    Long getCategoriaId();
+
+    Long getCompaniaId();
+}
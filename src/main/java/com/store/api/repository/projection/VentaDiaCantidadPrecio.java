@@ -0,0 +1,33 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de ventas agrupadas por día, cantidad y precio del producto.
+ * 
+ * Cada fila resume todas las ventas de un mismo día que tienen la misma cantidad
+ * y el mismo precio, junto con cuántas ventas hay en ese grupo.
+ */
+public interface VentaDiaCantidadPrecio {
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Integer getDia();
+
+    Integer getCantidad();
+
+    Integer getPrecio();
+
+    Long getVentas();
+
+    /**
+     * Obtiene el día del grupo como fecha.
+     * 
+     * @return LocalDate del grupo
+     */
+    default LocalDate getFecha() {
+        return LocalDate.of(getAnio(), getMes(), getDia());
+    }
+}
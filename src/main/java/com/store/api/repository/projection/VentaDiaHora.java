@@ -0,0 +1,33 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de ventas agrupadas por día y hora.
+ * 
+ * Cada fila resume las unidades vendidas y el importe a precio cliente de una
+ * hora de un día.
+ */
+public interface VentaDiaHora {
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Integer getDia();
+
+    Integer getHora();
+
+    Long getUnidades();
+
+    Long getImporte();
+
+    /**
+     * Obtiene el día del grupo como fecha.
+     * 
+     * @return LocalDate del grupo
+     */
+    default LocalDate getFecha() {
+        return LocalDate.of(getAnio(), getMes(), getDia());
+    }
+}
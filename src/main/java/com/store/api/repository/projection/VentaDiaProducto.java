@@ -0,0 +1,35 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de ventas agrupadas por día y producto.
+ * 
+ * Cada fila resume las unidades vendidas y el importe a precio cliente de un
+ * producto en un día.
+ */
+public interface VentaDiaProducto {
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Integer getDia();
+
+    Long getProductoId();
+
+    String getArticulo();
+
+    Long getUnidades();
+
+    Long getImporte();
+
+    /**
+     * Obtiene el día del grupo como fecha.
+     * 
+     * @return LocalDate del grupo
+     */
+    default LocalDate getFecha() {
+        return LocalDate.of(getAnio(), getMes(), getDia());
+    }
+}
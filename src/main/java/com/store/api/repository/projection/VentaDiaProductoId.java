@@ -0,0 +1,28 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de los productos vendidos en cada día.
+ * 
+ * Cada fila es un par distinto de día y producto.
+ */
+public interface VentaDiaProductoId {
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Integer getDia();
+
+    Long getProductoId();
+
+    /**
+     * Obtiene el día del grupo como fecha.
+     * 
+     * @return LocalDate del grupo
+     */
+    default LocalDate getFecha() {
+        return LocalDate.of(getAnio(), getMes(), getDia());
+    }
+}
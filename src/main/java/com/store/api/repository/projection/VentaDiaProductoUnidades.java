@@ -0,0 +1,31 @@
+package com.store.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de unidades vendidas agrupadas por día y producto.
+ * 
+ * Cada fila resume las unidades vendidas de un producto en un día, sin unir con la
+ * tabla de productos.
+ */
+public interface VentaDiaProductoUnidades {
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Integer getDia();
+
+    Long getProductoId();
+
+    Long getUnidades();
+
+    /**
+     * Obtiene el día del grupo como fecha.
+     * 
+     * @return LocalDate del grupo
+     */
+    default LocalDate getFecha() {
+        return LocalDate.of(getAnio(), getMes(), getDia());
+    }
+}
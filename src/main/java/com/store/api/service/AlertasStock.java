@@ -0,0 +1,217 @@
+package com.store.api.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.AlertaStockDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.StockBajoEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Alertas de stock bajo mantenidas en memoria.
+ *
+ * Cada producto puede tener un umbral de reposición (Producto.stockMinimo). Con cada
+ * ProductoModificadoEvent (alta, actualización, modifyStock o venta) se compara el stock
+ * nuevo con el umbral del producto, en O(1) y sin consultar la base de datos. Un producto
+ * entra en alerta cuando su stock no supera el umbral y sale recién cuando lo supera por
+ * un margen ({@code store.productos.alertas.histeresis}, en porcentaje del umbral y como
+ * mínimo una unidad), así un stock que oscila alrededor del umbral no genera una alerta
+ * por cada venta. Al entrar en alerta se registra un aviso y se publica un StockBajoEvent.
+ *
+ * El conjunto de productos en alerta se carga al iniciar con una consulta que solo trae
+ * los productos con stock bajo, y se vuelve a cargar en cuanto termina una importación
+ * masiva. La consulta se hace fuera del lock de las alertas: mientras corre, los cambios
+ * de stock se siguen evaluando contra el conjunto anterior y se anotan para aplicarlos
+ * otra vez sobre el resultado de la consulta, así las ventas no esperan a la recarga ni
+ * se pierden sus cambios.
+ */
+@Component
+public class AlertasStock {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertasStock.class);
+
+    private final ProductoRepository productoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int histeresis;
+
+    /** Productos en alerta por ID; se reemplaza entero al recargar. */
+    private volatile Map<Long, AlertaStockDTO> alertas = new ConcurrentHashMap<>();
+
+    /** Indica si las alertas ya fueron cargadas desde la base de datos. */
+    private volatile boolean cargado;
+
+    /**
+     * Último cambio de cada producto modificado mientras corre una recarga, o null si no
+     * hay ninguna en curso. Protegido por el lock de la instancia.
+     */
+    private Map<Long, ProductoModificadoEvent> modificadosDuranteRecarga;
+
+    /** Lock que serializa las recargas sin bloquear la evaluación de los cambios de stock. */
+    private final Object recarga = new Object();
+
+    public AlertasStock(ProductoRepository productoRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${store.productos.alertas.histeresis:20}") int histeresis) {
+        this.productoRepository = productoRepository;
+        this.eventPublisher = eventPublisher;
+        this.histeresis = histeresis;
+    }
+
+    /**
+     * Carga las alertas al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Vuelve a leer de la base de datos los productos con stock bajo. Las alertas que
+     * siguen vigentes conservan el momento en que empezaron.
+     */
+    public void recargar() {
+        synchronized (recarga) {
+            synchronized (this) {
+                modificadosDuranteRecarga = new LinkedHashMap<>();
+            }
+            try {
+                List<Producto> productos = productoRepository.findConStockBajo();
+                synchronized (this) {
+                    Map<Long, AlertaStockDTO> anteriores = alertas;
+                    Map<Long, AlertaStockDTO> nuevas = new ConcurrentHashMap<>();
+                    for (Producto producto : productos) {
+                        AlertaStockDTO anterior = anteriores.get(producto.getId());
+                        nuevas.put(producto.getId(),
+                                alerta(producto, anterior != null ? anterior.getDesde() : LocalDateTime.now()));
+                    }
+                    // Los cambios confirmados durante la consulta pueden no estar en su resultado.
+                    for (ProductoModificadoEvent event : modificadosDuranteRecarga.values()) {
+                        evaluar(nuevas, event);
+                    }
+                    alertas = nuevas;
+                    cargado = true;
+                }
+            } finally {
+                synchronized (this) {
+                    modificadosDuranteRecarga = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene los productos en alerta de stock bajo.
+     *
+     * @return Alertas ordenadas por ID de producto
+     */
+    public List<AlertaStockDTO> listar() {
+        if (!cargado) {
+            synchronized (recarga) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        return alertas.values().stream()
+                .sorted(Comparator.comparing(AlertaStockDTO::getProductoId))
+                .toList();
+    }
+
+    /**
+     * Evalúa el stock del producto modificado contra su umbral.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoModificado(ProductoModificadoEvent event) {
+        Long id = event.getProductoId();
+        if (id == null) {
+            return;
+        }
+        AlertaStockDTO nueva;
+        synchronized (this) {
+            if (modificadosDuranteRecarga != null) {
+                modificadosDuranteRecarga.put(id, event);
+            }
+            if (!cargado) {
+                return;
+            }
+            nueva = evaluar(alertas, event);
+        }
+        if (nueva != null) {
+            log.warn("Stock bajo del producto {} ({}): {} unidades, umbral {}",
+                    id, nueva.getArticulo(), nueva.getStock(), nueva.getStockMinimo());
+            eventPublisher.publishEvent(new StockBajoEvent(nueva));
+        }
+    }
+
+    /**
+     * Vuelve a cargar las alertas tras una importación masiva, en el hilo de la importación.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        recargar();
+    }
+
+    /**
+     * Aplica el estado del producto del evento sobre las alertas indicadas.
+     *
+     * @return La alerta si el producto acaba de entrar en alerta, o null
+     */
+    private AlertaStockDTO evaluar(Map<Long, AlertaStockDTO> alertas, ProductoModificadoEvent event) {
+        Long id = event.getProductoId();
+        Producto producto = event.getProducto();
+        AlertaStockDTO actual = alertas.get(id);
+        if (event.eliminado() || producto.getStockMinimo() == null) {
+            alertas.remove(id);
+        } else if (producto.getStock() <= producto.getStockMinimo()) {
+            if (actual == null) {
+                AlertaStockDTO nueva = alerta(producto, LocalDateTime.now());
+                alertas.put(id, nueva);
+                return nueva;
+            }
+            alertas.put(id, alerta(producto, actual.getDesde()));
+        } else if (actual != null) {
+            if (producto.getStock() > producto.getStockMinimo() + margen(producto.getStockMinimo())) {
+                alertas.remove(id);
+            } else {
+                alertas.put(id, alerta(producto, actual.getDesde()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula cuánto debe superar el stock al umbral para salir de la alerta.
+     *
+     * @param stockMinimo Umbral de reposición
+     * @return Margen en unidades, al menos 1
+     */
+    int margen(int stockMinimo) {
+        return Math.max(1, (int) ((long) stockMinimo * histeresis / 100));
+    }
+
+    private static AlertaStockDTO alerta(Producto producto, LocalDateTime desde) {
+        return new AlertaStockDTO(producto.getId(), producto.getArticulo(), producto.getStock(),
+                producto.getStockMinimo(), desde);
+    }
+}
@@ -0,0 +1,173 @@
+package com.store.api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.util.IndicePrefijos;
+
+/**
+ * Autocompletado de productos por prefijo del artículo o de la descripción.
+ *
+ * Mantiene dos IndicePrefijos: uno con los artículos y otro con las descripciones.
+ * De cada texto se indexa el sufijo que empieza en cada palabra, así "cue" sugiere
+ * "Cartera de cuero" y "de cu" también. Las sugerencias por artículo van antes que las
+ * que solo coinciden por descripción.
+ *
+ * Se carga desde la instantánea de CatalogoProductos y se actualiza con el
+ * ProductoModificadoEvent publicado en cada alta, modificación o baja. Como cada
+ * actualización copia el índice completo, los eventos que no cambian el artículo ni
+ * la descripción (por ejemplo, el descuento de stock de cada venta) se ignoran.
+ */
+@Component
+public class AutocompletadoProductos {
+
+    private final CatalogoProductos catalogoProductos;
+    private final IndicePrefijos articulos;
+    private final IndicePrefijos descripciones;
+
+    /** Artículo y descripción indexados de cada producto, para ignorar los eventos que no los cambian. */
+    private final Map<Long, Textos> indexados = new HashMap<>();
+
+    /** Indica si los índices ya fueron cargados desde el catálogo. */
+    private volatile boolean cargado;
+
+    @Autowired
+    public AutocompletadoProductos(CatalogoProductos catalogoProductos) {
+        this(catalogoProductos, new IndicePrefijos(), new IndicePrefijos());
+    }
+
+    AutocompletadoProductos(CatalogoProductos catalogoProductos, IndicePrefijos articulos,
+                            IndicePrefijos descripciones) {
+        this.catalogoProductos = catalogoProductos;
+        this.articulos = articulos;
+        this.descripciones = descripciones;
+    }
+
+    /**
+     * Carga los índices al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Reconstruye los índices con los productos del catálogo.
+     */
+    public synchronized void recargar() {
+        Map<Long, List<String>> clavesArticulo = new HashMap<>();
+        Map<Long, List<String>> clavesDescripcion = new HashMap<>();
+        indexados.clear();
+        for (ProductoResponseDTO producto : catalogoProductos.listar()) {
+            clavesArticulo.put(producto.getId(), claves(producto.getArticulo()));
+            clavesDescripcion.put(producto.getId(), claves(producto.getDescripcion()));
+            indexados.put(producto.getId(), new Textos(producto.getArticulo(), producto.getDescripcion()));
+        }
+        articulos.cargar(clavesArticulo);
+        descripciones.cargar(clavesDescripcion);
+        cargado = true;
+    }
+
+    /**
+     * Obtiene los IDs de los productos cuyo artículo o descripción tiene una palabra que empieza con el prefijo.
+     *
+     * @param prefijo Texto ingresado (insensible a mayúsculas/minúsculas y tildes)
+     * @param limite Cantidad máxima de sugerencias
+     * @return IDs de los productos, primero los que coinciden por artículo
+     */
+    public List<Long> sugerir(String prefijo, int limite) {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        Set<Long> resultado = new LinkedHashSet<>(articulos.buscar(prefijo, limite));
+        if (resultado.size() < limite) {
+            for (Long id : descripciones.buscar(prefijo, limite)) {
+                resultado.add(id);
+                if (resultado.size() == limite) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(resultado);
+    }
+
+    /**
+     * Aplica a los índices el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        long id = event.getProductoId();
+        if (event.eliminado()) {
+            indexados.remove(id);
+            articulos.quitar(id);
+            descripciones.quitar(id);
+            return;
+        }
+        Textos nuevos = new Textos(event.getProducto().getArticulo(), event.getProducto().getDescripcion());
+        Textos anteriores = indexados.put(id, nuevos);
+        if (anteriores == null || !Objects.equals(anteriores.articulo(), nuevos.articulo())) {
+            articulos.agregar(id, claves(nuevos.articulo()));
+        }
+        if (anteriores == null || !Objects.equals(anteriores.descripcion(), nuevos.descripcion())) {
+            descripciones.agregar(id, claves(nuevos.descripcion()));
+        }
+    }
+
+    /**
+     * Obtiene el texto completo y los sufijos que empiezan en cada una de sus palabras.
+     *
+     * @param texto Texto del producto
+     * @return Claves a indexar, vacía si el texto es nulo
+     */
+    static List<String> claves(String texto) {
+        List<String> claves = new ArrayList<>();
+        if (texto == null) {
+            return claves;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            boolean iniciaPalabra = i == 0 || (Character.isLetterOrDigit(texto.charAt(i))
+                    && !Character.isLetterOrDigit(texto.charAt(i - 1)));
+            if (iniciaPalabra) {
+                claves.add(texto.substring(i, Math.min(texto.length(), i + IndicePrefijos.LONGITUD_MAXIMA_CLAVE)));
+            }
+        }
+        return claves;
+    }
+
+    /**
+     * Descarta los índices tras una importación masiva; se vuelven a cargar en la siguiente consulta.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+
+    private record Textos(String articulo, String descripcion) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.store.api.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.util.ArbolBK;
+import com.store.api.util.IndiceTexto;
+
+/**
+ * Búsqueda de productos tolerante a errores de tipeo sobre las palabras del artículo.
+ *
+ * Las palabras de cada artículo, sin tildes y en minúsculas, se guardan en un ArbolBK.
+ * Cada palabra de la consulta se compara con una distancia de Levenshtein máxima según
+ * su longitud: exacta hasta 2 caracteres, 1 error hasta 5 y 2 errores desde 6. Un
+ * producto coincide si todas las palabras de la consulta coinciden con alguna de su
+ * artículo, y los resultados se ordenan por la suma de las distancias.
+ *
+ * Se carga desde la instantánea de CatalogoProductos y se mantiene al día con el
+ * ProductoModificadoEvent publicado en cada escritura; los eventos que no cambian las
+ * palabras del artículo (la mayoría: stock y precio) no tocan el árbol. Como el árbol no
+ * puede quitar nodos, cuando más de la mitad de sus nodos quedó sin productos se
+ * reconstruye con las palabras vigentes y se reemplaza de una vez, sin que las búsquedas
+ * en curso vean un árbol a medio armar.
+ */
+@Component
+public class BusquedaAproximadaProductos {
+
+    /** Nodos sin productos a partir de los cuales se considera reconstruir el árbol. */
+    private static final int NODOS_VACIOS_MINIMO = 1000;
+
+    private final CatalogoProductos catalogoProductos;
+    private volatile ArbolBK arbol = new ArbolBK();
+
+    /** Palabras indexadas de cada producto, para quitarlas cuando cambia su artículo. */
+    private final Map<Long, Set<String>> palabrasPorProducto = new HashMap<>();
+
+    /** Indica si el índice ya fue cargado desde el catálogo. */
+    private volatile boolean cargado;
+
+    public BusquedaAproximadaProductos(CatalogoProductos catalogoProductos) {
+        this.catalogoProductos = catalogoProductos;
+    }
+
+    /**
+     * Carga el índice al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Reconstruye el índice con los artículos del catálogo.
+     */
+    public synchronized void recargar() {
+        palabrasPorProducto.clear();
+        for (ProductoResponseDTO producto : catalogoProductos.listar()) {
+            Set<String> palabras = palabras(producto.getArticulo());
+            if (!palabras.isEmpty()) {
+                palabrasPorProducto.put(producto.getId(), palabras);
+            }
+        }
+        arbol = construirArbol();
+        cargado = true;
+    }
+
+    /**
+     * Busca los productos cuyo artículo tiene palabras parecidas a las de la consulta.
+     *
+     * @param consulta Texto ingresado, posiblemente con errores de tipeo
+     * @param limite Cantidad máxima de resultados
+     * @return IDs de los productos, primero los de menor distancia total
+     */
+    public List<Long> buscar(String consulta, int limite) {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        ArbolBK arbol = this.arbol;
+        Map<Long, Integer> distancias = null;
+        for (String palabra : new LinkedHashSet<>(IndiceTexto.palabras(consulta))) {
+            Map<Long, Integer> mejores = new HashMap<>();
+            for (ArbolBK.Coincidencia coincidencia : arbol.buscar(palabra, distanciaMaxima(palabra))) {
+                for (Long id : coincidencia.ids()) {
+                    mejores.merge(id, coincidencia.distancia(), Math::min);
+                }
+            }
+            if (distancias == null) {
+                distancias = mejores;
+            } else {
+                distancias.keySet().retainAll(mejores.keySet());
+                distancias.replaceAll((id, distancia) -> distancia + mejores.get(id));
+            }
+            if (distancias.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (distancias == null) {
+            return List.of();
+        }
+        return distancias.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(0, limite))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Aplica al índice el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        Long id = event.getProductoId();
+        Set<String> nuevas = event.eliminado() ? Set.of() : palabras(event.getProducto().getArticulo());
+        Set<String> anteriores = palabrasPorProducto.getOrDefault(id, Set.of());
+        if (anteriores.equals(nuevas)) {
+            return;
+        }
+        for (String palabra : anteriores) {
+            if (!nuevas.contains(palabra)) {
+                arbol.quitar(palabra, id);
+            }
+        }
+        for (String palabra : nuevas) {
+            if (!anteriores.contains(palabra)) {
+                arbol.agregar(palabra, id);
+            }
+        }
+        if (nuevas.isEmpty()) {
+            palabrasPorProducto.remove(id);
+        } else {
+            palabrasPorProducto.put(id, nuevas);
+        }
+        int vacios = arbol.nodos() - arbol.tamanio();
+        if (vacios >= NODOS_VACIOS_MINIMO && vacios > arbol.tamanio()) {
+            arbol = construirArbol();
+        }
+    }
+
+    /**
+     * Descarta el índice tras una importación masiva; se vuelve a cargar en la siguiente búsqueda.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+
+    /**
+     * Obtiene la distancia de Levenshtein admitida para una palabra de la consulta.
+     *
+     * @param palabra Palabra normalizada
+     * @return 0 hasta 2 caracteres, 1 hasta 5 y 2 para palabras más largas
+     */
+    static int distanciaMaxima(String palabra) {
+        if (palabra.length() <= 2) {
+            return 0;
+        }
+        return palabra.length() <= 5 ? 1 : 2;
+    }
+
+    private static Set<String> palabras(String articulo) {
+        return new LinkedHashSet<>(IndiceTexto.palabras(articulo));
+    }
+
+    /**
+     * Arma un árbol nuevo con las palabras vigentes de cada producto.
+     */
+    private ArbolBK construirArbol() {
+        ArbolBK nuevo = new ArbolBK();
+        palabrasPorProducto.forEach((id, palabras) -> {
+            for (String palabra : palabras) {
+                nuevo.agregar(palabra, id);
+            }
+        });
+        return nuevo;
+    }
+}
@@ -0,0 +1,123 @@
+package com.store.api.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.util.IndiceTexto;
+
+/**
+ * Índice de texto completo en memoria sobre el artículo y la descripción de cada producto.
+ *
+ * Las palabras del artículo pesan el doble que las de la descripción. Se carga desde
+ * la instantánea de CatalogoProductos y se mantiene al día con el ProductoModificadoEvent
+ * publicado en cada escritura, igual que IndiceArticulos. Los eventos que no cambian el
+ * artículo ni la descripción (los de stock y precio, entre ellos cada venta) no tocan el
+ * índice.
+ */
+@Component
+public class BusquedaTextoProductos {
+
+    /** Peso de las palabras del artículo. */
+    private static final double PESO_ARTICULO = 2;
+
+    /** Peso de las palabras de la descripción. */
+    private static final double PESO_DESCRIPCION = 1;
+
+    private final CatalogoProductos catalogoProductos;
+    private final IndiceTexto indice = new IndiceTexto(PESO_ARTICULO, PESO_DESCRIPCION);
+
+    /** Artículo y descripción indexados de cada producto, para ignorar los eventos que no los cambian. */
+    private final Map<Long, Textos> indexados = new HashMap<>();
+
+    /** Indica si el índice ya fue cargado desde el catálogo. */
+    private volatile boolean cargado;
+
+    public BusquedaTextoProductos(CatalogoProductos catalogoProductos) {
+        this.catalogoProductos = catalogoProductos;
+    }
+
+    /**
+     * Carga el índice al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Reconstruye el índice con los productos del catálogo.
+     */
+    public synchronized void recargar() {
+        indice.limpiar();
+        indexados.clear();
+        for (ProductoResponseDTO producto : catalogoProductos.listar()) {
+            indice.agregar(producto.getId(), producto.getArticulo(), producto.getDescripcion());
+            indexados.put(producto.getId(), new Textos(producto.getArticulo(), producto.getDescripcion()));
+        }
+        cargado = true;
+    }
+
+    /**
+     * Busca los productos que contienen todas las palabras de la consulta.
+     *
+     * @param consulta Palabras a buscar (insensible a mayúsculas, tildes, plural y género)
+     * @param desde Posición del primer resultado
+     * @param cantidad Cantidad máxima de resultados
+     * @return Resultado con los IDs ordenados por relevancia y el total de coincidencias
+     */
+    public IndiceTexto.Resultado buscar(String consulta, int desde, int cantidad) {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        return indice.buscar(consulta, desde, cantidad);
+    }
+
+    /**
+     * Aplica al índice el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        long id = event.getProductoId();
+        if (event.eliminado()) {
+            indexados.remove(id);
+            indice.quitar(id);
+            return;
+        }
+        Textos nuevos = new Textos(event.getProducto().getArticulo(), event.getProducto().getDescripcion());
+        if (nuevos.equals(indexados.put(id, nuevos))) {
+            return;
+        }
+        indice.agregar(id, nuevos.articulo(), nuevos.descripcion());
+    }
+
+    /**
+     * Descarta el índice tras una importación masiva; se vuelve a cargar en la siguiente búsqueda.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+
+    private record Textos(String articulo, String descripcion) {
+    }
+}
@@ -0,0 +1,416 @@
+package com.store.api.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.CambioProductoDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.exception.ServiceUnavailableException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Flujo de cambios de stock y precio de los productos por server-sent events.
+ *
+ * Cada ProductoModificadoEvent (escrituras de ProductoService y ventas de VentaService)
+ * recibe un número de secuencia y queda pendiente. Cada
+ * {@code store.productos.cambios.intervalo-ms} los pendientes se envían a todos los
+ * suscriptores, con un solo cambio por producto (el último), así una ráfaga de ventas de
+ * un producto llega como un único evento.
+ *
+ * Los cambios enviados se guardan en un historial acotado
+ * ({@code store.productos.cambios.historial}). El ID de cada evento lleva el instante de
+ * arranque y la secuencia; un cliente que se reconecta con Last-Event-ID recibe los
+ * cambios posteriores del historial. Si el ID es de otra ejecución, es anterior al
+ * historial o hubo una importación masiva (que no informa producto por producto), el
+ * cliente recibe un evento {@code recarga} y debe volver a leer el catálogo.
+ *
+ * La tarea programada solo arma los envíos y los encola por suscriptor; cada cola se
+ * vacía en un ejecutor propio de hilos virtuales, de a una tarea por suscriptor,
+ * así cada uno recibe los eventos en orden y un cliente lento no demora a los demás ni
+ * a las otras tareas programadas. Un suscriptor con más de
+ * {@link #ENVIOS_ENCOLADOS_MAXIMO} envíos sin entregar se desconecta y, al reconectarse,
+ * recupera lo perdido desde el historial. La cantidad de suscriptores está acotada por
+ * {@code store.productos.cambios.suscriptores-maximo}.
+ */
+@Component
+public class CambiosProductos {
+
+    /** Nombre de los eventos con un cambio de producto. */
+    public static final String EVENTO_PRODUCTO = "producto";
+
+    /** Nombre del evento que pide al cliente volver a leer el catálogo. */
+    public static final String EVENTO_RECARGA = "recarga";
+
+    /** Envíos sin entregar a partir de los cuales se desconecta a un suscriptor. */
+    static final int ENVIOS_ENCOLADOS_MAXIMO = 64;
+
+    /** Tiempo sin eventos tras el cual se envía un comentario para mantener viva la conexión. */
+    private static final long LATIDO_MS = 15_000;
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final int capacidadHistorial;
+    private final long tiempoDeVidaMs;
+    private final int maximoSuscriptores;
+    private final Executor envios;
+
+    /** Último número de secuencia asignado. */
+    private long secuencia;
+
+    /** Último cambio de cada producto todavía no enviado, en orden de llegada. */
+    private final Map<Long, CambioProductoDTO> pendientes = new LinkedHashMap<>();
+
+    /** Cambios ya enviados, del más antiguo al más reciente. */
+    private final ArrayDeque<CambioProductoDTO> historial = new ArrayDeque<>();
+
+    /** Secuencia hasta la cual los cambios ya no pueden recuperarse del historial. */
+    private long descartadosHasta;
+
+    /** Secuencia del último evento enviado o, tras una importación, de la recarga. */
+    private long ultimaEnviada;
+
+    /** Indica si hay que enviar un evento de recarga a todos los suscriptores. */
+    private boolean recargaPendiente;
+
+    /** Suscripciones a las que todavía no se les envió lo anterior a su conexión. */
+    private final List<Suscripcion> nuevas = new ArrayList<>();
+
+    private final List<Suscriptor> suscriptores = new CopyOnWriteArrayList<>();
+
+    private long ultimoEnvio = System.currentTimeMillis();
+
+    @Autowired
+    public CambiosProductos(@Value("${store.productos.cambios.historial:10000}") int capacidadHistorial,
+                            @Value("${store.productos.cambios.tiempo-de-vida-ms:1800000}") long tiempoDeVidaMs,
+                            @Value("${store.productos.cambios.suscriptores-maximo:1000}") int maximoSuscriptores) {
+        // Hilos virtuales: un envío bloqueado en la escritura a un cliente lento no ocupa
+        // un hilo del pool de tareas programadas ni del servidor.
+        this(capacidadHistorial, tiempoDeVidaMs, maximoSuscriptores, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    CambiosProductos(int capacidadHistorial, long tiempoDeVidaMs, int maximoSuscriptores, Executor envios) {
+        this.capacidadHistorial = Math.max(1, capacidadHistorial);
+        this.tiempoDeVidaMs = tiempoDeVidaMs;
+        this.maximoSuscriptores = maximoSuscriptores;
+        this.envios = envios;
+    }
+
+    /**
+     * Registra un suscriptor al flujo. Lo pendiente desde Last-Event-ID se le envía en la
+     * siguiente ejecución de la tarea programada, antes que los cambios nuevos.
+     *
+     * @param ultimoId Valor del encabezado Last-Event-ID, o null si el cliente no se reconecta
+     * @return SseEmitter de la conexión
+     * @throws ServiceUnavailableException si ya se alcanzó la cantidad máxima de suscriptores
+     */
+    public SseEmitter suscribir(String ultimoId) {
+        Suscriptor suscriptor;
+        synchronized (this) {
+            if (suscriptores.size() + nuevas.size() >= maximoSuscriptores) {
+                throw new ServiceUnavailableException("Se alcanzó la cantidad máxima de suscriptores al flujo de cambios");
+            }
+            suscriptor = new Suscriptor(new SseEmitter(tiempoDeVidaMs));
+            Optional<List<CambioProductoDTO>> anteriores = ultimoId == null
+                    ? Optional.of(List.of())
+                    : cambiosDesde(ultimoId);
+            nuevas.add(new Suscripcion(suscriptor, anteriores.orElse(null), ultimaEnviada));
+        }
+        SseEmitter emisor = suscriptor.emisor;
+        emisor.onCompletion(() -> desconectar(suscriptor));
+        emisor.onTimeout(() -> desconectar(suscriptor));
+        emisor.onError(e -> desconectar(suscriptor));
+        return emisor;
+    }
+
+    /**
+     * Obtiene los cambios del historial posteriores a un ID de evento, con un solo cambio
+     * por producto.
+     *
+     * @param ultimoId ID del último evento recibido por el cliente
+     * @return Cambios posteriores en orden de secuencia, o vacío si el cliente debe recargar
+     */
+    synchronized Optional<List<CambioProductoDTO>> cambiosDesde(String ultimoId) {
+        long desde = secuencia(ultimoId);
+        if (desde < descartadosHasta || desde > ultimaEnviada) {
+            return Optional.empty();
+        }
+        Map<Long, CambioProductoDTO> porProducto = new LinkedHashMap<>();
+        for (CambioProductoDTO cambio : historial) {
+            if (cambio.getVersion() > desde) {
+                porProducto.remove(cambio.getId());
+                porProducto.put(cambio.getId(), cambio);
+            }
+        }
+        return Optional.of(List.copyOf(porProducto.values()));
+    }
+
+    /**
+     * Registra el cambio de un producto para el próximo envío.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        Long id = event.getProductoId();
+        if (id == null) {
+            return;
+        }
+        Producto producto = event.getProducto();
+        CambioProductoDTO cambio = event.eliminado()
+                ? new CambioProductoDTO(id, 0, 0, ++secuencia, true)
+                : new CambioProductoDTO(id, producto.getStock(), producto.getPrecio(), ++secuencia, false);
+        pendientes.remove(id);
+        pendientes.put(id, cambio);
+    }
+
+    /**
+     * Tras una importación masiva descarta el historial y pide a los suscriptores que
+     * vuelvan a leer el catálogo.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        pendientes.clear();
+        historial.clear();
+        descartadosHasta = ++secuencia;
+        ultimaEnviada = secuencia;
+        recargaPendiente = true;
+    }
+
+    /**
+     * Encola para los suscriptores nuevos lo anterior a su conexión y para todos los
+     * cambios pendientes. No espera a que se entreguen.
+     */
+    @Scheduled(fixedDelayString = "${store.productos.cambios.intervalo-ms:250}")
+    public void enviarPendientes() {
+        List<CambioProductoDTO> lote;
+        List<Suscripcion> conectadas;
+        boolean recarga;
+        long idRecarga;
+        synchronized (this) {
+            lote = List.copyOf(pendientes.values());
+            pendientes.clear();
+            for (CambioProductoDTO cambio : lote) {
+                if (historial.size() == capacidadHistorial) {
+                    descartadosHasta = historial.removeFirst().getVersion();
+                }
+                historial.addLast(cambio);
+                ultimaEnviada = cambio.getVersion();
+            }
+            conectadas = List.copyOf(nuevas);
+            nuevas.clear();
+            recarga = recargaPendiente;
+            recargaPendiente = false;
+            idRecarga = descartadosHasta;
+        }
+
+        for (Suscripcion suscripcion : conectadas) {
+            Suscriptor suscriptor = suscripcion.suscriptor();
+            List<CambioProductoDTO> anteriores = suscripcion.anteriores();
+            long ultimaEnviadaAlConectarse = suscripcion.ultimaEnviada();
+            suscriptor.encolar(anteriores == null
+                    ? emisor -> enviar(emisor, recarga(ultimaEnviadaAlConectarse))
+                    : emisor -> enviar(emisor, anteriores));
+            suscriptores.add(suscriptor);
+        }
+        long ahora = System.currentTimeMillis();
+        boolean latido = lote.isEmpty() && ahora - ultimoEnvio >= LATIDO_MS;
+        if (recarga || !lote.isEmpty() || latido) {
+            for (Suscriptor suscriptor : suscriptores) {
+                suscriptor.encolar(emisor -> (!recarga || enviar(emisor, recarga(idRecarga)))
+                        && (lote.isEmpty() || enviar(emisor, lote))
+                        && (!latido || enviar(emisor, SseEmitter.event().comment("latido"))));
+            }
+            ultimoEnvio = ahora;
+        }
+    }
+
+    /**
+     * Detiene los envíos en curso al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        if (envios instanceof ExecutorService servicio) {
+            servicio.shutdownNow();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de suscriptores conectados.
+     *
+     * @return Cantidad de suscriptores
+     */
+    public int suscriptores() {
+        return suscriptores.size();
+    }
+
+    private void desconectar(Suscriptor suscriptor) {
+        suscriptores.remove(suscriptor);
+        synchronized (this) {
+            nuevas.removeIf(suscripcion -> suscripcion.suscriptor() == suscriptor);
+        }
+    }
+
+    private boolean enviar(SseEmitter emisor, Collection<CambioProductoDTO> cambios) {
+        for (CambioProductoDTO cambio : cambios) {
+            SseEmitter.SseEventBuilder evento = SseEmitter.event()
+                    .id(idEvento(cambio.getVersion()))
+                    .name(EVENTO_PRODUCTO)
+                    .data(cambio, MediaType.APPLICATION_JSON);
+            if (!enviar(emisor, evento)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean enviar(SseEmitter emisor, SseEmitter.SseEventBuilder evento) {
+        try {
+            emisor.send(evento);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder recarga(long version) {
+        return SseEmitter.event().id(idEvento(version)).name(EVENTO_RECARGA).data("");
+    }
+
+    /**
+     * Arma el ID de evento de una secuencia: instante de arranque en base 36 y secuencia.
+     *
+     * @param version Secuencia del evento
+     * @return ID del evento
+     */
+    String idEvento(long version) {
+        return arranque + "-" + version;
+    }
+
+    /**
+     * Extrae la secuencia de un ID de evento de esta ejecución.
+     *
+     * @return Secuencia, o -1 si el ID es de otra ejecución o no es válido
+     */
+    private long secuencia(String id) {
+        int separador = id.lastIndexOf('-');
+        if (separador < 0 || !arranque.equals(id.substring(0, separador))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Suscriptor recién conectado.
+     *
+     * @param suscriptor Suscriptor conectado
+     * @param anteriores Cambios a enviarle antes que los nuevos, o null si debe recargar
+     * @param ultimaEnviada Secuencia del último evento enviado al momento de conectarse
+     */
+    private record Suscripcion(Suscriptor suscriptor, List<CambioProductoDTO> anteriores, long ultimaEnviada) {}
+
+    /** Envío a un suscriptor; devuelve false si la conexión falló. */
+    @FunctionalInterface
+    private interface Envio {
+        boolean enviar(SseEmitter emisor);
+    }
+
+    /**
+     * Conexión de un suscriptor con su cola de envíos. A lo sumo una tarea del ejecutor
+     * vacía la cola a la vez, en orden de llegada.
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emisor;
+
+        /** Envíos sin entregar; protegidos por el lock del suscriptor, igual que los indicadores. */
+        private final ArrayDeque<Envio> cola = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean cerrar;
+
+        private Suscriptor(SseEmitter emisor) {
+            this.emisor = emisor;
+        }
+
+        void encolar(Envio envio) {
+            boolean desbordada = false;
+            boolean iniciar;
+            synchronized (this) {
+                if (cerrar) {
+                    return;
+                }
+                if (cola.size() < ENVIOS_ENCOLADOS_MAXIMO) {
+                    cola.addLast(envio);
+                } else {
+                    cola.clear();
+                    cerrar = true;
+                    desbordada = true;
+                }
+                iniciar = !enviando;
+                enviando = true;
+            }
+            if (desbordada) {
+                desconectar(this);
+            }
+            if (iniciar) {
+                envios.execute(this::vaciar);
+            }
+        }
+
+        private void vaciar() {
+            while (true) {
+                Envio envio;
+                synchronized (this) {
+                    envio = cerrar ? null : cola.pollFirst();
+                    if (envio == null) {
+                        enviando = false;
+                        if (!cerrar) {
+                            return;
+                        }
+                    }
+                }
+                if (envio == null) {
+                    // Cliente demasiado lento: al reconectarse recupera lo perdido del historial.
+                    emisor.complete();
+                    return;
+                }
+                if (!envio.enviar(emisor)) {
+                    synchronized (this) {
+                        cola.clear();
+                        cerrar = true;
+                        enviando = false;
+                    }
+                    desconectar(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.store.api.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.CompaniaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Instantánea inmutable en memoria del catálogo completo de productos.
+ *
+ * El catálogo es un arreglo de ProductoResponseDTO ordenado por ID junto con el
+ * arreglo de sus IDs, que sirve de índice para la búsqueda binaria. Cada escritura
+ * arma una instantánea nueva (copia con el producto reemplazado, agregado o quitado)
+ * y la publica en una referencia volátil, por lo que las lecturas no toman locks ni
+ * consultan la base de datos y siempre ven una instantánea completa.
+ *
+ * Los cambios de categorías o compañías descartan la instantánea, que se vuelve a
+ * cargar en la siguiente lectura; una importación masiva la vuelve a cargar en el momento.
+ */
+@Component
+public class CatalogoProductos {
+
+    private final ProductoRepository productoRepository;
+
+    /** Instantánea vigente; nula hasta la primera carga o tras un descarte. */
+    private volatile Instantanea instantanea;
+
+    public CatalogoProductos(ProductoRepository productoRepository) {
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Carga el catálogo al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Obtiene todos los productos del catálogo ordenados por ID.
+     *
+     * @return Lista inmodificable de ProductoResponseDTO
+     */
+    public List<ProductoResponseDTO> listar() {
+        return vigente().lista;
+    }
+
+    /**
+     * Busca un producto del catálogo por su ID.
+     *
+     * @param id ID del producto
+     * @return ProductoResponseDTO del producto, vacío si no está en el catálogo
+     */
+    public Optional<ProductoResponseDTO> buscar(Long id) {
+        Instantanea actual = vigente();
+        int posicion = Arrays.binarySearch(actual.ids, id);
+        return posicion >= 0 ? Optional.of(actual.productos[posicion]) : Optional.empty();
+    }
+
+    /**
+     * Reemplaza la instantánea por una cargada desde la base de datos.
+     */
+    public synchronized void recargar() {
+        ProductoResponseDTO[] productos = productoRepository.findAll().stream()
+                .map(ProductoService::toResponseDTO)
+                .sorted(Comparator.comparing(ProductoResponseDTO::getId))
+                .toArray(ProductoResponseDTO[]::new);
+        instantanea = new Instantanea(productos);
+    }
+
+    /**
+     * Aplica a la instantánea el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        Instantanea actual = instantanea;
+        if (actual == null || event.getProductoId() == null) {
+            return;
+        }
+        if (event.eliminado()) {
+            instantanea = actual.sin(event.getProductoId());
+        } else {
+            instantanea = actual.con(ProductoService.toResponseDTO(event.getProducto()));
+        }
+    }
+
+    /**
+     * Descarta la instantánea cuando cambia una categoría.
+     *
+     * @param event Evento con la categoría modificada
+     */
+    @EventListener
+    public synchronized void onCategoriaModificada(CategoriaModificadaEvent event) {
+        instantanea = null;
+    }
+
+    /**
+     * Descarta la instantánea cuando cambia una compañía.
+     *
+     * @param event Evento con la compañía modificada
+     */
+    @EventListener
+    public synchronized void onCompaniaModificada(CompaniaModificadaEvent event) {
+        instantanea = null;
+    }
+
+    /**
+     * Vuelve a cargar la instantánea tras una importación masiva de productos.
+     *
+     * Se ejecuta antes que los demás receptores del evento, que descartan sus índices y
+     * los reconstruyen desde esta instantánea: si la recarga fuera perezosa, un índice
+     * podría reconstruirse desde la instantánea anterior a la importación.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        recargar();
+    }
+
+    private Instantanea vigente() {
+        Instantanea actual = instantanea;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (this) {
+            if (instantanea == null) {
+                recargar();
+            }
+            return instantanea;
+        }
+    }
+
+    /**
+     * Catálogo inmutable: productos ordenados por ID y el índice de sus IDs.
+     *
+     * Los arreglos no se modifican después de construirse, así que una instantánea
+     * derivada puede compartir el de IDs cuando solo reemplaza un producto existente.
+     */
+    private static final class Instantanea {
+        private final ProductoResponseDTO[] productos;
+        private final long[] ids;
+        private final List<ProductoResponseDTO> lista;
+
+        Instantanea(ProductoResponseDTO[] productos) {
+            this(productos, idsDe(productos));
+        }
+
+        private Instantanea(ProductoResponseDTO[] productos, long[] ids) {
+            this.productos = productos;
+            this.ids = ids;
+            this.lista = Collections.unmodifiableList(Arrays.asList(productos));
+        }
+
+        Instantanea con(ProductoResponseDTO producto) {
+            int posicion = Arrays.binarySearch(ids, producto.getId());
+            if (posicion >= 0) {
+                ProductoResponseDTO[] nuevos = productos.clone();
+                nuevos[posicion] = producto;
+                return new Instantanea(nuevos, ids);
+            }
+            int insercion = -posicion - 1;
+            ProductoResponseDTO[] nuevos = new ProductoResponseDTO[productos.length + 1];
+            System.arraycopy(productos, 0, nuevos, 0, insercion);
+            nuevos[insercion] = producto;
+            System.arraycopy(productos, insercion, nuevos, insercion + 1, productos.length - insercion);
+            long[] nuevosIds = new long[ids.length + 1];
+            System.arraycopy(ids, 0, nuevosIds, 0, insercion);
+            nuevosIds[insercion] = producto.getId();
+            System.arraycopy(ids, insercion, nuevosIds, insercion + 1, ids.length - insercion);
+            return new Instantanea(nuevos, nuevosIds);
+        }
+
+        Instantanea sin(Long id) {
+            int posicion = Arrays.binarySearch(ids, id);
+            if (posicion < 0) {
+                return this;
+            }
+            ProductoResponseDTO[] nuevos = new ProductoResponseDTO[productos.length - 1];
+            System.arraycopy(productos, 0, nuevos, 0, posicion);
+            System.arraycopy(productos, posicion + 1, nuevos, posicion, productos.length - posicion - 1);
+            long[] nuevosIds = new long[ids.length - 1];
+            System.arraycopy(ids, 0, nuevosIds, 0, posicion);
+            System.arraycopy(ids, posicion + 1, nuevosIds, posicion, ids.length - posicion - 1);
+            return new Instantanea(nuevos, nuevosIds);
+        }
+
+        private static long[] idsDe(ProductoResponseDTO[] productos) {
+            long[] ids = new long[productos.length];
+            for (int i = 0; i < productos.length; i++) {
+                ids[i] = productos[i].getId();
+            }
+            return ids;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.store.api.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.store.api.dto.categoria.CategoriaCreateDTO;
 import com.store.api.dto.categoria.CategoriaResponseDTO;
 import com.store.api.dto.categoria.CategoriaUpdateDTO;
 import com.store.api.entity.Categoria;
+import com.store.api.event.CategoriaCreadaEvent;
+import com.store.api.event.CategoriaModificadaEvent;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
@@ -23,9 +26,11 @@ import java.util.List;
 public class CategoriaService {
     
     private final CategoriaRepository categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository, ApplicationEventPublisher eventPublisher) {
         this.categoriaRepository = categoriaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -40,6 +45,7 @@ public class CategoriaService {
         validate(categoria);
 
         Categoria guardada = categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriaCreadaEvent(guardada.getId()));
         return toResponseDTO(guardada);
     }
 
@@ -54,6 +60,7 @@ public class CategoriaService {
             throw new ResourceNotFoundException();
         }
         categoriaRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(id));
     }
 
     /**
@@ -96,6 +103,7 @@ public class CategoriaService {
         validate(existente);
 
         Categoria guardada = categoriaRepository.save(existente);
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(id));
         return toResponseDTO(guardada);
     }
 
@@ -2,12 +2,15 @@ package com.store.api.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.store.api.dto.compania.CompaniaCreateDTO;
 import com.store.api.dto.compania.CompaniaResponseDTO;
 import com.store.api.dto.compania.CompaniaUpdateDTO;
 import com.store.api.entity.Compania;
+import com.store.api.event.CompaniaCreadaEvent;
+import com.store.api.event.CompaniaModificadaEvent;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
 import com.store.api.repository.CompaniaRepository;
@@ -23,9 +26,11 @@ import com.store.api.repository.CompaniaRepository;
 public class CompaniaService {
 
     private final CompaniaRepository companiaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CompaniaService(CompaniaRepository companiaRepository) {
+    public CompaniaService(CompaniaRepository companiaRepository, ApplicationEventPublisher eventPublisher) {
         this.companiaRepository = companiaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,6 +44,7 @@ public class CompaniaService {
         Compania compania = toEntity(dto);
         validate(compania);
         Compania guardada = companiaRepository.save(compania);
+        eventPublisher.publishEvent(new CompaniaCreadaEvent(guardada.getId()));
         return toResponseDTO(guardada);
     }
 
@@ -53,6 +59,7 @@ public class CompaniaService {
             throw new ResourceNotFoundException();
         }
         companiaRepository.deleteById(id);
+        eventPublisher.publishEvent(new CompaniaModificadaEvent(id));
     }
 
     /**
@@ -71,6 +78,7 @@ public class CompaniaService {
         validate(existente);
 
         Compania guardada = companiaRepository.save(existente);
+        eventPublisher.publishEvent(new CompaniaModificadaEvent(id));
         return toResponseDTO(guardada);
     }
 
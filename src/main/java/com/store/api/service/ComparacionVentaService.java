@@ -0,0 +1,303 @@
+package com.store.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.reporte.ComparacionDiaDTO;
+import com.store.api.dto.reporte.ComparacionProductoDTO;
+import com.store.api.dto.reporte.ComparacionVentasDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.VentaDiaProducto;
+
+/**
+ * Servicio de comparación de ventas entre dos períodos.
+ *
+ * Ambos períodos se resuelven con una única consulta agrupada por día y producto, y el
+ * resultado se alinea día a día y producto a producto en memoria. Las comparaciones
+ * de períodos ya cerrados (que terminan antes de hoy) se guardan en una caché acotada,
+ * que se vacía cuando se registra una venta con fecha pasada o se modifica una venta.
+ *
+ * El importe se calcula con el precio actual de cada producto y el detalle muestra su
+ * artículo actual, así que la caché también se vacía cuando cambia el precio o el
+ * artículo de un producto que aparece en alguna comparación guardada, cuando se elimina
+ * uno de ellos y tras una importación masiva.
+ */
+@Service
+public class ComparacionVentaService {
+
+    /** Cantidad máxima de días de cada período. */
+    static final int MAX_DIAS_PERIODO = 366;
+
+    /** Cantidad máxima de comparaciones guardadas en caché. */
+    static final int MAX_COMPARACIONES_EN_CACHE = 256;
+
+    private final VentaRepository ventaRepository;
+
+    private final Map<List<LocalDate>, ComparacionVentasDTO> cache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<LocalDate>, ComparacionVentasDTO> eldest) {
+                    return size() > MAX_COMPARACIONES_EN_CACHE;
+                }
+            };
+
+    /**
+     * Precio y artículo con que se calculó cada producto de las comparaciones guardadas.
+     * Puede incluir productos de comparaciones ya desalojadas; en ese caso un cambio solo
+     * vacía la caché de más.
+     */
+    private final Map<Long, ProductoEnCache> productosEnCache = new HashMap<>();
+
+    /** Se incrementa en cada invalidación; protegido por el lock de la caché. */
+    private long generacion;
+
+    public ComparacionVentaService(VentaRepository ventaRepository) {
+        this.ventaRepository = ventaRepository;
+    }
+
+    /**
+     * Compara las ventas de un período con las de un período de referencia.
+     *
+     * Si no se indica el período de referencia se usa el mismo período 52 semanas antes,
+     * de modo que cada día se compara con el mismo día de la semana del año anterior.
+     *
+     * @param desde Primer día del período actual (inclusive)
+     * @param hasta Último día del período actual (inclusive)
+     * @param desdeReferencia Primer día del período de referencia (opcional)
+     * @param hastaReferencia Último día del período de referencia (opcional)
+     * @return ComparacionVentasDTO con los totales y el detalle por día y producto
+     * @throws ValidationException si alguno de los períodos es inválido
+     */
+    public ComparacionVentasDTO comparar(LocalDate desde, LocalDate hasta,
+                                         LocalDate desdeReferencia, LocalDate hastaReferencia) {
+        validarPeriodo(desde, hasta);
+        if (desdeReferencia == null && hastaReferencia == null) {
+            desdeReferencia = desde.minusWeeks(52);
+            hastaReferencia = hasta.minusWeeks(52);
+        }
+        validarPeriodo(desdeReferencia, hastaReferencia);
+
+        List<LocalDate> clave = List.of(desde, hasta, desdeReferencia, hastaReferencia);
+        boolean cerrado = hasta.isBefore(LocalDate.now()) && hastaReferencia.isBefore(LocalDate.now());
+        long generacionLeida = 0;
+        if (cerrado) {
+            synchronized (cache) {
+                ComparacionVentasDTO guardada = cache.get(clave);
+                if (guardada != null) {
+                    return guardada;
+                }
+                generacionLeida = generacion;
+            }
+        }
+
+        ComparacionVentasDTO comparacion = calcular(desde, hasta, desdeReferencia, hastaReferencia);
+        if (cerrado) {
+            synchronized (cache) {
+                // Si se invalidó durante el cálculo, el resultado puede no incluir ese cambio.
+                if (generacionLeida != generacion) {
+                    return comparacion;
+                }
+                cache.put(clave, comparacion);
+                for (ComparacionProductoDTO producto : comparacion.getProductos()) {
+                    long unidades = producto.getUnidades() + producto.getUnidadesReferencia();
+                    if (unidades > 0) {
+                        // El importe de cada fila es unidades × precio actual, así que el cociente es exacto.
+                        long precio = (producto.getImporte() + producto.getImporteReferencia()) / unidades;
+                        productosEnCache.put(producto.getProductoId(), new ProductoEnCache(precio, producto.getArticulo()));
+                    }
+                }
+            }
+        }
+        return comparacion;
+    }
+
+    /**
+     * Vacía la caché si la venta registrada pertenece a un día ya cerrado.
+     *
+     * @param event Evento con los datos de la venta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVentaRegistrada(VentaRegistradaEvent event) {
+        if (event.getFecha() == null || event.getFecha().toLocalDate().isBefore(LocalDate.now())) {
+            invalidarCache();
+        }
+    }
+
+    /**
+     * Vacía la caché cuando una venta se actualiza o se elimina.
+     *
+     * @param event Evento con los días afectados
+     */
+    @EventListener
+    public void onVentaModificada(VentaModificadaEvent event) {
+        invalidarCache();
+    }
+
+    /**
+     * Vacía la caché si cambió el precio o el artículo de un producto incluido en alguna
+     * comparación guardada, o si ese producto se eliminó.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoModificado(ProductoModificadoEvent event) {
+        synchronized (cache) {
+            ProductoEnCache guardado = productosEnCache.get(event.getProductoId());
+            if (guardado == null) {
+                return;
+            }
+            Producto producto = event.getProducto();
+            if (event.eliminado() || guardado.precio() != producto.getPrecio()
+                    || !Objects.equals(guardado.articulo(), producto.getArticulo())) {
+                invalidarCache();
+            }
+        }
+    }
+
+    /**
+     * Vacía la caché tras una importación masiva, que puede cambiar precios y artículos.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        invalidarCache();
+    }
+
+    /**
+     * Descarta todas las comparaciones guardadas.
+     */
+    public void invalidarCache() {
+        synchronized (cache) {
+            cache.clear();
+            productosEnCache.clear();
+            generacion++;
+        }
+    }
+
+    private ComparacionVentasDTO calcular(LocalDate desde, LocalDate hasta,
+                                          LocalDate desdeReferencia, LocalDate hastaReferencia) {
+        List<VentaDiaProducto> filas = ventaRepository.resumirPorDiaYProductoEnDosRangos(
+                desde.atStartOfDay(), hasta.atTime(LocalTime.MAX),
+                desdeReferencia.atStartOfDay(), hastaReferencia.atTime(LocalTime.MAX));
+
+        int diasActual = (int) ChronoUnit.DAYS.between(desde, hasta) + 1;
+        int diasReferencia = (int) ChronoUnit.DAYS.between(desdeReferencia, hastaReferencia) + 1;
+        int largo = Math.max(diasActual, diasReferencia);
+        long[] unidadesPorDia = new long[largo];
+        long[] unidadesReferenciaPorDia = new long[largo];
+        long[] importePorDia = new long[largo];
+        long[] importeReferenciaPorDia = new long[largo];
+        Map<Long, AcumuladoProducto> productos = new HashMap<>();
+
+        for (VentaDiaProducto fila : filas) {
+            LocalDate fecha = fila.getFecha();
+            long unidades = fila.getUnidades() != null ? fila.getUnidades() : 0;
+            long importe = fila.getImporte() != null ? fila.getImporte() : 0;
+            AcumuladoProducto producto = productos.computeIfAbsent(fila.getProductoId(),
+                    id -> new AcumuladoProducto(id, fila.getArticulo()));
+            if (!fecha.isBefore(desde) && !fecha.isAfter(hasta)) {
+                int indice = (int) ChronoUnit.DAYS.between(desde, fecha);
+                unidadesPorDia[indice] += unidades;
+                importePorDia[indice] += importe;
+                producto.unidades += unidades;
+                producto.importe += importe;
+            }
+            if (!fecha.isBefore(desdeReferencia) && !fecha.isAfter(hastaReferencia)) {
+                int indice = (int) ChronoUnit.DAYS.between(desdeReferencia, fecha);
+                unidadesReferenciaPorDia[indice] += unidades;
+                importeReferenciaPorDia[indice] += importe;
+                producto.unidadesReferencia += unidades;
+                producto.importeReferencia += importe;
+            }
+        }
+
+        List<ComparacionDiaDTO> dias = new ArrayList<>(largo);
+        long unidadesTotal = 0;
+        long unidadesReferenciaTotal = 0;
+        long importeTotal = 0;
+        long importeReferenciaTotal = 0;
+        for (int i = 0; i < largo; i++) {
+            dias.add(new ComparacionDiaDTO(
+                    i,
+                    i < diasActual ? desde.plusDays(i) : null,
+                    i < diasReferencia ? desdeReferencia.plusDays(i) : null,
+                    unidadesPorDia[i],
+                    unidadesReferenciaPorDia[i],
+                    importePorDia[i],
+                    importeReferenciaPorDia[i]
+            ));
+            unidadesTotal += unidadesPorDia[i];
+            unidadesReferenciaTotal += unidadesReferenciaPorDia[i];
+            importeTotal += importePorDia[i];
+            importeReferenciaTotal += importeReferenciaPorDia[i];
+        }
+
+        List<ComparacionProductoDTO> detalleProductos = productos.values().stream()
+                .map(AcumuladoProducto::toDTO)
+                .sorted(Comparator.comparingLong((ComparacionProductoDTO p) -> Math.abs(p.getDeltaImporte()))
+                        .reversed()
+                        .thenComparing(ComparacionProductoDTO::getProductoId))
+                .toList();
+
+        return new ComparacionVentasDTO(desde, hasta, desdeReferencia, hastaReferencia,
+                unidadesTotal, unidadesReferenciaTotal, importeTotal, importeReferenciaTotal,
+                List.copyOf(dias), detalleProductos);
+    }
+
+    private void validarPeriodo(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new ValidationException("El rango de fechas es obligatorio");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidationException("El rango de fechas es inválido (desde > hasta)");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) + 1 > MAX_DIAS_PERIODO) {
+            throw new ValidationException("Cada período puede abarcar como máximo " + MAX_DIAS_PERIODO + " días");
+        }
+    }
+
+    private record ProductoEnCache(long precio, String articulo) {
+    }
+
+    /**
+     * Acumulador mutable de las ventas de un producto en ambos períodos.
+     */
+    private static class AcumuladoProducto {
+        private final Long productoId;
+        private final String articulo;
+        private long unidades;
+        private long unidadesReferencia;
+        private long importe;
+        private long importeReferencia;
+
+        AcumuladoProducto(Long productoId, String articulo) {
+            this.productoId = productoId;
+            this.articulo = articulo;
+        }
+
+        ComparacionProductoDTO toDTO() {
+            return new ComparacionProductoDTO(productoId, articulo,
+                    unidades, unidadesReferencia, importe, importeReferencia);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.store.api.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.reporte.DistribucionDTO;
+import com.store.api.dto.reporte.DistribucionVentasDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.ValoresProducto;
+import com.store.api.repository.projection.VentaDiaCantidadPrecio;
+import com.store.api.util.HistogramaLog;
+
+/**
+ * Servicio que mantiene en memoria la distribución diaria de las ventas.
+ *
+ * Por cada día guarda dos histogramas log-lineales: cantidad de unidades por venta e
+ * importe por venta (cantidad × precio cliente). Las ventas nuevas se suman de forma
+ * incremental; las ventas actualizadas o eliminadas provocan la reconstrucción de los
+ * días afectados a partir de una consulta agrupada sobre la tabla de ventas.
+ *
+ * La venta no guarda su precio, así que el importe es siempre cantidad × precio actual
+ * del producto, igual que en la reconstrucción. Para que las ventas sumadas de forma
+ * incremental no queden con un precio viejo, un cambio de precio reconstruye los días
+ * entre la primera y la última venta del producto, y una importación masiva reconstruye
+ * todo.
+ *
+ * Los percentiles de un rango se calculan combinando los histogramas de cada día,
+ * sin volver a recorrer las ventas.
+ */
+@Service
+public class DistribucionVentaService {
+
+    private final VentaRepository ventaRepository;
+    private final ProductoRepository productoRepository;
+
+    private final Map<LocalDate, HistogramasDia> dias = new ConcurrentHashMap<>();
+
+    /** Precio actual de cada producto, para detectar los cambios de precio. */
+    private final Map<Long, Integer> precios = new HashMap<>();
+
+    private volatile boolean cargado = false;
+
+    public DistribucionVentaService(VentaRepository ventaRepository, ProductoRepository productoRepository) {
+        this.ventaRepository = ventaRepository;
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Carga los histogramas de todos los días al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    /**
+     * Descarta los histogramas en memoria y los reconstruye a partir de las ventas.
+     */
+    public synchronized void reconstruir() {
+        dias.clear();
+        precios.clear();
+        for (ValoresProducto producto : productoRepository.findValores()) {
+            precios.put(producto.getId(), producto.getPrecio());
+        }
+        Optional<LocalDateTime> primera = ventaRepository.findPrimeraFecha();
+        Optional<LocalDateTime> ultima = ventaRepository.findUltimaFecha();
+        if (primera.isPresent() && ultima.isPresent()) {
+            reconstruirDias(primera.get().toLocalDate(), ultima.get().toLocalDate());
+        }
+        cargado = true;
+    }
+
+    /**
+     * Suma una venta recién registrada al histograma de su día.
+     *
+     * @param event Evento con los datos de la venta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onVentaRegistrada(VentaRegistradaEvent event) {
+        if (!cargado || event.getFecha() == null || event.getCantidad() <= 0) {
+            return;
+        }
+        dias.computeIfAbsent(event.getFecha().toLocalDate(), dia -> new HistogramasDia())
+                .registrar(event.getCantidad(), event.getTotal(), 1);
+    }
+
+    /**
+     * Reconstruye los días afectados por una venta actualizada o eliminada.
+     *
+     * @param event Evento con los días afectados
+     */
+    @EventListener
+    public synchronized void onVentaModificada(VentaModificadaEvent event) {
+        if (!cargado) {
+            return;
+        }
+        if (!event.diasConocidos()) {
+            reconstruir();
+            return;
+        }
+        for (LocalDate dia : event.getDias()) {
+            reconstruirDias(dia, dia);
+        }
+    }
+
+    /**
+     * Reconstruye los días con ventas del producto si cambió su precio.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        if (event.eliminado()) {
+            precios.remove(event.getProductoId());
+            return;
+        }
+        Integer anterior = precios.put(event.getProductoId(), event.getProducto().getPrecio());
+        if (anterior == null || anterior.equals(event.getProducto().getPrecio())) {
+            return;
+        }
+        Optional<LocalDateTime> primera = ventaRepository.findPrimeraFechaDeProducto(event.getProductoId());
+        Optional<LocalDateTime> ultima = ventaRepository.findUltimaFechaDeProducto(event.getProductoId());
+        if (primera.isPresent() && ultima.isPresent()) {
+            reconstruirDias(primera.get().toLocalDate(), ultima.get().toLocalDate());
+        }
+    }
+
+    /**
+     * Reconstruye todos los días tras una importación masiva, que puede cambiar precios.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        if (cargado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Obtiene la distribución de cantidades e importes por venta en un rango de días.
+     *
+     * @param desde Primer día del rango (inclusive)
+     * @param hasta Último día del rango (inclusive)
+     * @param percentiles Percentiles a calcular, entre 0 y 100
+     * @return DistribucionVentasDTO con ambas distribuciones
+     * @throws ValidationException si el rango o los percentiles son inválidos
+     */
+    public DistribucionVentasDTO distribucion(LocalDate desde, LocalDate hasta, List<Double> percentiles) {
+        if (desde == null || hasta == null) {
+            throw new ValidationException("El rango de fechas es obligatorio");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidationException("El rango de fechas es inválido (desde > hasta)");
+        }
+        if (percentiles == null || percentiles.isEmpty()) {
+            throw new ValidationException("Debe indicar al menos un percentil");
+        }
+        for (Double percentil : percentiles) {
+            if (percentil == null || percentil < 0 || percentil > 100) {
+                throw new ValidationException("Los percentiles deben estar entre 0 y 100");
+            }
+        }
+        if (!cargado) {
+            reconstruir();
+        }
+
+        HistogramaLog cantidad = new HistogramaLog();
+        HistogramaLog total = new HistogramaLog();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            HistogramasDia histogramas = dias.get(dia);
+            if (histogramas != null) {
+                histogramas.combinarEn(cantidad, total);
+            }
+        }
+
+        return new DistribucionVentasDTO(desde, hasta,
+                toDTO(cantidad, percentiles),
+                toDTO(total, percentiles));
+    }
+
+    /**
+     * Reemplaza los histogramas de los días de un rango por los calculados desde la base de datos.
+     *
+     * @param desde Primer día a reconstruir
+     * @param hasta Último día a reconstruir
+     */
+    private void reconstruirDias(LocalDate desde, LocalDate hasta) {
+        Map<LocalDate, HistogramasDia> nuevos = new HashMap<>();
+        List<VentaDiaCantidadPrecio> filas = ventaRepository.resumirPorDiaCantidadYPrecio(
+                desde.atStartOfDay(), hasta.atTime(LocalTime.MAX));
+        for (VentaDiaCantidadPrecio fila : filas) {
+            if (fila.getCantidad() == null || fila.getCantidad() <= 0) {
+                continue;
+            }
+            long precio = fila.getPrecio() != null ? Math.max(fila.getPrecio(), 0) : 0;
+            nuevos.computeIfAbsent(fila.getFecha(), dia -> new HistogramasDia())
+                    .registrar(fila.getCantidad(), fila.getCantidad() * precio, fila.getVentas());
+        }
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            HistogramasDia histogramas = nuevos.get(dia);
+            if (histogramas == null) {
+                dias.remove(dia);
+            } else {
+                dias.put(dia, histogramas);
+            }
+        }
+    }
+
+    private DistribucionDTO toDTO(HistogramaLog histograma, List<Double> percentiles) {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (Double percentil : percentiles) {
+            String nombre = "p" + BigDecimal.valueOf(percentil).stripTrailingZeros().toPlainString();
+            valores.put(nombre, histograma.percentil(percentil));
+        }
+        return new DistribucionDTO(
+                histograma.getTotal(),
+                histograma.getMinimo(),
+                histograma.getMaximo(),
+                histograma.getMedia(),
+                valores
+        );
+    }
+
+    /**
+     * Histogramas de cantidad e importe de un día.
+     */
+    private static class HistogramasDia {
+        private final HistogramaLog cantidad = new HistogramaLog();
+        private final HistogramaLog total = new HistogramaLog();
+
+        synchronized void registrar(long cantidadVenta, long totalVenta, long veces) {
+            cantidad.registrar(cantidadVenta, veces);
+            total.registrar(totalVenta, veces);
+        }
+
+        synchronized void combinarEn(HistogramaLog cantidadDestino, HistogramaLog totalDestino) {
+            cantidadDestino.combinar(cantidad);
+            totalDestino.combinar(total);
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.store.api.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.CompaniaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+
+/**
+ * Índice de facetas en memoria para filtrar productos por categoría, compañía, banda de
+ * precios y disponibilidad de stock.
+ *
+ * Cada producto ocupa una posición (slot) y cada valor de faceta tiene un BitSet con las
+ * posiciones de los productos que lo tienen. Un filtro combina con OR los valores
+ * elegidos dentro de una faceta y con AND las distintas facetas, y los conteos de cada
+ * faceta se calculan aplicando solo los filtros de las demás. Las posiciones de los
+ * productos eliminados se reutilizan para que los BitSet se mantengan densos.
+ *
+ * Se carga desde la instantánea de CatalogoProductos y se actualiza con el
+ * ProductoModificadoEvent publicado en cada escritura. Un cambio de categoría o
+ * compañía descarta el índice, que se vuelve a cargar en la siguiente consulta.
+ */
+@Component
+public class FacetasProductos {
+
+    private final CatalogoProductos catalogoProductos;
+    private final int[] limitesBandas;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final Deque<Integer> slotsLibres = new ArrayDeque<>();
+    private Estado[] estadoPorSlot = new Estado[0];
+    private final BitSet ocupados = new BitSet();
+    private final BitSet conStock = new BitSet();
+    private final Map<Long, BitSet> porCategoria = new HashMap<>();
+    private final Map<Long, BitSet> porCompania = new HashMap<>();
+    private BitSet[] porBanda;
+
+    /** Indica si el índice refleja el catálogo; se vuelve a cargar cuando es false. */
+    private boolean cargado;
+
+    public FacetasProductos(CatalogoProductos catalogoProductos,
+                            @Value("${store.productos.facetas.bandas-precio:1000,5000,10000,50000}") int[] limitesBandas) {
+        this.catalogoProductos = catalogoProductos;
+        this.limitesBandas = limitesBandas.clone();
+        Arrays.sort(this.limitesBandas);
+        this.porBanda = nuevasBandas();
+    }
+
+    /**
+     * Carga el índice al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        lock.writeLock().lock();
+        try {
+            recargar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los límites entre bandas de precios: la banda i abarca desde el límite i-1
+     * (inclusive) hasta el límite i (exclusive).
+     *
+     * @return Copia de los límites ordenados
+     */
+    public int[] limitesBandas() {
+        return limitesBandas.clone();
+    }
+
+    /**
+     * Filtra los productos y calcula los conteos de cada faceta.
+     *
+     * @param categorias IDs de categoría aceptados (vacío o nulo para no filtrar)
+     * @param companias IDs de compañía aceptados (vacío o nulo para no filtrar)
+     * @param bandas Índices de banda de precios aceptados (vacío o nulo para no filtrar)
+     * @param enStock true para solo productos con stock, false para solo sin stock, nulo para no filtrar
+     * @param limite Cantidad máxima de IDs a devolver
+     * @return Resultado con los IDs ordenados y los conteos
+     */
+    public Resultado filtrar(Collection<Long> categorias, Collection<Long> companias,
+                             Collection<Integer> bandas, Boolean enStock, int limite) {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            BitSet filtroCategoria = union(categorias, porCategoria);
+            BitSet filtroCompania = union(companias, porCompania);
+            BitSet filtroBanda = unionBandas(bandas);
+            BitSet filtroStock = enStock == null ? null : enStock ? conStock : sinStock();
+
+            BitSet todos = interseccion(filtroCategoria, filtroCompania, filtroBanda, filtroStock);
+
+            List<Long> ids = new ArrayList<>();
+            for (int slot = todos.nextSetBit(0); slot >= 0; slot = todos.nextSetBit(slot + 1)) {
+                ids.add(estadoPorSlot[slot].id);
+            }
+            ids.sort(null);
+
+            BitSet sinCategoria = interseccion(null, filtroCompania, filtroBanda, filtroStock);
+            BitSet sinCompania = interseccion(filtroCategoria, null, filtroBanda, filtroStock);
+            BitSet sinBanda = interseccion(filtroCategoria, filtroCompania, null, filtroStock);
+            BitSet sinFiltroStock = interseccion(filtroCategoria, filtroCompania, filtroBanda, null);
+
+            long[] conteoBandas = new long[porBanda.length];
+            for (int i = 0; i < porBanda.length; i++) {
+                conteoBandas[i] = cardinalidad(sinBanda, porBanda[i]);
+            }
+            long cantidadConStock = cardinalidad(sinFiltroStock, conStock);
+            return new Resultado(
+                    List.copyOf(ids.subList(0, Math.min(limite, ids.size()))),
+                    todos.cardinality(),
+                    conteos(sinCategoria, porCategoria),
+                    conteos(sinCompania, porCompania),
+                    conteoBandas,
+                    cantidadConStock,
+                    sinFiltroStock.cardinality() - cantidadConStock);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica al índice el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoModificado(ProductoModificadoEvent event) {
+        if (event.getProductoId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!cargado) {
+                return;
+            }
+            quitar(event.getProductoId());
+            if (!event.eliminado()) {
+                Producto producto = event.getProducto();
+                agregar(estado(event.getProductoId(),
+                        producto.getCategoria() != null ? producto.getCategoria().getId() : null,
+                        producto.getCompania() != null ? producto.getCompania().getId() : null,
+                        producto.getPrecio(), producto.getStock()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta el índice cuando cambia una categoría.
+     *
+     * @param event Evento con la categoría modificada
+     */
+    @EventListener
+    public void onCategoriaModificada(CategoriaModificadaEvent event) {
+        descartar();
+    }
+
+    /**
+     * Descarta el índice cuando cambia una compañía.
+     *
+     * @param event Evento con la compañía modificada
+     */
+    @EventListener
+    public void onCompaniaModificada(CompaniaModificadaEvent event) {
+        descartar();
+    }
+
+    /**
+     * Descarta el índice tras una importación masiva de productos.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        descartar();
+    }
+
+    /**
+     * Obtiene la banda de precios de un precio.
+     *
+     * @param precio Precio del producto
+     * @return Índice de la banda
+     */
+    int banda(int precio) {
+        int posicion = Arrays.binarySearch(limitesBandas, precio);
+        return posicion >= 0 ? posicion + 1 : -posicion - 1;
+    }
+
+    private void asegurarCargado() {
+        lock.readLock().lock();
+        try {
+            if (cargado) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!cargado) {
+                recargar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void descartar() {
+        lock.writeLock().lock();
+        try {
+            cargado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recargar() {
+        slotPorId.clear();
+        slotsLibres.clear();
+        estadoPorSlot = new Estado[0];
+        ocupados.clear();
+        conStock.clear();
+        porCategoria.clear();
+        porCompania.clear();
+        porBanda = nuevasBandas();
+        for (ProductoResponseDTO producto : catalogoProductos.listar()) {
+            agregar(estado(producto.getId(), producto.getCategoriaId(), producto.getCompaniaId(),
+                    producto.getPrecio(), producto.getStock()));
+        }
+        cargado = true;
+    }
+
+    private void agregar(Estado estado) {
+        Integer libre = slotsLibres.poll();
+        int slot = libre != null ? libre : slotPorId.size();
+        if (slot >= estadoPorSlot.length) {
+            estadoPorSlot = Arrays.copyOf(estadoPorSlot, Math.max(16, estadoPorSlot.length * 2));
+        }
+        estadoPorSlot[slot] = estado;
+        slotPorId.put(estado.id, slot);
+        ocupados.set(slot);
+        conStock.set(slot, estado.enStock);
+        if (estado.categoriaId != null) {
+            porCategoria.computeIfAbsent(estado.categoriaId, k -> new BitSet()).set(slot);
+        }
+        if (estado.companiaId != null) {
+            porCompania.computeIfAbsent(estado.companiaId, k -> new BitSet()).set(slot);
+        }
+        porBanda[estado.banda].set(slot);
+    }
+
+    private void quitar(Long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        Estado estado = estadoPorSlot[slot];
+        estadoPorSlot[slot] = null;
+        ocupados.clear(slot);
+        conStock.clear(slot);
+        if (estado.categoriaId != null) {
+            limpiar(porCategoria, estado.categoriaId, slot);
+        }
+        if (estado.companiaId != null) {
+            limpiar(porCompania, estado.companiaId, slot);
+        }
+        porBanda[estado.banda].clear(slot);
+        slotsLibres.push(slot);
+    }
+
+    private Estado estado(Long id, Long categoriaId, Long companiaId, int precio, int stock) {
+        return new Estado(id, categoriaId, companiaId, banda(precio), stock > 0);
+    }
+
+    private BitSet[] nuevasBandas() {
+        BitSet[] bandas = new BitSet[limitesBandas.length + 1];
+        for (int i = 0; i < bandas.length; i++) {
+            bandas[i] = new BitSet();
+        }
+        return bandas;
+    }
+
+    private BitSet sinStock() {
+        BitSet resultado = (BitSet) ocupados.clone();
+        resultado.andNot(conStock);
+        return resultado;
+    }
+
+    private BitSet unionBandas(Collection<Integer> bandas) {
+        if (bandas == null || bandas.isEmpty()) {
+            return null;
+        }
+        BitSet resultado = new BitSet();
+        for (Integer banda : bandas) {
+            if (banda != null && banda >= 0 && banda < porBanda.length) {
+                resultado.or(porBanda[banda]);
+            }
+        }
+        return resultado;
+    }
+
+    private BitSet interseccion(BitSet... filtros) {
+        BitSet resultado = (BitSet) ocupados.clone();
+        for (BitSet filtro : filtros) {
+            if (filtro != null) {
+                resultado.and(filtro);
+            }
+        }
+        return resultado;
+    }
+
+    private static BitSet union(Collection<Long> valores, Map<Long, BitSet> bitmaps) {
+        if (valores == null || valores.isEmpty()) {
+            return null;
+        }
+        BitSet resultado = new BitSet();
+        for (Long valor : valores) {
+            BitSet bitmap = bitmaps.get(valor);
+            if (bitmap != null) {
+                resultado.or(bitmap);
+            }
+        }
+        return resultado;
+    }
+
+    private static Map<Long, Long> conteos(BitSet base, Map<Long, BitSet> bitmaps) {
+        Map<Long, Long> resultado = new TreeMap<>();
+        bitmaps.forEach((valor, bitmap) -> {
+            long cantidad = cardinalidad(base, bitmap);
+            if (cantidad > 0) {
+                resultado.put(valor, cantidad);
+            }
+        });
+        return resultado;
+    }
+
+    private static long cardinalidad(BitSet base, BitSet bitmap) {
+        BitSet interseccion = (BitSet) base.clone();
+        interseccion.and(bitmap);
+        return interseccion.cardinality();
+    }
+
+    private static void limpiar(Map<Long, BitSet> bitmaps, Long valor, int slot) {
+        BitSet bitmap = bitmaps.get(valor);
+        if (bitmap != null) {
+            bitmap.clear(slot);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(valor);
+            }
+        }
+    }
+
+    /**
+     * Valores de faceta de un producto indexado.
+     */
+    private record Estado(long id, Long categoriaId, Long companiaId, int banda, boolean enStock) {
+    }
+
+    /**
+     * Resultado de un filtrado por facetas.
+     *
+     * @param ids IDs de los productos que cumplen los filtros, ordenados y acotados al límite
+     * @param total Cantidad de productos que cumplen los filtros
+     * @param categorias Conteo por ID de categoría con los demás filtros aplicados
+     * @param companias Conteo por ID de compañía con los demás filtros aplicados
+     * @param bandas Conteo por banda de precios con los demás filtros aplicados
+     * @param conStock Productos con stock con los demás filtros aplicados
+     * @param sinStock Productos sin stock con los demás filtros aplicados
+     */
+    public record Resultado(List<Long> ids, long total, Map<Long, Long> categorias, Map<Long, Long> companias,
+                            long[] bandas, long conStock, long sinStock) {
+    }
+}
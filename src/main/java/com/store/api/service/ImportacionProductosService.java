@@ -0,0 +1,585 @@
+package com.store.api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.api.dto.producto.ErrorImportacionDTO;
+import com.store.api.dto.producto.ImportacionProductosDTO;
+import com.store.api.dto.producto.SincronizacionProductosDTO;
+import com.store.api.entity.Categoria;
+import com.store.api.entity.Compania;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.CategoriaRepository;
+import com.store.api.repository.CompaniaRepository;
+import com.store.api.util.LectorCsv;
+
+/**
+ * Servicio de importación y sincronización masiva de productos desde CSV o NDJSON.
+ *
+ * Lee el archivo fila por fila sin cargarlo completo en memoria. Las categorías y
+ * compañías se resuelven por nombre (sin distinguir mayúsculas) con mapas cargados una
+ * sola vez al empezar, y los artículos existentes con un conjunto en memoria, en lugar
+ * de consultar la base de datos por cada fila. Las filas válidas se insertan con
+ * JdbcTemplate en lotes de tamaño configurable ({@code store.productos.importacion.lote});
+ * cada lote es una transacción, de modo que un error en un lote lo descarta completo sin
+ * afectar a los anteriores. Las filas inválidas no detienen la importación: se informan
+ * en el resultado.
+ *
+ * La sincronización crea o actualiza por artículo con una sola sentencia por fila
+ * ({@code INSERT ... ON CONFLICT (articulo) DO UPDATE} en Postgres, {@code MERGE ... KEY}
+ * en H2), apoyada en el índice único de producto.articulo. Antes de empezar calcula un
+ * hash del contenido de cada producto existente; las filas cuyo hash no cambió no se
+ * envían a la base de datos.
+ *
+ * Al terminar publica un ProductosImportadosEvent para que las vistas en memoria del
+ * catálogo se vuelvan a cargar, aunque la lectura se interrumpa después de guardar
+ * algún lote.
+ */
+@Service
+public class ImportacionProductosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionProductosService.class);
+
+    /** Cantidad máxima de filas rechazadas que se detallan en el resultado. */
+    public static final int ERRORES_DETALLADOS_MAXIMO = 100;
+
+    private static final String INSERT = "INSERT INTO producto "
+            + "(articulo, descripcion, precio, precio_unitario, stock, imagen_url, categoria_id, compania_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_POSTGRES = INSERT
+            + " ON CONFLICT (articulo) DO UPDATE SET descripcion = EXCLUDED.descripcion, precio = EXCLUDED.precio, "
+            + "precio_unitario = EXCLUDED.precio_unitario, stock = EXCLUDED.stock, imagen_url = EXCLUDED.imagen_url, "
+            + "categoria_id = EXCLUDED.categoria_id, compania_id = EXCLUDED.compania_id";
+
+    private static final String MERGE = "MERGE INTO producto "
+            + "(articulo, descripcion, precio, precio_unitario, stock, imagen_url, categoria_id, compania_id) "
+            + "KEY (articulo) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_CONTENIDO = "SELECT articulo, descripcion, precio, precio_unitario, stock, "
+            + "imagen_url, categoria_id, compania_id FROM producto";
+
+    private static final List<String> COLUMNAS = List.of(
+            "articulo", "descripcion", "precio", "preciounitario", "stock", "imagenurl", "categoria", "compania");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoriaRepository categoriaRepository;
+    private final CompaniaRepository companiaRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanioLote;
+
+    /** Sentencia de sincronización según la base de datos, resuelta en el primer uso. */
+    private volatile String upsert;
+
+    public ImportacionProductosService(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       CategoriaRepository categoriaRepository,
+                                       CompaniaRepository companiaRepository,
+                                       ObjectMapper objectMapper,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${store.productos.importacion.lote:1000}") int tamanioLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoriaRepository = categoriaRepository;
+        this.companiaRepository = companiaRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.tamanioLote = tamanioLote;
+    }
+
+    /**
+     * Importa productos desde un CSV con encabezado.
+     *
+     * El encabezado indica el orden de las columnas (sin distinguir mayúsculas):
+     * articulo (obligatoria), descripcion, precio, precioUnitario, stock, imagenUrl,
+     * categoria y compania, estas dos por nombre. Las columnas desconocidas se ignoran.
+     *
+     * @param reader Contenido del CSV
+     * @return ImportacionProductosDTO con los contadores y las filas rechazadas
+     * @throws ValidationException si el archivo está vacío o el encabezado no tiene la columna articulo
+     * @throws IOException si falla la lectura
+     */
+    public ImportacionProductosDTO importarCsv(Reader reader) throws IOException {
+        return importar(fuenteCsv(reader, false));
+    }
+
+    /**
+     * Importa productos desde NDJSON: un objeto JSON por línea con los mismos campos que
+     * las columnas del CSV.
+     *
+     * @param reader Contenido del NDJSON
+     * @return ImportacionProductosDTO con los contadores y las filas rechazadas
+     * @throws IOException si falla la lectura
+     */
+    public ImportacionProductosDTO importarNdjson(Reader reader) throws IOException {
+        return importar(fuenteNdjson(reader, false));
+    }
+
+    /**
+     * Crea o actualiza productos por artículo desde un CSV con las mismas columnas que
+     * la importación. Como la actualización reemplaza todos los campos del producto, el
+     * encabezado debe incluir todas las columnas: una ausente dejaría vacíos o en 0 los
+     * valores existentes.
+     *
+     * @param reader Contenido del CSV
+     * @return SincronizacionProductosDTO con los contadores y las filas rechazadas
+     * @throws ValidationException si el archivo está vacío o al encabezado le falta alguna columna
+     * @throws IOException si falla la lectura
+     */
+    public SincronizacionProductosDTO sincronizarCsv(Reader reader) throws IOException {
+        return sincronizar(fuenteCsv(reader, true));
+    }
+
+    /**
+     * Crea o actualiza productos por artículo desde NDJSON. Cada objeto debe tener todos
+     * los campos (null para dejar uno vacío); los que no los tienen se rechazan.
+     *
+     * @param reader Contenido del NDJSON
+     * @return SincronizacionProductosDTO con los contadores y las filas rechazadas
+     * @throws IOException si falla la lectura
+     */
+    public SincronizacionProductosDTO sincronizarNdjson(Reader reader) throws IOException {
+        return sincronizar(fuenteNdjson(reader, true));
+    }
+
+    /**
+     * @param completas Si el encabezado debe incluir todas las columnas
+     */
+    private FuenteFilas fuenteCsv(Reader reader, boolean completas) throws IOException {
+        LectorCsv lector = new LectorCsv(new BufferedReader(reader));
+        List<String> encabezado = lector.siguiente();
+        if (encabezado == null) {
+            throw new ValidationException("El archivo está vacío");
+        }
+        int[] posiciones = new int[COLUMNAS.size()];
+        for (int i = 0; i < COLUMNAS.size(); i++) {
+            posiciones[i] = -1;
+        }
+        for (int i = 0; i < encabezado.size(); i++) {
+            int columna = COLUMNAS.indexOf(encabezado.get(i).strip().toLowerCase(Locale.ROOT));
+            if (columna >= 0) {
+                posiciones[columna] = i;
+            }
+        }
+        if (posiciones[0] < 0) {
+            throw new ValidationException("El encabezado debe incluir la columna articulo");
+        }
+        if (completas) {
+            boolean[] presentes = new boolean[COLUMNAS.size()];
+            for (int i = 0; i < posiciones.length; i++) {
+                presentes[i] = posiciones[i] >= 0;
+            }
+            String faltantes = faltantes(presentes);
+            if (faltantes != null) {
+                throw new ValidationException("El encabezado debe incluir todas las columnas; faltan: " + faltantes);
+            }
+        }
+
+        return () -> {
+            List<String> campos;
+            try {
+                do {
+                    campos = lector.siguiente();
+                } while (campos != null && campos.size() == 1 && campos.get(0).isBlank());
+            } catch (IllegalArgumentException e) {
+                return new Fila(lector.getLinea(), null, e.getMessage());
+            }
+            if (campos == null) {
+                return null;
+            }
+            String[] valores = new String[COLUMNAS.size()];
+            for (int i = 0; i < posiciones.length; i++) {
+                if (posiciones[i] >= 0 && posiciones[i] < campos.size()) {
+                    valores[i] = campos.get(posiciones[i]);
+                }
+            }
+            return new Fila(lector.getLinea(), valores, null);
+        };
+    }
+
+    /**
+     * @param completas Si cada objeto debe tener todos los campos
+     */
+    private FuenteFilas fuenteNdjson(Reader reader, boolean completas) {
+        BufferedReader lineas = new BufferedReader(reader);
+        int[] numeroLinea = {0};
+        return () -> {
+            String linea;
+            do {
+                linea = lineas.readLine();
+                numeroLinea[0]++;
+            } while (linea != null && linea.isBlank());
+            if (linea == null) {
+                return null;
+            }
+            JsonNode objeto;
+            try {
+                objeto = objectMapper.readTree(linea);
+            } catch (JsonProcessingException e) {
+                return new Fila(numeroLinea[0], null, "JSON inválido");
+            }
+            if (!objeto.isObject()) {
+                return new Fila(numeroLinea[0], null, "Cada línea debe ser un objeto JSON");
+            }
+            String[] valores = new String[COLUMNAS.size()];
+            boolean[] presentes = new boolean[COLUMNAS.size()];
+            for (Map.Entry<String, JsonNode> campo : objeto.properties()) {
+                int columna = COLUMNAS.indexOf(campo.getKey().toLowerCase(Locale.ROOT));
+                if (columna >= 0) {
+                    presentes[columna] = true;
+                    if (!campo.getValue().isNull()) {
+                        valores[columna] = campo.getValue().asText();
+                    }
+                }
+            }
+            String faltantes = completas ? faltantes(presentes) : null;
+            if (faltantes != null) {
+                return new Fila(numeroLinea[0], null, "Faltan los campos: " + faltantes);
+            }
+            return new Fila(numeroLinea[0], valores, null);
+        };
+    }
+
+    private ImportacionProductosDTO importar(FuenteFilas fuente) throws IOException {
+        long inicio = System.nanoTime();
+        Map<String, Long> categorias = categoriasPorNombre();
+        Map<String, Long> companias = companiasPorNombre();
+        Set<String> articulos = new HashSet<>(jdbcTemplate.queryForList("SELECT articulo FROM producto", String.class));
+
+        Resultado resultado = new Resultado();
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+        List<Fila> filasDelLote = new ArrayList<>(tamanioLote);
+        try {
+            Fila fila;
+            while ((fila = fuente.siguiente()) != null) {
+                resultado.filasLeidas++;
+                if (fila.error() != null) {
+                    resultado.rechazar(fila.linea(), null, fila.error());
+                    continue;
+                }
+                String articulo = texto(fila.valores()[0]);
+                try {
+                    Object[] valores = convertir(fila.valores(), articulo, categorias, companias);
+                    if (!articulos.add(articulo)) {
+                        throw new ValidationException("El artículo ya existe");
+                    }
+                    lote.add(valores);
+                    filasDelLote.add(fila);
+                } catch (ValidationException e) {
+                    resultado.rechazar(fila.linea(), articulo, e.getMessage());
+                    continue;
+                }
+                if (lote.size() == tamanioLote) {
+                    guardar(INSERT, lote, filasDelLote, lote.size(), resultado);
+                    lote = new ArrayList<>(tamanioLote);
+                    filasDelLote = new ArrayList<>(tamanioLote);
+                }
+            }
+            guardar(INSERT, lote, filasDelLote, lote.size(), resultado);
+        } finally {
+            avisarGuardados(resultado);
+        }
+
+        long duracionMs = terminar("Importación", resultado, inicio);
+        return new ImportacionProductosDTO(resultado.filasLeidas, resultado.insertados, resultado.rechazados,
+                resultado.errores, duracionMs);
+    }
+
+    private SincronizacionProductosDTO sincronizar(FuenteFilas fuente) throws IOException {
+        long inicio = System.nanoTime();
+        Map<String, Long> categorias = categoriasPorNombre();
+        Map<String, Long> companias = companiasPorNombre();
+        Map<String, Long> hashes = new HashMap<>();
+        jdbcTemplate.query(SELECT_CONTENIDO, (RowCallbackHandler) rs -> {
+            String articulo = rs.getString(1);
+            if (articulo != null) {
+                hashes.put(articulo, hashContenido(new Object[] {articulo, rs.getString(2), rs.getInt(3),
+                        rs.getInt(4), rs.getInt(5), rs.getString(6), idONull(rs, 7), idONull(rs, 8)}));
+            }
+        });
+        String sql = upsert();
+
+        Resultado resultado = new Resultado();
+        Set<String> vistos = new HashSet<>();
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+        List<Fila> filasDelLote = new ArrayList<>(tamanioLote);
+        int nuevos = 0;
+        try {
+            Fila fila;
+            while ((fila = fuente.siguiente()) != null) {
+                resultado.filasLeidas++;
+                if (fila.error() != null) {
+                    resultado.rechazar(fila.linea(), null, fila.error());
+                    continue;
+                }
+                String articulo = texto(fila.valores()[0]);
+                Object[] valores;
+                try {
+                    valores = convertir(fila.valores(), articulo, categorias, companias);
+                    if (!vistos.add(articulo)) {
+                        throw new ValidationException("El artículo está repetido en el archivo");
+                    }
+                } catch (ValidationException e) {
+                    resultado.rechazar(fila.linea(), articulo, e.getMessage());
+                    continue;
+                }
+                Long hashAnterior = hashes.get(articulo);
+                if (hashAnterior != null && hashAnterior == hashContenido(valores)) {
+                    resultado.sinCambios++;
+                    continue;
+                }
+                if (hashAnterior == null) {
+                    nuevos++;
+                }
+                lote.add(valores);
+                filasDelLote.add(fila);
+                if (lote.size() == tamanioLote) {
+                    guardar(sql, lote, filasDelLote, nuevos, resultado);
+                    lote = new ArrayList<>(tamanioLote);
+                    filasDelLote = new ArrayList<>(tamanioLote);
+                    nuevos = 0;
+                }
+            }
+            guardar(sql, lote, filasDelLote, nuevos, resultado);
+        } finally {
+            avisarGuardados(resultado);
+        }
+
+        long duracionMs = terminar("Sincronización", resultado, inicio);
+        return new SincronizacionProductosDTO(resultado.filasLeidas, resultado.insertados, resultado.actualizados,
+                resultado.sinCambios, resultado.rechazados, resultado.errores, duracionMs);
+    }
+
+    /**
+     * Obtiene los nombres de las columnas no presentes, separados por coma.
+     *
+     * @param presentes Si cada columna de COLUMNAS está presente
+     * @return Columnas faltantes, o null si están todas
+     */
+    private static String faltantes(boolean[] presentes) {
+        StringJoiner faltantes = new StringJoiner(", ");
+        for (int i = 0; i < presentes.length; i++) {
+            if (!presentes[i]) {
+                faltantes.add(COLUMNAS.get(i));
+            }
+        }
+        return faltantes.length() > 0 ? faltantes.toString() : null;
+    }
+
+    private Map<String, Long> categoriasPorNombre() {
+        Map<String, Long> categorias = new HashMap<>();
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            categorias.putIfAbsent(clave(categoria.getNombre()), categoria.getId());
+        }
+        return categorias;
+    }
+
+    private Map<String, Long> companiasPorNombre() {
+        Map<String, Long> companias = new HashMap<>();
+        for (Compania compania : companiaRepository.findAll()) {
+            companias.putIfAbsent(clave(compania.getNombre()), compania.getId());
+        }
+        return companias;
+    }
+
+    /**
+     * Registra el resultado de una importación o sincronización completa.
+     *
+     * @return Duración en milisegundos desde el inicio
+     */
+    private long terminar(String operacion, Resultado resultado, long inicio) {
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("{} de productos terminada: {} filas, {} insertadas, {} actualizadas, {} sin cambios, "
+                + "{} rechazadas en {} ms", operacion, resultado.filasLeidas, resultado.insertados,
+                resultado.actualizados, resultado.sinCambios, resultado.rechazados, duracionMs);
+        return duracionMs;
+    }
+
+    /**
+     * Avisa a las vistas en memoria si se guardó algún producto. Se llama también cuando
+     * la lectura del archivo falla a mitad de camino: los lotes anteriores ya quedaron
+     * confirmados y las vistas no deben seguir mostrando el catálogo previo.
+     */
+    private void avisarGuardados(Resultado resultado) {
+        int guardados = resultado.insertados + resultado.actualizados;
+        if (guardados > 0) {
+            eventPublisher.publishEvent(new ProductosImportadosEvent(guardados));
+        }
+    }
+
+    /**
+     * Obtiene la sentencia de sincronización de la base de datos en uso: ON CONFLICT en
+     * Postgres y MERGE con KEY en las demás (H2 en los tests).
+     */
+    private String upsert() {
+        String sql = upsert;
+        if (sql == null) {
+            String baseDeDatos = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equals(baseDeDatos) ? UPSERT_POSTGRES : MERGE;
+            upsert = sql;
+        }
+        return sql;
+    }
+
+    private Object[] convertir(String[] valores, String articulo, Map<String, Long> categorias, Map<String, Long> companias) {
+        if (articulo == null) {
+            throw new ValidationException("El artículo no puede estar vacío");
+        }
+        int precio = entero(valores[2], "precio");
+        int precioUnitario = entero(valores[3], "precioUnitario");
+        int stock = entero(valores[4], "stock");
+        if (precio < 0 || precioUnitario < 0) {
+            throw new ValidationException("El precio no puede ser negativo");
+        }
+        if (stock < 0) {
+            throw new ValidationException("El stock no puede ser negativo");
+        }
+        Long categoriaId = buscarPorNombre(valores[6], categorias, "No existe la categoría: ");
+        Long companiaId = buscarPorNombre(valores[7], companias, "No existe la compañía: ");
+        return new Object[] {articulo, texto(valores[1]), precio, precioUnitario, stock, texto(valores[5]),
+                categoriaId, companiaId};
+    }
+
+    /**
+     * Envía un lote en una transacción. Si falla, rechaza todas sus filas.
+     *
+     * @param nuevos Cantidad de filas del lote que no existían en la base de datos
+     */
+    private void guardar(String sql, List<Object[]> lote, List<Fila> filasDelLote, int nuevos, Resultado resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, lote));
+            resultado.insertados += nuevos;
+            resultado.actualizados += lote.size() - nuevos;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo guardar un lote de {} productos", lote.size(), e);
+            for (Fila fila : filasDelLote) {
+                resultado.rechazar(fila.linea(), texto(fila.valores()[0]), "No se pudo guardar el lote de la fila");
+            }
+        }
+        // El resumen en INFO se registra una sola vez al terminar; el avance por lote va en DEBUG.
+        log.debug("Productos: {} filas leídas, {} insertadas, {} actualizadas, {} rechazadas",
+                resultado.filasLeidas, resultado.insertados, resultado.actualizados, resultado.rechazados);
+    }
+
+    /**
+     * Calcula un hash FNV-1a de 64 bits de los valores de un producto, en el orden de
+     * las columnas de INSERT.
+     *
+     * @param valores Valores del producto
+     * @return Hash del contenido
+     */
+    static long hashContenido(Object[] valores) {
+        long hash = 0xcbf29ce484222325L;
+        for (Object valor : valores) {
+            String texto = valor == null ? "\0" : valor.toString();
+            for (int i = 0; i < texto.length(); i++) {
+                hash = (hash ^ texto.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1F) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static Long idONull(ResultSet rs, int columna) throws SQLException {
+        long id = rs.getLong(columna);
+        return rs.wasNull() ? null : id;
+    }
+
+    private static Long buscarPorNombre(String nombre, Map<String, Long> ids, String mensaje) {
+        String valor = texto(nombre);
+        if (valor == null) {
+            return null;
+        }
+        Long id = ids.get(clave(valor));
+        if (id == null) {
+            throw new ValidationException(mensaje + valor);
+        }
+        return id;
+    }
+
+    private static int entero(String valor, String campo) {
+        String texto = texto(valor);
+        if (texto == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("El campo " + campo + " debe ser un número entero: " + texto);
+        }
+    }
+
+    /** Texto sin espacios alrededor, o null si está vacío. */
+    private static String texto(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return valor.strip();
+    }
+
+    private static String clave(String nombre) {
+        return nombre == null ? "" : nombre.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fila leída del archivo: valores en el orden de COLUMNAS, o el error de lectura.
+     */
+    private record Fila(int linea, String[] valores, String error) {}
+
+    @FunctionalInterface
+    private interface FuenteFilas {
+        /** Devuelve la siguiente fila, o null al terminar el archivo. */
+        Fila siguiente() throws IOException;
+    }
+
+    /**
+     * Contadores y errores acumulados durante una importación.
+     */
+    private static final class Resultado {
+        private int filasLeidas;
+        private int insertados;
+        private int actualizados;
+        private int sinCambios;
+        private int rechazados;
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+
+        void rechazar(int linea, String articulo, String mensaje) {
+            rechazados++;
+            if (errores.size() < ERRORES_DETALLADOS_MAXIMO) {
+                errores.add(new ErrorImportacionDTO(linea, articulo, mensaje));
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.store.api.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.util.IndiceNGramas;
+
+/**
+ * Índice de trigramas en memoria sobre el artículo de cada producto.
+ *
+ * Resuelve las búsquedas por subcadena del buscador sin consultar la base de datos:
+ * se carga desde la instantánea de CatalogoProductos y se mantiene al día con el
+ * ProductoModificadoEvent publicado en cada escritura; los eventos que no cambian el
+ * artículo (los de stock y precio, entre ellos cada venta) no tocan el índice. En Postgres las búsquedas que
+ * sí van a la base de datos usan el índice pg_trgm creado por IndiceTrigramaInitializer.
+ */
+@Component
+public class IndiceArticulos {
+
+    private final CatalogoProductos catalogoProductos;
+    private final IndiceNGramas indice = new IndiceNGramas();
+
+    /** Artículo indexado de cada producto, para ignorar los eventos que no lo cambian. */
+    private final Map<Long, String> articulos = new HashMap<>();
+
+    /** Indica si el índice ya fue cargado desde el catálogo. */
+    private volatile boolean cargado;
+
+    public IndiceArticulos(CatalogoProductos catalogoProductos) {
+        this.catalogoProductos = catalogoProductos;
+    }
+
+    /**
+     * Carga el índice al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Reconstruye el índice con los artículos del catálogo.
+     */
+    public synchronized void recargar() {
+        indice.limpiar();
+        articulos.clear();
+        for (ProductoResponseDTO producto : catalogoProductos.listar()) {
+            indice.agregar(producto.getId(), producto.getArticulo());
+            articulos.put(producto.getId(), producto.getArticulo());
+        }
+        cargado = true;
+    }
+
+    /**
+     * Busca los productos cuyo artículo contiene el término.
+     *
+     * @param termino Subcadena a buscar (insensible a mayúsculas/minúsculas)
+     * @param limite Cantidad máxima de resultados
+     * @return IDs de los productos ordenados por relevancia
+     */
+    public List<Long> buscar(String termino, int limite) {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        return indice.buscar(termino, limite);
+    }
+
+    /**
+     * Aplica al índice el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        long id = event.getProductoId();
+        if (event.eliminado()) {
+            articulos.remove(id);
+            indice.quitar(id);
+            return;
+        }
+        String articulo = event.getProducto().getArticulo();
+        boolean indexado = articulos.containsKey(id);
+        String anterior = articulos.put(id, articulo);
+        if (indexado && Objects.equals(anterior, articulo)) {
+            return;
+        }
+        indice.agregar(id, articulo);
+    }
+
+    /**
+     * Descarta el índice tras una importación masiva; se vuelve a cargar en la siguiente búsqueda.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+}
@@ -0,0 +1,104 @@
+package com.store.api.service;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.util.IndicePrecios;
+
+/**
+ * Índice en memoria de los productos ordenados por precio, usado por las búsquedas por
+ * rango de precios de ProductoService.
+ *
+ * Se carga desde la instantánea de CatalogoProductos y se mantiene al día con el
+ * ProductoModificadoEvent publicado en cada escritura. Las búsquedas paginadas por
+ * precio siguen yendo a la base de datos, que usa el índice idx_producto_precio.
+ */
+@Component
+public class IndicePreciosProductos {
+
+    private final CatalogoProductos catalogoProductos;
+    private final IndicePrecios indice = new IndicePrecios();
+
+    /** Indica si el índice ya fue cargado desde el catálogo. */
+    private volatile boolean cargado;
+
+    public IndicePreciosProductos(CatalogoProductos catalogoProductos) {
+        this.catalogoProductos = catalogoProductos;
+    }
+
+    /**
+     * Carga el índice al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Reconstruye el índice con los precios del catálogo.
+     */
+    public synchronized void recargar() {
+        List<ProductoResponseDTO> productos = catalogoProductos.listar();
+        long[] ids = new long[productos.size()];
+        int[] precios = new int[productos.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = productos.get(i).getId();
+            precios[i] = productos.get(i).getPrecio();
+        }
+        indice.cargar(ids, precios);
+        cargado = true;
+    }
+
+    /**
+     * Obtiene los IDs de los productos con precio dentro del rango.
+     *
+     * @param min Precio mínimo (inclusive)
+     * @param max Precio máximo (inclusive)
+     * @return IDs ordenados por precio y luego por ID
+     */
+    public long[] buscar(int min, int max) {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        return indice.buscar(min, max);
+    }
+
+    /**
+     * Aplica al índice el alta, modificación o baja de un producto.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (!cargado || event.getProductoId() == null) {
+            return;
+        }
+        if (event.eliminado()) {
+            indice.quitar(event.getProductoId());
+        } else {
+            indice.actualizar(event.getProductoId(), event.getProducto().getPrecio());
+        }
+    }
+
+    /**
+     * Descarta el índice tras una importación masiva; se vuelve a cargar en la siguiente consulta.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public synchronized void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.store.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.reporte.MapaCalorDTO;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.VentaDiaHora;
+
+/**
+ * Servicio del mapa de calor de ventas por día de la semana y hora.
+ *
+ * Para un rango arbitrario resuelve una consulta agrupada por día y hora sobre la fecha
+ * de la venta. Para el mes en curso mantiene además las matrices en memoria: se cargan
+ * una vez desde la base de datos y luego cada venta registrada suma su celda, de modo
+ * que consultar el mes actual no recorre ventas.
+ */
+@Service
+public class MapaCalorVentaService {
+
+    /** Cantidad máxima de días de un rango consultado contra la base de datos. */
+    static final int MAX_DIAS_RANGO = 366;
+
+    private static final int DIAS_SEMANA = 7;
+    private static final int HORAS_DIA = 24;
+
+    private final VentaRepository ventaRepository;
+
+    /** Matrices del mes en curso; nulo hasta la primera consulta o tras una invalidación. */
+    private MapaMes mesActual;
+
+    public MapaCalorVentaService(VentaRepository ventaRepository) {
+        this.ventaRepository = ventaRepository;
+    }
+
+    /**
+     * Obtiene el mapa de calor de un rango de días consultando la base de datos.
+     *
+     * @param desde Primer día del rango (inclusive)
+     * @param hasta Último día del rango (inclusive)
+     * @return MapaCalorDTO con unidades e importe por día de la semana y hora
+     * @throws ValidationException si el rango es inválido
+     */
+    public MapaCalorDTO mapaCalor(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new ValidationException("El rango de fechas es obligatorio");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidationException("El rango de fechas es inválido (desde > hasta)");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) + 1 > MAX_DIAS_RANGO) {
+            throw new ValidationException("El rango puede abarcar como máximo " + MAX_DIAS_RANGO + " días");
+        }
+        MapaMes mapa = cargar(desde, hasta);
+        return new MapaCalorDTO(desde, hasta, mapa.unidades, mapa.importe);
+    }
+
+    /**
+     * Obtiene el mapa de calor del mes en curso desde memoria.
+     *
+     * @return MapaCalorDTO del mes actual
+     */
+    public synchronized MapaCalorDTO mapaCalorMesActual() {
+        MapaMes mapa = mesVigente();
+        return new MapaCalorDTO(
+                mapa.mes.atDay(1),
+                mapa.mes.atEndOfMonth(),
+                copiar(mapa.unidades),
+                copiar(mapa.importe)
+        );
+    }
+
+    /**
+     * Suma una venta recién registrada a la celda de su día de la semana y hora.
+     *
+     * @param event Evento con los datos de la venta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onVentaRegistrada(VentaRegistradaEvent event) {
+        if (mesActual == null || event.getFecha() == null) {
+            return;
+        }
+        if (!YearMonth.from(event.getFecha()).equals(mesActual.mes)) {
+            return;
+        }
+        int fila = event.getFecha().getDayOfWeek().getValue() - 1;
+        int columna = event.getFecha().getHour();
+        mesActual.unidades[fila][columna] += event.getCantidad();
+        mesActual.importe[fila][columna] += event.getTotal();
+    }
+
+    /**
+     * Descarta las matrices del mes en curso si la modificación puede afectarlas.
+     *
+     * @param event Evento con los días afectados
+     */
+    @EventListener
+    public synchronized void onVentaModificada(VentaModificadaEvent event) {
+        if (mesActual == null) {
+            return;
+        }
+        boolean afectaMes = !event.diasConocidos()
+                || event.getDias().stream().anyMatch(dia -> YearMonth.from(dia).equals(mesActual.mes));
+        if (afectaMes) {
+            mesActual = null;
+        }
+    }
+
+    private MapaMes mesVigente() {
+        YearMonth mes = YearMonth.now();
+        if (mesActual == null || !mesActual.mes.equals(mes)) {
+            MapaMes cargado = cargar(mes.atDay(1), mes.atEndOfMonth());
+            cargado.mes = mes;
+            mesActual = cargado;
+        }
+        return mesActual;
+    }
+
+    private MapaMes cargar(LocalDate desde, LocalDate hasta) {
+        MapaMes mapa = new MapaMes();
+        for (VentaDiaHora fila : ventaRepository.resumirPorDiaYHora(desde.atStartOfDay(), hasta.atTime(LocalTime.MAX))) {
+            int dia = fila.getFecha().getDayOfWeek().getValue() - 1;
+            int hora = fila.getHora();
+            mapa.unidades[dia][hora] += fila.getUnidades() != null ? fila.getUnidades() : 0;
+            mapa.importe[dia][hora] += fila.getImporte() != null ? fila.getImporte() : 0;
+        }
+        return mapa;
+    }
+
+    private static long[][] copiar(long[][] matriz) {
+        long[][] copia = new long[matriz.length][];
+        for (int i = 0; i < matriz.length; i++) {
+            copia[i] = matriz[i].clone();
+        }
+        return copia;
+    }
+
+    /**
+     * Matrices de unidades e importe, con filas de lunes a domingo y columnas de 0 a 23 horas.
+     */
+    private static class MapaMes {
+        private YearMonth mes;
+        private final long[][] unidades = new long[DIAS_SEMANA][HORAS_DIA];
+        private final long[][] importe = new long[DIAS_SEMANA][HORAS_DIA];
+    }
+}
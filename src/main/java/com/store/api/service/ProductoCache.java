@@ -0,0 +1,128 @@
+package com.store.api.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.CompaniaModificadaEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.util.CacheAcotada;
+
+/**
+ * Caché de lectura de productos por ID usada por ProductoService.
+ *
+ * Guarda los ProductoResponseDTO ya convertidos, con un máximo de entradas y un tiempo
+ * de vida configurables. ProductoService invalida la entrada de un producto al
+ * actualizarlo, eliminarlo o modificar su stock, y esta clase la invalida cuando se
+ * confirma la transacción de una venta del producto: si lo hiciera antes, una lectura
+ * concurrente podría volver a guardar el stock anterior a la venta. Como las respuestas incluyen la categoría y la
+ * compañía, un cambio en cualquiera de ellas vacía la caché.
+ */
+@Component
+public class ProductoCache {
+
+    private final CacheAcotada<Long, ProductoResponseDTO> cache;
+
+    public ProductoCache(@Value("${store.productos.cache.capacidad:10000}") int capacidad,
+                         @Value("${store.productos.cache.tiempo-de-vida:PT5M}") Duration tiempoDeVida) {
+        this.cache = new CacheAcotada<>(capacidad, tiempoDeVida);
+    }
+
+    /**
+     * Obtiene el producto guardado para un ID.
+     *
+     * @param id ID del producto
+     * @return ProductoResponseDTO guardado, o null si no está en la caché
+     */
+    public ProductoResponseDTO obtener(Long id) {
+        return cache.obtener(id);
+    }
+
+    /**
+     * Obtiene la generación actual de la caché, que debe leerse antes de consultar la base de datos.
+     *
+     * @return Generación a pasar a {@link #guardar(Long, ProductoResponseDTO, long)}
+     */
+    public long generacion() {
+        return cache.generacion();
+    }
+
+    /**
+     * Guarda un producto leído de la base de datos, salvo que haya sido invalidado mientras tanto.
+     *
+     * @param id ID del producto
+     * @param producto ProductoResponseDTO a guardar
+     * @param generacion Generación leída antes de consultar la base de datos
+     */
+    public void guardar(Long id, ProductoResponseDTO producto, long generacion) {
+        cache.guardar(id, producto, generacion);
+    }
+
+    /**
+     * Descarta el producto guardado para un ID.
+     *
+     * @param id ID del producto
+     */
+    public void invalidar(Long id) {
+        cache.invalidar(id);
+    }
+
+    /**
+     * Descarta el producto vendido, cuyo stock acaba de cambiar.
+     *
+     * @param event Evento con los datos de la venta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVentaRegistrada(VentaRegistradaEvent event) {
+        if (event.getProductoId() != null) {
+            cache.invalidar(event.getProductoId());
+        }
+    }
+
+    /**
+     * Vacía la caché cuando cambia una categoría.
+     *
+     * @param event Evento con la categoría modificada
+     */
+    @EventListener
+    public void onCategoriaModificada(CategoriaModificadaEvent event) {
+        cache.invalidarTodo();
+    }
+
+    /**
+     * Vacía la caché cuando cambia una compañía.
+     *
+     * @param event Evento con la compañía modificada
+     */
+    @EventListener
+    public void onCompaniaModificada(CompaniaModificadaEvent event) {
+        cache.invalidarTodo();
+    }
+
+    /**
+     * Vacía la caché cuando una sincronización masiva actualizó productos sin pasar por
+     * ProductoService.
+     *
+     * @param event Evento con la cantidad de productos guardados
+     */
+    @EventListener
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        cache.invalidarTodo();
+    }
+
+    /**
+     * Obtiene las métricas de la caché.
+     *
+     * @return Estadisticas de aciertos, fallos, desalojos, expiraciones e invalidaciones
+     */
+    public CacheAcotada.Estadisticas estadisticas() {
+        return cache.estadisticas();
+    }
+}
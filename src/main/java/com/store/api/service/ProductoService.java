@@ -1,17 +1,43 @@
 package com.store.api.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
 import com.store.api.repository.ProductoRepository;
 import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.StockInsufficientException;
 import com.store.api.exception.ValidationException;
+import com.store.api.dto.producto.AlertaStockDTO;
+import com.store.api.dto.producto.BandaPrecioDTO;
+import com.store.api.dto.producto.CampoProducto;
+import com.store.api.dto.producto.BusquedaTextoDTO;
+import com.store.api.dto.producto.FacetasProductoDTO;
+import com.store.api.dto.producto.FiltroProductoDTO;
 import com.store.api.dto.producto.ProductoCreateDTO;
+import com.store.api.dto.producto.ProductoPaginaDTO;
 import com.store.api.dto.producto.ProductoUpdateDTO;
+import com.store.api.dto.producto.SugerenciaProductoDTO;
+import com.store.api.dto.producto.ValorizacionInventarioDTO;
 import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.util.CacheAcotada;
+import com.store.api.util.IndiceTexto;
 
 /**
  * Servicio de negocio para la entidad Producto.
@@ -20,14 +46,77 @@ import com.store.api.dto.producto.ProductoResponseDTO;
  * incluyendo validación, búsqueda, filtrado y manipulación de stock.
  * Utiliza DTOs para la creación, actualización y respuestas de datos.
  * 
+ * Las lecturas por ID pasan por ProductoCache; toda operación que modifica un
+ * producto invalida su entrada. El listado completo se sirve desde CatalogoProductos,
+ * que se actualiza con el ProductoModificadoEvent publicado en cada escritura, y el
+ * buscador por artículo usa el índice de trigramas de IndiceArticulos, la búsqueda de
+ * texto completo el índice invertido de BusquedaTextoProductos, la búsqueda tolerante a
+ * errores el árbol BK de BusquedaAproximadaProductos y el autocompletado los índices de
+ * prefijos de AutocompletadoProductos. El filtrado por
+ * categoría, compañía, banda de precios y stock se resuelve con los BitSet de FacetasProductos,
+ * y las búsquedas por rango de precios con el índice ordenado de IndicePreciosProductos.
+ * 
+ * Las búsquedas paginadas devuelven un ProductoPaginaDTO armado a partir de un Slice,
+ * por lo que no ejecutan la consulta COUNT del total de resultados.
  */
 @Service
 public class ProductoService {
+
+    /** Tamaño de página usado cuando no se indica uno. */
+    public static final int TAMANIO_PAGINA_POR_DEFECTO = 50;
+
+    /** Tamaño de página máximo admitido. */
+    public static final int TAMANIO_PAGINA_MAXIMO = 200;
+
+    /** Cantidad de resultados del buscador por artículo cuando no se indica un límite. */
+    public static final int LIMITE_BUSQUEDA_POR_DEFECTO = 20;
+
+    /** Cantidad máxima de resultados del buscador por artículo. */
+    public static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+
+    /** Cantidad de sugerencias del autocompletado cuando no se indica un límite. */
+    public static final int LIMITE_SUGERENCIAS_POR_DEFECTO = 10;
+
+    /** Cantidad máxima de sugerencias del autocompletado. */
+    public static final int LIMITE_SUGERENCIAS_MAXIMO = 50;
+
+    /** Cantidad máxima de IDs en una consulta de varios productos. */
+    public static final int CANTIDAD_IDS_MAXIMA = 100;
+
+    /** Campos por los que se puede ordenar una página de productos. */
+    private static final Set<String> CAMPOS_ORDENABLES = Set.of("id", "articulo", "precio", "stock", "precioUnitario");
     
     private final ProductoRepository productoRepository;
+    private final ProductoCache productoCache;
+    private final CatalogoProductos catalogoProductos;
+    private final IndiceArticulos indiceArticulos;
+    private final BusquedaTextoProductos busquedaTexto;
+    private final BusquedaAproximadaProductos busquedaAproximada;
+    private final AutocompletadoProductos autocompletadoProductos;
+    private final FacetasProductos facetasProductos;
+    private final IndicePreciosProductos indicePrecios;
+    private final AlertasStock alertasStock;
+    private final ValorizacionInventario valorizacionInventario;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductoService(ProductoRepository productoRepository) {
+    public ProductoService(ProductoRepository productoRepository, ProductoCache productoCache,
+                           CatalogoProductos catalogoProductos, IndiceArticulos indiceArticulos,
+                           BusquedaTextoProductos busquedaTexto, BusquedaAproximadaProductos busquedaAproximada,
+                           AutocompletadoProductos autocompletadoProductos, FacetasProductos facetasProductos,
+                           IndicePreciosProductos indicePrecios, AlertasStock alertasStock,
+                           ValorizacionInventario valorizacionInventario, ApplicationEventPublisher eventPublisher) {
         this.productoRepository = productoRepository;
+        this.productoCache = productoCache;
+        this.catalogoProductos = catalogoProductos;
+        this.indiceArticulos = indiceArticulos;
+        this.busquedaTexto = busquedaTexto;
+        this.busquedaAproximada = busquedaAproximada;
+        this.autocompletadoProductos = autocompletadoProductos;
+        this.facetasProductos = facetasProductos;
+        this.indicePrecios = indicePrecios;
+        this.alertasStock = alertasStock;
+        this.valorizacionInventario = valorizacionInventario;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,7 +140,8 @@ public class ProductoService {
         producto.setStock(dto.getStock());
         producto.setPrecioUnitario(dto.getPrecioUnitario());
         
-        Producto saved = productoRepository.save(producto);
+        Producto saved = guardar(producto, () -> productoRepository.existsByArticulo(dto.getArticulo()));
+        eventPublisher.publishEvent(new ProductoModificadoEvent(saved.getId(), saved));
         return toResponseDTO(saved);
     }
 
@@ -63,20 +153,108 @@ public class ProductoService {
      * @throws ResourceNotFoundException si el producto no existe
      */
     public ProductoResponseDTO findById(Long id) {
+        ProductoResponseDTO cacheado = productoCache.obtener(id);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        long generacion = productoCache.generacion();
         Producto producto = productoRepository.findById(id)
                 .orElseThrow(ResourceNotFoundException::new);
-        return toResponseDTO(producto);
+        ProductoResponseDTO dto = toResponseDTO(producto);
+        productoCache.guardar(id, dto, generacion);
+        return dto;
+    }
+
+    /**
+     * Obtiene varios productos por sus IDs.
+     * 
+     * Los productos en caché se devuelven sin consultar la base de datos y los demás se
+     * leen con una sola consulta IN. La lista de IDs de esa consulta se completa
+     * repitiendo el último hasta la siguiente potencia de dos, así la cantidad de
+     * sentencias distintas que ven la caché de planes de Hibernate y la del driver queda
+     * acotada (1, 2, 4, ... 128) en lugar de una por cada cantidad de IDs.
+     * 
+     * @param ids IDs de los productos; los repetidos se ignoran
+     * @return Productos encontrados en el orden de los IDs pedidos, sin los inexistentes
+     * @throws ValidationException si no se indican IDs o se supera el máximo
+     */
+    public List<ProductoResponseDTO> findAllById(List<Long> ids) {
+        Set<Long> pedidos = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                pedidos.add(id);
+            }
+        }
+        if (pedidos.isEmpty() || pedidos.size() > CANTIDAD_IDS_MAXIMA) {
+            throw new ValidationException("Se pueden pedir entre 1 y " + CANTIDAD_IDS_MAXIMA + " productos");
+        }
+
+        Map<Long, ProductoResponseDTO> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : pedidos) {
+            ProductoResponseDTO cacheado = productoCache.obtener(id);
+            if (cacheado != null) {
+                encontrados.put(id, cacheado);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            long generacion = productoCache.generacion();
+            for (Producto producto : productoRepository.findAllById(rellenarIds(faltantes))) {
+                ProductoResponseDTO dto = toResponseDTO(producto);
+                encontrados.put(producto.getId(), dto);
+                productoCache.guardar(producto.getId(), dto, generacion);
+            }
+        }
+
+        List<ProductoResponseDTO> resultado = new ArrayList<>(encontrados.size());
+        for (Long id : pedidos) {
+            ProductoResponseDTO producto = encontrados.get(id);
+            if (producto != null) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Completa una lista de IDs repitiendo el último hasta la siguiente potencia de dos.
+     * 
+     * @param ids IDs distintos, al menos uno
+     * @return Lista con los mismos IDs y un largo potencia de dos
+     */
+    static List<Long> rellenarIds(List<Long> ids) {
+        int largo = Integer.highestOneBit(ids.size());
+        if (largo < ids.size()) {
+            largo <<= 1;
+        }
+        List<Long> rellenados = new ArrayList<>(largo);
+        rellenados.addAll(ids);
+        Long ultimo = ids.get(ids.size() - 1);
+        while (rellenados.size() < largo) {
+            rellenados.add(ultimo);
+        }
+        return rellenados;
     }
 
     /**
-     * Obtiene todos los productos disponibles.
+     * Obtiene todos los productos disponibles desde la instantánea en memoria del catálogo.
      * 
-     * @return Lista de ProductoResponseDTO de todos los productos
+     * @return Lista inmodificable de ProductoResponseDTO de todos los productos, ordenada por ID
      */
     public List<ProductoResponseDTO> findAll() {
-        return productoRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .toList();
+        return catalogoProductos.listar();
+    }
+
+    /**
+     * Obtiene una página de todos los productos.
+     * 
+     * @param pageable Página, tamaño y orden obtenidos con {@link #paginacion(Integer, Integer, List)}
+     * @return ProductoPaginaDTO con los productos de la página
+     */
+    public ProductoPaginaDTO findAll(Pageable pageable) {
+        return toPaginaDTO(productoRepository.findAllBy(pageable));
     }
 
     /**
@@ -87,6 +265,7 @@ public class ProductoService {
      * @return ProductoResponseDTO del producto actualizado
      * @throws ResourceNotFoundException si el producto no existe
      * @throws ValidationException si los datos no cumplen validaciones
+     * @throws DuplicateResourceException si otro producto ya tiene el artículo
      */
     public ProductoResponseDTO update(Long id, ProductoUpdateDTO dto) {
         Producto existing = productoRepository.findById(id)
@@ -103,7 +282,9 @@ public class ProductoService {
         existing.setStock(dto.getStock());
         existing.setPrecioUnitario(dto.getPrecioUnitario());
 
-        Producto updated = productoRepository.save(existing);
+        Producto updated = guardar(existing, () -> productoRepository.existsByArticuloAndIdNot(dto.getArticulo(), id));
+        productoCache.invalidar(id);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, updated));
         return toResponseDTO(updated);
     }
 
@@ -118,6 +299,8 @@ public class ProductoService {
             throw new ResourceNotFoundException();
         }
         productoRepository.deleteById(id);
+        productoCache.invalidar(id);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, null));
     }
 
     /**
@@ -147,6 +330,27 @@ public class ProductoService {
         }
         producto.setStock(nuevoStock);
         productoRepository.save(producto);
+        productoCache.invalidar(id);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, producto));
+    }
+
+    /**
+     * Establece o quita el umbral de reposición de un producto.
+     * 
+     * @param id ID del producto
+     * @param stockMinimo Stock a partir del cual se pide reponer, o null para quitar el umbral
+     * @throws ResourceNotFoundException si el producto no existe
+     * @throws ValidationException si el umbral es negativo
+     */
+    public void actualizarStockMinimo(Long id, Integer stockMinimo) {
+        if (stockMinimo != null && stockMinimo < 0) {
+            throw new ValidationException("El stock mínimo no puede ser negativo");
+        }
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(ResourceNotFoundException::new);
+        producto.setStockMinimo(stockMinimo);
+        productoRepository.save(producto);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, producto));
     }
 
     /**
@@ -161,10 +365,50 @@ public class ProductoService {
             throw new ValidationException("El ID de la compañía no puede ser nulo");
         }
         return productoRepository.findByCompaniaId(companiaId).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
+    /**
+     * Busca una página de productos combinando con AND los filtros presentes, en una sola consulta.
+     * 
+     * @param filtro Filtros opcionales de compañía, categoría, artículo, stock y rango de precios
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos que cumplen los filtros
+     * @throws ValidationException si algún filtro es inválido
+     */
+    public ProductoPaginaDTO buscar(FiltroProductoDTO filtro, Pageable pageable) {
+        if (filtro.getArticulo() != null && filtro.getArticulo().isBlank()) {
+            throw new ValidationException("El término de artículo no puede estar vacío");
+        }
+        if (filtro.getStock() != null && filtro.getStock() < 0) {
+            throw new ValidationException("El stock no puede ser negativo");
+        }
+        if ((filtro.getPrecioMin() != null && filtro.getPrecioMin() < 0)
+                || (filtro.getPrecioMax() != null && filtro.getPrecioMax() < 0)) {
+            throw new ValidationException("El precio no puede ser negativo");
+        }
+        if (filtro.getPrecioMin() != null && filtro.getPrecioMax() != null && filtro.getPrecioMin() > filtro.getPrecioMax()) {
+            throw new ValidationException("El rango de precios es inválido (min > max)");
+        }
+        return toPaginaDTO(productoRepository.buscar(filtro, pageable));
+    }
+
+    /**
+     * Obtiene una página de los productos de una compañía específica.
+     * 
+     * @param companiaId ID de la compañía
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos de la compañía
+     * @throws ValidationException si el ID de la compañía es nulo
+     */
+    public ProductoPaginaDTO findByCompaniaId(Long companiaId, Pageable pageable) {
+        if (companiaId == null) {
+            throw new ValidationException("El ID de la compañía no puede ser nulo");
+        }
+        return toPaginaDTO(productoRepository.findByCompaniaId(companiaId, pageable));
+    }
+
     /**
      * Encuentra todos los productos de una categoría específica.
      * 
@@ -177,10 +421,25 @@ public class ProductoService {
             throw new ValidationException("El ID de la categoría no puede ser nulo");
         }
         return productoRepository.findByCategoriaId(categoriaId).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
+    /**
+     * Obtiene una página de los productos de una categoría específica.
+     * 
+     * @param categoriaId ID de la categoría
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos de la categoría
+     * @throws ValidationException si el ID de la categoría es nulo
+     */
+    public ProductoPaginaDTO findByCategoriaId(Long categoriaId, Pageable pageable) {
+        if (categoriaId == null) {
+            throw new ValidationException("El ID de la categoría no puede ser nulo");
+        }
+        return toPaginaDTO(productoRepository.findByCategoriaId(categoriaId, pageable));
+    }
+
     /**
      * Encuentra productos que pertenecen a una compañía y categoría específicas.
      * 
@@ -190,10 +449,22 @@ public class ProductoService {
      */
     public List<ProductoResponseDTO> findByCompaniaIdAndCategoriaId(Long companiaId, Long categoriaId) {
         return productoRepository.findByCompaniaIdAndCategoriaId(companiaId, categoriaId).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
+    /**
+     * Obtiene una página de los productos de una compañía y categoría específicas.
+     * 
+     * @param companiaId ID de la compañía
+     * @param categoriaId ID de la categoría
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos filtrados
+     */
+    public ProductoPaginaDTO findByCompaniaIdAndCategoriaId(Long companiaId, Long categoriaId, Pageable pageable) {
+        return toPaginaDTO(productoRepository.findByCompaniaIdAndCategoriaId(companiaId, categoriaId, pageable));
+    }
+
     /**
      * Busca productos por coincidencia parcial en el número de artículo.
      * 
@@ -206,10 +477,169 @@ public class ProductoService {
             throw new ValidationException("El término de artículo no puede estar vacío");
         }
         return productoRepository.findByArticuloContainingIgnoreCase(articulo).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
+    /**
+     * Obtiene una página de los productos cuyo número de artículo contiene el término.
+     * 
+     * @param articulo Término de búsqueda (insensible a mayúsculas/minúsculas)
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos que coinciden con el término
+     * @throws ValidationException si el término de búsqueda es nulo o vacío
+     */
+    public ProductoPaginaDTO findByArticuloContaining(String articulo, Pageable pageable) {
+        if (articulo == null || articulo.isBlank()) {
+            throw new ValidationException("El término de artículo no puede estar vacío");
+        }
+        return toPaginaDTO(productoRepository.findByArticuloContainingIgnoreCase(articulo, pageable));
+    }
+
+    /**
+     * Busca productos por subcadena del artículo usando el índice de trigramas en memoria.
+     * 
+     * Los resultados se ordenan por relevancia: coincidencia exacta, prefijo, comienzo de
+     * palabra y cualquier otra posición, y dentro de cada grupo la coincidencia más temprana.
+     * 
+     * @param termino Término de búsqueda (insensible a mayúsculas/minúsculas)
+     * @param limite Cantidad máxima de resultados
+     * @return Lista de ProductoResponseDTO ordenada por relevancia
+     * @throws ValidationException si el término está vacío o el límite es inválido
+     */
+    public List<ProductoResponseDTO> buscarPorArticulo(String termino, int limite) {
+        if (termino == null || termino.isBlank()) {
+            throw new ValidationException("El término de artículo no puede estar vacío");
+        }
+        if (limite <= 0 || limite > LIMITE_BUSQUEDA_MAXIMO) {
+            throw new ValidationException("El límite debe estar entre 1 y " + LIMITE_BUSQUEDA_MAXIMO);
+        }
+        return indiceArticulos.buscar(termino, limite).stream()
+                .map(catalogoProductos::buscar)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Busca productos por artículo tolerando errores de tipeo, usando el árbol BK en memoria.
+     * 
+     * Cada palabra del término admite hasta 1 o 2 ediciones según su longitud; los
+     * resultados se ordenan por la suma de las distancias a las palabras del artículo.
+     * 
+     * @param termino Término de búsqueda (insensible a mayúsculas/minúsculas y tildes)
+     * @param limite Cantidad máxima de resultados
+     * @return Lista de ProductoResponseDTO, primero los más parecidos
+     * @throws ValidationException si el término está vacío o el límite es inválido
+     */
+    public List<ProductoResponseDTO> buscarAproximado(String termino, int limite) {
+        if (termino == null || termino.isBlank()) {
+            throw new ValidationException("El término de artículo no puede estar vacío");
+        }
+        if (limite <= 0 || limite > LIMITE_BUSQUEDA_MAXIMO) {
+            throw new ValidationException("El límite debe estar entre 1 y " + LIMITE_BUSQUEDA_MAXIMO);
+        }
+        return busquedaAproximada.buscar(termino, limite).stream()
+                .map(catalogoProductos::buscar)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Busca productos por palabras del artículo o la descripción usando el índice de texto
+     * completo en memoria.
+     * 
+     * Coinciden los productos que contienen todas las palabras de la consulta, sin
+     * distinguir mayúsculas, tildes, plural ni género, ordenados por relevancia (BM25).
+     * 
+     * @param consulta Palabras a buscar
+     * @param pagina Número de página empezando en 0 (opcional, por defecto 0)
+     * @param tamanio Cantidad de productos por página (opcional, por defecto {@value #TAMANIO_PAGINA_POR_DEFECTO})
+     * @return BusquedaTextoDTO con la página de productos y el total de coincidencias
+     * @throws ValidationException si la consulta está vacía o la página o el tamaño son inválidos
+     */
+    public BusquedaTextoDTO buscarTexto(String consulta, Integer pagina, Integer tamanio) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new ValidationException("La consulta no puede estar vacía");
+        }
+        int numero = pagina != null ? pagina : 0;
+        int cantidad = tamanio != null ? tamanio : TAMANIO_PAGINA_POR_DEFECTO;
+        if (numero < 0) {
+            throw new ValidationException("La página no puede ser negativa");
+        }
+        if (cantidad <= 0 || cantidad > TAMANIO_PAGINA_MAXIMO) {
+            throw new ValidationException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+        int desde = (int) Math.min((long) numero * cantidad, Integer.MAX_VALUE);
+        IndiceTexto.Resultado resultado = busquedaTexto.buscar(consulta, desde, cantidad);
+        List<ProductoResponseDTO> productos = resultado.ids().stream()
+                .map(catalogoProductos::buscar)
+                .flatMap(Optional::stream)
+                .toList();
+        return new BusquedaTextoDTO(productos, numero, cantidad, resultado.total());
+    }
+
+    /**
+     * Sugiere productos cuyo artículo o descripción tiene una palabra que empieza con el prefijo.
+     * 
+     * @param prefijo Texto ingresado (insensible a mayúsculas/minúsculas y tildes)
+     * @param limite Cantidad máxima de sugerencias
+     * @return Lista de SugerenciaProductoDTO, primero las que coinciden por artículo
+     * @throws ValidationException si el prefijo está vacío o el límite es inválido
+     */
+    public List<SugerenciaProductoDTO> autocompletar(String prefijo, int limite) {
+        if (prefijo == null || prefijo.isBlank()) {
+            throw new ValidationException("El prefijo no puede estar vacío");
+        }
+        if (limite <= 0 || limite > LIMITE_SUGERENCIAS_MAXIMO) {
+            throw new ValidationException("El límite debe estar entre 1 y " + LIMITE_SUGERENCIAS_MAXIMO);
+        }
+        return autocompletadoProductos.sugerir(prefijo, limite).stream()
+                .map(catalogoProductos::buscar)
+                .flatMap(Optional::stream)
+                .map(producto -> new SugerenciaProductoDTO(producto.getId(), producto.getArticulo(), producto.getDescripcion()))
+                .toList();
+    }
+
+    /**
+     * Filtra productos por facetas y obtiene la cantidad de productos de cada valor.
+     * 
+     * Dentro de una faceta los valores se combinan con OR y entre facetas con AND; los
+     * conteos de cada faceta se calculan con los filtros de las demás.
+     * 
+     * @param categorias IDs de categoría aceptados (opcional)
+     * @param companias IDs de compañía aceptados (opcional)
+     * @param bandas Índices de banda de precios aceptados (opcional)
+     * @param enStock true para solo productos con stock, false para solo sin stock (opcional)
+     * @param limite Cantidad máxima de productos a devolver
+     * @return FacetasProductoDTO con los productos, el total y los conteos
+     * @throws ValidationException si el límite o alguna banda es inválida
+     */
+    public FacetasProductoDTO filtrarPorFacetas(List<Long> categorias, List<Long> companias,
+                                                List<Integer> bandas, Boolean enStock, int limite) {
+        if (limite < 0 || limite > TAMANIO_PAGINA_MAXIMO) {
+            throw new ValidationException("El límite debe estar entre 0 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+        int[] limites = facetasProductos.limitesBandas();
+        if (bandas != null && bandas.stream().anyMatch(banda -> banda == null || banda < 0 || banda > limites.length)) {
+            throw new ValidationException("La banda de precios debe estar entre 0 y " + limites.length);
+        }
+
+        FacetasProductos.Resultado resultado = facetasProductos.filtrar(categorias, companias, bandas, enStock, limite);
+        List<ProductoResponseDTO> productos = resultado.ids().stream()
+                .map(catalogoProductos::buscar)
+                .flatMap(Optional::stream)
+                .toList();
+        List<BandaPrecioDTO> bandasPrecio = new ArrayList<>();
+        for (int i = 0; i < resultado.bandas().length; i++) {
+            bandasPrecio.add(new BandaPrecioDTO(i,
+                    i > 0 ? limites[i - 1] : null,
+                    i < limites.length ? limites[i] : null,
+                    resultado.bandas()[i]));
+        }
+        return new FacetasProductoDTO(resultado.total(), productos, resultado.categorias(),
+                resultado.companias(), bandasPrecio, resultado.conStock(), resultado.sinStock());
+    }
+
     /**
      * Encuentra productos con al menos la cantidad de stock especificada.
      * 
@@ -222,16 +652,31 @@ public class ProductoService {
             throw new ValidationException("El stock no puede ser negativo");
         }
         return productoRepository.findByStock(stock).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
     /**
-     * Encuentra productos dentro de un rango de precios.
+     * Obtiene una página de los productos con la cantidad de stock especificada.
+     * 
+     * @param stock Cantidad de stock
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos con ese stock
+     * @throws ValidationException si el stock es negativo
+     */
+    public ProductoPaginaDTO findByStock(int stock, Pageable pageable) {
+        if (stock < 0) {
+            throw new ValidationException("El stock no puede ser negativo");
+        }
+        return toPaginaDTO(productoRepository.findByStock(stock, pageable));
+    }
+
+    /**
+     * Encuentra productos dentro de un rango de precios usando el índice de precios en memoria.
      * 
      * @param minPrecio Precio mínimo (inclusive)
      * @param maxPrecio Precio máximo (inclusive)
-     * @return Lista de ProductoResponseDTO dentro del rango de precios
+     * @return Lista de ProductoResponseDTO dentro del rango de precios, ordenada por precio y luego por ID
      * @throws ValidationException si los precios son negativos o el rango es inválido
      */
     public List<ProductoResponseDTO> findByPrecioRange(int minPrecio, int maxPrecio) {
@@ -241,9 +686,31 @@ public class ProductoService {
         if (minPrecio > maxPrecio) {
             throw new ValidationException("El rango de precios es inválido (min > max)");
         }
-        return productoRepository.findByPrecioBetween(minPrecio, maxPrecio).stream()
-                .map(this::toResponseDTO)
-                .toList();
+        long[] ids = indicePrecios.buscar(minPrecio, maxPrecio);
+        List<ProductoResponseDTO> productos = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            catalogoProductos.buscar(id).ifPresent(productos::add);
+        }
+        return productos;
+    }
+
+    /**
+     * Obtiene una página de los productos dentro de un rango de precios.
+     * 
+     * @param minPrecio Precio mínimo (inclusive)
+     * @param maxPrecio Precio máximo (inclusive)
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos dentro del rango de precios
+     * @throws ValidationException si los precios son negativos o el rango es inválido
+     */
+    public ProductoPaginaDTO findByPrecioRange(int minPrecio, int maxPrecio, Pageable pageable) {
+        if (minPrecio < 0 || maxPrecio < 0) {
+            throw new ValidationException("El precio no puede ser negativo");
+        }
+        if (minPrecio > maxPrecio) {
+            throw new ValidationException("El rango de precios es inválido (min > max)");
+        }
+        return toPaginaDTO(productoRepository.findByPrecioBetween(minPrecio, maxPrecio, pageable));
     }
 
     /**
@@ -256,12 +723,34 @@ public class ProductoService {
     }
 
     /**
-     * Obtiene el stock total de todos los productos.
+     * Obtiene el stock total de todos los productos, desde la valorización en memoria.
+     * 
+     * @return long con la suma de stocks
+     */
+    public long getTotalStock() {
+        return valorizacionInventario.total().getStock();
+    }
+
+    /**
+     * Obtiene la valorización del inventario, total o de una categoría o compañía, desde
+     * los totales en memoria.
      * 
-     * @return Suma total del stock de todos los productos
+     * @param categoriaId ID de la categoría (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @return ValorizacionInventarioDTO con las unidades y su valor a costo y a precio cliente
+     * @throws ValidationException si se indican la categoría y la compañía a la vez
      */
-    public int getTotalStock() {
-        return productoRepository.getTotalStock();
+    public ValorizacionInventarioDTO valorizacion(Long categoriaId, Long companiaId) {
+        if (categoriaId != null && companiaId != null) {
+            throw new ValidationException("Indique la categoría o la compañía, no ambas");
+        }
+        if (categoriaId != null) {
+            return valorizacionInventario.porCategoria(categoriaId);
+        }
+        if (companiaId != null) {
+            return valorizacionInventario.porCompania(companiaId);
+        }
+        return valorizacionInventario.total();
     }
 
     /**
@@ -271,17 +760,46 @@ public class ProductoService {
      */
     public List<ProductoResponseDTO> findOutOfStockProducts() {
         return productoRepository.findByStock(0).stream()
-                .map(this::toResponseDTO)
+                .map(ProductoService::toResponseDTO)
                 .toList();
     }
 
+    /**
+     * Obtiene los productos cuyo stock bajó de su umbral de reposición, desde las
+     * alertas en memoria.
+     * 
+     * @return Lista de AlertaStockDTO ordenada por ID de producto
+     */
+    public List<AlertaStockDTO> findStockBajo() {
+        return alertasStock.listar();
+    }
+
+    /**
+     * Obtiene una página de los productos agotados (stock = 0).
+     * 
+     * @param pageable Página, tamaño y orden
+     * @return ProductoPaginaDTO con los productos sin stock
+     */
+    public ProductoPaginaDTO findOutOfStockProducts(Pageable pageable) {
+        return toPaginaDTO(productoRepository.findByStock(0, pageable));
+    }
+
+    /**
+     * Obtiene las métricas de la caché de productos por ID.
+     * 
+     * @return Estadisticas de aciertos, fallos, desalojos, expiraciones e invalidaciones
+     */
+    public CacheAcotada.Estadisticas estadisticasCache() {
+        return productoCache.estadisticas();
+    }
+
     /**
      * Convierte una entidad Producto a ProductoResponseDTO para no exponer atributos internos.
      * 
      * @param producto Entidad Producto
      * @return ProductoResponseDTO
      */
-    private ProductoResponseDTO toResponseDTO(Producto producto) {
+    static ProductoResponseDTO toResponseDTO(Producto producto) {
         return new ProductoResponseDTO(
                 producto.getId(),
                 producto.getArticulo(),
@@ -294,12 +812,130 @@ public class ProductoService {
         );
     }
 
+    /**
+     * Reduce cada producto a los campos pedidos, en el orden indicado (respuesta parcial).
+     * 
+     * @param productos Productos completos
+     * @param campos Nombres de los campos en el JSON; los repetidos se ignoran
+     * @return Lista con un mapa campo-valor por producto
+     * @throws ValidationException si no se indica ningún campo o alguno no existe
+     */
+    public static List<Map<String, Object>> seleccionarCampos(List<ProductoResponseDTO> productos, List<String> campos) {
+        Set<CampoProducto> seleccion = new LinkedHashSet<>();
+        for (String nombre : campos) {
+            if (nombre.isBlank()) {
+                continue;
+            }
+            CampoProducto campo = CampoProducto.deNombre(nombre.strip());
+            if (campo == null) {
+                throw new ValidationException("No existe el campo: " + nombre.strip());
+            }
+            seleccion.add(campo);
+        }
+        if (seleccion.isEmpty()) {
+            throw new ValidationException("Debe indicar al menos un campo");
+        }
+
+        List<Map<String, Object>> resultado = new ArrayList<>(productos.size());
+        for (ProductoResponseDTO producto : productos) {
+            Map<String, Object> parcial = LinkedHashMap.newLinkedHashMap(seleccion.size());
+            for (CampoProducto campo : seleccion) {
+                parcial.put(campo.getNombre(), campo.valor(producto));
+            }
+            resultado.add(parcial);
+        }
+        return resultado;
+    }
+
+    /**
+     * Arma y valida la paginación de una búsqueda de productos.
+     * 
+     * Los criterios de orden tienen la forma "campo" o "campo,asc|desc". Como Spring
+     * separa por comas un único parámetro, los criterios se leen como una secuencia de
+     * campos, cada uno seguido opcionalmente de su dirección. Siempre se agrega el ID
+     * como último criterio para que el orden entre páginas sea estable.
+     * 
+     * @param pagina Número de página empezando en 0 (opcional, por defecto 0)
+     * @param tamanio Cantidad de productos por página (opcional, por defecto {@value #TAMANIO_PAGINA_POR_DEFECTO})
+     * @param orden Criterios de orden (opcional, por defecto por ID ascendente)
+     * @return Pageable para las búsquedas paginadas
+     * @throws ValidationException si la página, el tamaño o algún criterio de orden es inválido
+     */
+    public static Pageable paginacion(Integer pagina, Integer tamanio, List<String> orden) {
+        int numero = pagina != null ? pagina : 0;
+        int cantidad = tamanio != null ? tamanio : TAMANIO_PAGINA_POR_DEFECTO;
+        if (numero < 0) {
+            throw new ValidationException("La página no puede ser negativa");
+        }
+        if (cantidad <= 0 || cantidad > TAMANIO_PAGINA_MAXIMO) {
+            throw new ValidationException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+
+        List<Sort.Order> criterios = new ArrayList<>();
+        if (orden != null) {
+            boolean admiteDireccion = false;
+            for (String token : String.join(",", orden).split(",")) {
+                String valor = token.trim();
+                if (valor.equalsIgnoreCase("asc") || valor.equalsIgnoreCase("desc")) {
+                    if (!admiteDireccion) {
+                        throw new ValidationException("La dirección de orden debe seguir a un campo");
+                    }
+                    Sort.Order anterior = criterios.removeLast();
+                    criterios.add(anterior.with(Sort.Direction.fromString(valor)));
+                    admiteDireccion = false;
+                } else if (CAMPOS_ORDENABLES.contains(valor)) {
+                    criterios.add(Sort.Order.asc(valor));
+                    admiteDireccion = true;
+                } else {
+                    throw new ValidationException("No se puede ordenar por el campo: " + valor);
+                }
+            }
+        }
+        if (criterios.stream().noneMatch(criterio -> criterio.getProperty().equals("id"))) {
+            criterios.add(Sort.Order.asc("id"));
+        }
+        return PageRequest.of(numero, cantidad, Sort.by(criterios));
+    }
+
+    /**
+     * Convierte un Slice de productos en la página de respuesta.
+     * 
+     * @param slice Slice obtenido del repositorio
+     * @return ProductoPaginaDTO
+     */
+    private static ProductoPaginaDTO toPaginaDTO(Slice<Producto> slice) {
+        List<ProductoResponseDTO> productos = slice.getContent().stream()
+                .map(ProductoService::toResponseDTO)
+                .toList();
+        return new ProductoPaginaDTO(productos, slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    /**
+     * Guarda un producto. El artículo es único por un índice de la base de datos, así que
+     * no se consulta antes de guardar: solo si el guardado viola una restricción se
+     * verifica si fue por el artículo, para no confundirla con otras.
+     * 
+     * @param producto Producto a guardar
+     * @param articuloDuplicado Verifica si otro producto ya tiene el artículo
+     * @return Producto guardado
+     * @throws DuplicateResourceException si el artículo ya existe
+     */
+    private Producto guardar(Producto producto, BooleanSupplier articuloDuplicado) {
+        try {
+            return productoRepository.save(producto);
+        } catch (DataIntegrityViolationException e) {
+            if (articuloDuplicado.getAsBoolean()) {
+                throw new DuplicateResourceException("El artículo ya existe");
+            }
+            throw e;
+        }
+    }
+
     /**
      * Valida los datos de creación de un producto.
      * 
      * @param dto ProductoCreateDTO con los datos a validar
      * @throws ValidationException si alguna validación falla
-     * @throws DuplicateResourceException si el artículo ya existe
      */
     private void validate(ProductoCreateDTO dto) {
         if (dto.getPrecio() < 0) {
@@ -311,9 +947,6 @@ public class ProductoService {
         if (dto.getArticulo() == null || dto.getArticulo().isBlank()) {
             throw new ValidationException("El artículo no puede estar vacío");
         }
-        if (productoRepository.existsByArticulo(dto.getArticulo())) {
-            throw new DuplicateResourceException("El artículo ya existe");
-        }
     }
 
     /**
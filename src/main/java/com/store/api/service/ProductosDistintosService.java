@@ -0,0 +1,222 @@
+package com.store.api.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.reporte.PeriodoProductosDistintosDTO;
+import com.store.api.dto.reporte.ProductosDistintosDTO;
+import com.store.api.entity.SketchProductosDia;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.SketchProductosDiaRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.VentaDiaProductoId;
+import com.store.api.util.HyperLogLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio que estima la cantidad de productos distintos vendidos por día, semana o mes.
+ *
+ * Por cada día con ventas se guarda un sketch HyperLogLog de los IDs de producto
+ * vendidos. Cada venta registrada actualiza el sketch de su día en memoria y los
+ * sketches modificados se persisten de forma periódica. El conteo de un rango combina
+ * los sketches de sus días, en lugar de ejecutar un COUNT DISTINCT sobre las ventas.
+ *
+ * Un sketch no admite quitar valores, por lo que las ventas actualizadas o eliminadas
+ * provocan la reconstrucción de los días afectados desde la tabla de ventas.
+ */
+@Service
+public class ProductosDistintosService {
+
+    /** Cantidad máxima de días de un rango consultado. */
+    static final int MAX_DIAS_RANGO = 1096;
+
+    private final VentaRepository ventaRepository;
+    private final SketchProductosDiaRepository sketchRepository;
+
+    /** Sketches actualizados desde la última persistencia, con el estado completo de su día. */
+    private final Map<LocalDate, HyperLogLog> pendientes = new HashMap<>();
+
+    public ProductosDistintosService(VentaRepository ventaRepository,
+                                     SketchProductosDiaRepository sketchRepository) {
+        this.ventaRepository = ventaRepository;
+        this.sketchRepository = sketchRepository;
+    }
+
+    /**
+     * Genera los sketches de todas las ventas si todavía no existe ninguno.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (sketchRepository.count() == 0) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Descarta todos los sketches y los genera de nuevo a partir de las ventas.
+     */
+    public synchronized void reconstruir() {
+        pendientes.clear();
+        sketchRepository.deleteAllInBatch();
+        Optional<LocalDateTime> primera = ventaRepository.findPrimeraFecha();
+        Optional<LocalDateTime> ultima = ventaRepository.findUltimaFecha();
+        if (primera.isPresent() && ultima.isPresent()) {
+            reconstruirDias(primera.get().toLocalDate(), ultima.get().toLocalDate());
+        }
+    }
+
+    /**
+     * Agrega el producto de una venta recién registrada al sketch de su día.
+     *
+     * @param event Evento con los datos de la venta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onVentaRegistrada(VentaRegistradaEvent event) {
+        if (event.getFecha() == null || event.getProductoId() == null) {
+            return;
+        }
+        pendientes.computeIfAbsent(event.getFecha().toLocalDate(), this::cargar)
+                .agregar(event.getProductoId());
+    }
+
+    /**
+     * Reconstruye los sketches de los días afectados por una venta actualizada o eliminada.
+     *
+     * @param event Evento con los días afectados
+     */
+    @EventListener
+    public synchronized void onVentaModificada(VentaModificadaEvent event) {
+        if (!event.diasConocidos()) {
+            reconstruir();
+            return;
+        }
+        for (LocalDate dia : event.getDias()) {
+            if (!reconstruirDias(dia, dia).containsKey(dia)) {
+                sketchRepository.deleteById(dia);
+            }
+        }
+    }
+
+    /**
+     * Persiste los sketches modificados desde la última ejecución.
+     */
+    @Scheduled(fixedDelayString = "${store.reportes.sketches.intervalo-ms:60000}")
+    @PreDestroy
+    public synchronized void guardarPendientes() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        List<SketchProductosDia> sketches = new ArrayList<>(pendientes.size());
+        pendientes.forEach((dia, sketch) -> sketches.add(new SketchProductosDia(dia, sketch.getRegistros())));
+        sketchRepository.saveAll(sketches);
+        pendientes.clear();
+    }
+
+    /**
+     * Estima la cantidad de productos distintos vendidos en un rango, en total y por período.
+     *
+     * @param desde Primer día del rango (inclusive)
+     * @param hasta Último día del rango (inclusive)
+     * @param agrupacion Agrupación de los períodos: "dia", "semana" (de lunes a domingo) o "mes"
+     * @return ProductosDistintosDTO con el total del rango y el detalle por período
+     * @throws ValidationException si el rango o la agrupación son inválidos
+     */
+    public synchronized ProductosDistintosDTO productosDistintos(LocalDate desde, LocalDate hasta, String agrupacion) {
+        if (desde == null || hasta == null) {
+            throw new ValidationException("El rango de fechas es obligatorio");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidationException("El rango de fechas es inválido (desde > hasta)");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) + 1 > MAX_DIAS_RANGO) {
+            throw new ValidationException("El rango puede abarcar como máximo " + MAX_DIAS_RANGO + " días");
+        }
+        if (!"dia".equals(agrupacion) && !"semana".equals(agrupacion) && !"mes".equals(agrupacion)) {
+            throw new ValidationException("La agrupación debe ser dia, semana o mes");
+        }
+
+        Map<LocalDate, HyperLogLog> dias = new HashMap<>();
+        for (SketchProductosDia guardado : sketchRepository.findByDiaBetween(desde, hasta)) {
+            dias.put(guardado.getDia(), HyperLogLog.desdeRegistros(guardado.getRegistros()));
+        }
+        pendientes.forEach((dia, sketch) -> {
+            if (!dia.isBefore(desde) && !dia.isAfter(hasta)) {
+                dias.put(dia, sketch);
+            }
+        });
+
+        HyperLogLog total = new HyperLogLog();
+        List<PeriodoProductosDistintosDTO> periodos = new ArrayList<>();
+        LocalDate inicioPeriodo = desde;
+        while (!inicioPeriodo.isAfter(hasta)) {
+            LocalDate finPeriodo = finDePeriodo(inicioPeriodo, agrupacion);
+            if (finPeriodo.isAfter(hasta)) {
+                finPeriodo = hasta;
+            }
+            HyperLogLog periodo = new HyperLogLog();
+            for (LocalDate dia = inicioPeriodo; !dia.isAfter(finPeriodo); dia = dia.plusDays(1)) {
+                HyperLogLog sketch = dias.get(dia);
+                if (sketch != null) {
+                    periodo.combinar(sketch);
+                }
+            }
+            total.combinar(periodo);
+            periodos.add(new PeriodoProductosDistintosDTO(inicioPeriodo, finPeriodo, periodo.estimar()));
+            inicioPeriodo = finPeriodo.plusDays(1);
+        }
+
+        return new ProductosDistintosDTO(desde, hasta, agrupacion, total.estimar(), List.copyOf(periodos));
+    }
+
+    private static LocalDate finDePeriodo(LocalDate inicio, String agrupacion) {
+        return switch (agrupacion) {
+            case "semana" -> inicio.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case "mes" -> inicio.with(TemporalAdjusters.lastDayOfMonth());
+            default -> inicio;
+        };
+    }
+
+    private HyperLogLog cargar(LocalDate dia) {
+        return sketchRepository.findById(dia)
+                .map(guardado -> HyperLogLog.desdeRegistros(guardado.getRegistros()))
+                .orElseGet(HyperLogLog::new);
+    }
+
+    /**
+     * Genera desde las ventas los sketches de los días de un rango y los persiste.
+     *
+     * @param desde Primer día a reconstruir
+     * @param hasta Último día a reconstruir
+     * @return Sketches generados, solo de los días con ventas
+     */
+    private Map<LocalDate, HyperLogLog> reconstruirDias(LocalDate desde, LocalDate hasta) {
+        Map<LocalDate, HyperLogLog> nuevos = new HashMap<>();
+        for (VentaDiaProductoId fila : ventaRepository.findProductosPorDia(desde.atStartOfDay(), hasta.atTime(LocalTime.MAX))) {
+            nuevos.computeIfAbsent(fila.getFecha(), dia -> new HyperLogLog()).agregar(fila.getProductoId());
+        }
+        pendientes.keySet().removeIf(dia -> !dia.isBefore(desde) && !dia.isAfter(hasta));
+        List<SketchProductosDia> sketches = new ArrayList<>(nuevos.size());
+        nuevos.forEach((dia, sketch) -> sketches.add(new SketchProductosDia(dia, sketch.getRegistros())));
+        sketchRepository.saveAll(sketches);
+        return nuevos;
+    }
+}
@@ -0,0 +1,256 @@
+package com.store.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.store.api.dto.producto.PronosticoProductoDTO;
+import com.store.api.dto.producto.ReposicionDTO;
+import com.store.api.exception.ResourceNotFoundException;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.ValoresProducto;
+import com.store.api.repository.projection.VentaDiaProductoUnidades;
+
+/**
+ * Pronóstico de demanda diaria y sugerencia de reposición de todos los productos.
+ *
+ * La demanda de cada producto se pronostica por suavizado exponencial simple
+ * (factor {@code store.productos.pronostico.alfa}) sobre sus unidades vendidas por día
+ * en los últimos {@code store.productos.pronostico.dias-historial} días, leídas ya
+ * agrupadas por día y producto en una sola consulta. El desvío se estima con el error
+ * absoluto suavizado (× 1,25). Con eso:
+ * - stock de seguridad = factor de seguridad × desvío × √plazo
+ * - punto de pedido = demanda × plazo + stock de seguridad
+ * - si el stock no supera el punto de pedido, se sugiere pedir hasta cubrir
+ *   plazo + {@code cobertura-dias} días de demanda más el stock de seguridad
+ *
+ * Los productos se reparten en tareas de un ForkJoinPool, así el cálculo de un
+ * catálogo grande usa todos los núcleos. El resultado se guarda hasta la siguiente
+ * ejecución ({@code store.productos.pronostico.intervalo-ms}, por defecto una vez por
+ * día); si se consulta antes de la primera, se calcula en ese momento.
+ */
+@Component
+public class PronosticoDemanda {
+
+    private static final Logger log = LoggerFactory.getLogger(PronosticoDemanda.class);
+
+    /** Cantidad de productos a partir de la cual una tarea se divide en dos. */
+    static final int PRODUCTOS_POR_TAREA = 1024;
+
+    /** Días del inicio del historial que se promedian para el nivel inicial. */
+    private static final int DIAS_NIVEL_INICIAL = 7;
+
+    /** Relación entre el desvío estándar y el error absoluto medio de una normal. */
+    private static final double DESVIO_POR_ERROR_ABSOLUTO = 1.25;
+
+    private final VentaRepository ventaRepository;
+    private final ProductoRepository productoRepository;
+    private final int diasHistorial;
+    private final double alfa;
+    private final int plazoDias;
+    private final int coberturaDias;
+    private final double factorSeguridad;
+
+    /** Serializa los cálculos, para no repetirlo si se consulta durante uno. */
+    private final Object calculo = new Object();
+
+    /** Resultado del último cálculo, o null si todavía no se hizo ninguno. */
+    private volatile Resultado resultado;
+
+    public PronosticoDemanda(VentaRepository ventaRepository, ProductoRepository productoRepository,
+                             @Value("${store.productos.pronostico.dias-historial:90}") int diasHistorial,
+                             @Value("${store.productos.pronostico.alfa:0.3}") double alfa,
+                             @Value("${store.productos.pronostico.plazo-dias:7}") int plazoDias,
+                             @Value("${store.productos.pronostico.cobertura-dias:14}") int coberturaDias,
+                             @Value("${store.productos.pronostico.factor-seguridad:1.65}") double factorSeguridad) {
+        this.ventaRepository = ventaRepository;
+        this.productoRepository = productoRepository;
+        this.diasHistorial = Math.max(1, diasHistorial);
+        this.alfa = Math.min(1, Math.max(0.01, alfa));
+        this.plazoDias = Math.max(0, plazoDias);
+        this.coberturaDias = Math.max(0, coberturaDias);
+        this.factorSeguridad = Math.max(0, factorSeguridad);
+    }
+
+    /**
+     * Obtiene los productos a reponer según el último pronóstico.
+     *
+     * @return ReposicionDTO con los productos que tienen cantidad sugerida
+     */
+    public ReposicionDTO reposicion() {
+        return obtener().reposicion();
+    }
+
+    /**
+     * Obtiene el último pronóstico de un producto.
+     *
+     * @param productoId ID del producto
+     * @return PronosticoProductoDTO del producto
+     * @throws ResourceNotFoundException si el producto no existía al momento del cálculo
+     */
+    public PronosticoProductoDTO deProducto(Long productoId) {
+        PronosticoProductoDTO pronostico = obtener().porProducto().get(productoId);
+        if (pronostico == null) {
+            throw new ResourceNotFoundException();
+        }
+        return pronostico;
+    }
+
+    /**
+     * Pronostica la demanda de todos los productos y reemplaza el resultado guardado.
+     */
+    @Scheduled(fixedDelayString = "${store.productos.pronostico.intervalo-ms:86400000}",
+            initialDelayString = "${store.productos.pronostico.intervalo-ms:86400000}")
+    public void calcular() {
+        synchronized (calculo) {
+            long inicio = System.currentTimeMillis();
+            LocalDateTime ahora = LocalDateTime.now();
+            LocalDate hoy = ahora.toLocalDate();
+            LocalDate primerDia = hoy.minusDays(diasHistorial);
+
+            List<ValoresProducto> valores = productoRepository.findValores();
+            int cantidad = valores.size();
+            Long[] ids = new Long[cantidad];
+            int[] stocks = new int[cantidad];
+            Map<Long, Integer> posiciones = new HashMap<>(cantidad * 2);
+            for (int i = 0; i < cantidad; i++) {
+                ValoresProducto fila = valores.get(i);
+                ids[i] = fila.getId();
+                stocks[i] = fila.getStock() != null ? fila.getStock() : 0;
+                posiciones.put(fila.getId(), i);
+            }
+
+            // Solo los productos con ventas en el período tienen serie; el resto tiene demanda 0.
+            int[][] series = new int[cantidad][];
+            for (VentaDiaProductoUnidades fila : ventaRepository.resumirUnidadesPorDiaYProducto(
+                    primerDia.atStartOfDay(), hoy.atStartOfDay().minusNanos(1))) {
+                Integer posicion = posiciones.get(fila.getProductoId());
+                long dia = ChronoUnit.DAYS.between(primerDia, fila.getFecha());
+                if (posicion == null || dia < 0 || dia >= diasHistorial || fila.getUnidades() == null) {
+                    continue;
+                }
+                if (series[posicion] == null) {
+                    series[posicion] = new int[diasHistorial];
+                }
+                series[posicion][(int) dia] = (int) Math.min(fila.getUnidades(), Integer.MAX_VALUE);
+            }
+
+            PronosticoProductoDTO[] pronosticos = new PronosticoProductoDTO[cantidad];
+            ForkJoinPool.commonPool().invoke(new Tarea(ids, stocks, series, pronosticos, 0, cantidad));
+
+            Map<Long, PronosticoProductoDTO> porProducto = new HashMap<>(cantidad * 2);
+            List<PronosticoProductoDTO> aReponer = new ArrayList<>();
+            for (PronosticoProductoDTO pronostico : pronosticos) {
+                porProducto.put(pronostico.getProductoId(), pronostico);
+                if (pronostico.getCantidadSugerida() > 0) {
+                    aReponer.add(pronostico);
+                }
+            }
+            aReponer.sort((a, b) -> Long.compare(a.getProductoId(), b.getProductoId()));
+            resultado = new Resultado(new ReposicionDTO(ahora, diasHistorial, List.copyOf(aReponer)), porProducto);
+            log.info("Pronóstico de demanda: {} productos, {} a reponer ({} ms)",
+                    cantidad, aReponer.size(), System.currentTimeMillis() - inicio);
+        }
+    }
+
+    /**
+     * Pronostica la demanda de un producto y calcula cuánto reponer.
+     *
+     * @param productoId ID del producto
+     * @param stock Stock actual
+     * @param serie Unidades vendidas por día, de la más antigua a la más reciente, o null si no tuvo ventas
+     * @return PronosticoProductoDTO del producto
+     */
+    PronosticoProductoDTO pronosticar(Long productoId, int stock, int[] serie) {
+        double nivel = 0;
+        double errorAbsoluto = 0;
+        if (serie != null && serie.length > 0) {
+            int iniciales = Math.min(DIAS_NIVEL_INICIAL, serie.length);
+            for (int i = 0; i < iniciales; i++) {
+                nivel += serie[i];
+            }
+            nivel /= iniciales;
+            for (int unidades : serie) {
+                double error = unidades - nivel;
+                errorAbsoluto = alfa * Math.abs(error) + (1 - alfa) * errorAbsoluto;
+                nivel += alfa * error;
+            }
+        }
+        double desvio = DESVIO_POR_ERROR_ABSOLUTO * errorAbsoluto;
+        double seguridad = factorSeguridad * desvio * Math.sqrt(plazoDias);
+        int puntoPedido = (int) Math.ceil(nivel * plazoDias + seguridad);
+        int cantidadSugerida = 0;
+        if (stock <= puntoPedido) {
+            int objetivo = (int) Math.ceil(nivel * (plazoDias + coberturaDias) + seguridad);
+            cantidadSugerida = Math.max(0, objetivo - stock);
+        }
+        return new PronosticoProductoDTO(productoId, stock, nivel, desvio, puntoPedido, cantidadSugerida);
+    }
+
+    private Resultado obtener() {
+        Resultado actual = resultado;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (calculo) {
+            if (resultado == null) {
+                calcular();
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Pronóstico guardado: lista de productos a reponer y pronóstico de cada producto.
+     */
+    private record Resultado(ReposicionDTO reposicion, Map<Long, PronosticoProductoDTO> porProducto) {
+    }
+
+    /**
+     * Tarea que pronostica un rango de productos, dividiéndose mientras sea grande.
+     */
+    private final class Tarea extends RecursiveAction {
+
+        private final Long[] ids;
+        private final int[] stocks;
+        private final int[][] series;
+        private final PronosticoProductoDTO[] pronosticos;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(Long[] ids, int[] stocks, int[][] series, PronosticoProductoDTO[] pronosticos, int desde, int hasta) {
+            this.ids = ids;
+            this.stocks = stocks;
+            this.series = series;
+            this.pronosticos = pronosticos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= PRODUCTOS_POR_TAREA) {
+                for (int i = desde; i < hasta; i++) {
+                    pronosticos[i] = pronosticar(ids[i], stocks[i], series[i]);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Tarea(ids, stocks, series, pronosticos, desde, medio),
+                    new Tarea(ids, stocks, series, pronosticos, medio, hasta));
+        }
+    }
+}
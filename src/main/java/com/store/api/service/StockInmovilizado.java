@@ -0,0 +1,108 @@
+package com.store.api.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.store.api.dto.producto.ProductoSinVentasDTO;
+import com.store.api.dto.producto.StockInmovilizadoDTO;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.projection.ProductoSinVentas;
+
+/**
+ * Búsqueda periódica de stock inmovilizado: productos con stock que no se venden hace
+ * {@code store.productos.inmovilizado.dias} días.
+ *
+ * La búsqueda es un anti-join entre producto y venta que usa el índice (producto_id,
+ * fecha) de venta, recorrido en lotes de {@code store.productos.inmovilizado.lote}
+ * productos por ID. Cada lote es una consulta corta e independiente, por lo que nunca
+ * se mantiene una transacción larga abierta ni se traen las ventas a memoria.
+ *
+ * El resultado se guarda hasta la siguiente ejecución
+ * ({@code store.productos.inmovilizado.intervalo-ms}, por defecto una vez por día); si
+ * se consulta antes de la primera, se calcula en ese momento.
+ */
+@Component
+public class StockInmovilizado {
+
+    private static final Logger log = LoggerFactory.getLogger(StockInmovilizado.class);
+
+    private final ProductoRepository productoRepository;
+    private final int dias;
+    private final int lote;
+
+    /** Serializa los cálculos, para no repetir la búsqueda si se consulta durante uno. */
+    private final Object calculo = new Object();
+
+    /** Resultado de la última búsqueda, o null si todavía no se hizo ninguna. */
+    private volatile StockInmovilizadoDTO resultado;
+
+    public StockInmovilizado(ProductoRepository productoRepository,
+                             @Value("${store.productos.inmovilizado.dias:90}") int dias,
+                             @Value("${store.productos.inmovilizado.lote:500}") int lote) {
+        this.productoRepository = productoRepository;
+        this.dias = Math.max(1, dias);
+        this.lote = Math.max(1, lote);
+    }
+
+    /**
+     * Obtiene el resultado de la última búsqueda, calculándolo si todavía no se hizo.
+     *
+     * @return StockInmovilizadoDTO con los productos sin ventas
+     */
+    public StockInmovilizadoDTO obtener() {
+        StockInmovilizadoDTO actual = resultado;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (calculo) {
+            if (resultado == null) {
+                calcular();
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Busca los productos con stock sin ventas en los últimos días configurados y
+     * reemplaza el resultado guardado.
+     */
+    @Scheduled(fixedDelayString = "${store.productos.inmovilizado.intervalo-ms:86400000}",
+            initialDelayString = "${store.productos.inmovilizado.intervalo-ms:86400000}")
+    public void calcular() {
+        synchronized (calculo) {
+            long inicio = System.currentTimeMillis();
+            LocalDateTime ahora = LocalDateTime.now();
+            LocalDateTime desde = ahora.minusDays(dias);
+            List<ProductoSinVentasDTO> productos = new ArrayList<>();
+            long stock = 0;
+            long valorCosto = 0;
+            Long despuesDe = 0L;
+            List<ProductoSinVentas> filas;
+            do {
+                filas = productoRepository.findSinVentasDesde(desde, despuesDe, PageRequest.of(0, lote));
+                for (ProductoSinVentas fila : filas) {
+                    int unidades = fila.getStock() != null ? fila.getStock() : 0;
+                    long valor = (long) unidades * (fila.getPrecioUnitario() != null ? fila.getPrecioUnitario() : 0);
+                    productos.add(new ProductoSinVentasDTO(fila.getId(), fila.getArticulo(), unidades, valor,
+                            fila.getUltimaVenta()));
+                    stock += unidades;
+                    valorCosto += valor;
+                }
+                if (!filas.isEmpty()) {
+                    despuesDe = filas.get(filas.size() - 1).getId();
+                }
+            } while (filas.size() == lote);
+            resultado = new StockInmovilizadoDTO(dias, ahora, stock, valorCosto, List.copyOf(productos));
+            log.info("Stock inmovilizado: {} productos sin ventas en {} días ({} ms)",
+                    productos.size(), dias, System.currentTimeMillis() - inicio);
+        }
+    }
+}
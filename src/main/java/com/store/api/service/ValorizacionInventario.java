@@ -0,0 +1,314 @@
+package com.store.api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.store.api.dto.producto.ValorizacionInventarioDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.projection.TotalesInventario;
+import com.store.api.repository.projection.ValoresProducto;
+
+/**
+ * Valorización del inventario mantenida en memoria: unidades en stock, valor a costo
+ * (stock × precioUnitario) y valor a precio cliente (stock × precio), en total, por
+ * categoría y por compañía.
+ *
+ * Guarda los valores vigentes de cada producto, de modo que cada ProductoModificadoEvent
+ * resta del total y de sus grupos lo que aportaba el producto y suma lo nuevo: un cambio
+ * de stock, de precio o de categoría se aplica en O(1) y las consultas no recorren los
+ * productos. Los totales son long, así que no se desbordan con el tamaño del inventario.
+ *
+ * Cada {@code store.productos.valorizacion.conciliacion-ms} se comparan los totales por
+ * categoría y por compañía con los que calcula la base de datos; si difieren (por
+ * ejemplo, por escrituras que no pasaron por los servicios) se vuelven a cargar.
+ */
+@Component
+public class ValorizacionInventario {
+
+    private static final Logger log = LoggerFactory.getLogger(ValorizacionInventario.class);
+
+    private final ProductoRepository productoRepository;
+
+    /** Serializa las recargas; las modificaciones solo esperan al intercambio del estado. */
+    private final Object recarga = new Object();
+
+    private Estado estado = new Estado();
+
+    /** Indica si la valorización ya fue cargada desde la base de datos. */
+    private volatile boolean cargado;
+
+    /** Indica si hay una recarga leyendo la base de datos. */
+    private boolean recargando;
+
+    /** Modificaciones recibidas durante la lectura de una recarga, para aplicarlas al estado nuevo. */
+    private final List<ProductoModificadoEvent> duranteRecarga = new ArrayList<>();
+
+    public ValorizacionInventario(ProductoRepository productoRepository) {
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Carga la valorización al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    /**
+     * Vuelve a calcular la valorización con los valores de todos los productos.
+     *
+     * Las modificaciones que llegan mientras se lee la base de datos se aplican también
+     * al estado nuevo, para no perderlas si la lectura no las incluyó.
+     */
+    public void recargar() {
+        synchronized (recarga) {
+            synchronized (this) {
+                recargando = true;
+                duranteRecarga.clear();
+            }
+            List<ValoresProducto> filas;
+            try {
+                filas = productoRepository.findValores();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    recargando = false;
+                    duranteRecarga.clear();
+                }
+                throw e;
+            }
+            Estado nuevo = new Estado();
+            for (ValoresProducto fila : filas) {
+                nuevo.aplicar(fila.getId(), new Valores(valor(fila.getStock()), valor(fila.getPrecio()),
+                        valor(fila.getPrecioUnitario()), fila.getCategoriaId(), fila.getCompaniaId()));
+            }
+            synchronized (this) {
+                for (ProductoModificadoEvent event : duranteRecarga) {
+                    nuevo.aplicar(event);
+                }
+                duranteRecarga.clear();
+                recargando = false;
+                estado = nuevo;
+                cargado = true;
+            }
+        }
+    }
+
+    /**
+     * Obtiene la valorización de todo el inventario.
+     *
+     * @return ValorizacionInventarioDTO con los totales
+     */
+    public ValorizacionInventarioDTO total() {
+        asegurarCargado();
+        synchronized (this) {
+            return estado.total.aDTO();
+        }
+    }
+
+    /**
+     * Obtiene la valorización de los productos de una categoría.
+     *
+     * @param categoriaId ID de la categoría, o null para los productos sin categoría
+     * @return ValorizacionInventarioDTO con los totales, en cero si no tiene productos
+     */
+    public ValorizacionInventarioDTO porCategoria(Long categoriaId) {
+        asegurarCargado();
+        synchronized (this) {
+            return estado.porCategoria.getOrDefault(categoriaId, new Totales()).aDTO();
+        }
+    }
+
+    /**
+     * Obtiene la valorización de los productos de una compañía.
+     *
+     * @param companiaId ID de la compañía, o null para los productos sin compañía
+     * @return ValorizacionInventarioDTO con los totales, en cero si no tiene productos
+     */
+    public ValorizacionInventarioDTO porCompania(Long companiaId) {
+        asegurarCargado();
+        synchronized (this) {
+            return estado.porCompania.getOrDefault(companiaId, new Totales()).aDTO();
+        }
+    }
+
+    /**
+     * Aplica el cambio de un producto a los totales.
+     *
+     * @param event Evento con el estado del producto después del cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductoModificado(ProductoModificadoEvent event) {
+        if (event.getProductoId() == null) {
+            return;
+        }
+        if (recargando) {
+            duranteRecarga.add(event);
+        }
+        if (cargado) {
+            estado.aplicar(event);
+        }
+    }
+
+    /**
+     * Descarta la valorización tras una importación masiva; se vuelve a cargar en la siguiente consulta.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @EventListener
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        cargado = false;
+    }
+
+    /**
+     * Compara los totales por categoría y por compañía con los de la base de datos y
+     * vuelve a cargar la valorización si no coinciden.
+     */
+    @Scheduled(fixedDelayString = "${store.productos.valorizacion.conciliacion-ms:3600000}",
+            initialDelayString = "${store.productos.valorizacion.conciliacion-ms:3600000}")
+    public void conciliar() {
+        if (!cargado) {
+            return;
+        }
+        List<TotalesInventario> categorias = productoRepository.sumarInventarioPorCategoria();
+        List<TotalesInventario> companias = productoRepository.sumarInventarioPorCompania();
+        boolean coincide;
+        synchronized (this) {
+            coincide = coincide(categorias, estado.porCategoria) && coincide(companias, estado.porCompania);
+        }
+        if (!coincide) {
+            log.warn("La valorización del inventario en memoria no coincide con la base de datos; se vuelve a cargar");
+            recargar();
+        }
+    }
+
+    private void asegurarCargado() {
+        if (!cargado) {
+            synchronized (recarga) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+    }
+
+    private static boolean coincide(List<TotalesInventario> filas, Map<Long, Totales> grupos) {
+        if (filas.size() != grupos.size()) {
+            return false;
+        }
+        for (TotalesInventario fila : filas) {
+            Totales totales = grupos.get(fila.getGrupoId());
+            if (totales == null
+                    || totales.productos != valor(fila.getProductos())
+                    || totales.stock != valor(fila.getStock())
+                    || totales.valorCosto != valor(fila.getValorCosto())
+                    || totales.valorVenta != valor(fila.getValorVenta())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int valor(Integer valor) {
+        return valor != null ? valor : 0;
+    }
+
+    private static long valor(Long valor) {
+        return valor != null ? valor : 0;
+    }
+
+    /**
+     * Valores de un producto que aportan a la valorización.
+     */
+    private record Valores(int stock, int precio, int precioUnitario, Long categoriaId, Long companiaId) {
+
+        static Valores de(Producto producto) {
+            return new Valores(producto.getStock(), producto.getPrecio(), producto.getPrecioUnitario(),
+                    producto.getCategoria() != null ? producto.getCategoria().getId() : null,
+                    producto.getCompania() != null ? producto.getCompania().getId() : null);
+        }
+    }
+
+    /**
+     * Totales acumulados de un grupo de productos.
+     */
+    private static final class Totales {
+        private long productos;
+        private long stock;
+        private long valorCosto;
+        private long valorVenta;
+
+        void sumar(Valores valores, int signo) {
+            productos += signo;
+            stock += (long) signo * valores.stock();
+            valorCosto += (long) signo * valores.stock() * valores.precioUnitario();
+            valorVenta += (long) signo * valores.stock() * valores.precio();
+        }
+
+        ValorizacionInventarioDTO aDTO() {
+            return new ValorizacionInventarioDTO(productos, stock, valorCosto, valorVenta);
+        }
+    }
+
+    /**
+     * Valores de cada producto y totales que se derivan de ellos.
+     */
+    private static final class Estado {
+        private final Map<Long, Valores> productos = new HashMap<>();
+        private final Totales total = new Totales();
+        private final Map<Long, Totales> porCategoria = new HashMap<>();
+        private final Map<Long, Totales> porCompania = new HashMap<>();
+
+        void aplicar(ProductoModificadoEvent event) {
+            aplicar(event.getProductoId(), event.eliminado() ? null : Valores.de(event.getProducto()));
+        }
+
+        /**
+         * Reemplaza los valores de un producto, restando los anteriores y sumando los nuevos.
+         *
+         * @param id ID del producto
+         * @param nuevos Valores nuevos, o null si el producto fue eliminado
+         */
+        void aplicar(Long id, Valores nuevos) {
+            Valores anteriores = nuevos != null ? productos.put(id, nuevos) : productos.remove(id);
+            if (Objects.equals(anteriores, nuevos)) {
+                return;
+            }
+            if (anteriores != null) {
+                sumar(anteriores, -1);
+            }
+            if (nuevos != null) {
+                sumar(nuevos, 1);
+            }
+        }
+
+        private void sumar(Valores valores, int signo) {
+            total.sumar(valores, signo);
+            sumar(porCategoria, valores.categoriaId(), valores, signo);
+            sumar(porCompania, valores.companiaId(), valores, signo);
+        }
+
+        private static void sumar(Map<Long, Totales> grupos, Long grupoId, Valores valores, int signo) {
+            Totales totales = grupos.computeIfAbsent(grupoId, id -> new Totales());
+            totales.sumar(valores, signo);
+            if (totales.productos == 0) {
+                grupos.remove(grupoId);
+            }
+        }
+    }
+}
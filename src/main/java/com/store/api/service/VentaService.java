@@ -1,49 +1,99 @@
 package com.store.api.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.store.api.entity.Producto;
 import com.store.api.entity.Venta;
 import com.store.api.dto.venta.VentaCreateDTO;
 import com.store.api.dto.venta.VentaUpdateDTO;
+import com.store.api.dto.venta.VentaPaginaDTO;
 import com.store.api.dto.venta.VentaResponseDTO;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
+import com.store.api.repository.ProductoRepository;
 import com.store.api.repository.VentaRepository;
 
 
 @Service
 public class VentaService {
     
+    /** Cantidad de ventas por página del historial de un producto si no se indica otra. */
+    public static final int LIMITE_HISTORIAL_POR_DEFECTO = 50;
+
+    /** Cantidad máxima de ventas por página del historial de un producto. */
+    public static final int LIMITE_HISTORIAL_MAXIMO = 500;
+
+    /** Primer día considerado cuando el historial no indica fecha de inicio. */
+    private static final LocalDate INICIO_HISTORIAL = LocalDate.of(1970, 1, 1);
+
     private final VentaRepository ventaRepository;
+    private final ProductoRepository productoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VentaService(VentaRepository ventaRepository) {
+    public VentaService(VentaRepository ventaRepository, ProductoRepository productoRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.ventaRepository = ventaRepository;
+        this.productoRepository = productoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Crea una nueva venta después de validarla y restar el stock del producto.
      * 
+     * Si el producto de la venta tiene ID se usa el producto guardado y el stock se
+     * descuenta con un único UPDATE condicionado a que alcance, dentro de la misma
+     * transacción que guarda la venta: si falla cualquiera de los dos no queda nada
+     * aplicado, y dos ventas simultáneas no pisan el descuento de la otra. Los eventos
+     * se publican después de guardar la venta y sus consumidores los procesan recién
+     * cuando la transacción se confirma.
+     * 
      * @param dto VentaCreateDTO con los datos de la venta a crear
      * @return VentaResponseDTO creada con ID generado
      * @throws ValidationException si la venta no cumple validaciones
+     * @throws ResourceNotFoundException si el producto indicado no existe
      */
+    @Transactional
     public VentaResponseDTO create(VentaCreateDTO dto) {
         Venta venta = toEntity(dto);
         
         validate(venta, true);
-        venta.getProducto().setStock(
-            venta.getProducto().getStock() - venta.getCantidad()
-        );
+        Long productoId = venta.getProducto().getId();
+        if (productoId != null) {
+            if (productoRepository.descontarStock(productoId, venta.getCantidad()) == 0) {
+                throw new ValidationException("No hay suficiente stock para completar la venta");
+            }
+            venta.setProducto(productoRepository.findById(productoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No existe un producto con el ID: " + productoId)));
+        } else {
+            venta.getProducto().setStock(
+                venta.getProducto().getStock() - venta.getCantidad()
+            );
+        }
         
         Venta saved = ventaRepository.save(venta);
+        if (productoId != null) {
+            eventPublisher.publishEvent(new ProductoModificadoEvent(productoId, saved.getProducto()));
+        }
+        eventPublisher.publishEvent(new VentaRegistradaEvent(saved));
         return toResponseDTO(saved);
     }
 
@@ -81,10 +131,18 @@ public class VentaService {
      */
     public VentaResponseDTO update(Long id, VentaUpdateDTO dto) {
         Venta existing = getEntityById(id);
+        Set<LocalDate> dias = new HashSet<>();
+        if (existing.getFecha() != null) {
+            dias.add(existing.getFecha().toLocalDate());
+        }
         applyUpdateDTO(existing, dto);
         validate(existing, false);
 
         Venta updated = ventaRepository.save(existing);
+        if (updated.getFecha() != null) {
+            dias.add(updated.getFecha().toLocalDate());
+        }
+        eventPublisher.publishEvent(new VentaModificadaEvent(id, dias));
         return toResponseDTO(updated);
     }
 
@@ -95,10 +153,13 @@ public class VentaService {
      * @throws ResourceNotFoundException si la venta no existe
      */
     public void delete(Long id) {
-        if (!ventaRepository.existsById(id)) {
-            throw new ResourceNotFoundException("No existe una venta con el ID: " + id);
-        }
+        Venta venta = ventaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No existe una venta con el ID: " + id));
         ventaRepository.deleteById(id);
+        // Una venta sin fecha no está en ningún agregado por día.
+        if (venta.getFecha() != null) {
+            eventPublisher.publishEvent(new VentaModificadaEvent(id, Set.of(venta.getFecha().toLocalDate())));
+        }
     }
 
     /**
@@ -158,6 +219,53 @@ public class VentaService {
                 .toList();
     }
 
+    /**
+     * Obtiene una página del historial de ventas de un producto, de la más reciente a la más antigua.
+     * 
+     * La paginación es por cursor: cada página devuelve el cursor de la siguiente, que
+     * codifica la fecha y el ID de su última venta.
+     * 
+     * @param productoId ID del producto
+     * @param desde Primer día del rango (inclusive); si es nulo no hay límite inferior
+     * @param hasta Último día del rango (inclusive); si es nulo se usa el día actual
+     * @param cursor Cursor devuelto por la página anterior, o nulo para la primera página
+     * @param limite Cantidad máxima de ventas de la página
+     * @return VentaPaginaDTO con las ventas y el cursor de la página siguiente
+     * @throws ValidationException si el rango, el límite o el cursor son inválidos
+     * @throws ResourceNotFoundException si el producto no existe
+     */
+    public VentaPaginaDTO ventasDeProducto(Long productoId, LocalDate desde, LocalDate hasta, String cursor, int limite) {
+        if (limite <= 0 || limite > LIMITE_HISTORIAL_MAXIMO) {
+            throw new ValidationException("El límite debe estar entre 1 y " + LIMITE_HISTORIAL_MAXIMO);
+        }
+        LocalDateTime inicio = (desde != null ? desde : INICIO_HISTORIAL).atStartOfDay();
+        LocalDateTime fin = (hasta != null ? hasta : LocalDate.now()).atTime(LocalTime.MAX);
+        if (inicio.isAfter(fin)) {
+            throw new ValidationException("El rango de fechas es inválido (desde > hasta)");
+        }
+        if (!productoRepository.existsById(productoId)) {
+            throw new ResourceNotFoundException("No existe un producto con el ID: " + productoId);
+        }
+
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Venta> ventas;
+        if (cursor == null || cursor.isBlank()) {
+            ventas = ventaRepository.findHistorialDeProducto(productoId, inicio, fin, pagina);
+        } else {
+            Venta ultima = decodificarCursor(cursor);
+            ventas = ventaRepository.findHistorialDeProductoDespuesDe(
+                    productoId, inicio, fin, ultima.getFecha(), ultima.getId(), pagina);
+        }
+
+        boolean hayMas = ventas.size() > limite;
+        List<Venta> actuales = hayMas ? ventas.subList(0, limite) : ventas;
+        String siguienteCursor = hayMas ? codificarCursor(actuales.get(actuales.size() - 1)) : null;
+        return new VentaPaginaDTO(
+                actuales.stream().map(this::toResponseDTO).toList(),
+                siguienteCursor
+        );
+    }
+
     /** Obtiene el precio unitario de una venta.
      * 
      * @param venta Venta de la cual obtener el precio unitario
@@ -216,6 +324,38 @@ public class VentaService {
         }
     }
 
+    /**
+     * Codifica la posición de una venta como cursor opaco (fecha e ID en Base64).
+     * 
+     * @param venta Última venta de la página
+     * @return Cursor para pedir la página siguiente
+     */
+    private String codificarCursor(Venta venta) {
+        String posicion = venta.getFecha() + "_" + venta.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(posicion.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #codificarCursor(Venta)}.
+     * 
+     * @param cursor Cursor recibido del cliente
+     * @return Venta con la fecha y el ID del cursor
+     * @throws ValidationException si el cursor no tiene el formato esperado
+     */
+    private Venta decodificarCursor(String cursor) {
+        try {
+            String posicion = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicion.lastIndexOf('_');
+            Venta venta = new Venta();
+            venta.setFecha(LocalDateTime.parse(posicion.substring(0, separador)));
+            venta.setId(Long.valueOf(posicion.substring(separador + 1)));
+            return venta;
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("El cursor es inválido");
+        }
+    }
+
     private Venta getEntityById(Long id) {
         return ventaRepository.findById(id)
                 .orElseThrow(ResourceNotFoundException::new);
@@ -224,9 +364,17 @@ public class VentaService {
     private Venta toEntity(VentaCreateDTO dto) {
         Venta venta = new Venta();
         venta.setId(dto.getId());
-        venta.setProducto(dto.getProducto());
+        Producto producto = dto.getProducto();
+        if (producto != null && producto.getId() != null) {
+            Long productoId = producto.getId();
+            producto = productoRepository.findById(productoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No existe un producto con el ID: " + productoId));
+        }
+        venta.setProducto(producto);
         venta.setCantidad(dto.getCantidad());
-        venta.setFecha(dto.getFecha());
+        if (dto.getFecha() != null) {
+            venta.setFecha(dto.getFecha());
+        }
         return venta;
     }
 
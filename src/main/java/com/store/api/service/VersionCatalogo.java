@@ -0,0 +1,212 @@
+package com.store.api.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.store.api.event.CategoriaCreadaEvent;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.CompaniaCreadaEvent;
+import com.store.api.event.CompaniaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Versiones del catálogo para los GET condicionales (ETag y Last-Modified).
+ *
+ * Cada recurso tiene un contador que se incrementa con los eventos de escritura, junto
+ * con el instante de la última modificación. El ETag se arma con el contador y el
+ * instante de arranque de la aplicación (los contadores vuelven a cero al reiniciar),
+ * de modo que una consulta sin cambios se responde con 304 sin leer la base de datos
+ * ni serializar la respuesta.
+ *
+ * Los productos incluyen su categoría y su compañía, por lo que cambiarlas también
+ * incrementa la versión de productos.
+ *
+ * Las versiones se incrementan después del commit de la escritura (o en el momento si no
+ * hubo transacción): si se incrementaran antes, un GET concurrente podría devolver el
+ * ETag nuevo con los datos todavía sin confirmar y el cliente recibiría 304 con esa
+ * respuesta vieja hasta la siguiente escritura.
+ */
+@Component
+public class VersionCatalogo {
+
+    /**
+     * Recursos del catálogo con versión propia.
+     */
+    public enum Recurso {
+        PRODUCTOS, CATEGORIAS, COMPANIAS
+    }
+
+    /**
+     * Versión de un recurso en un momento dado.
+     *
+     * @param etag ETag fuerte, entre comillas
+     * @param ultimaModificacion Milisegundos desde la época, truncados a segundos
+     */
+    public record Version(String etag, long ultimaModificacion) {
+    }
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLongArray versiones = new AtomicLongArray(Recurso.values().length);
+
+    /** Instante de la última modificación de cada recurso, en milisegundos truncados a segundos. */
+    private final AtomicLongArray modificaciones = new AtomicLongArray(Recurso.values().length);
+
+    public VersionCatalogo() {
+        long ahora = truncarASegundos(System.currentTimeMillis());
+        for (int i = 0; i < modificaciones.length(); i++) {
+            modificaciones.set(i, ahora);
+        }
+    }
+
+    /**
+     * Evalúa los encabezados condicionales del pedido contra la versión actual del recurso.
+     *
+     * Agrega ETag, Last-Modified y Cache-Control: no-cache (el cliente puede guardar la
+     * respuesta pero debe revalidarla, en lugar del no-store que Spring Security agrega
+     * por defecto) y, si el cliente ya tiene la versión actual, marca la respuesta como
+     * 304. Debe llamarse antes de armar la respuesta: si una escritura ocurre mientras
+     * tanto, el cliente recibe datos nuevos con el ETag anterior y los vuelve a pedir en
+     * la siguiente consulta, nunca al revés.
+     *
+     * @param recurso Recurso consultado
+     * @param request Pedido en curso
+     * @return true si el cliente tiene la versión actual y no hay que armar la respuesta
+     */
+    public boolean noModificado(Recurso recurso, WebRequest request) {
+        return noModificado(version(recurso), request);
+    }
+
+    /**
+     * Evalúa los encabezados condicionales del pedido contra una versión tomada antes.
+     *
+     * Para los GET de un solo elemento: se toma la versión, se busca el elemento (que
+     * responde 404 si no existe) y recién entonces se evalúan los encabezados, así un
+     * ID inexistente o eliminado nunca recibe 304. Como la versión se tomó antes de la
+     * búsqueda, una escritura intermedia tampoco puede dejar al cliente con datos viejos.
+     *
+     * @param version Versión tomada con {@link #version(Recurso)} antes de leer los datos
+     * @param request Pedido en curso
+     * @return true si el cliente tiene esa versión y no hay que armar la respuesta
+     */
+    public boolean noModificado(Version version, WebRequest request) {
+        if (request instanceof NativeWebRequest nativo
+                && nativo.getNativeResponse(HttpServletResponse.class) instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return request.checkNotModified(version.etag(), version.ultimaModificacion());
+    }
+
+    /**
+     * Obtiene la versión actual de un recurso.
+     *
+     * @param recurso Recurso del catálogo
+     * @return Version con el ETag y el instante de la última modificación
+     */
+    public Version version(Recurso recurso) {
+        return new Version(etag(recurso), ultimaModificacion(recurso));
+    }
+
+    /**
+     * Obtiene el ETag fuerte de la versión actual del recurso.
+     *
+     * @param recurso Recurso del catálogo
+     * @return ETag entre comillas
+     */
+    public String etag(Recurso recurso) {
+        return "\"" + recurso.name().toLowerCase(Locale.ROOT) + "-" + arranque + "-" + versiones.get(recurso.ordinal()) + "\"";
+    }
+
+    /**
+     * Obtiene el instante de la última modificación del recurso.
+     *
+     * @param recurso Recurso del catálogo
+     * @return Milisegundos desde la época, truncados a segundos como en Last-Modified
+     */
+    public long ultimaModificacion(Recurso recurso) {
+        return modificaciones.get(recurso.ordinal());
+    }
+
+    /**
+     * Incrementa la versión de productos al crear, modificar o eliminar un producto.
+     *
+     * @param event Evento con el producto modificado
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoModificado(ProductoModificadoEvent event) {
+        incrementar(Recurso.PRODUCTOS);
+    }
+
+    /**
+     * Incrementa la versión de productos tras una importación masiva.
+     *
+     * @param event Evento con la cantidad de productos importados
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductosImportados(ProductosImportadosEvent event) {
+        incrementar(Recurso.PRODUCTOS);
+    }
+
+    /**
+     * Incrementa la versión de categorías al crear una categoría.
+     *
+     * @param event Evento con la categoría creada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriaCreada(CategoriaCreadaEvent event) {
+        incrementar(Recurso.CATEGORIAS);
+    }
+
+    /**
+     * Incrementa las versiones de categorías y productos al cambiar una categoría.
+     *
+     * @param event Evento con la categoría modificada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriaModificada(CategoriaModificadaEvent event) {
+        incrementar(Recurso.CATEGORIAS);
+        incrementar(Recurso.PRODUCTOS);
+    }
+
+    /**
+     * Incrementa la versión de compañías al crear una compañía.
+     *
+     * @param event Evento con la compañía creada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompaniaCreada(CompaniaCreadaEvent event) {
+        incrementar(Recurso.COMPANIAS);
+    }
+
+    /**
+     * Incrementa las versiones de compañías y productos al cambiar una compañía.
+     *
+     * @param event Evento con la compañía modificada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompaniaModificada(CompaniaModificadaEvent event) {
+        incrementar(Recurso.COMPANIAS);
+        incrementar(Recurso.PRODUCTOS);
+    }
+
+    private void incrementar(Recurso recurso) {
+        long ahora = truncarASegundos(System.currentTimeMillis());
+        // El instante nunca retrocede aunque cambie el reloj del sistema.
+        modificaciones.accumulateAndGet(recurso.ordinal(), ahora, Math::max);
+        versiones.incrementAndGet(recurso.ordinal());
+    }
+
+    private static long truncarASegundos(long millis) {
+        return millis - Math.floorMod(millis, 1000L);
+    }
+}
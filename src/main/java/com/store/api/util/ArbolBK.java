@@ -0,0 +1,233 @@
+package com.store.api.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol BK de términos para búsquedas aproximadas por distancia de Levenshtein.
+ *
+ * Cada nodo guarda un término y los IDs que lo contienen; sus hijos cuelgan según su
+ * distancia al término del nodo. Por la desigualdad triangular, para encontrar los
+ * términos a distancia k o menos de una consulta que está a distancia d de un nodo
+ * solo hace falta bajar por los hijos con distancia entre d - k y d + k, así una
+ * búsqueda con k chico visita una fracción de los términos.
+ *
+ * Un árbol BK no admite quitar nodos sin reconstruirse: al quitar el último ID de un
+ * término, su nodo queda sin IDs (sigue sirviendo para navegar) y deja de aparecer en
+ * los resultados; si el término se vuelve a agregar, se reutiliza.
+ *
+ * Es seguro para uso concurrente: las búsquedas comparten un lock de lectura y las
+ * modificaciones toman el de escritura.
+ */
+public class ArbolBK {
+
+    private Nodo raiz;
+
+    /** Cantidad de términos con al menos un ID. */
+    private int tamanio;
+
+    /** Cantidad de nodos, incluidos los que quedaron sin IDs. */
+    private int nodos;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Asocia un ID a un término, agregando el término si no estaba.
+     *
+     * @param termino Término ya normalizado
+     * @param id Identificador asociado
+     */
+    public void agregar(String termino, long id) {
+        lock.writeLock().lock();
+        try {
+            Nodo nodo = buscarOCrear(termino);
+            if (nodo.ids.isEmpty()) {
+                tamanio++;
+            }
+            nodo.ids.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita la asociación entre un ID y un término.
+     *
+     * @param termino Término ya normalizado
+     * @param id Identificador asociado
+     */
+    public void quitar(String termino, long id) {
+        lock.writeLock().lock();
+        try {
+            Nodo nodo = raiz;
+            while (nodo != null && !nodo.termino.equals(termino)) {
+                nodo = nodo.hijos.get(distancia(termino, nodo.termino));
+            }
+            if (nodo != null && nodo.ids.remove(id) && nodo.ids.isEmpty()) {
+                tamanio--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el árbol.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            raiz = null;
+            tamanio = 0;
+            nodos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los términos a distancia de Levenshtein acotada de la consulta.
+     *
+     * @param termino Consulta ya normalizada
+     * @param distanciaMaxima Distancia máxima admitida (inclusive)
+     * @return Coincidencias con su distancia y sus IDs, sin orden definido
+     */
+    public List<Coincidencia> buscar(String termino, int distanciaMaxima) {
+        List<Coincidencia> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (raiz == null || distanciaMaxima < 0) {
+                return resultado;
+            }
+            Deque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.push(raiz);
+            while (!pendientes.isEmpty()) {
+                Nodo nodo = pendientes.pop();
+                int distancia = distancia(termino, nodo.termino);
+                if (distancia <= distanciaMaxima && !nodo.ids.isEmpty()) {
+                    resultado.add(new Coincidencia(nodo.termino, distancia, Set.copyOf(nodo.ids)));
+                }
+                for (Map.Entry<Integer, Nodo> hijo : nodo.hijos.entrySet()) {
+                    if (Math.abs(hijo.getKey() - distancia) <= distanciaMaxima) {
+                        pendientes.push(hijo.getValue());
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de términos con al menos un ID.
+     *
+     * @return Cantidad de términos
+     */
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return tamanio;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de nodos del árbol, incluidos los que quedaron sin IDs. La
+     * diferencia con {@link #tamanio()} indica cuánto conviene reconstruirlo.
+     *
+     * @return Cantidad de nodos
+     */
+    public int nodos() {
+        lock.readLock().lock();
+        try {
+            return nodos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la distancia de Levenshtein (inserciones, borrados y reemplazos) entre dos textos.
+     *
+     * @param a Primer texto
+     * @param b Segundo texto
+     * @return Cantidad mínima de ediciones para pasar de uno al otro
+     */
+    public static int distancia(String a, String b) {
+        if (a.length() < b.length()) {
+            String auxiliar = a;
+            a = b;
+            b = auxiliar;
+        }
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int reemplazo = anterior[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(reemplazo, Math.min(anterior[j], actual[j - 1]) + 1);
+            }
+            int[] auxiliar = anterior;
+            anterior = actual;
+            actual = auxiliar;
+        }
+        return anterior[b.length()];
+    }
+
+    private Nodo buscarOCrear(String termino) {
+        if (raiz == null) {
+            raiz = new Nodo(termino);
+            nodos++;
+            return raiz;
+        }
+        Nodo nodo = raiz;
+        while (true) {
+            int distancia = distancia(termino, nodo.termino);
+            if (distancia == 0) {
+                return nodo;
+            }
+            Nodo hijo = nodo.hijos.get(distancia);
+            if (hijo == null) {
+                hijo = new Nodo(termino);
+                nodo.hijos.put(distancia, hijo);
+                nodos++;
+                return hijo;
+            }
+            nodo = hijo;
+        }
+    }
+
+    /**
+     * Término encontrado en una búsqueda.
+     *
+     * @param termino Término indexado
+     * @param distancia Distancia de Levenshtein a la consulta
+     * @param ids IDs asociados al término
+     */
+    public record Coincidencia(String termino, int distancia, Set<Long> ids) {
+    }
+
+    private static final class Nodo {
+        private final String termino;
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<Integer, Nodo> hijos = new HashMap<>();
+
+        Nodo(String termino) {
+            this.termino = termino;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.store.api.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché en memoria acotada por cantidad de entradas y por tiempo de vida.
+ *
+ * Al superar la capacidad se desaloja la entrada usada hace más tiempo (LRU), y una
+ * entrada más antigua que el tiempo de vida se descarta al leerla. Lleva la cuenta de
+ * aciertos, fallos, desalojos, expiraciones e invalidaciones.
+ *
+ * Para no guardar un valor leído antes de una invalidación, quien carga un valor
+ * obtiene primero la generación actual con {@link #generacion()} y la pasa a
+ * {@link #guardar(Object, Object, long)}: si hubo una invalidación en el medio, el
+ * valor se descarta.
+ *
+ * Es segura para uso concurrente.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class CacheAcotada<K, V> {
+
+    private final int capacidad;
+    private final long tiempoDeVidaNanos;
+    private final LongSupplier reloj;
+    private final Map<K, Entrada<V>> entradas;
+
+    private long generacion;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long expiraciones;
+    private long invalidaciones;
+
+    public CacheAcotada(int capacidad, Duration tiempoDeVida) {
+        this(capacidad, tiempoDeVida, System::nanoTime);
+    }
+
+    CacheAcotada(int capacidad, Duration tiempoDeVida, LongSupplier reloj) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor a cero");
+        }
+        if (tiempoDeVida == null || tiempoDeVida.isNegative() || tiempoDeVida.isZero()) {
+            throw new IllegalArgumentException("El tiempo de vida de la caché debe ser positivo");
+        }
+        this.capacidad = capacidad;
+        this.tiempoDeVidaNanos = tiempoDeVida.toNanos();
+        this.reloj = reloj;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > CacheAcotada.this.capacidad) {
+                    desalojos++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el valor guardado para una clave.
+     *
+     * @param clave Clave buscada
+     * @return Valor guardado, o null si no existe o expiró
+     */
+    public synchronized V obtener(K clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        if (reloj.getAsLong() - entrada.guardada >= tiempoDeVidaNanos) {
+            entradas.remove(clave);
+            expiraciones++;
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return entrada.valor;
+    }
+
+    /**
+     * Obtiene la generación actual, que cambia con cada invalidación.
+     *
+     * @return Generación a pasar a {@link #guardar(Object, Object, long)}
+     */
+    public synchronized long generacion() {
+        return generacion;
+    }
+
+    /**
+     * Guarda un valor si no hubo invalidaciones desde que se leyó la generación.
+     *
+     * @param clave Clave del valor
+     * @param valor Valor a guardar
+     * @param generacionLeida Generación obtenida antes de cargar el valor
+     * @return true si el valor se guardó
+     */
+    public synchronized boolean guardar(K clave, V valor, long generacionLeida) {
+        if (generacionLeida != generacion) {
+            return false;
+        }
+        entradas.put(clave, new Entrada<>(valor, reloj.getAsLong()));
+        return true;
+    }
+
+    /**
+     * Descarta el valor de una clave.
+     *
+     * @param clave Clave a invalidar
+     */
+    public synchronized void invalidar(K clave) {
+        generacion++;
+        if (entradas.remove(clave) != null) {
+            invalidaciones++;
+        }
+    }
+
+    /**
+     * Descarta todos los valores guardados.
+     */
+    public synchronized void invalidarTodo() {
+        generacion++;
+        invalidaciones += entradas.size();
+        entradas.clear();
+    }
+
+    /**
+     * Obtiene una instantánea de las métricas de la caché.
+     *
+     * @return Estadisticas con los contadores acumulados y el tamaño actual
+     */
+    public synchronized Estadisticas estadisticas() {
+        return new Estadisticas(entradas.size(), capacidad, aciertos, fallos, desalojos, expiraciones, invalidaciones);
+    }
+
+    /**
+     * Valor guardado junto con el instante en que se guardó.
+     */
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long guardada;
+
+        Entrada(V valor, long guardada) {
+            this.valor = valor;
+            this.guardada = guardada;
+        }
+    }
+
+    /**
+     * Métricas de una caché en un instante.
+     */
+    public static class Estadisticas {
+        private final int tamanio;
+        private final int capacidad;
+        private final long aciertos;
+        private final long fallos;
+        private final long desalojos;
+        private final long expiraciones;
+        private final long invalidaciones;
+
+        public Estadisticas(int tamanio, int capacidad, long aciertos, long fallos,
+                            long desalojos, long expiraciones, long invalidaciones) {
+            this.tamanio = tamanio;
+            this.capacidad = capacidad;
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.desalojos = desalojos;
+            this.expiraciones = expiraciones;
+            this.invalidaciones = invalidaciones;
+        }
+
+        public int getTamanio() { return tamanio; }
+        public int getCapacidad() { return capacidad; }
+        public long getAciertos() { return aciertos; }
+        public long getFallos() { return fallos; }
+        public long getDesalojos() { return desalojos; }
+        public long getExpiraciones() { return expiraciones; }
+        public long getInvalidaciones() { return invalidaciones; }
+
+        /**
+         * Proporción de lecturas resueltas desde la caché.
+         *
+         * @return Valor entre 0 y 1 (0 si no hubo lecturas)
+         */
+        public double getTasaAciertos() {
+            long lecturas = aciertos + fallos;
+            return lecturas == 0 ? 0.0 : (double) aciertos / lecturas;
+        }
+    }
+}
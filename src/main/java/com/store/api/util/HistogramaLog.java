@@ -0,0 +1,151 @@
+package com.store.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Histograma log-lineal de valores enteros no negativos, al estilo de HdrHistogram.
+ *
+ * Los valores se agrupan en cubetas cuyo ancho crece en potencias de dos, y cada cubeta
+ * se divide en 64 subcubetas lineales. Así el error relativo de cualquier percentil
+ * queda acotado por debajo del 1,6 % sin importar la magnitud del valor, y dos
+ * histogramas se combinan sumando sus contadores posición a posición.
+ *
+ * El arreglo de contadores crece a demanda hasta el índice más alto registrado, por lo
+ * que un histograma de cantidades pequeñas ocupa apenas unos cientos de bytes.
+ *
+ * No es seguro para uso concurrente; quien lo comparta debe sincronizar el acceso.
+ */
+public class HistogramaLog {
+
+    /** Bits de precisión de cada cubeta (128 subcubetas, de las cuales 64 son nuevas). */
+    private static final int BITS_SUBCUBETA = 7;
+    private static final int MITAD_SUBCUBETAS = 1 << (BITS_SUBCUBETA - 1);
+    private static final int MAGNITUD_MITAD = BITS_SUBCUBETA - 1;
+    private static final long MASCARA_SUBCUBETA = (1L << BITS_SUBCUBETA) - 1;
+
+    private long[] cuentas = new long[MITAD_SUBCUBETAS * 2];
+    private long total;
+    private long suma;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+
+    /**
+     * Registra una ocurrencia de un valor.
+     *
+     * @param valor Valor a registrar (no negativo)
+     * @throws IllegalArgumentException si el valor es negativo
+     */
+    public void registrar(long valor) {
+        registrar(valor, 1);
+    }
+
+    /**
+     * Registra varias ocurrencias de un mismo valor.
+     *
+     * @param valor Valor a registrar (no negativo)
+     * @param veces Cantidad de ocurrencias
+     * @throws IllegalArgumentException si el valor o las veces son negativos
+     */
+    public void registrar(long valor, long veces) {
+        if (valor < 0 || veces < 0) {
+            throw new IllegalArgumentException("El histograma solo admite valores no negativos");
+        }
+        if (veces == 0) {
+            return;
+        }
+        int indice = indice(valor);
+        asegurarCapacidad(indice + 1);
+        cuentas[indice] += veces;
+        total += veces;
+        suma += valor * veces;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * Suma al histograma todas las ocurrencias de otro histograma.
+     *
+     * @param otro Histograma a combinar
+     */
+    public void combinar(HistogramaLog otro) {
+        if (otro.total == 0) {
+            return;
+        }
+        asegurarCapacidad(otro.cuentas.length);
+        for (int i = 0; i < otro.cuentas.length; i++) {
+            cuentas[i] += otro.cuentas[i];
+        }
+        total += otro.total;
+        suma += otro.suma;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Obtiene el valor por debajo del cual se encuentra el porcentaje indicado de ocurrencias.
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return Valor del percentil (0 si el histograma está vacío)
+     */
+    public long percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        double acotado = Math.min(Math.max(percentil, 0.0), 100.0);
+        long objetivo = Math.max(1, (long) Math.ceil(acotado / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.max(minimo, Math.min(valorMasAlto(i), maximo));
+            }
+        }
+        return maximo;
+    }
+
+    public long getTotal() { return total; }
+    public long getMinimo() { return total == 0 ? 0 : minimo; }
+    public long getMaximo() { return maximo; }
+
+    public double getMedia() {
+        return total == 0 ? 0.0 : (double) suma / total;
+    }
+
+    /**
+     * Crea una copia independiente del histograma.
+     *
+     * @return HistogramaLog con los mismos contadores
+     */
+    public HistogramaLog copia() {
+        HistogramaLog copia = new HistogramaLog();
+        copia.combinar(this);
+        return copia;
+    }
+
+    static int indice(long valor) {
+        int cubeta = 64 - BITS_SUBCUBETA - Long.numberOfLeadingZeros(valor | MASCARA_SUBCUBETA);
+        int subcubeta = (int) (valor >>> cubeta);
+        return ((cubeta + 1) << MAGNITUD_MITAD) + (subcubeta - MITAD_SUBCUBETAS);
+    }
+
+    static long valorMasBajo(int indice) {
+        int cubeta = (indice >> MAGNITUD_MITAD) - 1;
+        int subcubeta = (indice & (MITAD_SUBCUBETAS - 1)) + MITAD_SUBCUBETAS;
+        if (cubeta < 0) {
+            subcubeta -= MITAD_SUBCUBETAS;
+            cubeta = 0;
+        }
+        return (long) subcubeta << cubeta;
+    }
+
+    static long valorMasAlto(int indice) {
+        int cubeta = Math.max((indice >> MAGNITUD_MITAD) - 1, 0);
+        return valorMasBajo(indice) + (1L << cubeta) - 1;
+    }
+
+    private void asegurarCapacidad(int largo) {
+        if (largo > cuentas.length) {
+            cuentas = Arrays.copyOf(cuentas, Math.max(largo, cuentas.length * 2));
+        }
+    }
+}
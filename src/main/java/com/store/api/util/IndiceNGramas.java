@@ -0,0 +1,201 @@
+package com.store.api.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas en memoria para búsquedas por subcadena.
+ *
+ * Cada texto se normaliza a minúsculas y se descompone en sus trigramas; cada trigrama
+ * apunta al conjunto de IDs que lo contienen. Una búsqueda de al menos tres caracteres
+ * interseca las listas de los trigramas del término, empezando por la más corta, y
+ * confirma cada candidato con una comparación de subcadena. Los términos más cortos no
+ * tienen trigramas y se resuelven recorriendo los textos.
+ *
+ * Los resultados se ordenan por relevancia: coincidencia exacta, luego prefijo, luego
+ * comienzo de palabra y por último cualquier otra posición; a igual tipo, primero la
+ * coincidencia más temprana y el texto más corto.
+ *
+ * Es seguro para uso concurrente: las búsquedas comparten un lock de lectura y las
+ * modificaciones toman el de escritura.
+ */
+public class IndiceNGramas {
+
+    /** Longitud de los n-gramas indexados. */
+    public static final int N = 3;
+
+    private final Map<Long, String> textos = new HashMap<>();
+    private final Map<Long, Set<Long>> listas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Agrega un texto al índice o reemplaza el indexado para el mismo ID.
+     *
+     * @param id Identificador del texto
+     * @param texto Texto a indexar; si es nulo solo se quita el anterior
+     */
+    public void agregar(long id, String texto) {
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+            if (texto == null) {
+                return;
+            }
+            String normalizado = normalizar(texto);
+            textos.put(id, normalizado);
+            for (long trigrama : trigramas(normalizado)) {
+                listas.computeIfAbsent(trigrama, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita del índice el texto de un ID.
+     *
+     * @param id Identificador del texto
+     */
+    public void quitar(long id) {
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            textos.clear();
+            listas.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los IDs cuyo texto contiene el término, sin distinguir mayúsculas/minúsculas.
+     *
+     * @param termino Subcadena a buscar
+     * @param limite Cantidad máxima de resultados
+     * @return IDs ordenados por relevancia
+     */
+    public List<Long> buscar(String termino, int limite) {
+        String normalizado = normalizar(termino);
+        if (normalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Coincidencia> coincidencias = new ArrayList<>();
+            for (Long id : candidatos(normalizado)) {
+                String texto = textos.get(id);
+                int posicion = texto.indexOf(normalizado);
+                if (posicion >= 0) {
+                    coincidencias.add(new Coincidencia(id, tipo(texto, normalizado, posicion), posicion, texto.length()));
+                }
+            }
+            return coincidencias.stream()
+                    .sorted(Coincidencia.ORDEN)
+                    .limit(limite)
+                    .map(Coincidencia::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de textos indexados.
+     *
+     * @return Cantidad de IDs en el índice
+     */
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return textos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidatos(String termino) {
+        if (termino.length() < N) {
+            return textos.keySet();
+        }
+        List<Set<Long>> conjuntos = new ArrayList<>();
+        for (long trigrama : trigramas(termino)) {
+            Set<Long> lista = listas.get(trigrama);
+            if (lista == null) {
+                return Set.of();
+            }
+            conjuntos.add(lista);
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+        Set<Long> resultado = new HashSet<>(conjuntos.get(0));
+        for (int i = 1; i < conjuntos.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(conjuntos.get(i));
+        }
+        return resultado;
+    }
+
+    private void quitarSinLock(long id) {
+        String anterior = textos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (long trigrama : trigramas(anterior)) {
+            Set<Long> lista = listas.get(trigrama);
+            if (lista != null && lista.remove(id) && lista.isEmpty()) {
+                listas.remove(trigrama);
+            }
+        }
+    }
+
+    /**
+     * Clasifica una coincidencia: 0 exacta, 1 prefijo, 2 comienzo de palabra, 3 otra posición.
+     */
+    private static int tipo(String texto, String termino, int posicion) {
+        if (posicion == 0) {
+            return texto.length() == termino.length() ? 0 : 1;
+        }
+        for (int i = posicion; i >= 0; i = texto.indexOf(termino, i + 1)) {
+            if (!Character.isLetterOrDigit(texto.charAt(i - 1))) {
+                return 2;
+            }
+        }
+        return 3;
+    }
+
+    private static Set<Long> trigramas(String texto) {
+        Set<Long> resultado = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            resultado.add(((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2));
+        }
+        return resultado;
+    }
+
+    private static String normalizar(String texto) {
+        return texto == null ? "" : texto.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Coincidencia(long id, int tipo, int posicion, int longitud) {
+        static final Comparator<Coincidencia> ORDEN = Comparator.comparingInt(Coincidencia::tipo)
+                .thenComparingInt(Coincidencia::posicion)
+                .thenComparingInt(Coincidencia::longitud)
+                .thenComparingLong(Coincidencia::id);
+    }
+}
@@ -0,0 +1,191 @@
+package com.store.api.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice ordenado de precios para consultas por rango.
+ *
+ * Guarda dos arreglos paralelos de primitivos, precios y IDs, ordenados por precio y
+ * luego por ID. Un rango [min, max] se resuelve con dos búsquedas binarias que
+ * delimitan un tramo contiguo de los arreglos, sin recorrer los demás elementos ni
+ * crear objetos por elemento.
+ *
+ * Como en CatalogoProductos, cada modificación arma arreglos nuevos y los publica en
+ * una referencia volátil: las consultas no toman locks y siempre ven un índice completo.
+ */
+public class IndicePrecios {
+
+    private volatile Instantanea instantanea = new Instantanea(new int[0], new long[0]);
+
+    /** Precio indexado de cada ID, para ubicar su entrada al modificarlo o quitarlo. */
+    private final Map<Long, Integer> precioPorId = new HashMap<>();
+
+    /**
+     * Reemplaza el contenido del índice.
+     *
+     * @param ids IDs a indexar
+     * @param precios Precio de cada ID, en la misma posición
+     */
+    public synchronized void cargar(long[] ids, int[] precios) {
+        if (ids.length != precios.length) {
+            throw new IllegalArgumentException("Los arreglos de IDs y precios deben tener el mismo largo");
+        }
+        precioPorId.clear();
+        // Cada clave lleva el precio en los 32 bits altos y la posición original en los
+        // bajos, así el orden se resuelve con un sort de primitivos.
+        long[] claves = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            claves[i] = ((long) precios[i] << 32) | i;
+            precioPorId.put(ids[i], precios[i]);
+        }
+        Arrays.sort(claves);
+        int[] nuevosPrecios = new int[ids.length];
+        long[] nuevosIds = new long[ids.length];
+        for (int i = 0; i < claves.length; i++) {
+            int origen = (int) claves[i];
+            nuevosPrecios[i] = precios[origen];
+            nuevosIds[i] = ids[origen];
+        }
+        for (int desde = 0, hasta; desde < nuevosIds.length; desde = hasta) {
+            hasta = desde + 1;
+            while (hasta < nuevosIds.length && nuevosPrecios[hasta] == nuevosPrecios[desde]) {
+                hasta++;
+            }
+            Arrays.sort(nuevosIds, desde, hasta);
+        }
+        instantanea = new Instantanea(nuevosPrecios, nuevosIds);
+    }
+
+    /**
+     * Agrega un ID al índice o actualiza su precio.
+     *
+     * @param id Identificador
+     * @param precio Precio actual
+     */
+    public synchronized void actualizar(long id, int precio) {
+        Instantanea actual = instantanea;
+        Integer anterior = precioPorId.put(id, precio);
+        int quitar = anterior != null ? actual.posicion(anterior, id) : -1;
+        int insertar = -actual.posicion(precio, id) - 1;
+        if (quitar >= 0 && insertar < 0) {
+            return;
+        }
+
+        int tamanio = actual.ids.length + (quitar >= 0 ? 0 : 1);
+        int[] precios = new int[tamanio];
+        long[] ids = new long[tamanio];
+        int destino = 0;
+        for (int i = 0; i <= actual.ids.length; i++) {
+            if (i == insertar) {
+                precios[destino] = precio;
+                ids[destino++] = id;
+            }
+            if (i < actual.ids.length && i != quitar) {
+                precios[destino] = actual.precios[i];
+                ids[destino++] = actual.ids[i];
+            }
+        }
+        instantanea = new Instantanea(precios, ids);
+    }
+
+    /**
+     * Quita un ID del índice.
+     *
+     * @param id Identificador
+     */
+    public synchronized void quitar(long id) {
+        Integer anterior = precioPorId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        Instantanea actual = instantanea;
+        int posicion = actual.posicion(anterior, id);
+        int[] precios = new int[actual.ids.length - 1];
+        long[] ids = new long[actual.ids.length - 1];
+        System.arraycopy(actual.precios, 0, precios, 0, posicion);
+        System.arraycopy(actual.precios, posicion + 1, precios, posicion, precios.length - posicion);
+        System.arraycopy(actual.ids, 0, ids, 0, posicion);
+        System.arraycopy(actual.ids, posicion + 1, ids, posicion, ids.length - posicion);
+        instantanea = new Instantanea(precios, ids);
+    }
+
+    /**
+     * Obtiene los IDs con precio dentro del rango, ordenados por precio y luego por ID.
+     *
+     * @param min Precio mínimo (inclusive)
+     * @param max Precio máximo (inclusive)
+     * @return IDs del rango
+     */
+    public long[] buscar(int min, int max) {
+        Instantanea actual = instantanea;
+        if (min > max) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(actual.ids, actual.primeraPosicion(min), actual.primeraPosicionMayorA(max));
+    }
+
+    /**
+     * Cuenta los IDs con precio dentro del rango.
+     *
+     * @param min Precio mínimo (inclusive)
+     * @param max Precio máximo (inclusive)
+     * @return Cantidad de IDs del rango
+     */
+    public int contar(int min, int max) {
+        Instantanea actual = instantanea;
+        return min > max ? 0 : actual.primeraPosicionMayorA(max) - actual.primeraPosicion(min);
+    }
+
+    /**
+     * Obtiene la cantidad de IDs indexados.
+     *
+     * @return Cantidad de IDs
+     */
+    public int tamanio() {
+        return instantanea.ids.length;
+    }
+
+    /**
+     * Precios e IDs ordenados, en arreglos paralelos.
+     */
+    private static final class Instantanea {
+        private final int[] precios;
+        private final long[] ids;
+
+        Instantanea(int[] precios, long[] ids) {
+            this.precios = precios;
+            this.ids = ids;
+        }
+
+        /** Primera posición con precio mayor o igual al dado. */
+        int primeraPosicion(int precio) {
+            int desde = 0;
+            int hasta = precios.length;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (precios[medio] < precio) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+
+        /** Primera posición con precio mayor al dado. */
+        int primeraPosicionMayorA(int precio) {
+            return precio == Integer.MAX_VALUE ? precios.length : primeraPosicion(precio + 1);
+        }
+
+        /**
+         * Busca la entrada (precio, id); si no existe devuelve -(posición de inserción) - 1.
+         */
+        int posicion(int precio, long id) {
+            int desde = primeraPosicion(precio);
+            int hasta = primeraPosicionMayorA(precio);
+            return Arrays.binarySearch(ids, desde, hasta, id);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.store.api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefijos sobre claves normalizadas, para autocompletado.
+ *
+ * Guarda un arreglo ordenado de claves junto con el ID al que pertenece cada una; una
+ * búsqueda ubica con búsqueda binaria la primera clave mayor o igual al prefijo y
+ * recorre las siguientes mientras compartan el prefijo, por lo que su costo es
+ * logarítmico más la cantidad de resultados. Las claves se normalizan a minúsculas,
+ * sin tildes y con los espacios colapsados.
+ *
+ * Como en CatalogoProductos, cada modificación arma arreglos nuevos y los publica en
+ * una referencia volátil: las búsquedas no toman locks y siempre ven un índice completo.
+ */
+public class IndicePrefijos {
+
+    /** Longitud máxima de una clave; los prefijos más largos se comparan truncados. */
+    public static final int LONGITUD_MAXIMA_CLAVE = 64;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private volatile Instantanea instantanea = new Instantanea(new String[0], new long[0]);
+
+    /**
+     * Reemplaza el contenido del índice.
+     *
+     * @param clavesPorId Claves sin normalizar de cada ID
+     */
+    public synchronized void cargar(Map<Long, ? extends Collection<String>> clavesPorId) {
+        List<Entrada> entradas = new ArrayList<>();
+        clavesPorId.forEach((id, claves) -> agregarEntradas(entradas, id, claves));
+        instantanea = Instantanea.de(entradas);
+    }
+
+    /**
+     * Agrega las claves de un ID, reemplazando las que tuviera.
+     *
+     * @param id Identificador
+     * @param claves Claves sin normalizar
+     */
+    public synchronized void agregar(long id, Collection<String> claves) {
+        Instantanea actual = instantanea;
+        List<Entrada> nuevas = new ArrayList<>();
+        agregarEntradas(nuevas, id, claves);
+        nuevas.sort(null);
+
+        int tamanio = actual.claves.length;
+        String[] nuevasClaves = new String[tamanio + nuevas.size()];
+        long[] nuevosIds = new long[nuevasClaves.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < tamanio || j < nuevas.size()) {
+            if (i < tamanio && actual.ids[i] == id) {
+                i++;
+                continue;
+            }
+            if (j >= nuevas.size() || (i < tamanio && nuevas.get(j).compareTo(actual.claves[i], actual.ids[i]) > 0)) {
+                nuevasClaves[k] = actual.claves[i];
+                nuevosIds[k++] = actual.ids[i++];
+            } else {
+                nuevasClaves[k] = nuevas.get(j).clave;
+                nuevosIds[k++] = nuevas.get(j++).id;
+            }
+        }
+        instantanea = new Instantanea(Arrays.copyOf(nuevasClaves, k), Arrays.copyOf(nuevosIds, k));
+    }
+
+    /**
+     * Quita todas las claves de un ID.
+     *
+     * @param id Identificador
+     */
+    public synchronized void quitar(long id) {
+        agregar(id, List.of());
+    }
+
+    /**
+     * Busca los IDs con alguna clave que empiece con el prefijo.
+     *
+     * @param prefijo Prefijo sin normalizar
+     * @param limite Cantidad máxima de IDs distintos
+     * @return IDs en orden de sus claves, sin repetidos
+     */
+    public List<Long> buscar(String prefijo, int limite) {
+        String normalizado = normalizar(prefijo);
+        if (normalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Instantanea actual = instantanea;
+        Set<Long> resultado = new LinkedHashSet<>();
+        for (int i = actual.primeraMayorOIgual(normalizado);
+                i < actual.claves.length && actual.claves[i].startsWith(normalizado) && resultado.size() < limite;
+                i++) {
+            resultado.add(actual.ids[i]);
+        }
+        return List.copyOf(resultado);
+    }
+
+    /**
+     * Obtiene la cantidad de claves indexadas.
+     *
+     * @return Cantidad de claves
+     */
+    public int tamanio() {
+        return instantanea.claves.length;
+    }
+
+    /**
+     * Normaliza un texto: minúsculas, sin tildes, espacios colapsados y truncado a
+     * {@value #LONGITUD_MAXIMA_CLAVE} caracteres.
+     *
+     * @param texto Texto a normalizar
+     * @return Texto normalizado, vacío si es nulo
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        String normalizado = ESPACIOS.matcher(sinTildes.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        return normalizado.length() > LONGITUD_MAXIMA_CLAVE ? normalizado.substring(0, LONGITUD_MAXIMA_CLAVE) : normalizado;
+    }
+
+    private static void agregarEntradas(List<Entrada> entradas, long id, Collection<String> claves) {
+        for (String clave : claves) {
+            String normalizada = normalizar(clave);
+            if (!normalizada.isEmpty()) {
+                entradas.add(new Entrada(normalizada, id));
+            }
+        }
+    }
+
+    private record Entrada(String clave, long id) implements Comparable<Entrada> {
+        @Override
+        public int compareTo(Entrada otra) {
+            return compareTo(otra.clave, otra.id);
+        }
+
+        int compareTo(String otraClave, long otroId) {
+            int porClave = clave.compareTo(otraClave);
+            return porClave != 0 ? porClave : Long.compare(id, otroId);
+        }
+    }
+
+    /**
+     * Claves ordenadas y el ID de cada una, en arreglos paralelos.
+     */
+    private static final class Instantanea {
+        private final String[] claves;
+        private final long[] ids;
+
+        Instantanea(String[] claves, long[] ids) {
+            this.claves = claves;
+            this.ids = ids;
+        }
+
+        static Instantanea de(List<Entrada> entradas) {
+            entradas.sort(null);
+            String[] claves = new String[entradas.size()];
+            long[] ids = new long[entradas.size()];
+            for (int i = 0; i < claves.length; i++) {
+                claves[i] = entradas.get(i).clave;
+                ids[i] = entradas.get(i).id;
+            }
+            return new Instantanea(claves, ids);
+        }
+
+        int primeraMayorOIgual(String clave) {
+            int desde = 0;
+            int hasta = claves.length;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (claves[medio].compareTo(clave) < 0) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.store.api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para búsqueda de texto completo en español.
+ *
+ * Cada documento tiene uno o más campos con un peso. Los textos se pasan a minúsculas,
+ * se les quitan las tildes, se dividen en palabras, se descartan las palabras vacías
+ * ("de", "la", "con"...) y cada palabra se reduce a su raíz con un stemmer liviano
+ * que quita plurales y terminaciones de género ("mochilas" y "mochila" comparten raíz,
+ * "lápices" y "lápiz" también).
+ *
+ * Una búsqueda devuelve los documentos que contienen todas las raíces de la consulta,
+ * ordenados por BM25: pesan más las palabras poco frecuentes en el índice, las que se
+ * repiten en el documento y las que aparecen en campos de mayor peso o en textos
+ * cortos. La intersección empieza por la lista más corta.
+ *
+ * Es seguro para uso concurrente: las búsquedas comparten un lock de lectura y las
+ * modificaciones toman el de escritura.
+ */
+public class IndiceTexto {
+
+    /** Saturación de la frecuencia de una palabra en BM25. */
+    private static final double K1 = 1.2;
+
+    /** Normalización por longitud del documento en BM25. */
+    private static final double B = 0.75;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los", "o",
+            "para", "por", "que", "se", "sin", "su", "sus", "u", "un", "una", "unos", "unas", "y");
+
+    private final double[] pesos;
+
+    /** Frecuencia ponderada de cada raíz en cada documento. */
+    private final Map<String, Map<Long, Double>> listas = new HashMap<>();
+
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private double longitudTotal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Crea un índice cuyos documentos tienen un campo por cada peso.
+     *
+     * @param pesos Peso de cada campo, en el orden en que se pasan a {@link #agregar}
+     */
+    public IndiceTexto(double... pesos) {
+        this.pesos = pesos.clone();
+    }
+
+    /**
+     * Agrega un documento al índice o reemplaza el indexado para el mismo ID.
+     *
+     * @param id Identificador del documento
+     * @param campos Texto de cada campo, en el orden de los pesos; los nulos se ignoran
+     */
+    public void agregar(long id, String... campos) {
+        Map<String, Double> frecuencias = new LinkedHashMap<>();
+        double longitud = 0;
+        for (int i = 0; i < campos.length && i < pesos.length; i++) {
+            for (String termino : terminos(campos[i])) {
+                frecuencias.merge(termino, pesos[i], Double::sum);
+                longitud += pesos[i];
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+            if (frecuencias.isEmpty()) {
+                return;
+            }
+            frecuencias.forEach((termino, frecuencia) ->
+                    listas.computeIfAbsent(termino, k -> new HashMap<>()).put(id, frecuencia));
+            documentos.put(id, new Documento(frecuencias.keySet().toArray(String[]::new), longitud));
+            longitudTotal += longitud;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita del índice el documento de un ID.
+     *
+     * @param id Identificador del documento
+     */
+    public void quitar(long id) {
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            listas.clear();
+            documentos.clear();
+            longitudTotal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los documentos que contienen todas las palabras de la consulta.
+     *
+     * @param consulta Texto de la consulta
+     * @param desde Posición del primer resultado a devolver
+     * @param cantidad Cantidad máxima de resultados a devolver
+     * @return Resultado con los IDs de la página pedida y el total de coincidencias
+     */
+    public Resultado buscar(String consulta, int desde, int cantidad) {
+        List<String> terminos = terminos(consulta);
+        if (terminos.isEmpty()) {
+            return new Resultado(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Double>> conjuntos = new ArrayList<>();
+            for (String termino : new LinkedHashSet<>(terminos)) {
+                Map<Long, Double> lista = listas.get(termino);
+                if (lista == null) {
+                    return new Resultado(List.of(), 0);
+                }
+                conjuntos.add(lista);
+            }
+            conjuntos.sort(Comparator.comparingInt(Map::size));
+
+            int total = documentos.size();
+            double longitudMedia = longitudTotal / total;
+            double[] idf = new double[conjuntos.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int frecuencia = conjuntos.get(i).size();
+                idf[i] = Math.log(1 + (total - frecuencia + 0.5) / (frecuencia + 0.5));
+            }
+
+            List<Coincidencia> coincidencias = new ArrayList<>();
+            candidatos:
+            for (Long id : conjuntos.get(0).keySet()) {
+                double normalizacion = K1 * (1 - B + B * documentos.get(id).longitud() / longitudMedia);
+                double puntaje = 0;
+                for (int i = 0; i < conjuntos.size(); i++) {
+                    Double frecuencia = conjuntos.get(i).get(id);
+                    if (frecuencia == null) {
+                        continue candidatos;
+                    }
+                    puntaje += idf[i] * frecuencia * (K1 + 1) / (frecuencia + normalizacion);
+                }
+                coincidencias.add(new Coincidencia(id, puntaje));
+            }
+            coincidencias.sort(Coincidencia.ORDEN);
+            List<Long> pagina = coincidencias.stream()
+                    .skip(Math.max(0, desde))
+                    .limit(Math.max(0, cantidad))
+                    .map(Coincidencia::id)
+                    .toList();
+            return new Resultado(pagina, coincidencias.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de documentos indexados.
+     *
+     * @return Cantidad de IDs en el índice
+     */
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Divide un texto en las raíces que se indexan: sin tildes, en minúsculas, sin
+     * palabras vacías y con plurales y género reducidos.
+     *
+     * @param texto Texto a analizar
+     * @return Raíces en el orden del texto, con repetidos
+     */
+    public static List<String> terminos(String texto) {
+        List<String> resultado = new ArrayList<>();
+        for (String palabra : palabras(texto)) {
+            if (!PALABRAS_VACIAS.contains(palabra)) {
+                resultado.add(raiz(palabra));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Divide un texto en palabras sin tildes y en minúsculas, separando por cualquier
+     * carácter que no sea letra ni dígito.
+     *
+     * @param texto Texto a dividir
+     * @return Palabras en el orden del texto, con repetidos
+     */
+    public static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> resultado = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(sinTildes.toLowerCase(Locale.ROOT))) {
+            if (!palabra.isEmpty()) {
+                resultado.add(palabra);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Stemmer liviano para español (Savoy): quita la vocal final de género y los plurales
+     * en -s, -es y -ces (que pasa a -z). Las palabras de menos de cinco letras no se tocan.
+     */
+    private static String raiz(String palabra) {
+        int largo = palabra.length();
+        if (largo < 5) {
+            return palabra;
+        }
+        char ultima = palabra.charAt(largo - 1);
+        if (ultima == 'o' || ultima == 'a' || ultima == 'e') {
+            return palabra.substring(0, largo - 1);
+        }
+        if (ultima == 's') {
+            char penultima = palabra.charAt(largo - 2);
+            if (palabra.endsWith("eses")) {
+                return palabra.substring(0, largo - 2);
+            }
+            if (palabra.endsWith("ces")) {
+                return palabra.substring(0, largo - 3) + "z";
+            }
+            if (penultima == 'o' || penultima == 'a' || penultima == 'e') {
+                return palabra.substring(0, largo - 2);
+            }
+        }
+        return palabra;
+    }
+
+    private void quitarSinLock(long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        longitudTotal -= anterior.longitud();
+        for (String termino : anterior.terminos()) {
+            Map<Long, Double> lista = listas.get(termino);
+            if (lista != null && lista.remove(id) != null && lista.isEmpty()) {
+                listas.remove(termino);
+            }
+        }
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ids IDs de la página pedida, ordenados por relevancia
+     * @param total Cantidad total de documentos que coinciden
+     */
+    public record Resultado(List<Long> ids, int total) {
+    }
+
+    private record Documento(String[] terminos, double longitud) {
+    }
+
+    private record Coincidencia(long id, double puntaje) {
+        static final Comparator<Coincidencia> ORDEN = Comparator.comparingDouble(Coincidencia::puntaje).reversed()
+                .thenComparingLong(Coincidencia::id);
+    }
+}
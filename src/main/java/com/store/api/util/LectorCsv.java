@@ -0,0 +1,97 @@
+package com.store.api.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV registro por registro.
+ *
+ * Lee del Reader de a un carácter (conviene pasarle un BufferedReader) y arma un
+ * registro por vez, por lo que la memoria usada no depende del tamaño del archivo.
+ * Sigue RFC 4180: separador coma, campos entre comillas dobles que pueden contener
+ * comas y saltos de línea, y comillas escapadas duplicándolas. Acepta finales de
+ * línea LF y CRLF.
+ */
+public class LectorCsv {
+
+    private final Reader reader;
+
+    /** Número de línea donde empieza el último registro leído. */
+    private int linea;
+
+    /** Número de línea en la posición actual del lector. */
+    private int lineaActual = 1;
+
+    public LectorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return Campos del registro, o null si no quedan registros
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el archivo termina dentro de un campo entre comillas
+     */
+    public List<String> siguiente() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        linea = lineaActual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Comillas sin cerrar en el registro de la línea " + linea);
+                }
+                if (c == '"') {
+                    int siguiente = reader.read();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = siguiente;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineaActual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    lineaActual++;
+                }
+                int largo = campo.length();
+                if (largo > 0 && campo.charAt(largo - 1) == '\r') {
+                    campo.setLength(largo - 1);
+                }
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Obtiene el número de línea donde empieza el último registro leído.
+     *
+     * @return Número de línea empezando en 1
+     */
+    public int getLinea() {
+        return linea;
+    }
+}
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.doThrow;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,16 +20,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.store.api.controller.CategoriaController;
 import com.store.api.config.SecurityConfig;
 import com.store.api.dto.categoria.CategoriaResponseDTO;
+import com.store.api.event.CategoriaCreadaEvent;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
 import com.store.api.service.CategoriaService;
 import com.store.api.service.CustomUserDetailsService;
+import com.store.api.service.VersionCatalogo;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoriaController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, VersionCatalogo.class})
 public class CategoriaControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -39,6 +42,9 @@ public class CategoriaControllerTest {
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
 
     @Test
     void GET_findAll_deberiaDevolverListaDe2Categorias() throws Exception {
@@ -281,4 +287,39 @@ public class CategoriaControllerTest {
 
         verify(categoriaService, times(1)).delete(999L);
         }
+
+        // Test de GET condicional
+
+        @Test
+        void GET_findAll_conETagVigente_deberiaDevolver304SinConsultarElServicio() throws Exception {
+        when(categoriaService.findAll()).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/categorias"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/categorias").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        verify(categoriaService, times(1)).findAll();
+        }
+
+        @Test
+        void GET_findAll_conETagAnteriorAUnaEscritura_deberiaDevolver200() throws Exception {
+        when(categoriaService.findAll()).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/categorias"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        versionCatalogo.onCategoriaCreada(new CategoriaCreadaEvent(5L));
+
+        mockMvc.perform(get("/api/categorias").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, versionCatalogo.etag(VersionCatalogo.Recurso.CATEGORIAS)));
+
+        verify(categoriaService, times(2)).findAll();
+        }
 }
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.doThrow;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,7 @@ import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
 import com.store.api.service.CompaniaService;
 import com.store.api.service.CustomUserDetailsService;
+import com.store.api.service.VersionCatalogo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -31,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(CompaniaController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, VersionCatalogo.class})
 public class CompaniaControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -42,6 +44,9 @@ public class CompaniaControllerTest {
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
     // Test de GET
 
     @Test
@@ -278,4 +283,33 @@ public class CompaniaControllerTest {
 
 	verify(companiaService, times(1)).delete(999L);
     }
+
+    // Test de GET condicional
+
+    @Test
+    void GET_findById_conETagVigente_deberiaDevolver304() throws Exception {
+	CompaniaResponseDTO dto = new CompaniaResponseDTO();
+	dto.setId(1L);
+	dto.setNombre("Compañía 1");
+	when(companiaService.findById(1L)).thenReturn(dto);
+
+	String etag = mockMvc.perform(get("/api/companias/{id}", 1L))
+		.andExpect(status().isOk())
+		.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+	mockMvc.perform(get("/api/companias/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isNotModified());
+
+	verify(companiaService, times(2)).findById(1L);
+    }
+
+    @Test
+    void GET_findById_inexistenteConETagVigente_deberiaDevolver404() throws Exception {
+	when(companiaService.findById(99L))
+		.thenThrow(new ResourceNotFoundException("Compañía no encontrada"));
+	String etag = versionCatalogo.etag(VersionCatalogo.Recurso.COMPANIAS);
+
+	mockMvc.perform(get("/api/companias/{id}", 99L).header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isNotFound());
+    }
 }
@@ -9,15 +9,20 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -25,13 +30,29 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.store.api.config.SecurityConfig;
 import com.store.api.controller.ProductoController;
+import com.store.api.dto.producto.AlertaStockDTO;
+import com.store.api.dto.producto.FacetasProductoDTO;
+import com.store.api.dto.producto.FiltroProductoDTO;
+import com.store.api.dto.producto.ImportacionProductosDTO;
+import com.store.api.dto.producto.ProductoPaginaDTO;
 import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.dto.producto.SincronizacionProductosDTO;
+import com.store.api.dto.producto.SugerenciaProductoDTO;
+import com.store.api.dto.venta.VentaPaginaDTO;
+import com.store.api.event.CompaniaModificadaEvent;
 import com.store.api.exception.ResourceNotFoundException;
+import com.store.api.service.CambiosProductos;
+import com.store.api.service.StockInmovilizado;
+import com.store.api.service.PronosticoDemanda;
 import com.store.api.service.CustomUserDetailsService;
+import com.store.api.service.ImportacionProductosService;
+import com.store.api.service.VersionCatalogo;
 import com.store.api.service.ProductoService;
+import com.store.api.service.VentaService;
+import com.store.api.util.CacheAcotada;
 
 @WebMvcTest(ProductoController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, VersionCatalogo.class})
 public class ProductoControllerTest {
 
     @Autowired
@@ -40,9 +61,27 @@ public class ProductoControllerTest {
     @MockitoBean
     private ProductoService productoService;
 
+    @MockitoBean
+    private VentaService ventaService;
+
+    @MockitoBean
+    private ImportacionProductosService importacionProductosService;
+
+    @MockitoBean
+    private CambiosProductos cambiosProductos;
+
+    @MockitoBean
+    private StockInmovilizado stockInmovilizado;
+
+    @MockitoBean
+    private PronosticoDemanda pronosticoDemanda;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void GET_list_admin_deberiaDevolverProductos() throws Exception {
@@ -165,5 +204,425 @@ public class ProductoControllerTest {
 
 	verify(productoService, times(1)).delete(99L);
     }
-    
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_ventas_admin_deberiaDevolverPaginaConCursor() throws Exception {
+	when(ventaService.ventasDeProducto(1L, null, null, null, 50))
+		.thenReturn(new VentaPaginaDTO(List.of(), "c2lndWllbnRl"));
+
+	mockMvc.perform(get("/api/productos/{id}/ventas", 1L))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.ventas.length()").value(0))
+		.andExpect(jsonPath("$.siguienteCursor").value("c2lndWllbnRl"));
+
+	verify(ventaService, times(1)).ventasDeProducto(1L, null, null, null, 50);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_ventas_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(get("/api/productos/{id}/ventas", 1L))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_estadisticasCache_admin_deberiaDevolverMetricas() throws Exception {
+	when(productoService.estadisticasCache())
+		.thenReturn(new CacheAcotada.Estadisticas(2, 100, 3, 1, 0, 0, 1));
+
+	mockMvc.perform(get("/api/productos/cache/estadisticas"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.aciertos").value(3))
+		.andExpect(jsonPath("$.tasaAciertos").value(0.75));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_estadisticasCache_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(get("/api/productos/cache/estadisticas"))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_paginado_deberiaDevolverPaginaOrdenada() throws Exception {
+	PageRequest pagina = PageRequest.of(1, 20, Sort.by(Sort.Order.desc("precio"), Sort.Order.asc("id")));
+	when(productoService.findAll(pagina))
+		.thenReturn(new ProductoPaginaDTO(List.of(new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null)), 1, 20, true));
+
+	mockMvc.perform(get("/api/productos").param("page", "1").param("size", "20").param("sort", "precio,desc"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.productos.length()").value(1))
+		.andExpect(jsonPath("$.pagina").value(1))
+		.andExpect(jsonPath("$.haySiguiente").value(true));
+
+	verify(productoService, times(1)).findAll(pagina);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_paginado_tamanioExcedido_deberiaDevolver422() throws Exception {
+	mockMvc.perform(get("/api/productos").param("size", "1000"))
+		.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_buscar_deberiaDevolverCoincidencias() throws Exception {
+	when(productoService.buscarPorArticulo("moch", 20))
+		.thenReturn(List.of(new ProductoResponseDTO(1L, "Mochila", "desc", 5, 100, null, null, null)));
+
+	mockMvc.perform(get("/api/productos/buscar").param("articulo", "moch"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.length()").value(1))
+		.andExpect(jsonPath("$[0].articulo").value("Mochila"));
+
+	verify(productoService, times(1)).buscarPorArticulo("moch", 20);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_autocompletar_deberiaDevolverSugerencias() throws Exception {
+	when(productoService.autocompletar("mo", 10))
+		.thenReturn(List.of(new SugerenciaProductoDTO(1L, "MOCH-01", "Mochila")));
+
+	mockMvc.perform(get("/api/productos/autocompletar").param("prefijo", "mo"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$[0].articulo").value("MOCH-01"));
+
+	verify(productoService, times(1)).autocompletar("mo", 10);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_facetas_deberiaDevolverProductosYConteos() throws Exception {
+	when(productoService.filtrarPorFacetas(List.of(1L, 2L), null, null, true, 50))
+		.thenReturn(new FacetasProductoDTO(1, List.of(new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null)),
+			Map.of(1L, 1L, 2L, 0L), Map.of(), List.of(), 1, 0));
+
+	mockMvc.perform(get("/api/productos/facetas").param("categoria", "1", "2").param("enStock", "true"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.total").value(1))
+		.andExpect(jsonPath("$.categorias['1']").value(1))
+		.andExpect(jsonPath("$.productos[0].id").value(1));
+
+	verify(productoService, times(1)).filtrarPorFacetas(List.of(1L, 2L), null, null, true, 50);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_search_deberiaCombinarLosFiltrosEnUnaBusqueda() throws Exception {
+	PageRequest pagina = PageRequest.of(0, 50, Sort.by(Sort.Order.asc("id")));
+	when(productoService.buscar(org.mockito.ArgumentMatchers.any(FiltroProductoDTO.class), org.mockito.ArgumentMatchers.eq(pagina)))
+		.thenReturn(new ProductoPaginaDTO(List.of(new ProductoResponseDTO(1L, "MOCH-01", "desc", 5, 100, null, null, null)), 0, 50, false));
+
+	mockMvc.perform(get("/api/productos/search").param("companiaId", "3").param("articulo", "moch").param("precioMax", "500"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.productos[0].articulo").value("MOCH-01"))
+		.andExpect(jsonPath("$.haySiguiente").value(false));
+
+	verify(productoService, times(1)).buscar(org.mockito.ArgumentMatchers.<FiltroProductoDTO>argThat(filtro -> Long.valueOf(3L).equals(filtro.getCompaniaId())
+		&& filtro.getCategoriaId() == null
+		&& "moch".equals(filtro.getArticulo())
+		&& filtro.getPrecioMin() == null
+		&& Integer.valueOf(500).equals(filtro.getPrecioMax())), org.mockito.ArgumentMatchers.eq(pagina));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_conETagVigente_deberiaDevolver304SinConsultarElServicio() throws Exception {
+	when(productoService.findAll()).thenReturn(List.of());
+	String etag = versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS);
+
+	mockMvc.perform(get("/api/productos").header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isNotModified())
+		.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+	verify(productoService, times(0)).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_getById_inexistenteConETagVigente_deberiaDevolver404() throws Exception {
+	when(productoService.findById(99L))
+		.thenThrow(new ResourceNotFoundException("Producto no encontrado"));
+	String etag = versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS);
+
+	mockMvc.perform(get("/api/productos/{id}", 99L).header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_getById_conETagVigente_deberiaDevolver304() throws Exception {
+	when(productoService.findById(1L)).thenReturn(new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null));
+	String etag = versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS);
+
+	mockMvc.perform(get("/api/productos/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isNotModified())
+		.andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_trasModificarUnaCompania_deberiaInvalidarElETagDeProductos() throws Exception {
+	when(productoService.findAll()).thenReturn(List.of());
+	String etag = versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS);
+	versionCatalogo.onCompaniaModificada(new CompaniaModificadaEvent(1L));
+
+	mockMvc.perform(get("/api/productos").header(HttpHeaders.IF_NONE_MATCH, etag))
+		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS)));
+
+	verify(productoService, times(1)).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_conFields_deberiaDevolverSoloLosCamposPedidos() throws Exception {
+	when(productoService.findAll()).thenReturn(List.of(new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null)));
+
+	mockMvc.perform(get("/api/productos").param("fields", "id,precio"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$[0].id").value(1))
+		.andExpect(jsonPath("$[0].precio").value(100))
+		.andExpect(jsonPath("$[0].articulo").doesNotExist())
+		.andExpect(jsonPath("$[0].categoriaNombre").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_conFieldInexistente_deberiaDevolver422() throws Exception {
+	when(productoService.findAll()).thenReturn(List.of());
+
+	mockMvc.perform(get("/api/productos").param("fields", "id,categoria"))
+		.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_conIds_deberiaDevolverLosProductosPedidos() throws Exception {
+	when(productoService.findAllById(List.of(3L, 1L)))
+		.thenReturn(List.of(new ProductoResponseDTO(3L, "C", "desc", 5, 100, null, null, null),
+			new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null)));
+
+	mockMvc.perform(get("/api/productos").param("ids", "3,1"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.length()").value(2))
+		.andExpect(jsonPath("$[0].id").value(3));
+
+	verify(productoService, times(1)).findAllById(List.of(3L, 1L));
+	verify(productoService, times(0)).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_conIdsYFields_deberiaDevolverSoloLosCamposPedidos() throws Exception {
+	when(productoService.findAllById(List.of(3L)))
+		.thenReturn(List.of(new ProductoResponseDTO(3L, "C", "desc", 5, 100, null, null, null)));
+
+	mockMvc.perform(get("/api/productos").param("ids", "3").param("fields", "id,stock"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$[0].id").value(3))
+		.andExpect(jsonPath("$[0].stock").value(5))
+		.andExpect(jsonPath("$[0].articulo").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_paginadoConFields_deberiaDevolverSoloLosCamposPedidos() throws Exception {
+	PageRequest pagina = PageRequest.of(0, 20, Sort.by(Sort.Order.asc("id")));
+	when(productoService.findAll(pagina))
+		.thenReturn(new ProductoPaginaDTO(List.of(new ProductoResponseDTO(1L, "A", "desc", 5, 100, null, null, null)), 0, 20, true));
+
+	mockMvc.perform(get("/api/productos").param("size", "20").param("fields", "articulo"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.productos[0].articulo").value("A"))
+		.andExpect(jsonPath("$.productos[0].id").doesNotExist())
+		.andExpect(jsonPath("$.haySiguiente").value(true));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_list_paginadoConFieldInexistente_deberiaDevolver422() throws Exception {
+	PageRequest pagina = PageRequest.of(0, 20, Sort.by(Sort.Order.asc("id")));
+	when(productoService.findAll(pagina)).thenReturn(new ProductoPaginaDTO(List.of(), 0, 20, false));
+
+	mockMvc.perform(get("/api/productos").param("size", "20").param("fields", "id,categoria"))
+		.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void POST_importar_csv_admin_deberiaDevolverElResultado() throws Exception {
+	when(importacionProductosService.importarCsv(org.mockito.ArgumentMatchers.any()))
+		.thenReturn(new ImportacionProductosDTO(2, 2, 0, List.of(), 5));
+
+	mockMvc.perform(post("/api/productos/importar")
+		.contentType("text/csv")
+		.content("articulo,precio\nA,100\nB,200\n"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.importados").value(2))
+		.andExpect(jsonPath("$.rechazados").value(0));
+
+	verify(importacionProductosService, times(1)).importarCsv(org.mockito.ArgumentMatchers.any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void POST_importar_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(post("/api/productos/importar")
+		.contentType("application/x-ndjson")
+		.content("{\"articulo\":\"A\"}\n"))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void POST_sincronizar_ndjson_admin_deberiaDevolverLosContadores() throws Exception {
+	when(importacionProductosService.sincronizarNdjson(org.mockito.ArgumentMatchers.any()))
+		.thenReturn(new SincronizacionProductosDTO(3, 1, 1, 1, 0, List.of(), 5));
+
+	mockMvc.perform(post("/api/productos/sincronizar")
+		.contentType("application/x-ndjson")
+		.content("{\"articulo\":\"A\"}\n"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.insertados").value(1))
+		.andExpect(jsonPath("$.actualizados").value(1))
+		.andExpect(jsonPath("$.sinCambios").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_stockBajo_deberiaDevolverLasAlertas() throws Exception {
+	when(productoService.findStockBajo())
+		.thenReturn(List.of(new AlertaStockDTO(1L, "A", 2, 5, java.time.LocalDateTime.now())));
+
+	mockMvc.perform(get("/api/productos/stock-bajo"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$[0].productoId").value(1))
+		.andExpect(jsonPath("$[0].stockMinimo").value(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void PUT_stockMinimo_admin_deberiaDevolver204() throws Exception {
+	mockMvc.perform(put("/api/productos/1/stock-minimo").param("valor", "5"))
+		.andExpect(status().isNoContent());
+
+	verify(productoService, times(1)).actualizarStockMinimo(1L, 5);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_cambios_deberiaAbrirElFlujoConElUltimoIdRecibido() throws Exception {
+	when(cambiosProductos.suscribir("abc-7"))
+		.thenReturn(new org.springframework.web.servlet.mvc.method.annotation.SseEmitter());
+
+	mockMvc.perform(get("/api/productos/cambios")
+		.accept(MediaType.TEXT_EVENT_STREAM)
+		.header("Last-Event-ID", "abc-7"))
+		.andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.request().asyncStarted());
+
+	verify(cambiosProductos, times(1)).suscribir("abc-7");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_valorizacion_admin_deberiaDevolverLosTotalesDeLaCategoria() throws Exception {
+	when(productoService.valorizacion(3L, null))
+		.thenReturn(new com.store.api.dto.producto.ValorizacionInventarioDTO(2, 10, 5000L, 8000L));
+
+	mockMvc.perform(get("/api/productos/valorizacion").param("categoriaId", "3"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.stock").value(10))
+		.andExpect(jsonPath("$.valorVenta").value(8000));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_valorizacion_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(get("/api/productos/valorizacion"))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_sinVentas_admin_deberiaDevolverElUltimoResultado() throws Exception {
+	when(stockInmovilizado.obtener())
+		.thenReturn(new com.store.api.dto.producto.StockInmovilizadoDTO(90, java.time.LocalDateTime.now(), 4, 400L,
+			List.of(new com.store.api.dto.producto.ProductoSinVentasDTO(1L, "A", 4, 400L, null))));
+
+	mockMvc.perform(get("/api/productos/sin-ventas"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.dias").value(90))
+		.andExpect(jsonPath("$.productos[0].productoId").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_sinVentas_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(get("/api/productos/sin-ventas"))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_reposicion_admin_deberiaDevolverLosProductosAReponer() throws Exception {
+	when(pronosticoDemanda.reposicion())
+		.thenReturn(new com.store.api.dto.producto.ReposicionDTO(java.time.LocalDateTime.now(), 90,
+			List.of(new com.store.api.dto.producto.PronosticoProductoDTO(1L, 2, 1.5, 0.5, 13, 30))));
+
+	mockMvc.perform(get("/api/productos/reposicion"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.productos[0].productoId").value(1))
+		.andExpect(jsonPath("$.productos[0].cantidadSugerida").value(30));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void GET_pronostico_productoInexistente_deberiaDevolver404() throws Exception {
+	when(pronosticoDemanda.deProducto(99L))
+		.thenThrow(new com.store.api.exception.ResourceNotFoundException());
+
+	mockMvc.perform(get("/api/productos/99/pronostico"))
+		.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_pronostico_user_deberiaDevolver403() throws Exception {
+	mockMvc.perform(get("/api/productos/1/pronostico"))
+		.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_texto_deberiaDevolverLaPaginaConElTotal() throws Exception {
+	when(productoService.buscarTexto("mochila negra", 1, 10))
+		.thenReturn(new com.store.api.dto.producto.BusquedaTextoDTO(List.of(), 1, 10, 12));
+
+	mockMvc.perform(get("/api/productos/texto")
+		.param("q", "mochila negra")
+		.param("page", "1")
+		.param("size", "10"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.pagina").value(1))
+		.andExpect(jsonPath("$.total").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void GET_aproximado_deberiaUsarElLimitePorDefecto() throws Exception {
+	when(productoService.buscarAproximado("mochilla", ProductoService.LIMITE_BUSQUEDA_POR_DEFECTO))
+		.thenReturn(List.of());
+
+	mockMvc.perform(get("/api/productos/aproximado").param("articulo", "mochilla"))
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$").isArray());
+
+	verify(productoService, times(1)).buscarAproximado("mochilla", ProductoService.LIMITE_BUSQUEDA_POR_DEFECTO);
+    }
 }
@@ -0,0 +1,156 @@
+package com.store.api.controller.testUnitarios;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.store.api.config.SecurityConfig;
+import com.store.api.controller.ReporteVentaController;
+import com.store.api.dto.reporte.ComparacionVentasDTO;
+import com.store.api.dto.reporte.DistribucionDTO;
+import com.store.api.dto.reporte.DistribucionVentasDTO;
+import com.store.api.dto.reporte.MapaCalorDTO;
+import com.store.api.dto.reporte.PeriodoProductosDistintosDTO;
+import com.store.api.dto.reporte.ProductosDistintosDTO;
+import com.store.api.service.ComparacionVentaService;
+import com.store.api.service.CustomUserDetailsService;
+import com.store.api.service.DistribucionVentaService;
+import com.store.api.service.MapaCalorVentaService;
+import com.store.api.service.ProductosDistintosService;
+
+@WebMvcTest(ReporteVentaController.class)
+@Import(SecurityConfig.class)
+public class ReporteVentaControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private DistribucionVentaService distribucionVentaService;
+
+	@MockitoBean
+	private ComparacionVentaService comparacionVentaService;
+
+	@MockitoBean
+	private MapaCalorVentaService mapaCalorVentaService;
+
+	@MockitoBean
+	private ProductosDistintosService productosDistintosService;
+
+	@MockitoBean
+	private CustomUserDetailsService customUserDetailsService;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void GET_distribucion_admin_deberiaRetornarPercentiles() throws Exception {
+		LocalDate desde = LocalDate.of(2026, 3, 1);
+		LocalDate hasta = LocalDate.of(2026, 3, 31);
+		DistribucionDTO cantidad = new DistribucionDTO(10, 1, 10, 2.5, Map.of("p90", 4L));
+		DistribucionDTO total = new DistribucionDTO(10, 100, 1000, 250.0, Map.of("p90", 400L));
+		when(distribucionVentaService.distribucion(eq(desde), eq(hasta), any()))
+				.thenReturn(new DistribucionVentasDTO(desde, hasta, cantidad, total));
+
+		mockMvc.perform(get("/api/ventas/reportes/distribucion")
+						.param("desde", "2026-03-01")
+						.param("hasta", "2026-03-31")
+						.param("percentiles", "90"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.cantidad.percentiles.p90").value(4))
+				.andExpect(jsonPath("$.total.percentiles.p90").value(400));
+
+		verify(distribucionVentaService).distribucion(desde, hasta, List.of(90.0));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void GET_distribucion_user_deberiaRetornar403() throws Exception {
+		mockMvc.perform(get("/api/ventas/reportes/distribucion")
+						.param("desde", "2026-03-01")
+						.param("hasta", "2026-03-31"))
+				.andExpect(status().isForbidden());
+
+		verify(distribucionVentaService, never()).distribucion(any(), any(), any());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void GET_comparacion_sinReferencia_deberiaDelegarConReferenciaNula() throws Exception {
+		LocalDate desde = LocalDate.of(2026, 3, 2);
+		LocalDate hasta = LocalDate.of(2026, 3, 8);
+		when(comparacionVentaService.comparar(desde, hasta, null, null))
+				.thenReturn(new ComparacionVentasDTO(desde, hasta, desde.minusWeeks(52), hasta.minusWeeks(52),
+						12, 10, 1200, 1000, List.of(), List.of()));
+
+		mockMvc.perform(get("/api/ventas/reportes/comparacion")
+						.param("desde", "2026-03-02")
+						.param("hasta", "2026-03-08"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.deltaUnidades").value(2))
+				.andExpect(jsonPath("$.deltaImporte").value(200))
+				.andExpect(jsonPath("$.desdeReferencia").value("2025-03-03"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void GET_mapaCalor_sinRango_deberiaDevolverElMesActual() throws Exception {
+		long[][] unidades = new long[7][24];
+		unidades[0][9] = 5;
+		when(mapaCalorVentaService.mapaCalorMesActual())
+				.thenReturn(new MapaCalorDTO(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), unidades, new long[7][24]));
+
+		mockMvc.perform(get("/api/ventas/reportes/mapa-calor"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.unidades.length()").value(7))
+				.andExpect(jsonPath("$.unidades[0][9]").value(5));
+
+		verify(mapaCalorVentaService, never()).mapaCalor(any(), any());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void GET_mapaCalor_conRango_deberiaConsultarElRango() throws Exception {
+		LocalDate desde = LocalDate.of(2026, 1, 1);
+		LocalDate hasta = LocalDate.of(2026, 1, 31);
+		when(mapaCalorVentaService.mapaCalor(desde, hasta))
+				.thenReturn(new MapaCalorDTO(desde, hasta, new long[7][24], new long[7][24]));
+
+		mockMvc.perform(get("/api/ventas/reportes/mapa-calor")
+						.param("desde", "2026-01-01")
+						.param("hasta", "2026-01-31"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.desde").value("2026-01-01"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void GET_productosDistintos_sinAgrupacion_deberiaAgruparPorDia() throws Exception {
+		LocalDate dia = LocalDate.of(2026, 3, 2);
+		when(productosDistintosService.productosDistintos(dia, dia, "dia"))
+				.thenReturn(new ProductosDistintosDTO(dia, dia, "dia", 42,
+						List.of(new PeriodoProductosDistintosDTO(dia, dia, 42))));
+
+		mockMvc.perform(get("/api/ventas/reportes/productos-distintos")
+						.param("desde", "2026-03-02")
+						.param("hasta", "2026-03-02"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.productosDistintos").value(42))
+				.andExpect(jsonPath("$.periodos[0].productosDistintos").value(42));
+	}
+}
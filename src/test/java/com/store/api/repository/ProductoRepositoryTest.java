@@ -2,14 +2,24 @@ package com.store.api.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.store.api.dto.producto.FiltroProductoDTO;
 import com.store.api.entity.Producto;
 import com.store.api.entity.Categoria;
 import com.store.api.entity.Compania;
+import com.store.api.entity.Venta;
+import com.store.api.repository.projection.ProductoSinVentas;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 /**
  * Suite de tests para ProductoRepository.
@@ -24,6 +34,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
  * - Eliminación de productos
  * - Búsqueda de productos por categoría
  * - Validación de valores límite (stock cero, precios negativos)
+ * - Búsquedas paginadas con Slice
+ * - Búsqueda combinada con filtros opcionales
+ * - Unicidad del artículo
+ * - Productos con stock bajo su umbral de reposición
+ * - Productos con stock sin ventas recientes, por lotes
+ * - Descuento atómico de stock condicionado a que alcance
  * 
  */
 @DataJpaTest
@@ -332,4 +348,164 @@ class ProductoRepositoryTest {
 
         assertEquals(-30, guardado.getPrecio());
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica que la búsqueda paginada devuelva la página ordenada e indique si hay una siguiente.
+     */
+    @Test
+    void debeObtenerPaginaDeProductosPorPrecioSinContarElTotal() {
+        for (int precio = 100; precio <= 500; precio += 100) {
+            Producto producto = new Producto();
+            producto.setArticulo("PAG-" + precio);
+            producto.setPrecio(precio);
+            entityManager.persist(producto);
+        }
+
+        Slice<Producto> primera = productoRepository.findByPrecioBetween(100, 400,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "precio")));
+        Slice<Producto> segunda = productoRepository.findByPrecioBetween(100, 400,
+                PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "precio")));
+
+        assertEquals(3, primera.getNumberOfElements());
+        assertEquals(400, primera.getContent().get(0).getPrecio());
+        assertTrue(primera.hasNext());
+        assertEquals(1, segunda.getNumberOfElements());
+        assertEquals(100, segunda.getContent().get(0).getPrecio());
+        assertFalse(segunda.hasNext());
+    }
+
+    /**
+     * Verifica que la búsqueda combinada aplique solo los filtros presentes y pagine el resultado.
+     */
+    @Test
+    void debeBuscarCombinandoCompaniaArticuloYRangoDePrecios() {
+        Compania comp = new Compania();
+        comp.setNombre("Filtros");
+        entityManager.persist(comp);
+
+        for (int precio = 100; precio <= 500; precio += 100) {
+            Producto producto = new Producto();
+            producto.setArticulo("Mochila_" + precio);
+            producto.setPrecio(precio);
+            producto.setCompania(comp);
+            entityManager.persist(producto);
+        }
+        Producto otraCompania = new Producto();
+        otraCompania.setArticulo("Mochila_300_B");
+        otraCompania.setPrecio(300);
+        entityManager.persist(otraCompania);
+
+        FiltroProductoDTO filtro = new FiltroProductoDTO(comp.getId(), null, "mochila_", null, 200, 400);
+        Slice<Producto> primera = productoRepository.buscar(filtro,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "precio")));
+        Slice<Producto> segunda = productoRepository.buscar(filtro,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "precio")));
+
+        assertEquals(2, primera.getNumberOfElements());
+        assertEquals(400, primera.getContent().get(0).getPrecio());
+        assertTrue(primera.hasNext());
+        assertEquals(1, segunda.getNumberOfElements());
+        assertEquals(200, segunda.getContent().get(0).getPrecio());
+        assertFalse(segunda.hasNext());
+
+        Slice<Producto> sinCoincidencias = productoRepository.buscar(
+                new FiltroProductoDTO(null, null, "mochila%", null, null, null), PageRequest.of(0, 10));
+        assertFalse(sinCoincidencias.hasContent());
+    }
+
+    /**
+     * Verifica que el índice único de artículo rechace un segundo producto con el
+     * mismo artículo y que la verificación de duplicados excluya al propio producto.
+     */
+    @Test
+    void debeRechazarArticuloDuplicado() {
+        Producto mochila = new Producto();
+        mochila.setArticulo("MOCH-UNICA");
+        entityManager.persistAndFlush(mochila);
+
+        assertTrue(productoRepository.existsByArticuloAndIdNot("MOCH-UNICA", mochila.getId() + 1));
+        assertFalse(productoRepository.existsByArticuloAndIdNot("MOCH-UNICA", mochila.getId()));
+
+        Producto copia = new Producto();
+        copia.setArticulo("MOCH-UNICA");
+        assertThrows(DataIntegrityViolationException.class, () -> productoRepository.saveAndFlush(copia));
+    }
+
+    /**
+     * Verifica que solo se encuentren los productos con umbral cuyo stock no lo supera.
+     */
+    @Test
+    void debeEncontrarProductosConStockBajo() {
+        int[][] datos = {{2, 5}, {5, 5}, {6, 5}};
+        for (int[] dato : datos) {
+            Producto producto = new Producto();
+            producto.setArticulo("UMBRAL-" + dato[0]);
+            producto.setStock(dato[0]);
+            producto.setStockMinimo(dato[1]);
+            entityManager.persist(producto);
+        }
+        Producto sinUmbral = new Producto();
+        sinUmbral.setArticulo("SIN-UMBRAL");
+        entityManager.persist(sinUmbral);
+
+        List<Producto> bajos = productoRepository.findConStockBajo();
+
+        assertEquals(2, bajos.size());
+        assertTrue(bajos.stream().allMatch(p -> p.getStock() <= p.getStockMinimo()));
+    }
+
+    /**
+     * Verifica que se encuentren por lotes los productos con stock sin ventas desde una
+     * fecha, con la fecha de su última venta.
+     */
+    @Test
+    void debeEncontrarProductosConStockSinVentasPorLotes() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Producto vieja = persistirConVenta("VENTA-VIEJA", 3, ahora.minusDays(100));
+        persistirConVenta("VENTA-RECIENTE", 2, ahora.minusDays(5));
+        Producto nunca = persistirConVenta("SIN-VENTAS", 4, null);
+        persistirConVenta("SIN-STOCK", 0, null);
+
+        List<ProductoSinVentas> primerLote = productoRepository.findSinVentasDesde(
+                ahora.minusDays(30), 0L, PageRequest.of(0, 1));
+        List<ProductoSinVentas> segundoLote = productoRepository.findSinVentasDesde(
+                ahora.minusDays(30), primerLote.get(0).getId(), PageRequest.of(0, 1));
+
+        assertEquals(1, primerLote.size());
+        assertEquals(vieja.getId(), primerLote.get(0).getId());
+        assertNotNull(primerLote.get(0).getUltimaVenta());
+        assertEquals(1, segundoLote.size());
+        assertEquals(nunca.getId(), segundoLote.get(0).getId());
+        assertNull(segundoLote.get(0).getUltimaVenta());
+        assertTrue(productoRepository.findSinVentasDesde(
+                ahora.minusDays(30), nunca.getId(), PageRequest.of(0, 1)).isEmpty());
+    }
+
+    /**
+     * Verifica que el descuento de stock se aplique solo si alcanza.
+     */
+    @Test
+    void debeDescontarStockSoloSiAlcanza() {
+        Producto producto = new Producto();
+        producto.setArticulo("DESCUENTO");
+        producto.setStock(3);
+        entityManager.persist(producto);
+
+        assertEquals(1, productoRepository.descontarStock(producto.getId(), 2));
+        assertEquals(0, productoRepository.descontarStock(producto.getId(), 2));
+        assertEquals(1, productoRepository.findById(producto.getId()).orElseThrow().getStock());
+    }
+
+    private Producto persistirConVenta(String articulo, int stock, LocalDateTime fechaVenta) {
+        Producto producto = new Producto();
+        producto.setArticulo(articulo);
+        producto.setStock(stock);
+        entityManager.persist(producto);
+        if (fechaVenta != null) {
+            Venta venta = new Venta(null, producto, 1);
+            venta.setFecha(fechaVenta);
+            entityManager.persist(venta);
+        }
+        return producto;
+    }
+}
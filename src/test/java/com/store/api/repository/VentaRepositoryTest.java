@@ -2,16 +2,21 @@ package com.store.api.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import com.store.api.entity.Producto;
 import com.store.api.entity.Venta;
+import com.store.api.repository.projection.VentaDiaCantidadPrecio;
+import com.store.api.repository.projection.VentaDiaProductoUnidades;
 
 /**
  * Suite de tests para VentaRepository.
@@ -28,6 +33,7 @@ import com.store.api.entity.Venta;
  * - Validación de restricciones (e.g., venta sin producto)
  * - Cálculo de precios unitarios y totales
  * - Búsqueda de ventas por rangos de fechas
+ * - Unidades vendidas agrupadas por día y producto
  * 
  */
 @DataJpaTest
@@ -337,4 +343,83 @@ void debeEncontrarVentasPosterioresOIgualesALaFecha() {
         assertEquals(v1.getId(), resultado.get(0).getId());
     }
 
+    @Test
+    void debePaginarHistorialDeProductoPorCursor() {
+        Producto otro = new Producto();
+        otro.setArticulo("Goma");
+        otro.setStock(10);
+        entityManager.persist(otro);
+
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 10, 0);
+        Venta primera = persistirVenta(producto, 1, base);
+        Venta segunda = persistirVenta(producto, 1, base.plusHours(1));
+        Venta tercera = persistirVenta(producto, 1, base.plusHours(1));
+        persistirVenta(otro, 1, base.plusHours(2));
+        entityManager.flush();
+
+        LocalDateTime desde = base.minusDays(1);
+        LocalDateTime hasta = base.plusDays(1);
+        List<Venta> pagina = ventaRepository.findHistorialDeProducto(
+                producto.getId(), desde, hasta, PageRequest.of(0, 2));
+
+        assertEquals(List.of(tercera.getId(), segunda.getId()),
+                pagina.stream().map(Venta::getId).toList());
+
+        Venta ultima = pagina.get(1);
+        List<Venta> siguiente = ventaRepository.findHistorialDeProductoDespuesDe(
+                producto.getId(), desde, hasta, ultima.getFecha(), ultima.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(primera.getId()), siguiente.stream().map(Venta::getId).toList());
+    }
+
+    @Test
+    void debeAgruparVentasPorDiaCantidadYPrecio() {
+        LocalDateTime base = LocalDateTime.of(2025, 7, 1, 10, 0);
+        persistirVenta(producto, 2, base);
+        persistirVenta(producto, 2, base.plusHours(3));
+        persistirVenta(producto, 5, base.plusDays(1));
+        entityManager.flush();
+
+        List<VentaDiaCantidadPrecio> filas = ventaRepository.resumirPorDiaCantidadYPrecio(
+                base.minusDays(1), base.plusDays(2));
+
+        assertEquals(2, filas.size());
+        VentaDiaCantidadPrecio primerDia = filas.stream()
+                .filter(f -> f.getFecha().equals(LocalDate.of(2025, 7, 1)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, primerDia.getCantidad());
+        assertEquals(200, primerDia.getPrecio());
+        assertEquals(2L, primerDia.getVentas());
+    }
+
+    @Test
+    void debeSumarUnidadesPorDiaYProducto() {
+        Producto otro = new Producto();
+        otro.setArticulo("Goma");
+        entityManager.persist(otro);
+        LocalDateTime base = LocalDateTime.of(2025, 7, 1, 10, 0);
+        persistirVenta(producto, 2, base);
+        persistirVenta(producto, 3, base.plusHours(3));
+        persistirVenta(otro, 1, base);
+        persistirVenta(producto, 4, base.plusDays(5));
+        entityManager.flush();
+
+        List<VentaDiaProductoUnidades> filas = ventaRepository.resumirUnidadesPorDiaYProducto(
+                base.minusDays(1), base.plusDays(2));
+
+        assertEquals(2, filas.size());
+        VentaDiaProductoUnidades lapicera = filas.stream()
+                .filter(f -> f.getProductoId().equals(producto.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(LocalDate.of(2025, 7, 1), lapicera.getFecha());
+        assertEquals(5L, lapicera.getUnidades());
+    }
+
+    private Venta persistirVenta(Producto p, int cantidad, LocalDateTime fecha) {
+        Venta venta = new Venta(null, p, cantidad);
+        venta.setFecha(fecha);
+        return entityManager.persist(venta);
+    }
 }
@@ -0,0 +1,159 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.store.api.dto.producto.AlertaStockDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.StockBajoEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Test unitario para AlertasStock.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AlertasStockTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AlertasStock alertasStock;
+
+    @BeforeEach
+    public void setUp() {
+        alertasStock = new AlertasStock(productoRepository, eventPublisher, 20);
+    }
+
+    @Test
+    void inicializar_DeberiaCargarLosProductosConStockBajo() {
+        when(productoRepository.findConStockBajo()).thenReturn(List.of(producto(1L, 2, 5)));
+
+        alertasStock.inicializar();
+        List<AlertaStockDTO> alertas = alertasStock.listar();
+
+        assertEquals(1, alertas.size());
+        assertEquals(1L, alertas.get(0).getProductoId());
+        assertEquals(2, alertas.get(0).getStock());
+        assertEquals(5, alertas.get(0).getStockMinimo());
+        verify(productoRepository, times(1)).findConStockBajo();
+    }
+
+    @Test
+    void onProductoModificado_DeberiaAlertarUnaSolaVezMientrasElStockSigaBajo() {
+        when(productoRepository.findConStockBajo()).thenReturn(List.of());
+        alertasStock.inicializar();
+
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 10, 10)));
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 9, 10)));
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 8, 10)));
+
+        verify(eventPublisher, times(1)).publishEvent(any(StockBajoEvent.class));
+        assertEquals(8, alertasStock.listar().get(0).getStock());
+    }
+
+    @Test
+    void onProductoModificado_DeberiaSalirDeLaAlertaSoloAlSuperarElMargen() {
+        when(productoRepository.findConStockBajo()).thenReturn(List.of(producto(1L, 10, 10)));
+        alertasStock.inicializar();
+
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 12, 10)));
+        assertEquals(1, alertasStock.listar().size());
+
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 10, 10)));
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 13, 10)));
+        assertTrue(alertasStock.listar().isEmpty());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onProductoModificado_DeberiaQuitarLaAlertaSiSeEliminaElProductoOSuUmbral() {
+        when(productoRepository.findConStockBajo()).thenReturn(List.of(producto(1L, 0, 5), producto(2L, 1, 5)));
+        alertasStock.inicializar();
+
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, null));
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(2L, producto(2L, 1, null)));
+
+        assertTrue(alertasStock.listar().isEmpty());
+    }
+
+    @Test
+    void onProductoModificado_NoDeberiaAlertarProductosSinUmbral() {
+        when(productoRepository.findConStockBajo()).thenReturn(List.of());
+        alertasStock.inicializar();
+
+        alertasStock.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 0, null)));
+
+        assertTrue(alertasStock.listar().isEmpty());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onProductosImportados_DeberiaRecargarConservandoElInicioDeLasAlertasVigentes() {
+        when(productoRepository.findConStockBajo())
+                .thenReturn(List.of(producto(1L, 2, 5)))
+                .thenReturn(List.of(producto(1L, 1, 5), producto(2L, 0, 3)));
+        alertasStock.inicializar();
+        AlertaStockDTO anterior = alertasStock.listar().get(0);
+
+        alertasStock.onProductosImportados(new ProductosImportadosEvent(10));
+        List<AlertaStockDTO> alertas = alertasStock.listar();
+
+        assertEquals(2, alertas.size());
+        assertEquals(1, alertas.get(0).getStock());
+        assertEquals(anterior.getDesde(), alertas.get(0).getDesde());
+    }
+
+    @Test
+    void onProductosImportados_DeberiaConservarLosCambiosDeStockOcurridosDuranteLaRecarga() {
+        when(productoRepository.findConStockBajo())
+                .thenReturn(List.of())
+                .thenAnswer(invocation -> {
+                    // Una venta confirmada mientras corre la consulta, que no la ve.
+                    alertasStock.onProductoModificado(new ProductoModificadoEvent(3L, producto(3L, 1, 5)));
+                    return List.of(producto(1L, 0, 5));
+                });
+        alertasStock.inicializar();
+
+        alertasStock.onProductosImportados(new ProductosImportadosEvent(10));
+        List<AlertaStockDTO> alertas = alertasStock.listar();
+
+        assertEquals(2, alertas.size());
+        assertEquals(3L, alertas.get(1).getProductoId());
+        assertEquals(1, alertas.get(1).getStock());
+        verify(productoRepository, times(2)).findConStockBajo();
+    }
+
+    @Test
+    void margen_DeberiaSerAlMenosUnaUnidad() {
+        assertEquals(1, alertasStock.margen(0));
+        assertEquals(1, alertasStock.margen(3));
+        assertEquals(20, alertasStock.margen(100));
+    }
+
+    private static Producto producto(Long id, int stock, Integer stockMinimo) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo("ART-" + id);
+        producto.setStock(stock);
+        producto.setStockMinimo(stockMinimo);
+        return producto;
+    }
+}
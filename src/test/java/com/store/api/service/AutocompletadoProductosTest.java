@@ -0,0 +1,107 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.util.IndicePrefijos;
+
+/**
+ * Test unitario para AutocompletadoProductos.
+ * 
+ * Verifica el orden de las sugerencias y que las escrituras se apliquen a los índices
+ * sin volver a consultar la base de datos.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AutocompletadoProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private AutocompletadoProductos autocompletado;
+
+    @BeforeEach
+    public void setUp() {
+        autocompletado = new AutocompletadoProductos(new CatalogoProductos(productoRepository));
+    }
+
+    @Test
+    void sugerir_DeberiaPriorizarArticuloSobreDescripcion() {
+        when(productoRepository.findAll()).thenReturn(List.of(
+                producto(1L, "BILL-01", "Billetera de cuero"),
+                producto(2L, "CUE-10", "Cinturón"),
+                producto(3L, "CART-05", "Cartera de Cuero")));
+
+        assertEquals(List.of(2L, 1L, 3L), autocompletado.sugerir("cue", 10));
+        assertEquals(List.of(1L, 3L), autocompletado.sugerir("de cu", 10));
+        assertEquals(List.of(2L), autocompletado.sugerir("cinturon", 10));
+    }
+
+    @Test
+    void onProductoModificado_DeberiaActualizarSinConsultar() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, "MOCH-01", "Mochila")));
+        autocompletado.sugerir("moch", 10);
+
+        autocompletado.onProductoModificado(new ProductoModificadoEvent(2L, producto(2L, "MOCH-02", "Mochila escolar")));
+        autocompletado.onProductoModificado(new ProductoModificadoEvent(1L, null));
+
+        assertEquals(List.of(2L), autocompletado.sugerir("moch", 10));
+        assertEquals(List.of(2L), autocompletado.sugerir("esc", 10));
+        verify(productoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onProductoModificado_ConSoloCambioDeStockNoDeberiaReemplazarLosIndices() {
+        IndicePrefijos articulos = spy(new IndicePrefijos());
+        IndicePrefijos descripciones = spy(new IndicePrefijos());
+        autocompletado = new AutocompletadoProductos(new CatalogoProductos(productoRepository), articulos, descripciones);
+        Producto mochila = producto(1L, "MOCH-01", "Mochila");
+        when(productoRepository.findAll()).thenReturn(List.of(mochila));
+        autocompletado.sugerir("moch", 10);
+
+        Producto vendida = producto(1L, "MOCH-01", "Mochila");
+        vendida.setStock(3);
+        autocompletado.onProductoModificado(new ProductoModificadoEvent(1L, vendida));
+
+        verify(articulos, never()).agregar(anyLong(), anyCollection());
+        verify(descripciones, never()).agregar(anyLong(), anyCollection());
+        assertEquals(List.of(1L), autocompletado.sugerir("moch", 10));
+
+        autocompletado.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, "MOCH-01", "Mochila escolar")));
+
+        verify(articulos, never()).agregar(anyLong(), anyCollection());
+        verify(descripciones).agregar(anyLong(), anyCollection());
+        assertEquals(List.of(1L), autocompletado.sugerir("esc", 10));
+    }
+
+    @Test
+    void claves_DeberiaIncluirElTextoCompletoYCadaPalabra() {
+        assertEquals(List.of("Cartera de cuero", "de cuero", "cuero"), AutocompletadoProductos.claves("Cartera de cuero"));
+        assertEquals(List.of("ART-001", "001"), AutocompletadoProductos.claves("ART-001"));
+        assertEquals(List.of(), AutocompletadoProductos.claves(null));
+    }
+
+    private static Producto producto(Long id, String articulo, String descripcion) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo(articulo);
+        producto.setDescripcion(descripcion);
+        return producto;
+    }
+}
@@ -0,0 +1,161 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.store.api.dto.producto.CambioProductoDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.exception.ServiceUnavailableException;
+
+/**
+ * Test unitario para CambiosProductos.
+ */
+public class CambiosProductosTest {
+
+    private CambiosProductos cambiosProductos;
+
+    /** Tareas de envío encoladas; los tests deciden cuándo ejecutarlas. */
+    private final List<Runnable> envios = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        cambiosProductos = new CambiosProductos(3, 60_000, 2, envios::add);
+    }
+
+    @Test
+    void enviarPendientes_DeberiaDejarUnSoloCambioPorProducto() {
+        modificar(1L, 10, 100);
+        modificar(1L, 9, 100);
+        modificar(1L, 8, 120);
+        modificar(2L, 5, 50);
+
+        cambiosProductos.enviarPendientes();
+        List<CambioProductoDTO> cambios = cambiosProductos.cambiosDesde(cambiosProductos.idEvento(0)).orElseThrow();
+
+        assertEquals(2, cambios.size());
+        assertEquals(1L, cambios.get(0).getId());
+        assertEquals(8, cambios.get(0).getStock());
+        assertEquals(120, cambios.get(0).getPrecio());
+        assertEquals(3, cambios.get(0).getVersion());
+        assertEquals(2L, cambios.get(1).getId());
+    }
+
+    @Test
+    void cambiosDesde_DeberiaDevolverSoloLoPosteriorAlUltimoIdYLoYaEnviado() {
+        modificar(1L, 10, 100);
+        modificar(2L, 5, 50);
+        cambiosProductos.enviarPendientes();
+        modificar(3L, 1, 10);
+
+        List<CambioProductoDTO> cambios = cambiosProductos.cambiosDesde(cambiosProductos.idEvento(1)).orElseThrow();
+
+        assertEquals(1, cambios.size());
+        assertEquals(2L, cambios.get(0).getId());
+    }
+
+    @Test
+    void cambiosDesde_DeberiaPedirRecargaSiElIdNoEsDeEstaEjecucion() {
+        modificar(1L, 10, 100);
+        cambiosProductos.enviarPendientes();
+
+        assertEquals(Optional.empty(), cambiosProductos.cambiosDesde("otro-0"));
+        assertEquals(Optional.empty(), cambiosProductos.cambiosDesde("sin-numero-x"));
+        assertEquals(Optional.empty(), cambiosProductos.cambiosDesde(cambiosProductos.idEvento(5)));
+    }
+
+    @Test
+    void cambiosDesde_DeberiaPedirRecargaSiElIdSalioDelHistorial() {
+        for (long id = 1; id <= 4; id++) {
+            modificar(id, 1, 1);
+        }
+        cambiosProductos.enviarPendientes();
+
+        assertEquals(Optional.empty(), cambiosProductos.cambiosDesde(cambiosProductos.idEvento(0)));
+        assertEquals(3, cambiosProductos.cambiosDesde(cambiosProductos.idEvento(1)).orElseThrow().size());
+    }
+
+    @Test
+    void onProductosImportados_DeberiaDescartarElHistorial() {
+        modificar(1L, 10, 100);
+        cambiosProductos.enviarPendientes();
+
+        cambiosProductos.onProductosImportados(new ProductosImportadosEvent(50));
+        cambiosProductos.enviarPendientes();
+
+        assertEquals(Optional.empty(), cambiosProductos.cambiosDesde(cambiosProductos.idEvento(1)));
+        assertEquals(List.of(), cambiosProductos.cambiosDesde(cambiosProductos.idEvento(2)).orElseThrow());
+    }
+
+    @Test
+    void onProductoModificado_DeberiaInformarLaEliminacion() {
+        cambiosProductos.onProductoModificado(new ProductoModificadoEvent(7L, null));
+        cambiosProductos.enviarPendientes();
+
+        CambioProductoDTO cambio = cambiosProductos.cambiosDesde(cambiosProductos.idEvento(0)).orElseThrow().get(0);
+        assertTrue(cambio.isEliminado());
+        assertEquals(7L, cambio.getId());
+    }
+
+    @Test
+    void suscribir_DeberiaRegistrarElSuscriptorEnElSiguienteEnvio() {
+        cambiosProductos.suscribir(null);
+        assertEquals(0, cambiosProductos.suscriptores());
+
+        cambiosProductos.enviarPendientes();
+
+        assertEquals(1, cambiosProductos.suscriptores());
+    }
+
+    @Test
+    void suscribir_DeberiaRechazarSuscriptoresPorEncimaDelMaximo() {
+        cambiosProductos.suscribir(null);
+        cambiosProductos.enviarPendientes();
+        cambiosProductos.suscribir(null);
+
+        assertThrows(ServiceUnavailableException.class, () -> cambiosProductos.suscribir(null));
+    }
+
+    @Test
+    void enviarPendientes_DeberiaEncolarLosEnviosSinEsperarlosConUnaTareaPorSuscriptor() {
+        cambiosProductos.suscribir(null);
+        cambiosProductos.suscribir(null);
+        modificar(1L, 10, 100);
+
+        cambiosProductos.enviarPendientes();
+        modificar(1L, 9, 100);
+        cambiosProductos.enviarPendientes();
+
+        assertEquals(2, envios.size());
+        envios.forEach(Runnable::run);
+        modificar(1L, 8, 100);
+        cambiosProductos.enviarPendientes();
+        assertEquals(4, envios.size());
+    }
+
+    @Test
+    void enviarPendientes_DeberiaDesconectarAlSuscriptorQueNoRecibeLoEncolado() {
+        cambiosProductos.suscribir(null);
+        for (int i = 0; i <= CambiosProductos.ENVIOS_ENCOLADOS_MAXIMO; i++) {
+            modificar(1L, i, 100);
+            cambiosProductos.enviarPendientes();
+        }
+
+        assertEquals(0, cambiosProductos.suscriptores());
+    }
+
+    private void modificar(Long id, int stock, int precio) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setStock(stock);
+        producto.setPrecio(precio);
+        cambiosProductos.onProductoModificado(new ProductoModificadoEvent(id, producto));
+    }
+}
@@ -0,0 +1,83 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Test unitario para CatalogoProductos.
+ * 
+ * Verifica que las escrituras se apliquen sobre una instantánea nueva sin volver a
+ * consultar la base de datos y que las instantáneas ya entregadas no cambien.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CatalogoProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private CatalogoProductos catalogoProductos;
+
+    @Test
+    void onProductoModificado_DeberiaAgregarReemplazarYQuitarSinConsultar() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(3L, 10), producto(1L, 5)));
+        List<ProductoResponseDTO> inicial = catalogoProductos.listar();
+
+        catalogoProductos.onProductoModificado(new ProductoModificadoEvent(2L, producto(2L, 7)));
+        catalogoProductos.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 4)));
+        catalogoProductos.onProductoModificado(new ProductoModificadoEvent(3L, null));
+        List<ProductoResponseDTO> actual = catalogoProductos.listar();
+
+        assertEquals(List.of(1L, 3L), inicial.stream().map(ProductoResponseDTO::getId).toList());
+        assertEquals(5, inicial.get(0).getStock());
+        assertEquals(List.of(1L, 2L), actual.stream().map(ProductoResponseDTO::getId).toList());
+        assertEquals(4, actual.get(0).getStock());
+        assertEquals(7, catalogoProductos.buscar(2L).orElseThrow().getStock());
+        assertTrue(catalogoProductos.buscar(3L).isEmpty());
+        verify(productoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onCategoriaModificada_DeberiaRecargarEnLaSiguienteLectura() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, 5)));
+
+        catalogoProductos.listar();
+        catalogoProductos.onCategoriaModificada(new CategoriaModificadaEvent(1L));
+        catalogoProductos.listar();
+
+        verify(productoRepository, times(2)).findAll();
+    }
+
+    @Test
+    void listar_DeberiaDevolverUnaListaInmodificable() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, 5)));
+
+        List<ProductoResponseDTO> productos = catalogoProductos.listar();
+
+        assertThrows(UnsupportedOperationException.class, () -> productos.set(0, null));
+    }
+
+    private static Producto producto(Long id, int stock) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo("Articulo " + id);
+        producto.setStock(stock);
+        return producto;
+    }
+}
@@ -11,6 +11,8 @@ import com.store.api.dto.categoria.CategoriaCreateDTO;
 import com.store.api.dto.categoria.CategoriaResponseDTO;
 import com.store.api.dto.categoria.CategoriaUpdateDTO;
 import com.store.api.entity.Categoria;
+import com.store.api.event.CategoriaCreadaEvent;
+import com.store.api.event.CategoriaModificadaEvent;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
@@ -21,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * Test unitario para CategoriaService.
@@ -33,6 +36,9 @@ public class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -60,6 +66,17 @@ public class CategoriaServiceTest {
         verify(categoriaRepository).save(any(Categoria.class));
     }
 
+    @Test
+    void create_DeberiaPublicarEventoDeCategoriaCreada() {
+        CategoriaCreateDTO dto = new CategoriaCreateDTO();
+        dto.setNombre("Categoria Test");
+        when(categoriaRepository.save(any())).thenReturn(categoria);
+
+        categoriaService.create(dto);
+
+        verify(eventPublisher).publishEvent(any(CategoriaCreadaEvent.class));
+    }
+
     @Test
     void create_DeberiaLanzarValidationExceptionSiCategoriaTieneNombreVacio() {
         CategoriaCreateDTO dto = new CategoriaCreateDTO();
@@ -121,6 +138,15 @@ public class CategoriaServiceTest {
         verify(categoriaRepository).deleteById(categoriaId);
     }
 
+    @Test
+    void delete_DeberiaPublicarEventoDeCategoriaModificada() {
+        when(categoriaRepository.existsById(1L)).thenReturn(true);
+
+        categoriaService.delete(1L);
+
+        verify(eventPublisher).publishEvent(any(CategoriaModificadaEvent.class));
+    }
+
     @Test
     void delete_DeberiaLanzarResourceNotFoundExceptionSiCategoriaNoExiste() {
         Long categoriaId = 1L;
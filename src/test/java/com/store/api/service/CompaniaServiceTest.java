@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.store.api.dto.compania.CompaniaCreateDTO;
 import com.store.api.dto.compania.CompaniaResponseDTO;
@@ -41,6 +42,9 @@ public class CompaniaServiceTest {
     @Mock
     private CompaniaRepository companiaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Compania compania;
     @BeforeEach
     private void setUp() {
@@ -0,0 +1,186 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.reporte.ComparacionVentasDTO;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.VentaDiaProducto;
+
+/**
+ * Test unitario para ComparacionVentaService.
+ * 
+ * Verifica la alineación por día y producto, el período de referencia por defecto
+ * y la caché de períodos cerrados.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ComparacionVentaServiceTest {
+
+    private static final LocalDate DESDE = LocalDate.of(2025, 3, 3);
+    private static final LocalDate HASTA = LocalDate.of(2025, 3, 9);
+    private static final LocalDate DESDE_REFERENCIA = LocalDate.of(2024, 3, 4);
+    private static final LocalDate HASTA_REFERENCIA = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @InjectMocks
+    private ComparacionVentaService comparacionVentaService;
+
+    @Test
+    void comparar_DeberiaAlinearDiasYProductos() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of(
+                fila(DESDE, 1L, "Lapicera", 5, 500),
+                fila(DESDE.plusDays(1), 2L, "Cuaderno", 1, 900),
+                fila(DESDE_REFERENCIA, 1L, "Lapicera", 2, 200)
+        ));
+
+        ComparacionVentasDTO resultado = comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        assertEquals(7, resultado.getDias().size());
+        assertEquals(6, resultado.getUnidades());
+        assertEquals(2, resultado.getUnidadesReferencia());
+        assertEquals(1200, resultado.getDeltaImporte());
+        assertEquals(3, resultado.getDias().get(0).getDeltaUnidades());
+        assertEquals(DESDE_REFERENCIA, resultado.getDias().get(0).getFechaReferencia());
+        assertEquals(900, resultado.getDias().get(1).getDeltaImporte());
+        assertEquals(2L, resultado.getProductos().get(0).getProductoId());
+        assertEquals(300, resultado.getProductos().get(1).getDeltaImporte());
+    }
+
+    @Test
+    void comparar_DeberiaUsarElMismoPeriodoCincuentaYDosSemanasAntesPorDefecto() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of());
+
+        ComparacionVentasDTO resultado = comparacionVentaService.comparar(DESDE, HASTA, null, null);
+
+        assertEquals(DESDE_REFERENCIA, resultado.getDesdeReferencia());
+        assertEquals(HASTA_REFERENCIA, resultado.getHastaReferencia());
+        assertEquals(DESDE.getDayOfWeek(), resultado.getDesdeReferencia().getDayOfWeek());
+    }
+
+    @Test
+    void comparar_DeberiaReutilizarComparacionesDePeriodosCerrados() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of());
+
+        ComparacionVentasDTO primera = comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        ComparacionVentasDTO segunda = comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        assertSame(primera, segunda);
+        verify(ventaRepository, times(1)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_DeberiaRecalcularDespuesDeModificarUnaVenta() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of());
+
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        comparacionVentaService.onVentaModificada(new VentaModificadaEvent(1L, Set.of(DESDE)));
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        verify(ventaRepository, times(2)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_DeberiaRecalcularDespuesDeCambiarElPrecioDeUnProductoIncluido() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any()))
+                .thenReturn(List.of(fila(DESDE, 1L, "Lapicera", 5, 500)));
+
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        comparacionVentaService.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, "Lapicera", 100, 3)));
+        comparacionVentaService.onProductoModificado(new ProductoModificadoEvent(2L, producto(2L, "Cuaderno", 50, 1)));
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        verify(ventaRepository, times(1)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+
+        comparacionVentaService.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, "Lapicera", 120, 3)));
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        verify(ventaRepository, times(2)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_NoDeberiaGuardarUnResultadoInvalidadoDuranteElCalculo() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    comparacionVentaService.onVentaModificada(new VentaModificadaEvent(1L, Set.of(DESDE)));
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        verify(ventaRepository, times(2)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_DeberiaRecalcularDespuesDeUnaImportacion() {
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of());
+
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+        comparacionVentaService.onProductosImportados(new ProductosImportadosEvent(10));
+        comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, HASTA_REFERENCIA);
+
+        verify(ventaRepository, times(2)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_DeberiaNoGuardarEnCachePeriodosAbiertos() {
+        LocalDate hoy = LocalDate.now();
+        when(ventaRepository.resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any())).thenReturn(List.of());
+
+        comparacionVentaService.comparar(hoy.minusDays(6), hoy, null, null);
+        comparacionVentaService.comparar(hoy.minusDays(6), hoy, null, null);
+
+        verify(ventaRepository, times(2)).resumirPorDiaYProductoEnDosRangos(any(), any(), any(), any());
+    }
+
+    @Test
+    void comparar_DeberiaLanzarValidationExceptionSiLaReferenciaEstaIncompleta() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> comparacionVentaService.comparar(DESDE, HASTA, DESDE_REFERENCIA, null));
+
+        assertEquals("El rango de fechas es obligatorio", exception.getMessage());
+    }
+
+    private static Producto producto(Long id, String articulo, int precio, int stock) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo(articulo);
+        producto.setPrecio(precio);
+        producto.setStock(stock);
+        return producto;
+    }
+
+    private static VentaDiaProducto fila(LocalDate dia, Long productoId, String articulo, long unidades, long importe) {
+        return new VentaDiaProducto() {
+            public Integer getAnio() { return dia.getYear(); }
+            public Integer getMes() { return dia.getMonthValue(); }
+            public Integer getDia() { return dia.getDayOfMonth(); }
+            public Long getProductoId() { return productoId; }
+            public String getArticulo() { return articulo; }
+            public Long getUnidades() { return unidades; }
+            public Long getImporte() { return importe; }
+        };
+    }
+}
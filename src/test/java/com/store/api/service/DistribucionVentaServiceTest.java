@@ -0,0 +1,172 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.reporte.DistribucionVentasDTO;
+import com.store.api.entity.Producto;
+import com.store.api.entity.Venta;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.ValoresProducto;
+import com.store.api.repository.projection.VentaDiaCantidadPrecio;
+
+/**
+ * Test unitario para DistribucionVentaService.
+ * 
+ * Verifica la carga de histogramas desde las ventas agrupadas, la actualización
+ * incremental y la combinación de días en un rango.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DistribucionVentaServiceTest {
+
+    private static final LocalDate LUNES = LocalDate.of(2026, 3, 2);
+    private static final LocalDate MARTES = LUNES.plusDays(1);
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private DistribucionVentaService distribucionVentaService;
+
+    @Test
+    void distribucion_DeberiaCombinarLosDiasDelRango() {
+        when(ventaRepository.findPrimeraFecha()).thenReturn(Optional.of(LUNES.atTime(9, 0)));
+        when(ventaRepository.findUltimaFecha()).thenReturn(Optional.of(MARTES.atTime(18, 0)));
+        when(ventaRepository.resumirPorDiaCantidadYPrecio(any(), any())).thenReturn(List.of(
+                fila(LUNES, 1, 100, 8),
+                fila(MARTES, 2, 100, 1),
+                fila(MARTES, 10, 100, 1)
+        ));
+
+        distribucionVentaService.inicializar();
+        DistribucionVentasDTO resultado = distribucionVentaService.distribucion(LUNES, MARTES, List.of(50.0, 90.0, 100.0));
+
+        assertEquals(10, resultado.getCantidad().getMuestras());
+        assertEquals(1, resultado.getCantidad().getPercentiles().get("p50"));
+        assertEquals(2, resultado.getCantidad().getPercentiles().get("p90"));
+        assertEquals(10, resultado.getCantidad().getPercentiles().get("p100"));
+        assertEquals(100, resultado.getTotal().getMinimo());
+        assertEquals(1000, resultado.getTotal().getMaximo());
+    }
+
+    @Test
+    void distribucion_DeberiaIncluirVentasRegistradasDespuesDeLaCarga() {
+        when(ventaRepository.findPrimeraFecha()).thenReturn(Optional.empty());
+        when(ventaRepository.findUltimaFecha()).thenReturn(Optional.empty());
+        distribucionVentaService.inicializar();
+
+        distribucionVentaService.onVentaRegistrada(evento(LUNES.atTime(10, 30), 3, 250));
+
+        DistribucionVentasDTO resultado = distribucionVentaService.distribucion(LUNES, LUNES, List.of(50.0));
+
+        assertEquals(1, resultado.getCantidad().getMuestras());
+        assertEquals(3, resultado.getCantidad().getPercentiles().get("p50"));
+        assertEquals(750, resultado.getTotal().getMaximo());
+    }
+
+    @Test
+    void onVentaModificada_DeberiaReconstruirSoloLosDiasAfectados() {
+        when(ventaRepository.findPrimeraFecha()).thenReturn(Optional.empty());
+        when(ventaRepository.findUltimaFecha()).thenReturn(Optional.empty());
+        distribucionVentaService.inicializar();
+        distribucionVentaService.onVentaRegistrada(evento(LUNES.atTime(10, 30), 3, 250));
+        when(ventaRepository.resumirPorDiaCantidadYPrecio(LUNES.atStartOfDay(), LUNES.atTime(23, 59, 59, 999_999_999)))
+                .thenReturn(List.of());
+
+        distribucionVentaService.onVentaModificada(new VentaModificadaEvent(1L, Set.of(LUNES)));
+
+        DistribucionVentasDTO resultado = distribucionVentaService.distribucion(LUNES, LUNES, List.of(50.0));
+        assertEquals(0, resultado.getCantidad().getMuestras());
+        verify(ventaRepository, times(1)).resumirPorDiaCantidadYPrecio(any(), any());
+    }
+
+    @Test
+    void onProductoModificado_DeberiaRecalcularLosImportesSoloSiCambioElPrecio() {
+        ValoresProducto valores = mock(ValoresProducto.class);
+        when(valores.getId()).thenReturn(1L);
+        when(valores.getPrecio()).thenReturn(250);
+        when(productoRepository.findValores()).thenReturn(List.of(valores));
+        when(ventaRepository.findPrimeraFecha()).thenReturn(Optional.empty());
+        when(ventaRepository.findUltimaFecha()).thenReturn(Optional.empty());
+        distribucionVentaService.inicializar();
+        distribucionVentaService.onVentaRegistrada(evento(LUNES.atTime(10, 30), 3, 250));
+        when(ventaRepository.findPrimeraFechaDeProducto(1L)).thenReturn(Optional.of(LUNES.atTime(10, 30)));
+        when(ventaRepository.findUltimaFechaDeProducto(1L)).thenReturn(Optional.of(LUNES.atTime(10, 30)));
+        when(ventaRepository.resumirPorDiaCantidadYPrecio(any(), any())).thenReturn(List.of(fila(LUNES, 3, 300, 1)));
+
+        distribucionVentaService.onProductoModificado(new ProductoModificadoEvent(1L, producto(300)));
+        distribucionVentaService.onProductoModificado(new ProductoModificadoEvent(1L, producto(300)));
+
+        DistribucionVentasDTO resultado = distribucionVentaService.distribucion(LUNES, LUNES, List.of(50.0));
+        assertEquals(1, resultado.getCantidad().getMuestras());
+        assertEquals(900, resultado.getTotal().getMaximo());
+        verify(ventaRepository, times(1)).resumirPorDiaCantidadYPrecio(any(), any());
+    }
+
+    @Test
+    void distribucion_DeberiaLanzarValidationExceptionSiElRangoEsInvalido() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> distribucionVentaService.distribucion(MARTES, LUNES, List.of(50.0)));
+
+        assertEquals("El rango de fechas es inválido (desde > hasta)", exception.getMessage());
+    }
+
+    @Test
+    void distribucion_DeberiaLanzarValidationExceptionSiElPercentilEsInvalido() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> distribucionVentaService.distribucion(LUNES, MARTES, List.of(120.0)));
+
+        assertEquals("Los percentiles deben estar entre 0 y 100", exception.getMessage());
+    }
+
+    private static Producto producto(int precio) {
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setPrecio(precio);
+        return producto;
+    }
+
+    private static VentaRegistradaEvent evento(LocalDateTime fecha, int cantidad, int precio) {
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setPrecio(precio);
+        Venta venta = new Venta(1L, producto, cantidad);
+        venta.setFecha(fecha);
+        return new VentaRegistradaEvent(venta);
+    }
+
+    private static VentaDiaCantidadPrecio fila(LocalDate dia, int cantidad, int precio, long ventas) {
+        return new VentaDiaCantidadPrecio() {
+            public Integer getAnio() { return dia.getYear(); }
+            public Integer getMes() { return dia.getMonthValue(); }
+            public Integer getDia() { return dia.getDayOfMonth(); }
+            public Integer getCantidad() { return cantidad; }
+            public Integer getPrecio() { return precio; }
+            public Long getVentas() { return ventas; }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.entity.Categoria;
+import com.store.api.entity.Compania;
+import com.store.api.entity.Producto;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Test unitario para FacetasProductos.
+ * 
+ * Verifica la combinación de filtros, los conteos por faceta y que las escrituras se
+ * apliquen a los BitSet sin volver a consultar la base de datos.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FacetasProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private CatalogoProductos catalogoProductos;
+    private FacetasProductos facetas;
+
+    @BeforeEach
+    public void setUp() {
+        catalogoProductos = new CatalogoProductos(productoRepository);
+        facetas = new FacetasProductos(catalogoProductos, new int[] {1000, 5000});
+    }
+
+    @Test
+    void filtrar_DeberiaCombinarConOrDentroDeLaFacetaYConAndEntreFacetas() {
+        when(productoRepository.findAll()).thenReturn(List.of(
+                producto(1L, 1L, 10L, 500, 3),
+                producto(2L, 2L, 10L, 2000, 0),
+                producto(3L, 1L, 20L, 7000, 8),
+                producto(4L, 3L, 10L, 800, 1)));
+
+        FacetasProductos.Resultado resultado = facetas.filtrar(List.of(1L, 2L), List.of(10L), null, null, 10);
+
+        assertEquals(List.of(1L, 2L), resultado.ids());
+        assertEquals(2, resultado.total());
+    }
+
+    @Test
+    void filtrar_DeberiaContarCadaFacetaConLosFiltrosDeLasDemas() {
+        when(productoRepository.findAll()).thenReturn(List.of(
+                producto(1L, 1L, 10L, 500, 3),
+                producto(2L, 2L, 10L, 2000, 0),
+                producto(3L, 1L, 20L, 7000, 8),
+                producto(4L, 3L, 10L, 800, 1)));
+
+        FacetasProductos.Resultado resultado = facetas.filtrar(List.of(1L), null, null, true, 10);
+
+        assertEquals(List.of(1L, 3L), resultado.ids());
+        assertEquals(Map.of(1L, 2L, 3L, 1L), resultado.categorias());
+        assertEquals(Map.of(10L, 1L, 20L, 1L), resultado.companias());
+        assertArrayEquals(new long[] {1, 0, 1}, resultado.bandas());
+        assertEquals(2, resultado.conStock());
+        assertEquals(0, resultado.sinStock());
+    }
+
+    @Test
+    void filtrar_DeberiaRespetarElLimiteSinCambiarElTotal() {
+        when(productoRepository.findAll()).thenReturn(List.of(
+                producto(1L, 1L, 10L, 500, 3),
+                producto(2L, 1L, 10L, 600, 3),
+                producto(3L, 1L, 10L, 700, 3)));
+
+        FacetasProductos.Resultado resultado = facetas.filtrar(null, null, List.of(0), null, 2);
+
+        assertEquals(List.of(1L, 2L), resultado.ids());
+        assertEquals(3, resultado.total());
+    }
+
+    @Test
+    void onProductoModificado_DeberiaMoverElProductoEntreFacetasSinConsultar() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, 1L, 10L, 500, 3), producto(2L, 1L, 10L, 600, 0)));
+        facetas.filtrar(null, null, null, null, 10);
+
+        facetas.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 2L, 10L, 6000, 0)));
+        facetas.onProductoModificado(new ProductoModificadoEvent(2L, null));
+        facetas.onProductoModificado(new ProductoModificadoEvent(5L, producto(5L, 1L, 20L, 100, 4)));
+        FacetasProductos.Resultado resultado = facetas.filtrar(null, null, null, null, 10);
+
+        assertEquals(List.of(1L, 5L), resultado.ids());
+        assertEquals(Map.of(1L, 1L, 2L, 1L), resultado.categorias());
+        assertArrayEquals(new long[] {1, 0, 1}, resultado.bandas());
+        assertEquals(1, resultado.conStock());
+        assertEquals(1, resultado.sinStock());
+        verify(productoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onCategoriaModificada_DeberiaRecargarEnLaSiguienteConsulta() {
+        when(productoRepository.findAll())
+                .thenReturn(List.of(producto(1L, 1L, 10L, 500, 3)))
+                .thenReturn(List.of(producto(1L, 2L, 10L, 500, 3)));
+        FacetasProductos.Resultado antes = facetas.filtrar(null, null, null, null, 10);
+
+        CategoriaModificadaEvent event = new CategoriaModificadaEvent(1L);
+        catalogoProductos.onCategoriaModificada(event);
+        facetas.onCategoriaModificada(event);
+        FacetasProductos.Resultado despues = facetas.filtrar(null, null, null, null, 10);
+
+        assertEquals(Map.of(1L, 1L), antes.categorias());
+        assertEquals(Map.of(2L, 1L), despues.categorias());
+    }
+
+    @Test
+    void banda_DeberiaUbicarLosLimitesEnLaBandaSuperior() {
+        assertEquals(0, facetas.banda(-30));
+        assertEquals(0, facetas.banda(999));
+        assertEquals(1, facetas.banda(1000));
+        assertEquals(2, facetas.banda(5000));
+    }
+
+    private static Producto producto(Long id, Long categoriaId, Long companiaId, int precio, int stock) {
+        Categoria categoria = new Categoria();
+        categoria.setId(categoriaId);
+        Compania compania = new Compania();
+        compania.setId(companiaId);
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo("ART-" + id);
+        producto.setCategoria(categoria);
+        producto.setCompania(compania);
+        producto.setPrecio(precio);
+        producto.setStock(stock);
+        return producto;
+    }
+}
@@ -0,0 +1,305 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.api.dto.producto.ImportacionProductosDTO;
+import com.store.api.dto.producto.SincronizacionProductosDTO;
+import com.store.api.entity.Categoria;
+import com.store.api.entity.Compania;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.CategoriaRepository;
+import com.store.api.repository.CompaniaRepository;
+
+/**
+ * Test unitario para ImportacionProductosService.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImportacionProductosServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private CompaniaRepository companiaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ImportacionProductosService importacionProductosService;
+
+    @BeforeEach
+    public void setUp() {
+        importacionProductosService = new ImportacionProductosService(jdbcTemplate,
+                new TransactionTemplate(transactionManager), categoriaRepository, companiaRepository,
+                new ObjectMapper(), eventPublisher, 2);
+    }
+
+    private void cargarDatosExistentes() {
+        Categoria categoria = new Categoria();
+        categoria.setId(4L);
+        categoria.setNombre("Mochilas");
+        Compania compania = new Compania();
+        compania.setId(7L);
+        compania.setNombre("THAT");
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria));
+        when(companiaRepository.findAll()).thenReturn(List.of(compania));
+    }
+
+    private void cargarArticulosExistentes() {
+        cargarDatosExistentes();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("EXISTE"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarCsv_DeberiaInsertarPorLotesYResolverNombres() throws IOException {
+        cargarArticulosExistentes();
+        String csv = """
+                Articulo,precio,stock,categoria,compania,columnaExtra
+                M-1,1500,3,mochilas,that,x
+                M-2,2500,0,,,x
+                M-3,100,1,MOCHILAS,,x
+                """;
+
+        ImportacionProductosDTO resultado = importacionProductosService.importarCsv(new StringReader(csv));
+
+        assertEquals(3, resultado.getFilasLeidas());
+        assertEquals(3, resultado.getImportados());
+        assertEquals(0, resultado.getRechazados());
+        ArgumentCaptor<List<Object[]>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), lotes.capture());
+        Object[] primera = lotes.getAllValues().get(0).get(0);
+        assertEquals("M-1", primera[0]);
+        assertEquals(1500, primera[2]);
+        assertEquals(4L, primera[6]);
+        assertEquals(7L, primera[7]);
+        verify(eventPublisher).publishEvent(any(ProductosImportadosEvent.class));
+    }
+
+    @Test
+    void importarCsv_DeberiaInformarLasFilasRechazadasSinDetenerLaImportacion() throws IOException {
+        cargarArticulosExistentes();
+        String csv = """
+                articulo,precio,stock,categoria
+                EXISTE,100,1,
+                M-1,abc,1,
+                M-2,100,-1,
+                M-3,100,1,Relojes
+                ,100,1,
+                M-4,100,1,
+                M-4,100,1,
+                """;
+
+        ImportacionProductosDTO resultado = importacionProductosService.importarCsv(new StringReader(csv));
+
+        assertEquals(7, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(6, resultado.getRechazados());
+        assertEquals(2, resultado.getErrores().get(0).getLinea());
+        assertEquals("El artículo ya existe", resultado.getErrores().get(0).getMensaje());
+        assertEquals("El campo precio debe ser un número entero: abc", resultado.getErrores().get(1).getMensaje());
+        assertEquals("El stock no puede ser negativo", resultado.getErrores().get(2).getMensaje());
+        assertEquals("No existe la categoría: Relojes", resultado.getErrores().get(3).getMensaje());
+        assertEquals("El artículo no puede estar vacío", resultado.getErrores().get(4).getMensaje());
+        assertEquals(8, resultado.getErrores().get(5).getLinea());
+    }
+
+    @Test
+    void importarCsv_DeberiaRechazarLasFilasDeUnLoteQueNoSePudoGuardar() throws IOException {
+        cargarArticulosExistentes();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        ImportacionProductosDTO resultado = importacionProductosService.importarCsv(
+                new StringReader("articulo\nM-1\nM-2\n"));
+
+        assertEquals(0, resultado.getImportados());
+        assertEquals(2, resultado.getRechazados());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void importarCsv_DeberiaPublicarElEventoSiLaLecturaFallaDespuesDeGuardarUnLote() {
+        cargarArticulosExistentes();
+        Reader cortado = new Reader() {
+            private final Reader contenido = new StringReader("articulo\nM-1\nM-2\nM-3\n");
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int leidos = contenido.read(cbuf, off, len);
+                if (leidos < 0) {
+                    throw new IOException("Conexión interrumpida");
+                }
+                return leidos;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertThrows(IOException.class, () -> importacionProductosService.importarCsv(cortado));
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        ArgumentCaptor<ProductosImportadosEvent> evento = ArgumentCaptor.forClass(ProductosImportadosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(2, evento.getValue().getCantidad());
+    }
+
+    @Test
+    void importarCsv_DeberiaLanzarValidationExceptionSiFaltaLaColumnaArticulo() {
+        assertThrows(ValidationException.class,
+                () -> importacionProductosService.importarCsv(new StringReader("precio,stock\n1,2\n")));
+    }
+
+    @Test
+    void importarNdjson_DeberiaImportarCadaObjetoEInformarLineasInvalidas() throws IOException {
+        cargarArticulosExistentes();
+        String ndjson = """
+                {"articulo":"M-1","precio":1500,"compania":"That"}
+
+                {"articulo":
+                {"articulo":"M-2","descripcion":null,"stock":"4"}
+                """;
+
+        ImportacionProductosDTO resultado = importacionProductosService.importarNdjson(new StringReader(ndjson));
+
+        assertEquals(3, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(1, resultado.getRechazados());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+        assertEquals("JSON inválido", resultado.getErrores().get(0).getMensaje());
+    }
+
+    @Test
+    void sincronizarCsv_DeberiaInsertarActualizarYOmitirLasFilasSinCambios() throws IOException {
+        cargarDatosExistentes();
+        ResultSet mochila = filaExistente("M-1", "Mochila", 1500, 3, 4L);
+        ResultSet cartera = filaExistente("M-2", "Cartera", 800, 1, null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(mochila);
+            handler.processRow(cartera);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        String csv = """
+                articulo,descripcion,precio,precioUnitario,stock,imagenUrl,categoria,compania
+                M-1,Mochila,1500,,3,,mochilas,
+                M-2,Cartera,900,,1,,,
+                M-3,Nueva,100,,1,,,
+                M-3,Nueva,100,,1,,,
+                """;
+
+        SincronizacionProductosDTO resultado = importacionProductosService.sincronizarCsv(new StringReader(csv));
+
+        assertEquals(4, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getInsertados());
+        assertEquals(1, resultado.getActualizados());
+        assertEquals(1, resultado.getSinCambios());
+        assertEquals(1, resultado.getRechazados());
+        assertEquals("El artículo está repetido en el archivo", resultado.getErrores().get(0).getMensaje());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("MERGE INTO producto"), anyList());
+        ArgumentCaptor<ProductosImportadosEvent> evento = ArgumentCaptor.forClass(ProductosImportadosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(2, evento.getValue().getCantidad());
+    }
+
+    @Test
+    void sincronizarNdjson_NoDeberiaEscribirNiPublicarSiNadaCambio() throws IOException {
+        cargarDatosExistentes();
+        ResultSet mochila = filaExistente("M-1", "Mochila", 1500, 3, 4L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(mochila);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        SincronizacionProductosDTO resultado = importacionProductosService.sincronizarNdjson(new StringReader(
+                "{\"articulo\":\"M-1\",\"descripcion\":\"Mochila\",\"precio\":1500,\"precioUnitario\":0,\"stock\":3,"
+                        + "\"imagenUrl\":null,\"categoria\":\"Mochilas\",\"compania\":null}\n"));
+
+        assertEquals(1, resultado.getSinCambios());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void sincronizarCsv_DeberiaRechazarUnEncabezadoSinTodasLasColumnas() {
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> importacionProductosService.sincronizarCsv(new StringReader("""
+                        articulo,descripcion,precio,stock,categoria
+                        M-1,Mochila,1500,3,mochilas
+                        """)));
+
+        assertEquals("El encabezado debe incluir todas las columnas; faltan: preciounitario, imagenurl, compania",
+                ex.getMessage());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void sincronizarNdjson_DeberiaRechazarLasLineasSinTodosLosCampos() throws IOException {
+        cargarDatosExistentes();
+
+        SincronizacionProductosDTO resultado = importacionProductosService.sincronizarNdjson(new StringReader(
+                "{\"articulo\":\"M-1\",\"precio\":1500,\"stock\":3}\n"));
+
+        assertEquals(1, resultado.getRechazados());
+        assertEquals("Faltan los campos: descripcion, preciounitario, imagenurl, categoria, compania",
+                resultado.getErrores().get(0).getMensaje());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static ResultSet filaExistente(String articulo, String descripcion, int precio, int stock,
+                                           Long categoriaId) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(articulo);
+        when(rs.getString(2)).thenReturn(descripcion);
+        when(rs.getInt(3)).thenReturn(precio);
+        when(rs.getInt(5)).thenReturn(stock);
+        if (categoriaId != null) {
+            when(rs.getLong(7)).thenReturn(categoriaId);
+        }
+        when(rs.wasNull()).thenReturn(categoriaId == null, true);
+        return rs;
+    }
+}
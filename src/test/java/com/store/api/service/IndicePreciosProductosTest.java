@@ -0,0 +1,67 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Test unitario para IndicePreciosProductos.
+ * 
+ * Verifica que las escrituras se apliquen al índice de precios sin volver a consultar
+ * la base de datos.
+ */
+@ExtendWith(MockitoExtension.class)
+public class IndicePreciosProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private IndicePreciosProductos indice;
+
+    @BeforeEach
+    public void setUp() {
+        indice = new IndicePreciosProductos(new CatalogoProductos(productoRepository));
+    }
+
+    @Test
+    void buscar_DeberiaDevolverLosIdsDelRangoOrdenadosPorPrecio() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, 300), producto(2L, 100), producto(3L, 200)));
+
+        assertArrayEquals(new long[] {2L, 3L}, indice.buscar(100, 250));
+    }
+
+    @Test
+    void onProductoModificado_DeberiaMoverAltasBajasYCambiosDePrecioSinConsultar() {
+        when(productoRepository.findAll()).thenReturn(List.of(producto(1L, 300), producto(2L, 100)));
+        indice.buscar(0, 1000);
+
+        indice.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 50)));
+        indice.onProductoModificado(new ProductoModificadoEvent(2L, null));
+        indice.onProductoModificado(new ProductoModificadoEvent(4L, producto(4L, 75)));
+
+        assertArrayEquals(new long[] {1L, 4L}, indice.buscar(0, 1000));
+        assertArrayEquals(new long[] {}, indice.buscar(100, 1000));
+        verify(productoRepository, times(1)).findAll();
+    }
+
+    private static Producto producto(Long id, int precio) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setArticulo("ART-" + id);
+        producto.setPrecio(precio);
+        return producto;
+    }
+}
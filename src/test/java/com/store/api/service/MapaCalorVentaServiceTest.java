@@ -0,0 +1,130 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.reporte.MapaCalorDTO;
+import com.store.api.entity.Producto;
+import com.store.api.entity.Venta;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.VentaDiaHora;
+
+/**
+ * Test unitario para MapaCalorVentaService.
+ *
+ * Verifica la ubicación de cada grupo en la matriz, la actualización incremental
+ * del mes en curso y su invalidación.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MapaCalorVentaServiceTest {
+
+    private static final LocalDate LUNES = LocalDate.of(2026, 3, 2);
+    private static final LocalDate DOMINGO = LocalDate.of(2026, 3, 8);
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @InjectMocks
+    private MapaCalorVentaService mapaCalorVentaService;
+
+    @Test
+    void mapaCalor_DeberiaUbicarCadaGrupoPorDiaDeLaSemanaYHora() {
+        when(ventaRepository.resumirPorDiaYHora(any(), any())).thenReturn(List.of(
+                fila(LUNES, 9, 3, 300),
+                fila(LUNES.plusWeeks(1), 9, 2, 200),
+                fila(DOMINGO, 23, 1, 50)
+        ));
+
+        MapaCalorDTO resultado = mapaCalorVentaService.mapaCalor(LUNES, DOMINGO.plusWeeks(1));
+
+        assertEquals(7, resultado.getUnidades().length);
+        assertEquals(24, resultado.getUnidades()[0].length);
+        assertEquals(5, resultado.getUnidades()[0][9]);
+        assertEquals(500, resultado.getImporte()[0][9]);
+        assertEquals(1, resultado.getUnidades()[6][23]);
+        assertEquals(0, resultado.getUnidades()[1][9]);
+    }
+
+    @Test
+    void mapaCalor_DeberiaLanzarValidationExceptionSiElRangoEsInvalido() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> mapaCalorVentaService.mapaCalor(DOMINGO, LUNES));
+
+        assertEquals("El rango de fechas es inválido (desde > hasta)", exception.getMessage());
+        verify(ventaRepository, never()).resumirPorDiaYHora(any(), any());
+    }
+
+    @Test
+    void mapaCalorMesActual_DeberiaSumarVentasRegistradasSinConsultarDeNuevo() {
+        LocalDateTime ahora = LocalDateTime.now().withHour(14);
+        int fila = ahora.getDayOfWeek().getValue() - 1;
+        when(ventaRepository.resumirPorDiaYHora(any(), any()))
+                .thenReturn(List.of(fila(ahora.toLocalDate(), 14, 2, 200)));
+
+        mapaCalorVentaService.mapaCalorMesActual();
+        mapaCalorVentaService.onVentaRegistrada(evento(ahora, 3, 100));
+        MapaCalorDTO resultado = mapaCalorVentaService.mapaCalorMesActual();
+
+        assertEquals(5, resultado.getUnidades()[fila][14]);
+        assertEquals(500, resultado.getImporte()[fila][14]);
+        verify(ventaRepository, times(1)).resumirPorDiaYHora(any(), any());
+    }
+
+    @Test
+    void mapaCalorMesActual_DeberiaRecargarDespuesDeModificarUnaVentaDelMes() {
+        when(ventaRepository.resumirPorDiaYHora(any(), any())).thenReturn(List.of());
+
+        mapaCalorVentaService.mapaCalorMesActual();
+        mapaCalorVentaService.onVentaModificada(new VentaModificadaEvent(1L, Set.of(LocalDate.now())));
+        mapaCalorVentaService.mapaCalorMesActual();
+
+        verify(ventaRepository, times(2)).resumirPorDiaYHora(any(), any());
+    }
+
+    @Test
+    void mapaCalorMesActual_DeberiaDevolverCopias() {
+        when(ventaRepository.resumirPorDiaYHora(any(), any())).thenReturn(List.of());
+
+        mapaCalorVentaService.mapaCalorMesActual().getUnidades()[0][0] = 99;
+
+        assertEquals(0, mapaCalorVentaService.mapaCalorMesActual().getUnidades()[0][0]);
+    }
+
+    private static VentaRegistradaEvent evento(LocalDateTime fecha, int cantidad, int precio) {
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setPrecio(precio);
+        Venta venta = new Venta(1L, producto, cantidad);
+        venta.setFecha(fecha);
+        return new VentaRegistradaEvent(venta);
+    }
+
+    private static VentaDiaHora fila(LocalDate dia, int hora, long unidades, long importe) {
+        return new VentaDiaHora() {
+            public Integer getAnio() { return dia.getYear(); }
+            public Integer getMes() { return dia.getMonthValue(); }
+            public Integer getDia() { return dia.getDayOfMonth(); }
+            public Integer getHora() { return hora; }
+            public Long getUnidades() { return unidades; }
+            public Long getImporte() { return importe; }
+        };
+    }
+}
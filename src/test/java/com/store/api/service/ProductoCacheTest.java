@@ -0,0 +1,101 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.store.api.dto.venta.VentaCreateDTO;
+import com.store.api.entity.Producto;
+import com.store.api.entity.Venta;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.VentaRepository;
+
+/**
+ * Test de la caché de productos junto con ProductoService y VentaService.
+ * 
+ * Los eventos de VentaService se entregan directamente a la caché, como lo haría el
+ * contexto de Spring, para comprobar que una lectura posterior a una venta nunca
+ * devuelve el stock anterior.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductoCacheTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    private ProductoCache productoCache;
+    private ProductoService productoService;
+    private VentaService ventaService;
+    private Producto producto;
+
+    @BeforeEach
+    public void setUp() {
+        productoCache = new ProductoCache(100, Duration.ofMinutes(5));
+        ApplicationEventPublisher eventPublisher = evento -> {
+            if (evento instanceof VentaRegistradaEvent ventaRegistrada) {
+                productoCache.onVentaRegistrada(ventaRegistrada);
+            }
+        };
+        CatalogoProductos catalogoProductos = new CatalogoProductos(productoRepository);
+        productoService = new ProductoService(productoRepository, productoCache,
+                catalogoProductos, new IndiceArticulos(catalogoProductos),
+                new BusquedaTextoProductos(catalogoProductos), new BusquedaAproximadaProductos(catalogoProductos),
+                new AutocompletadoProductos(catalogoProductos),
+                new FacetasProductos(catalogoProductos, new int[] {1000, 5000, 10000, 50000}),
+                new IndicePreciosProductos(catalogoProductos),
+                new AlertasStock(productoRepository, eventPublisher, 20),
+                new ValorizacionInventario(productoRepository), eventPublisher);
+        ventaService = new VentaService(ventaRepository, productoRepository, eventPublisher);
+
+        producto = new Producto();
+        producto.setId(1L);
+        producto.setArticulo("Lapicera");
+        producto.setPrecio(100);
+        producto.setStock(5);
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+    }
+
+    @Test
+    void findById_NoDeberiaDevolverStockViejoDespuesDeUnaVenta() {
+        assertEquals(5, productoService.findById(1L).getStock());
+        assertEquals(5, productoService.findById(1L).getStock());
+
+        when(ventaRepository.save(any(Venta.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Producto referencia = new Producto();
+        referencia.setId(1L);
+        VentaCreateDTO venta = new VentaCreateDTO();
+        venta.setProducto(referencia);
+        venta.setCantidad(2);
+        ventaService.create(venta);
+
+        assertEquals(3, productoService.findById(1L).getStock());
+        assertEquals(1, productoCache.estadisticas().getAciertos());
+        assertEquals(1, productoCache.estadisticas().getInvalidaciones());
+    }
+
+    @Test
+    void findById_NoDeberiaDevolverStockViejoDespuesDeModificarElStock() {
+        assertEquals(5, productoService.findById(1L).getStock());
+
+        productoService.modifyStock(1L, 10);
+
+        assertEquals(15, productoService.findById(1L).getStock());
+        verify(productoRepository, times(3)).findById(1L);
+    }
+}
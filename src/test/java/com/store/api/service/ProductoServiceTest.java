@@ -3,28 +3,44 @@ package com.store.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 import com.store.api.entity.Producto;
+import com.store.api.entity.Compania;
+import com.store.api.entity.Categoria;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.dto.producto.BusquedaTextoDTO;
+import com.store.api.dto.producto.FacetasProductoDTO;
+import com.store.api.dto.producto.FiltroProductoDTO;
 import com.store.api.dto.producto.ProductoCreateDTO;
+import com.store.api.dto.producto.ProductoPaginaDTO;
 import com.store.api.dto.producto.ProductoUpdateDTO;
 import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.dto.producto.SugerenciaProductoDTO;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.StockInsufficientException;
 import com.store.api.exception.ValidationException;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.projection.ValoresProducto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 /**
  * Test unitario para ProductoService.
@@ -37,7 +53,12 @@ public class ProductoServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
-    @InjectMocks
+    @Mock
+    private ProductoCache productoCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductoService productoService;
 
     private Producto productoExistente;
@@ -48,6 +69,16 @@ public class ProductoServiceTest {
 
     @BeforeEach
     public void setUp() {
+        CatalogoProductos catalogoProductos = new CatalogoProductos(productoRepository);
+        productoService = new ProductoService(productoRepository, productoCache,
+                catalogoProductos, new IndiceArticulos(catalogoProductos),
+                new BusquedaTextoProductos(catalogoProductos), new BusquedaAproximadaProductos(catalogoProductos),
+                new AutocompletadoProductos(catalogoProductos),
+                new FacetasProductos(catalogoProductos, new int[] {1000, 5000, 10000, 50000}),
+                new IndicePreciosProductos(catalogoProductos),
+                new AlertasStock(productoRepository, eventPublisher, 20),
+                new ValorizacionInventario(productoRepository), eventPublisher);
+
         productoExistente = new Producto();
         productoExistente.setId(1L);
         productoExistente.setArticulo("prueba 1");
@@ -158,6 +189,7 @@ public class ProductoServiceTest {
         assertNotNull(productoGuardado.getId());
         assertEquals("prueba 1", productoGuardado.getArticulo());
         verify(productoRepository).save(any(Producto.class));
+        verify(productoRepository, never()).existsByArticulo(any());
     }
 
     @Test
@@ -167,6 +199,8 @@ public class ProductoServiceTest {
         dto.setPrecio(1500);
         dto.setStock(10);
 
+        when(productoRepository.save(any()))
+            .thenThrow(new DataIntegrityViolationException("idx_producto_articulo"));
         when(productoRepository.existsByArticulo("prueba 1"))
             .thenReturn(true);
 
@@ -175,7 +209,35 @@ public class ProductoServiceTest {
         });
 
         assertEquals("El artículo ya existe", exception.getMessage());
-        verify(productoRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void create_DeberiaPropagarOtrasViolacionesDeIntegridad() {
+        when(productoRepository.save(any()))
+            .thenThrow(new DataIntegrityViolationException("otra restricción"));
+        when(productoRepository.existsByArticulo("prueba 1"))
+            .thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class, () -> productoService.create(createDTO));
+    }
+
+    @Test
+    void update_DeberiaLanzarDuplicateResourceExceptionSiOtroProductoTieneElArticulo() {
+        when(productoRepository.findById(1L))
+            .thenReturn(Optional.of(productoExistente));
+        when(productoRepository.save(any()))
+            .thenThrow(new DataIntegrityViolationException("idx_producto_articulo"));
+        when(productoRepository.existsByArticuloAndIdNot("Otro", 1L))
+            .thenReturn(true);
+
+        ProductoUpdateDTO dto = new ProductoUpdateDTO();
+        dto.setArticulo("Otro");
+        dto.setPrecio(100);
+        dto.setStock(1);
+
+        assertThrows(DuplicateResourceException.class, () -> productoService.update(1L, dto));
+        verify(productoCache, never()).invalidar(1L);
     }
 
     @Test
@@ -498,14 +560,15 @@ public class ProductoServiceTest {
        
         List<Producto> expectedProducts = List.of(productoExistente, productoExistente2);
 
-        when(productoRepository.findByPrecioBetween(50, 1300))
+        when(productoRepository.findAll())
             .thenReturn(expectedProducts);
 
         List<ProductoResponseDTO> productos = productoService.findByPrecioRange(50, 1300);
 
         assertEquals(2, productos.size());
-        assertEquals("prueba 1", productos.get(0).getArticulo());
-        assertEquals("prueba 2", productos.get(1).getArticulo());
+        assertEquals("prueba 2", productos.get(0).getArticulo());
+        assertEquals("prueba 1", productos.get(1).getArticulo());
+        verify(productoRepository, never()).findByPrecioBetween(50, 1300);
     }
 
     @Test
@@ -536,8 +599,8 @@ public class ProductoServiceTest {
     @Test
     void findByPrecioRange_DeberiaRetornarListaVaciaSiNoHayProductosEnRango() {
 
-        when(productoRepository.findByPrecioBetween(10, 50))
-            .thenReturn(List.of());
+        when(productoRepository.findAll())
+            .thenReturn(List.of(productoExistente, productoExistente2));
 
         List<ProductoResponseDTO> productos =
             productoService.findByPrecioRange(10, 50);
@@ -583,22 +646,20 @@ public class ProductoServiceTest {
 
     @Test
     void getTotalStock_DeberiaRetornarSumaTotalDeStocks() {
-        List<Producto> expectedProducts = List.of(productoExistente, productoExistente2);
+        when(productoRepository.findValores())
+            .thenReturn(List.of(valores(productoExistente), valores(productoExistente2)));
 
-        when(productoRepository.getTotalStock())
-            .thenReturn(65);
-
-        int totalStock = productoService.getTotalStock();
+        long totalStock = productoService.getTotalStock();
 
         assertEquals(65, totalStock);
     }
 
     @Test
     void getTotalStock_DeberiaRetornarCeroCuandoNoHayProductos() {
-        when(productoRepository.getTotalStock())
-            .thenReturn(0);
+        when(productoRepository.findValores())
+            .thenReturn(List.of());
 
-        int totalStock = productoService.getTotalStock();
+        long totalStock = productoService.getTotalStock();
 
         assertEquals(0, totalStock);
     }
@@ -617,12 +678,10 @@ public class ProductoServiceTest {
         productoConCeroStock2.setPrecio(800);
         productoConCeroStock2.setStock(0);
 
-        List<Producto> expectedProducts = List.of(productoConCeroStock1, productoConCeroStock2);
-
-        when(productoRepository.getTotalStock())
-            .thenReturn(0);
+        when(productoRepository.findValores())
+            .thenReturn(List.of(valores(productoConCeroStock1), valores(productoConCeroStock2)));
 
-        int totalStock = productoService.getTotalStock();
+        long totalStock = productoService.getTotalStock();
 
         assertEquals(0, totalStock);
     }
@@ -755,5 +814,428 @@ public class ProductoServiceTest {
 
         assertTrue(productoService.existById(1L));
     }
-}
 
+    @Test
+    void findById_DeberiaRetornarProductoDeLaCacheSinConsultarElRepositorio() {
+        ProductoResponseDTO cacheado = new ProductoResponseDTO(1L, "prueba 1", null, 15, 1200, null, null, null);
+        when(productoCache.obtener(1L)).thenReturn(cacheado);
+
+        ProductoResponseDTO result = productoService.findById(1L);
+
+        assertSame(cacheado, result);
+        verify(productoRepository, never()).findById(any());
+    }
+
+    @Test
+    void findById_DeberiaGuardarEnCacheConLaGeneracionLeidaAntesDeConsultar() {
+        when(productoCache.generacion()).thenReturn(7L);
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(productoExistente));
+
+        ProductoResponseDTO result = productoService.findById(1L);
+
+        verify(productoCache).guardar(1L, result, 7L);
+    }
+
+    @Test
+    void modifyStock_DeberiaInvalidarLaCacheDelProducto() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(productoExistente));
+
+        productoService.modifyStock(1L, -5);
+
+        verify(productoCache).invalidar(1L);
+    }
+
+    @Test
+    void findAll_DeberiaServirDesdeElCatalogoSinVolverAConsultar() {
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente));
+
+        productoService.findAll();
+        List<ProductoResponseDTO> productos = productoService.findAll();
+
+        assertEquals(1, productos.size());
+        verify(productoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void modifyStock_DeberiaPublicarEventoDeProductoModificado() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(productoExistente));
+
+        productoService.modifyStock(1L, 5);
+
+        verify(eventPublisher).publishEvent(any(ProductoModificadoEvent.class));
+    }
+
+    // Test de paginación
+
+    @Test
+    void paginacion_DeberiaUsarValoresPorDefectoYOrdenarPorId() {
+        Pageable pageable = ProductoService.paginacion(null, null, null);
+
+        assertEquals(0, pageable.getPageNumber());
+        assertEquals(ProductoService.TAMANIO_PAGINA_POR_DEFECTO, pageable.getPageSize());
+        assertEquals(Sort.by(Sort.Order.asc("id")), pageable.getSort());
+    }
+
+    @Test
+    void paginacion_DeberiaAgregarElIdComoDesempateAlOrden() {
+        Pageable separado = ProductoService.paginacion(2, 10, List.of("precio", "desc", "articulo"));
+        Pageable agrupado = ProductoService.paginacion(2, 10, List.of("precio,desc", "articulo"));
+
+        Sort esperado = Sort.by(Sort.Order.desc("precio"), Sort.Order.asc("articulo"), Sort.Order.asc("id"));
+        assertEquals(esperado, separado.getSort());
+        assertEquals(esperado, agrupado.getSort());
+    }
+
+    @Test
+    void paginacion_DeberiaLanzarValidationExceptionSiElTamanioSuperaElMaximo() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> ProductoService.paginacion(0, ProductoService.TAMANIO_PAGINA_MAXIMO + 1, null));
+
+        assertEquals("El tamaño de página debe estar entre 1 y " + ProductoService.TAMANIO_PAGINA_MAXIMO, exception.getMessage());
+    }
+
+    @Test
+    void paginacion_DeberiaLanzarValidationExceptionSiLaPaginaEsNegativa() {
+        assertThrows(ValidationException.class, () -> ProductoService.paginacion(-1, 10, null));
+    }
+
+    @Test
+    void paginacion_DeberiaLanzarValidationExceptionSiElCampoNoEsOrdenable() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> ProductoService.paginacion(0, 10, List.of("descripcion")));
+
+        assertEquals("No se puede ordenar por el campo: descripcion", exception.getMessage());
+    }
+
+    @Test
+    void paginacion_DeberiaLanzarValidationExceptionSiLaDireccionNoSigueAUnCampo() {
+        assertThrows(ValidationException.class, () -> ProductoService.paginacion(0, 10, List.of("desc")));
+        assertThrows(ValidationException.class, () -> ProductoService.paginacion(0, 10, List.of("precio,asc,desc")));
+    }
+
+    @Test
+    void findAllPaginado_DeberiaIndicarSiHayPaginaSiguiente() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("id"));
+        when(productoRepository.findAllBy(pageable))
+                .thenReturn(new SliceImpl<>(List.of(productoExistente), pageable, true));
+
+        ProductoPaginaDTO pagina = productoService.findAll(pageable);
+
+        assertEquals(1, pagina.getProductos().size());
+        assertEquals(0, pagina.getPagina());
+        assertEquals(1, pagina.getTamanio());
+        assertTrue(pagina.isHaySiguiente());
+        verify(productoRepository, never()).count();
+    }
+
+    @Test
+    void findByCategoriaIdPaginado_DeberiaLanzarValidationExceptionSiElIdEsNulo() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(ValidationException.class, () -> productoService.findByCategoriaId(null, pageable));
+    }
+
+    @Test
+    void findByPrecioRangePaginado_DeberiaConsultarElSliceDelRango() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productoRepository.findByPrecioBetween(50, 150, pageable))
+                .thenReturn(new SliceImpl<>(List.of(productoExistente2), pageable, false));
+
+        ProductoPaginaDTO pagina = productoService.findByPrecioRange(50, 150, pageable);
+
+        assertEquals(1, pagina.getProductos().size());
+        assertFalse(pagina.isHaySiguiente());
+    }
+
+    // Test de funcion buscarPorArticulo
+
+    @Test
+    void buscarPorArticulo_DeberiaOrdenarPorRelevancia() {
+        productoExistente.setArticulo("Mochila 2");
+        productoExistente2.setArticulo("Moch");
+        Producto otro = new Producto();
+        otro.setId(3L);
+        otro.setArticulo("Bolso mochilero");
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente, productoExistente2, otro));
+
+        List<ProductoResponseDTO> resultado = productoService.buscarPorArticulo("MOCH", 10);
+
+        assertEquals(List.of(2L, 1L, 3L), resultado.stream().map(ProductoResponseDTO::getId).toList());
+    }
+
+    @Test
+    void buscarPorArticulo_DeberiaLanzarValidationExceptionSiElLimiteSuperaElMaximo() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productoService.buscarPorArticulo("moch", ProductoService.LIMITE_BUSQUEDA_MAXIMO + 1));
+
+        assertEquals("El límite debe estar entre 1 y " + ProductoService.LIMITE_BUSQUEDA_MAXIMO, exception.getMessage());
+    }
+
+    @Test
+    void buscarPorArticulo_DeberiaLanzarValidationExceptionSiElTerminoEstaVacio() {
+        assertThrows(ValidationException.class, () -> productoService.buscarPorArticulo(" ", 10));
+    }
+
+    // Test de funcion buscarAproximado
+
+    @Test
+    void buscarAproximado_DeberiaTolerarErroresDeTipeo() {
+        productoExistente.setArticulo("Mochila Urbana");
+        productoExistente2.setArticulo("Mochila");
+        Producto otro = new Producto();
+        otro.setId(3L);
+        otro.setArticulo("Cartera");
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente, productoExistente2, otro));
+
+        List<ProductoResponseDTO> resultado = productoService.buscarAproximado("mochilla", 10);
+
+        assertEquals(List.of(1L, 2L), resultado.stream().map(ProductoResponseDTO::getId).toList());
+    }
+
+    @Test
+    void buscarAproximado_DeberiaLanzarValidationExceptionSiElLimiteEsInvalido() {
+        assertThrows(ValidationException.class, () -> productoService.buscarAproximado("mochila", 0));
+    }
+
+    // Test de funcion buscarTexto
+
+    @Test
+    void buscarTexto_DeberiaBuscarEnArticuloYDescripcionConPaginacion() {
+        productoExistente.setDescripcion("Mochila negra de cuero");
+        productoExistente2.setDescripcion("Mochilas negras");
+        Producto otro = new Producto();
+        otro.setId(3L);
+        otro.setArticulo("Cartera");
+        otro.setDescripcion("Cartera negra");
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente, productoExistente2, otro));
+
+        BusquedaTextoDTO resultado = productoService.buscarTexto("mochila negra", 1, 1);
+
+        assertEquals(2, resultado.getTotal());
+        assertEquals(1, resultado.getProductos().size());
+        assertEquals(1, resultado.getPagina());
+    }
+
+    @Test
+    void buscarTexto_DeberiaLanzarValidationExceptionSiLaConsultaEstaVacia() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productoService.buscarTexto(" ", null, null));
+
+        assertEquals("La consulta no puede estar vacía", exception.getMessage());
+    }
+
+    // Test de funcion autocompletar
+
+    @Test
+    void autocompletar_DeberiaDevolverSugerenciasDelCatalogo() {
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente, productoExistente2));
+
+        List<SugerenciaProductoDTO> sugerencias = productoService.autocompletar("prueba 2", 5);
+
+        assertEquals(1, sugerencias.size());
+        assertEquals(2L, sugerencias.get(0).getId());
+        assertEquals("description prueba 2", sugerencias.get(0).getDescripcion());
+    }
+
+    @Test
+    void autocompletar_DeberiaLanzarValidationExceptionSiElPrefijoEstaVacio() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productoService.autocompletar("", 5));
+
+        assertEquals("El prefijo no puede estar vacío", exception.getMessage());
+    }
+
+    // Test de funcion filtrarPorFacetas
+
+    @Test
+    void filtrarPorFacetas_DeberiaDevolverProductosYBandasDePrecio() {
+        when(productoRepository.findAll()).thenReturn(List.of(productoExistente, productoExistente2));
+
+        FacetasProductoDTO resultado = productoService.filtrarPorFacetas(null, null, List.of(1), true, 10);
+
+        assertEquals(1, resultado.getTotal());
+        assertEquals(1L, resultado.getProductos().get(0).getId());
+        assertEquals(5, resultado.getBandasPrecio().size());
+        assertEquals(1000, resultado.getBandasPrecio().get(1).getDesde());
+        assertEquals(5000, resultado.getBandasPrecio().get(1).getHasta());
+        assertEquals(1, resultado.getBandasPrecio().get(0).getCantidad());
+        assertNull(resultado.getBandasPrecio().get(4).getHasta());
+    }
+
+    @Test
+    void filtrarPorFacetas_DeberiaLanzarValidationExceptionSiLaBandaNoExiste() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productoService.filtrarPorFacetas(null, null, List.of(5), null, 10));
+
+        assertEquals("La banda de precios debe estar entre 0 y 4", exception.getMessage());
+    }
+
+    // Test de funcion buscar
+
+    @Test
+    void buscar_DeberiaDelegarLosFiltrosEnUnaSolaConsulta() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        FiltroProductoDTO filtro = new FiltroProductoDTO(1L, null, "prueba", null, 50, 150);
+        when(productoRepository.buscar(filtro, pageable))
+                .thenReturn(new SliceImpl<>(List.of(productoExistente), pageable, true));
+
+        ProductoPaginaDTO pagina = productoService.buscar(filtro, pageable);
+
+        assertEquals(1, pagina.getProductos().size());
+        assertTrue(pagina.isHaySiguiente());
+        verify(productoRepository, times(1)).buscar(filtro, pageable);
+        verify(productoRepository, never()).findAll();
+    }
+
+    @Test
+    void buscar_DeberiaLanzarValidationExceptionSiElRangoDePreciosEsInvalido() {
+        FiltroProductoDTO filtro = new FiltroProductoDTO(null, null, null, null, 200, 100);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productoService.buscar(filtro, PageRequest.of(0, 10)));
+
+        assertEquals("El rango de precios es inválido (min > max)", exception.getMessage());
+        verify(productoRepository, never()).buscar(any(), any());
+    }
+
+    @Test
+    void buscar_DeberiaLanzarValidationExceptionSiElArticuloEstaVacio() {
+        FiltroProductoDTO filtro = new FiltroProductoDTO(null, null, " ", null, null, null);
+
+        assertThrows(ValidationException.class, () -> productoService.buscar(filtro, PageRequest.of(0, 10)));
+    }
+
+    // Test de funcion toResponseDTO y seleccionarCampos
+
+    @Test
+    void toResponseDTO_DeberiaAplanarCategoriaYCompania() {
+        Categoria categoria = new Categoria();
+        categoria.setId(4L);
+        categoria.setNombre("Mochilas");
+        categoria.setDescripcion("Descripción que no debe viajar en cada producto");
+        Compania compania = new Compania();
+        compania.setId(7L);
+        compania.setNombre("THAT");
+        productoExistente.setCategoria(categoria);
+        productoExistente.setCompania(compania);
+
+        ProductoResponseDTO dto = ProductoService.toResponseDTO(productoExistente);
+
+        assertEquals(4L, dto.getCategoriaId());
+        assertEquals("Mochilas", dto.getCategoriaNombre());
+        assertEquals(7L, dto.getCompaniaId());
+        assertEquals("THAT", dto.getCompaniaNombre());
+    }
+
+    @Test
+    void seleccionarCampos_DeberiaDevolverSoloLosCamposPedidosEnOrden() {
+        List<Map<String, Object>> parciales = ProductoService.seleccionarCampos(
+                List.of(ProductoService.toResponseDTO(productoExistente)), List.of("precio", " id", "precio"));
+
+        assertEquals(List.of("precio", "id"), List.copyOf(parciales.get(0).keySet()));
+        assertEquals(1L, parciales.get(0).get("id"));
+        assertEquals(productoExistente.getPrecio(), parciales.get(0).get("precio"));
+    }
+
+    @Test
+    void seleccionarCampos_DeberiaLanzarValidationExceptionSiElCampoNoExiste() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> ProductoService.seleccionarCampos(List.of(), List.of("id", "categoria")));
+
+        assertEquals("No existe el campo: categoria", exception.getMessage());
+        assertThrows(ValidationException.class, () -> ProductoService.seleccionarCampos(List.of(), List.of(" ")));
+    }
+
+    // Test de funcion findAllById
+
+    @Test
+    void findAllById_DeberiaCombinarCacheYUnaConsultaRellenadaEnElOrdenPedido() {
+        ProductoResponseDTO cacheado = new ProductoResponseDTO(1L, "prueba 1", null, 15, 1200, null, null, null);
+        when(productoCache.obtener(1L)).thenReturn(cacheado);
+        when(productoCache.generacion()).thenReturn(3L);
+        when(productoRepository.findAllById(List.of(2L, 9L, 5L, 5L))).thenReturn(List.of(productoExistente2));
+
+        List<ProductoResponseDTO> resultado = productoService.findAllById(List.of(2L, 1L, 9L, 2L, 5L));
+
+        assertEquals(List.of(2L, 1L), resultado.stream().map(ProductoResponseDTO::getId).toList());
+        assertSame(cacheado, resultado.get(1));
+        verify(productoCache).guardar(2L, resultado.get(0), 3L);
+        verify(productoRepository, never()).findById(any());
+    }
+
+    @Test
+    void findAllById_NoDeberiaConsultarElRepositorioSiTodosEstanEnCache() {
+        when(productoCache.obtener(1L)).thenReturn(new ProductoResponseDTO(1L, "prueba 1", null, 15, 1200, null, null, null));
+
+        productoService.findAllById(List.of(1L));
+
+        verify(productoRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void findAllById_DeberiaLanzarValidationExceptionSiSeSuperaElMaximo() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, ProductoService.CANTIDAD_IDS_MAXIMA + 1).boxed().toList();
+
+        assertThrows(ValidationException.class, () -> productoService.findAllById(ids));
+        assertThrows(ValidationException.class, () -> productoService.findAllById(List.of()));
+    }
+
+    @Test
+    void rellenarIds_DeberiaCompletarHastaLaSiguientePotenciaDeDos() {
+        assertEquals(List.of(7L), ProductoService.rellenarIds(List.of(7L)));
+        assertEquals(List.of(1L, 2L, 3L, 3L), ProductoService.rellenarIds(List.of(1L, 2L, 3L)));
+        assertEquals(8, ProductoService.rellenarIds(List.of(1L, 2L, 3L, 4L, 5L)).size());
+        assertEquals(128, ProductoService.rellenarIds(
+                java.util.stream.LongStream.rangeClosed(1, ProductoService.CANTIDAD_IDS_MAXIMA).boxed().toList()).size());
+    }
+
+    @Test
+    void actualizarStockMinimo_DeberiaGuardarElUmbralYPublicarElCambio() {
+        when(productoRepository.findById(1L))
+            .thenReturn(Optional.of(productoExistente));
+
+        productoService.actualizarStockMinimo(1L, 20);
+
+        assertEquals(20, productoExistente.getStockMinimo());
+        verify(productoRepository).save(productoExistente);
+        verify(eventPublisher).publishEvent(any(ProductoModificadoEvent.class));
+    }
+
+    @Test
+    void actualizarStockMinimo_DeberiaLanzarValidationExceptionSiEsNegativo() {
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> productoService.actualizarStockMinimo(1L, -1));
+
+        assertEquals("El stock mínimo no puede ser negativo", exception.getMessage());
+        verify(productoRepository, never()).save(any());
+    }
+
+    @Test
+    void getTotalStock_NoDeberiaDesbordarseConStocksGrandes() {
+        productoExistente.setStock(Integer.MAX_VALUE);
+        productoExistente2.setStock(Integer.MAX_VALUE);
+        when(productoRepository.findValores())
+            .thenReturn(List.of(valores(productoExistente), valores(productoExistente2)));
+
+        assertEquals(2L * Integer.MAX_VALUE, productoService.getTotalStock());
+    }
+
+    @Test
+    void valorizacion_DeberiaLanzarValidationExceptionSiSeIndicanCategoriaYCompania() {
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> productoService.valorizacion(1L, 2L));
+
+        assertEquals("Indique la categoría o la compañía, no ambas", exception.getMessage());
+    }
+
+    private static ValoresProducto valores(Producto producto) {
+        return new ValoresProducto() {
+            public Long getId() { return producto.getId(); }
+            public Integer getStock() { return producto.getStock(); }
+            public Integer getPrecio() { return producto.getPrecio(); }
+            public Integer getPrecioUnitario() { return producto.getPrecioUnitario(); }
+            public Long getCategoriaId() { return null; }
+            public Long getCompaniaId() { return null; }
+        };
+    }
+}
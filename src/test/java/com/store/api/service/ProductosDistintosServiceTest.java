@@ -0,0 +1,132 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.reporte.ProductosDistintosDTO;
+import com.store.api.entity.Producto;
+import com.store.api.entity.SketchProductosDia;
+import com.store.api.entity.Venta;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
+import com.store.api.exception.ValidationException;
+import com.store.api.repository.SketchProductosDiaRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.util.HyperLogLog;
+
+/**
+ * Test unitario para ProductosDistintosService.
+ * 
+ * Verifica la actualización de los sketches con cada venta, su persistencia
+ * y la combinación de días en períodos.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductosDistintosServiceTest {
+
+    private static final LocalDate LUNES = LocalDate.of(2026, 3, 2);
+    private static final LocalDate MARTES = LUNES.plusDays(1);
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @Mock
+    private SketchProductosDiaRepository sketchRepository;
+
+    @InjectMocks
+    private ProductosDistintosService productosDistintosService;
+
+    @Test
+    void productosDistintos_DeberiaCombinarSketchesGuardadosYPendientes() {
+        when(sketchRepository.findById(MARTES)).thenReturn(Optional.empty());
+        when(sketchRepository.findByDiaBetween(LUNES, MARTES))
+                .thenReturn(List.of(new SketchProductosDia(LUNES, sketch(1L, 2L, 3L).getRegistros())));
+
+        productosDistintosService.onVentaRegistrada(evento(MARTES.atTime(10, 0), 3L));
+        productosDistintosService.onVentaRegistrada(evento(MARTES.atTime(11, 0), 4L));
+        ProductosDistintosDTO resultado = productosDistintosService.productosDistintos(LUNES, MARTES, "dia");
+
+        assertEquals(4, resultado.getProductosDistintos());
+        assertEquals(2, resultado.getPeriodos().size());
+        assertEquals(3, resultado.getPeriodos().get(0).getProductosDistintos());
+        assertEquals(2, resultado.getPeriodos().get(1).getProductosDistintos());
+    }
+
+    @Test
+    void productosDistintos_DeberiaAgruparPorSemanaDeLunesADomingo() {
+        when(sketchRepository.findByDiaBetween(any(), any())).thenReturn(List.of());
+
+        ProductosDistintosDTO resultado = productosDistintosService.productosDistintos(
+                LocalDate.of(2026, 2, 26), LocalDate.of(2026, 3, 10), "semana");
+
+        assertEquals(3, resultado.getPeriodos().size());
+        assertEquals(LocalDate.of(2026, 3, 1), resultado.getPeriodos().get(0).getHasta());
+        assertEquals(LUNES, resultado.getPeriodos().get(1).getDesde());
+        assertEquals(LocalDate.of(2026, 3, 10), resultado.getPeriodos().get(2).getHasta());
+    }
+
+    @Test
+    void guardarPendientes_DeberiaPersistirLosSketchesModificados() {
+        when(sketchRepository.findById(LUNES)).thenReturn(Optional.empty());
+        productosDistintosService.onVentaRegistrada(evento(LUNES.atTime(9, 0), 7L));
+
+        productosDistintosService.guardarPendientes();
+        productosDistintosService.guardarPendientes();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SketchProductosDia>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sketchRepository).saveAll(captor.capture());
+        assertEquals(LUNES, captor.getValue().get(0).getDia());
+        assertEquals(sketch(7L), HyperLogLog.desdeRegistros(captor.getValue().get(0).getRegistros()));
+    }
+
+    @Test
+    void onVentaModificada_DeberiaReconstruirElDiaDesdeLasVentas() {
+        when(ventaRepository.findProductosPorDia(any(), any())).thenReturn(List.of());
+
+        productosDistintosService.onVentaModificada(new VentaModificadaEvent(1L, Set.of(LUNES)));
+
+        verify(sketchRepository).deleteById(LUNES);
+    }
+
+    @Test
+    void productosDistintos_DeberiaLanzarValidationExceptionSiLaAgrupacionEsInvalida() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> productosDistintosService.productosDistintos(LUNES, MARTES, "anio"));
+
+        assertEquals("La agrupación debe ser dia, semana o mes", exception.getMessage());
+        verify(sketchRepository, never()).findByDiaBetween(any(), any());
+    }
+
+    private static HyperLogLog sketch(Long... productos) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (Long producto : productos) {
+            sketch.agregar(producto);
+        }
+        return sketch;
+    }
+
+    private static VentaRegistradaEvent evento(LocalDateTime fecha, Long productoId) {
+        Producto producto = new Producto();
+        producto.setId(productoId);
+        producto.setPrecio(100);
+        Venta venta = new Venta(1L, producto, 1);
+        venta.setFecha(fecha);
+        return new VentaRegistradaEvent(venta);
+    }
+}
@@ -0,0 +1,142 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.producto.PronosticoProductoDTO;
+import com.store.api.dto.producto.ReposicionDTO;
+import com.store.api.exception.ResourceNotFoundException;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.VentaRepository;
+import com.store.api.repository.projection.ValoresProducto;
+import com.store.api.repository.projection.VentaDiaProductoUnidades;
+
+/**
+ * Test unitario para PronosticoDemanda.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PronosticoDemandaTest {
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private PronosticoDemanda pronosticoDemanda;
+
+    @BeforeEach
+    public void setUp() {
+        pronosticoDemanda = new PronosticoDemanda(ventaRepository, productoRepository, 30, 0.3, 7, 14, 1.65);
+    }
+
+    @Test
+    void pronosticar_ConDemandaConstanteDeberiaPedirHastaCubrirPlazoYCobertura() {
+        int[] serie = new int[30];
+        Arrays.fill(serie, 2);
+
+        PronosticoProductoDTO pronostico = pronosticoDemanda.pronosticar(1L, 10, serie);
+
+        assertEquals(2.0, pronostico.getDemandaDiaria(), 1e-9);
+        assertEquals(0.0, pronostico.getDesvioDiario(), 1e-9);
+        assertEquals(14, pronostico.getPuntoPedido());
+        assertEquals(2 * 21 - 10, pronostico.getCantidadSugerida());
+    }
+
+    @Test
+    void pronosticar_ConStockSobreElPuntoDePedidoNoDeberiaSugerirReponer() {
+        int[] serie = new int[30];
+        Arrays.fill(serie, 2);
+
+        assertEquals(0, pronosticoDemanda.pronosticar(1L, 15, serie).getCantidadSugerida());
+    }
+
+    @Test
+    void pronosticar_ConDemandaVariableDeberiaSumarStockDeSeguridad() {
+        int[] serie = new int[30];
+        for (int i = 0; i < serie.length; i++) {
+            serie[i] = i % 2 == 0 ? 0 : 4;
+        }
+
+        PronosticoProductoDTO pronostico = pronosticoDemanda.pronosticar(1L, 0, serie);
+
+        assertTrue(pronostico.getDesvioDiario() > 0);
+        assertTrue(pronostico.getPuntoPedido() > Math.ceil(pronostico.getDemandaDiaria() * 7));
+    }
+
+    @Test
+    void pronosticar_SinVentasDeberiaTenerDemandaCero() {
+        PronosticoProductoDTO pronostico = pronosticoDemanda.pronosticar(1L, 0, null);
+
+        assertEquals(0.0, pronostico.getDemandaDiaria());
+        assertEquals(0, pronostico.getPuntoPedido());
+        assertEquals(0, pronostico.getCantidadSugerida());
+    }
+
+    @Test
+    void calcular_DeberiaPronosticarTodosLosProductosEnParalelo() {
+        int cantidad = PronosticoDemanda.PRODUCTOS_POR_TAREA * 3 + 1;
+        List<ValoresProducto> valores = new ArrayList<>();
+        for (long id = 1; id <= cantidad; id++) {
+            valores.add(valores(id, 0));
+        }
+        LocalDate ayer = LocalDate.now().minusDays(1);
+        when(productoRepository.findValores()).thenReturn(valores);
+        when(ventaRepository.resumirUnidadesPorDiaYProducto(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(unidades(ayer, 2L, 10), unidades(ayer, 999_999L, 5)));
+
+        pronosticoDemanda.calcular();
+        ReposicionDTO reposicion = pronosticoDemanda.reposicion();
+
+        assertEquals(30, reposicion.getDiasHistorial());
+        assertEquals(1, reposicion.getProductos().size());
+        assertEquals(2L, reposicion.getProductos().get(0).getProductoId());
+        assertEquals(0.0, pronosticoDemanda.deProducto((long) cantidad).getDemandaDiaria());
+        verify(productoRepository, times(1)).findValores();
+    }
+
+    @Test
+    void deProducto_DeberiaLanzarResourceNotFoundExceptionSiNoExistia() {
+        when(productoRepository.findValores()).thenReturn(List.of(valores(1L, 5)));
+        when(ventaRepository.resumirUnidadesPorDiaYProducto(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> pronosticoDemanda.deProducto(2L));
+    }
+
+    private static ValoresProducto valores(Long id, int stock) {
+        return new ValoresProducto() {
+            public Long getId() { return id; }
+            public Integer getStock() { return stock; }
+            public Integer getPrecio() { return 0; }
+            public Integer getPrecioUnitario() { return 0; }
+            public Long getCategoriaId() { return null; }
+            public Long getCompaniaId() { return null; }
+        };
+    }
+
+    private static VentaDiaProductoUnidades unidades(LocalDate dia, Long productoId, long unidades) {
+        return new VentaDiaProductoUnidades() {
+            public Integer getAnio() { return dia.getYear(); }
+            public Integer getMes() { return dia.getMonthValue(); }
+            public Integer getDia() { return dia.getDayOfMonth(); }
+            public Long getProductoId() { return productoId; }
+            public Long getUnidades() { return unidades; }
+        };
+    }
+}
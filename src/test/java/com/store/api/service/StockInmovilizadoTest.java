@@ -0,0 +1,81 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.store.api.dto.producto.StockInmovilizadoDTO;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.projection.ProductoSinVentas;
+
+/**
+ * Test unitario para StockInmovilizado.
+ */
+@ExtendWith(MockitoExtension.class)
+public class StockInmovilizadoTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private StockInmovilizado stockInmovilizado;
+
+    @BeforeEach
+    public void setUp() {
+        stockInmovilizado = new StockInmovilizado(productoRepository, 90, 2);
+    }
+
+    @Test
+    void calcular_DeberiaRecorrerLosLotesHastaUnoIncompleto() {
+        LocalDateTime ultimaVenta = LocalDateTime.now().minusDays(200);
+        when(productoRepository.findSinVentasDesde(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(fila(1L, 3, 100, ultimaVenta), fila(4L, 2, 50, null)));
+        when(productoRepository.findSinVentasDesde(any(LocalDateTime.class), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(fila(9L, 1, 10, null)));
+
+        stockInmovilizado.calcular();
+        StockInmovilizadoDTO resultado = stockInmovilizado.obtener();
+
+        assertEquals(90, resultado.getDias());
+        assertEquals(3, resultado.getProductos().size());
+        assertEquals(6, resultado.getStock());
+        assertEquals(3 * 100 + 2 * 50 + 10, resultado.getValorCosto());
+        assertEquals(ultimaVenta, resultado.getProductos().get(0).getUltimaVenta());
+        assertEquals(9L, resultado.getProductos().get(2).getProductoId());
+    }
+
+    @Test
+    void obtener_DeberiaCalcularSoloLaPrimeraVezHastaLaSiguienteEjecucion() {
+        when(productoRepository.findSinVentasDesde(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        StockInmovilizadoDTO primero = stockInmovilizado.obtener();
+        StockInmovilizadoDTO segundo = stockInmovilizado.obtener();
+
+        assertSame(primero, segundo);
+        assertTrue(primero.getProductos().isEmpty());
+        verify(productoRepository, times(1)).findSinVentasDesde(any(LocalDateTime.class), eq(0L), any(Pageable.class));
+    }
+
+    private static ProductoSinVentas fila(Long id, int stock, int precioUnitario, LocalDateTime ultimaVenta) {
+        return new ProductoSinVentas() {
+            public Long getId() { return id; }
+            public String getArticulo() { return "ART-" + id; }
+            public Integer getStock() { return stock; }
+            public Integer getPrecioUnitario() { return precioUnitario; }
+            public LocalDateTime getUltimaVenta() { return ultimaVenta; }
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.store.api.dto.producto.ValorizacionInventarioDTO;
+import com.store.api.entity.Categoria;
+import com.store.api.entity.Compania;
+import com.store.api.entity.Producto;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.event.ProductosImportadosEvent;
+import com.store.api.repository.ProductoRepository;
+import com.store.api.repository.projection.TotalesInventario;
+import com.store.api.repository.projection.ValoresProducto;
+
+/**
+ * Test unitario para ValorizacionInventario.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ValorizacionInventarioTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private ValorizacionInventario valorizacionInventario;
+
+    @BeforeEach
+    public void setUp() {
+        valorizacionInventario = new ValorizacionInventario(productoRepository);
+    }
+
+    @Test
+    void inicializar_DeberiaSumarLosValoresDeTodosLosProductos() {
+        when(productoRepository.findValores()).thenReturn(List.of(
+                valores(1L, 10, 150, 100, 4L, 7L),
+                valores(2L, 5, 300, 200, 4L, null),
+                valores(3L, 2, 50, 30, null, 7L)));
+
+        valorizacionInventario.inicializar();
+        ValorizacionInventarioDTO total = valorizacionInventario.total();
+        ValorizacionInventarioDTO categoria = valorizacionInventario.porCategoria(4L);
+
+        assertEquals(3, total.getProductos());
+        assertEquals(17, total.getStock());
+        assertEquals(10 * 100 + 5 * 200 + 2 * 30, total.getValorCosto());
+        assertEquals(10 * 150 + 5 * 300 + 2 * 50, total.getValorVenta());
+        assertEquals(2, categoria.getProductos());
+        assertEquals(15, categoria.getStock());
+        assertEquals(2, valorizacionInventario.porCompania(7L).getProductos());
+        assertEquals(0, valorizacionInventario.porCompania(99L).getProductos());
+        verify(productoRepository, times(1)).findValores();
+    }
+
+    @Test
+    void onProductoModificado_DeberiaAplicarLaDiferenciaDeStockPrecioYCategoria() {
+        when(productoRepository.findValores()).thenReturn(List.of(valores(1L, 10, 150, 100, 4L, 7L)));
+        valorizacionInventario.inicializar();
+
+        valorizacionInventario.onProductoModificado(new ProductoModificadoEvent(1L, producto(1L, 8, 200, 100, 5L, 7L)));
+
+        assertEquals(8, valorizacionInventario.total().getStock());
+        assertEquals(8 * 200, valorizacionInventario.total().getValorVenta());
+        assertEquals(0, valorizacionInventario.porCategoria(4L).getProductos());
+        assertEquals(8 * 100, valorizacionInventario.porCategoria(5L).getValorCosto());
+        assertEquals(1, valorizacionInventario.porCompania(7L).getProductos());
+    }
+
+    @Test
+    void onProductoModificado_DeberiaRestarLosProductosEliminados() {
+        when(productoRepository.findValores()).thenReturn(List.of(
+                valores(1L, 10, 150, 100, 4L, null), valores(2L, 5, 300, 200, 4L, null)));
+        valorizacionInventario.inicializar();
+
+        valorizacionInventario.onProductoModificado(new ProductoModificadoEvent(1L, null));
+
+        assertEquals(1, valorizacionInventario.total().getProductos());
+        assertEquals(5 * 300, valorizacionInventario.porCategoria(4L).getValorVenta());
+    }
+
+    @Test
+    void total_NoDeberiaDesbordarseConValoresGrandes() {
+        when(productoRepository.findValores()).thenReturn(List.of(
+                valores(1L, Integer.MAX_VALUE, Integer.MAX_VALUE, 1, null, null),
+                valores(2L, Integer.MAX_VALUE, Integer.MAX_VALUE, 1, null, null)));
+
+        ValorizacionInventarioDTO total = valorizacionInventario.total();
+
+        assertEquals(2L * Integer.MAX_VALUE, total.getStock());
+        assertEquals(2L * Integer.MAX_VALUE * Integer.MAX_VALUE, total.getValorVenta());
+    }
+
+    @Test
+    void recargar_DeberiaAplicarLasModificacionesRecibidasDuranteLaLectura() {
+        when(productoRepository.findValores()).thenAnswer(invocation -> {
+            valorizacionInventario.onProductoModificado(
+                    new ProductoModificadoEvent(1L, producto(1L, 3, 150, 100, null, null)));
+            return List.of(valores(1L, 10, 150, 100, null, null));
+        });
+
+        valorizacionInventario.recargar();
+
+        assertEquals(3, valorizacionInventario.total().getStock());
+    }
+
+    @Test
+    void onProductosImportados_DeberiaRecargarEnLaSiguienteConsulta() {
+        when(productoRepository.findValores())
+                .thenReturn(List.of(valores(1L, 10, 150, 100, null, null)))
+                .thenReturn(List.of(valores(1L, 10, 150, 100, null, null), valores(2L, 1, 10, 5, null, null)));
+        valorizacionInventario.inicializar();
+
+        valorizacionInventario.onProductosImportados(new ProductosImportadosEvent(1));
+
+        assertEquals(11, valorizacionInventario.total().getStock());
+        verify(productoRepository, times(2)).findValores();
+    }
+
+    @Test
+    void conciliar_NoDeberiaRecargarSiLosTotalesCoinciden() {
+        when(productoRepository.findValores()).thenReturn(List.of(valores(1L, 10, 150, 100, 4L, 7L)));
+        when(productoRepository.sumarInventarioPorCategoria()).thenReturn(List.of(totales(4L, 1, 10, 1000, 1500)));
+        when(productoRepository.sumarInventarioPorCompania()).thenReturn(List.of(totales(7L, 1, 10, 1000, 1500)));
+        valorizacionInventario.inicializar();
+
+        valorizacionInventario.conciliar();
+
+        verify(productoRepository, times(1)).findValores();
+    }
+
+    @Test
+    void conciliar_DeberiaRecargarSiLosTotalesNoCoinciden() {
+        when(productoRepository.findValores())
+                .thenReturn(List.of(valores(1L, 10, 150, 100, 4L, null)))
+                .thenReturn(List.of(valores(1L, 12, 150, 100, 4L, null)));
+        when(productoRepository.sumarInventarioPorCategoria()).thenReturn(List.of(totales(4L, 1, 12, 1200, 1800)));
+        valorizacionInventario.inicializar();
+
+        valorizacionInventario.conciliar();
+
+        assertEquals(12, valorizacionInventario.total().getStock());
+        verify(productoRepository, times(2)).findValores();
+    }
+
+    private static ValoresProducto valores(Long id, int stock, int precio, int precioUnitario,
+                                           Long categoriaId, Long companiaId) {
+        return new ValoresProducto() {
+            public Long getId() { return id; }
+            public Integer getStock() { return stock; }
+            public Integer getPrecio() { return precio; }
+            public Integer getPrecioUnitario() { return precioUnitario; }
+            public Long getCategoriaId() { return categoriaId; }
+            public Long getCompaniaId() { return companiaId; }
+        };
+    }
+
+    private static TotalesInventario totales(Long grupoId, long productos, long stock, long valorCosto,
+                                             long valorVenta) {
+        return new TotalesInventario() {
+            public Long getGrupoId() { return grupoId; }
+            public Long getProductos() { return productos; }
+            public Long getStock() { return stock; }
+            public Long getValorCosto() { return valorCosto; }
+            public Long getValorVenta() { return valorVenta; }
+        };
+    }
+
+    private static Producto producto(Long id, int stock, int precio, int precioUnitario,
+                                     Long categoriaId, Long companiaId) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setStock(stock);
+        producto.setPrecio(precio);
+        producto.setPrecioUnitario(precioUnitario);
+        if (categoriaId != null) {
+            Categoria categoria = new Categoria();
+            categoria.setId(categoriaId);
+            producto.setCategoria(categoria);
+        }
+        if (companiaId != null) {
+            Compania compania = new Compania();
+            compania.setId(companiaId);
+            producto.setCompania(compania);
+        }
+        return producto;
+    }
+}
@@ -2,29 +2,40 @@ package com.store.api.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.store.api.entity.Producto;
 import com.store.api.entity.Venta;
 import com.store.api.dto.venta.VentaCreateDTO;
 import com.store.api.dto.venta.VentaUpdateDTO;
+import com.store.api.dto.venta.VentaPaginaDTO;
 import com.store.api.dto.venta.VentaResponseDTO;
+import com.store.api.event.VentaModificadaEvent;
+import com.store.api.event.VentaRegistradaEvent;
 import com.store.api.exception.DuplicateResourceException;
 import com.store.api.exception.ResourceNotFoundException;
 import com.store.api.exception.ValidationException;
+import com.store.api.repository.ProductoRepository;
 import com.store.api.repository.VentaRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * Test unitario para VentaService.
@@ -37,6 +48,12 @@ public class VentaServiceTest {
     @Mock
     private VentaRepository ventaRepository;
 
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VentaService ventaService;
 
@@ -75,6 +92,8 @@ public class VentaServiceTest {
     // Test de función create
     @Test
     void create_DeberiaCrearVentaCorrectamente() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        simularDescuentoDeStock();
         when(ventaRepository.save(any()))
         .thenAnswer(invocation -> {
             Venta v = invocation.getArgument(0);
@@ -90,6 +109,23 @@ public class VentaServiceTest {
         assertEquals(3, ventaCreada.getProducto().getStock());
     }
 
+    @Test
+    void create_DeberiaPublicarEventoDeVentaRegistradaConFechaActualPorDefecto() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        simularDescuentoDeStock();
+        when(ventaRepository.save(any()))
+        .thenAnswer(invocation -> {
+            Venta v = invocation.getArgument(0);
+            v.setId(1L);
+            return v;
+        });
+
+        VentaResponseDTO ventaCreada = ventaService.create(ventaCreateDTO);
+
+        assertNotNull(ventaCreada.getFecha());
+        verify(eventPublisher).publishEvent(any(VentaRegistradaEvent.class));
+    }
+
     @Test
     void create_DeberiaLanzarValidationExceptionCuandoProductoEsNulo() {
         VentaCreateDTO ventaInvalida = new VentaCreateDTO();
@@ -128,6 +164,7 @@ public class VentaServiceTest {
         ventaDuplicada.setProducto(producto);
         ventaDuplicada.setCantidad(1);
 
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
         when(ventaRepository.existsById(1L)).thenReturn(true);
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
@@ -154,6 +191,8 @@ public class VentaServiceTest {
 
     @Test
     void create_DeberiaRestarStockDelProductoDespuesDeCrearVenta() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        simularDescuentoDeStock();
         when(ventaRepository.save(any()))
         .thenAnswer(invocation -> {
             Venta v = invocation.getArgument(0);
@@ -168,6 +207,47 @@ public class VentaServiceTest {
         assertEquals(stockInicial - ventaCreateDTO.getCantidad(), stockFinal);
     }
 
+    @Test
+    void create_DeberiaGuardarElStockDelProductoVendido() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        simularDescuentoDeStock();
+        when(ventaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Producto referencia = new Producto();
+        referencia.setId(1L);
+        ventaCreateDTO.setProducto(referencia);
+
+        ventaService.create(ventaCreateDTO);
+
+        assertEquals(3, producto.getStock());
+        verify(productoRepository).descontarStock(1L, 2);
+        verify(productoRepository, never()).save(any());
+    }
+
+    @Test
+    void create_DeberiaLanzarValidationExceptionSiOtraVentaConsumioElStock() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        when(productoRepository.descontarStock(1L, 2)).thenReturn(0);
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            ventaService.create(ventaCreateDTO);
+        });
+
+        assertEquals("No hay suficiente stock para completar la venta", exception.getMessage());
+        verify(ventaRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void create_DeberiaLanzarResourceNotFoundExceptionCuandoProductoNoExiste() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            ventaService.create(ventaCreateDTO);
+        });
+
+        assertEquals("No existe un producto con el ID: 1", exception.getMessage());
+    }
+
     // Test de función findAll
     @Test
     void findAll_DeberiaRetornarListaDeVentasEnFormatoDTO() {
@@ -259,16 +339,30 @@ public class VentaServiceTest {
     // Test de función delete
     @Test
     void delete_DeberiaEliminarVentaCorrectamente() {
-        when(ventaRepository.existsById(1L))
-            .thenReturn(true);
+        when(ventaRepository.findById(1L))
+            .thenReturn(Optional.of(venta));
 
         assertDoesNotThrow(() -> ventaService.delete(1L));
+        verify(ventaRepository).deleteById(1L);
+    }
+
+    @Test
+    void delete_DeberiaPublicarEventoConElDiaDeLaVenta() {
+        venta.setFecha(LocalDateTime.of(2025, 3, 10, 15, 30));
+        when(ventaRepository.findById(1L))
+            .thenReturn(Optional.of(venta));
+
+        ventaService.delete(1L);
+
+        ArgumentCaptor<VentaModificadaEvent> evento = ArgumentCaptor.forClass(VentaModificadaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(Set.of(LocalDate.of(2025, 3, 10)), evento.getValue().getDias());
     }
 
     @Test
     void delete_DeberiaLanzarResourceNotFoundExceptionWhenVentaNoExiste() {
-        when(ventaRepository.existsById(999L))
-            .thenReturn(false);
+        when(ventaRepository.findById(999L))
+            .thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             ventaService.delete(999L);
@@ -471,4 +565,74 @@ public class VentaServiceTest {
         Integer totalPrecioCliente = ventaService.getTotalPrecioCliente(ventaResponseDTO);
         assertEquals(200, totalPrecioCliente);
     }
+
+    // Test de funcion ventasDeProducto
+    @Test
+    void ventasDeProducto_DeberiaDevolverCursorCuandoHayMasVentas() {
+        Venta reciente = ventaDelProducto(11L, LocalDateTime.of(2026, 3, 2, 12, 0));
+        Venta anterior = ventaDelProducto(10L, LocalDateTime.of(2026, 3, 2, 9, 0));
+        Venta antigua = ventaDelProducto(9L, LocalDateTime.of(2026, 3, 1, 9, 0));
+        when(productoRepository.existsById(1L)).thenReturn(true);
+        when(ventaRepository.findHistorialDeProducto(eq(1L), any(), any(), any()))
+            .thenReturn(List.of(reciente, anterior, antigua));
+
+        VentaPaginaDTO pagina = ventaService.ventasDeProducto(1L, null, LocalDate.of(2026, 3, 31), null, 2);
+
+        assertEquals(2, pagina.getVentas().size());
+        assertEquals(11L, pagina.getVentas().get(0).getId());
+        assertNotNull(pagina.getSiguienteCursor());
+
+        when(ventaRepository.findHistorialDeProductoDespuesDe(
+                eq(1L), any(), any(), eq(anterior.getFecha()), eq(10L), any()))
+            .thenReturn(List.of(antigua));
+
+        VentaPaginaDTO siguiente = ventaService.ventasDeProducto(
+            1L, null, LocalDate.of(2026, 3, 31), pagina.getSiguienteCursor(), 2);
+
+        assertEquals(1, siguiente.getVentas().size());
+        assertEquals(9L, siguiente.getVentas().get(0).getId());
+        assertNull(siguiente.getSiguienteCursor());
+    }
+
+    @Test
+    void ventasDeProducto_DeberiaLanzarResourceNotFoundExceptionSiElProductoNoExiste() {
+        when(productoRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> ventaService.ventasDeProducto(99L, null, null, null, 50));
+    }
+
+    @Test
+    void ventasDeProducto_DeberiaLanzarValidationExceptionSiElCursorEsInvalido() {
+        when(productoRepository.existsById(1L)).thenReturn(true);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> ventaService.ventasDeProducto(1L, null, null, "no-es-un-cursor", 50));
+
+        assertEquals("El cursor es inválido", exception.getMessage());
+    }
+
+    @Test
+    void ventasDeProducto_DeberiaLanzarValidationExceptionSiElLimiteEsInvalido() {
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> ventaService.ventasDeProducto(1L, null, null, null, 0));
+
+        assertEquals("El límite debe estar entre 1 y 500", exception.getMessage());
+    }
+
+    private Venta ventaDelProducto(Long id, LocalDateTime fecha) {
+        Venta v = new Venta(id, producto, 1);
+        v.setFecha(fecha);
+        return v;
+    }
+
+    /**
+     * Simula el UPDATE de descontarStock sobre el producto que devuelve el mock.
+     */
+    private void simularDescuentoDeStock() {
+        when(productoRepository.descontarStock(eq(1L), anyInt())).thenAnswer(invocation -> {
+            producto.setStock(producto.getStock() - invocation.<Integer>getArgument(1));
+            return 1;
+        });
+    }
 }
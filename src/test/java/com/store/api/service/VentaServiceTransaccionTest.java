@@ -0,0 +1,117 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.store.api.dto.producto.ProductoResponseDTO;
+import com.store.api.dto.venta.VentaCreateDTO;
+import com.store.api.entity.Producto;
+import com.store.api.repository.ProductoRepository;
+
+/**
+ * Test de VentaService con transacciones reales sobre H2.
+ * 
+ * Verifica que la caché de productos se invalide recién al confirmar la venta, de modo
+ * que una lectura concurrente durante la transacción no deje guardado el stock anterior,
+ * que no se invalide si la venta se revierte, y que la versión del catálogo cambie
+ * recién con el commit.
+ */
+@DataJpaTest
+@Import({VentaService.class, ProductoCache.class, VersionCatalogo.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VentaServiceTransaccionTest {
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private ProductoCache productoCache;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Producto producto;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        producto = new Producto();
+        producto.setArticulo("TX-" + System.nanoTime());
+        producto.setPrecio(100);
+        producto.setStock(5);
+        producto = productoRepository.save(producto);
+    }
+
+    @Test
+    void create_LecturaConcurrenteDuranteLaTransaccionNoDeberiaDejarStockViejoEnCache() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            ventaService.create(venta(2));
+
+            // Otro hilo lee el producto antes del commit y lo guarda en la caché.
+            long generacion = productoCache.generacion();
+            int stockConfirmado = CompletableFuture.supplyAsync(
+                    () -> productoRepository.findById(producto.getId()).orElseThrow().getStock()).join();
+            assertEquals(5, stockConfirmado);
+            productoCache.guardar(producto.getId(), dto(stockConfirmado), generacion);
+        });
+
+        assertNull(productoCache.obtener(producto.getId()));
+        assertEquals(3, productoRepository.findById(producto.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void create_RevertidaNoDeberiaInvalidarLaCache() {
+        productoCache.guardar(producto.getId(), dto(5), productoCache.generacion());
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            ventaService.create(venta(2));
+            estado.setRollbackOnly();
+        });
+
+        assertEquals(5, productoCache.obtener(producto.getId()).getStock());
+        assertEquals(5, productoRepository.findById(producto.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void create_DeberiaCambiarLaVersionDeProductosRecienDespuesDelCommit() {
+        String etagAnterior = versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS);
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            ventaService.create(venta(1));
+            assertEquals(etagAnterior, versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS));
+        });
+
+        assertNotEquals(etagAnterior, versionCatalogo.etag(VersionCatalogo.Recurso.PRODUCTOS));
+    }
+
+    private VentaCreateDTO venta(int cantidad) {
+        Producto referencia = new Producto();
+        referencia.setId(producto.getId());
+        VentaCreateDTO dto = new VentaCreateDTO();
+        dto.setProducto(referencia);
+        dto.setCantidad(cantidad);
+        return dto;
+    }
+
+    private ProductoResponseDTO dto(int stock) {
+        return new ProductoResponseDTO(producto.getId(), producto.getArticulo(), null, stock, 100, null, null, null);
+    }
+}
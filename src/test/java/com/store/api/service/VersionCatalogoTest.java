@@ -0,0 +1,61 @@
+package com.store.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.store.api.event.CategoriaCreadaEvent;
+import com.store.api.event.CategoriaModificadaEvent;
+import com.store.api.event.ProductoModificadoEvent;
+import com.store.api.service.VersionCatalogo.Recurso;
+
+/**
+ * Tests unitarios para VersionCatalogo.
+ */
+class VersionCatalogoTest {
+
+    private final VersionCatalogo versionCatalogo = new VersionCatalogo();
+
+    @Test
+    void etag_DeberiaSerFuerteYDistintoPorRecurso() {
+        String productos = versionCatalogo.etag(Recurso.PRODUCTOS);
+
+        assertTrue(productos.startsWith("\"productos-"));
+        assertTrue(productos.endsWith("-0\""));
+        assertNotEquals(productos, versionCatalogo.etag(Recurso.CATEGORIAS));
+        assertEquals(0, versionCatalogo.ultimaModificacion(Recurso.PRODUCTOS) % 1000);
+    }
+
+    @Test
+    void onProductoModificado_DeberiaCambiarSoloLaVersionDeProductos() {
+        String productos = versionCatalogo.etag(Recurso.PRODUCTOS);
+        String categorias = versionCatalogo.etag(Recurso.CATEGORIAS);
+
+        versionCatalogo.onProductoModificado(new ProductoModificadoEvent(1L, null));
+
+        assertNotEquals(productos, versionCatalogo.etag(Recurso.PRODUCTOS));
+        assertEquals(categorias, versionCatalogo.etag(Recurso.CATEGORIAS));
+    }
+
+    @Test
+    void onCategoriaCreada_NoDeberiaCambiarLaVersionDeProductos() {
+        String productos = versionCatalogo.etag(Recurso.PRODUCTOS);
+        String categorias = versionCatalogo.etag(Recurso.CATEGORIAS);
+
+        versionCatalogo.onCategoriaCreada(new CategoriaCreadaEvent(1L));
+
+        assertEquals(productos, versionCatalogo.etag(Recurso.PRODUCTOS));
+        assertNotEquals(categorias, versionCatalogo.etag(Recurso.CATEGORIAS));
+    }
+
+    @Test
+    void onCategoriaModificada_DeberiaCambiarTambienLaVersionDeProductos() {
+        String productos = versionCatalogo.etag(Recurso.PRODUCTOS);
+        long modificacion = versionCatalogo.ultimaModificacion(Recurso.PRODUCTOS);
+
+        versionCatalogo.onCategoriaModificada(new CategoriaModificadaEvent(1L));
+
+        assertNotEquals(productos, versionCatalogo.etag(Recurso.PRODUCTOS));
+        assertTrue(versionCatalogo.ultimaModificacion(Recurso.PRODUCTOS) >= modificacion);
+    }
+}
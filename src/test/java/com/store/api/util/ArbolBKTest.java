@@ -0,0 +1,81 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para ArbolBK.
+ */
+public class ArbolBKTest {
+
+    @Test
+    void distancia_DeberiaContarInsercionesBorradosYReemplazos() {
+        assertEquals(0, ArbolBK.distancia("mochila", "mochila"));
+        assertEquals(1, ArbolBK.distancia("mochila", "mochilla"));
+        assertEquals(1, ArbolBK.distancia("mochila", "mochia"));
+        assertEquals(2, ArbolBK.distancia("cartera", "catrera"));
+        assertEquals(3, ArbolBK.distancia("kitten", "sitting"));
+        assertEquals(4, ArbolBK.distancia("", "moch"));
+    }
+
+    @Test
+    void buscar_DeberiaDevolverSoloLosTerminosDentroDeLaDistancia() {
+        ArbolBK arbol = new ArbolBK();
+        String[] terminos = {"mochila", "mochilas", "morral", "cartera", "billetera", "mochi", "bolso"};
+        for (int i = 0; i < terminos.length; i++) {
+            arbol.agregar(terminos[i], i + 1L);
+        }
+
+        List<ArbolBK.Coincidencia> coincidencias = arbol.buscar("mochilla", 2);
+
+        assertEquals(List.of("mochila", "mochilas"), coincidencias.stream()
+                .sorted(Comparator.comparingInt(ArbolBK.Coincidencia::distancia))
+                .map(ArbolBK.Coincidencia::termino)
+                .toList());
+        assertEquals(List.of(), arbol.buscar("zapato", 1));
+    }
+
+    @Test
+    void buscar_DeberiaCoincidirConUnRecorridoCompleto() {
+        ArbolBK arbol = new ArbolBK();
+        List<String> terminos = List.of("moch", "mochila", "mach", "much", "bolso", "bolsa", "bota", "botas",
+                "cartera", "carteras", "reloj", "relojes", "lapiz", "lapices", "mochilero");
+        for (int i = 0; i < terminos.size(); i++) {
+            arbol.agregar(terminos.get(i), i);
+        }
+
+        for (String consulta : List.of("moch", "bolas", "relog", "cartea", "lapis")) {
+            for (int k = 0; k <= 2; k++) {
+                int distanciaMaxima = k;
+                Set<String> esperados = Set.copyOf(terminos.stream()
+                        .filter(t -> ArbolBK.distancia(consulta, t) <= distanciaMaxima)
+                        .toList());
+                Set<String> encontrados = Set.copyOf(arbol.buscar(consulta, k).stream()
+                        .map(ArbolBK.Coincidencia::termino)
+                        .toList());
+                assertEquals(esperados, encontrados, consulta + " con distancia " + k);
+            }
+        }
+    }
+
+    @Test
+    void quitar_DeberiaOcultarLosTerminosSinIds() {
+        ArbolBK arbol = new ArbolBK();
+        arbol.agregar("mochila", 1L);
+        arbol.agregar("mochila", 2L);
+        arbol.agregar("mochilas", 3L);
+
+        arbol.quitar("mochila", 1L);
+        assertEquals(Set.of(2L), arbol.buscar("mochila", 0).get(0).ids());
+
+        arbol.quitar("mochila", 2L);
+        assertEquals(List.of("mochilas"), arbol.buscar("mochila", 1).stream().map(ArbolBK.Coincidencia::termino).toList());
+        assertEquals(1, arbol.tamanio());
+        assertEquals(2, arbol.nodos());
+    }
+}
@@ -0,0 +1,70 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para CacheAcotada.
+ * 
+ * Verifica el desalojo por tamaño y por tiempo de vida, la invalidación por generación
+ * y los contadores de métricas.
+ */
+public class CacheAcotadaTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    void guardar_DeberiaDesalojarLaEntradaUsadaHaceMasTiempo() {
+        CacheAcotada<Long, String> cache = new CacheAcotada<>(2, Duration.ofMinutes(1), reloj::get);
+        cache.guardar(1L, "uno", cache.generacion());
+        cache.guardar(2L, "dos", cache.generacion());
+        cache.obtener(1L);
+
+        cache.guardar(3L, "tres", cache.generacion());
+
+        assertEquals("uno", cache.obtener(1L));
+        assertNull(cache.obtener(2L));
+        assertEquals("tres", cache.obtener(3L));
+        assertEquals(1, cache.estadisticas().getDesalojos());
+        assertEquals(2, cache.estadisticas().getTamanio());
+    }
+
+    @Test
+    void obtener_DeberiaDescartarEntradasVencidas() {
+        CacheAcotada<Long, String> cache = new CacheAcotada<>(10, Duration.ofSeconds(30), reloj::get);
+        cache.guardar(1L, "uno", cache.generacion());
+
+        reloj.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals("uno", cache.obtener(1L));
+        reloj.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.obtener(1L));
+
+        CacheAcotada.Estadisticas estadisticas = cache.estadisticas();
+        assertEquals(1, estadisticas.getAciertos());
+        assertEquals(1, estadisticas.getFallos());
+        assertEquals(1, estadisticas.getExpiraciones());
+        assertEquals(0.5, estadisticas.getTasaAciertos(), 0.0001);
+    }
+
+    @Test
+    void guardar_DeberiaDescartarValoresLeidosAntesDeUnaInvalidacion() {
+        CacheAcotada<Long, String> cache = new CacheAcotada<>(10, Duration.ofMinutes(1), reloj::get);
+        long generacion = cache.generacion();
+
+        cache.invalidar(1L);
+
+        assertFalse(cache.guardar(1L, "viejo", generacion));
+        assertNull(cache.obtener(1L));
+        assertTrue(cache.guardar(1L, "nuevo", cache.generacion()));
+        assertEquals("nuevo", cache.obtener(1L));
+    }
+
+    @Test
+    void constructor_DeberiaRechazarCapacidadInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheAcotada<Long, String>(0, Duration.ofMinutes(1)));
+    }
+}
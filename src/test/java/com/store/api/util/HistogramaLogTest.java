@@ -0,0 +1,84 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para HistogramaLog.
+ * 
+ * Verifica que los percentiles respeten el error relativo de las subcubetas
+ * y que la combinación de histogramas sea equivalente a registrar todos los valores.
+ */
+public class HistogramaLogTest {
+
+    @Test
+    void percentil_DeberiaSerExactoParaValoresPequenos() {
+        HistogramaLog histograma = new HistogramaLog();
+        for (int i = 1; i <= 100; i++) {
+            histograma.registrar(i);
+        }
+
+        assertEquals(100, histograma.getTotal());
+        assertEquals(1, histograma.getMinimo());
+        assertEquals(100, histograma.getMaximo());
+        assertEquals(50, histograma.percentil(50));
+        assertEquals(90, histograma.percentil(90));
+        assertEquals(100, histograma.percentil(100));
+        assertEquals(50.5, histograma.getMedia(), 0.0001);
+    }
+
+    @Test
+    void percentil_DeberiaRespetarErrorRelativoParaValoresGrandes() {
+        HistogramaLog histograma = new HistogramaLog();
+        Random random = new Random(42);
+        long[] valores = new long[50_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = (long) Math.exp(random.nextGaussian() * 2 + 8);
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double percentil : new double[] {50, 90, 99, 99.9}) {
+            long exacto = valores[(int) Math.ceil(percentil / 100 * valores.length) - 1];
+            long estimado = histograma.percentil(percentil);
+            assertEquals(exacto, estimado, Math.max(1, exacto * 0.016), "percentil " + percentil);
+        }
+    }
+
+    @Test
+    void combinar_DeberiaSumarLasOcurrenciasDeAmbosHistogramas() {
+        HistogramaLog lunes = new HistogramaLog();
+        HistogramaLog martes = new HistogramaLog();
+        lunes.registrar(10, 3);
+        martes.registrar(5_000, 1);
+
+        HistogramaLog semana = lunes.copia();
+        semana.combinar(martes);
+
+        assertEquals(4, semana.getTotal());
+        assertEquals(10, semana.getMinimo());
+        assertEquals(5_000, semana.getMaximo());
+        assertEquals(10, semana.percentil(75));
+        assertEquals(5_000, semana.percentil(100));
+        assertEquals(3, lunes.getTotal());
+    }
+
+    @Test
+    void registrar_DeberiaRechazarValoresNegativos() {
+        HistogramaLog histograma = new HistogramaLog();
+
+        assertThrows(IllegalArgumentException.class, () -> histograma.registrar(-1));
+    }
+
+    @Test
+    void percentil_DeberiaRetornarCeroSiEstaVacio() {
+        HistogramaLog histograma = new HistogramaLog();
+
+        assertEquals(0, histograma.percentil(50));
+        assertEquals(0, histograma.getMinimo());
+    }
+}
@@ -0,0 +1,90 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para HyperLogLog.
+ * 
+ * Verifica que las estimaciones respeten la cota de error frente al conteo exacto,
+ * tanto para un sketch como para la combinación de sketches diarios.
+ */
+public class HyperLogLogTest {
+
+    /** Tres veces el error estándar 1,04 / √4096. */
+    private static final double ERROR_MAXIMO = 3 * 1.04 / Math.sqrt(HyperLogLog.REGISTROS);
+
+    @Test
+    void estimar_DeberiaSerCeroParaUnSketchVacio() {
+        assertEquals(0, new HyperLogLog().estimar());
+    }
+
+    @Test
+    void estimar_DeberiaSerExactoParaPocosValores() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 50; id++) {
+            sketch.agregar(id);
+            sketch.agregar(id);
+        }
+
+        assertEquals(50, sketch.estimar(), 1);
+    }
+
+    @Test
+    void estimar_DeberiaRespetarLaCotaDeErrorFrenteAlConteoExacto() {
+        Random random = new Random(42);
+        for (int cantidad : new int[] {1_000, 5_000, 10_000, 20_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            Set<Long> exactos = new HashSet<>();
+            while (exactos.size() < cantidad) {
+                long id = random.nextInt(10_000_000);
+                exactos.add(id);
+                sketch.agregar(id);
+            }
+
+            double error = Math.abs(sketch.estimar() - cantidad) / (double) cantidad;
+            assertTrue(error <= ERROR_MAXIMO, "Error de " + error + " para " + cantidad + " valores");
+        }
+    }
+
+    @Test
+    void combinar_DeberiaEstimarLaUnionDeSketchesDiarios() {
+        Random random = new Random(7);
+        Set<Long> exactos = new HashSet<>();
+        HyperLogLog union = new HyperLogLog();
+        HyperLogLog todos = new HyperLogLog();
+        for (int dia = 0; dia < 30; dia++) {
+            HyperLogLog sketchDia = new HyperLogLog();
+            for (int venta = 0; venta < 500; venta++) {
+                long id = random.nextInt(8_000);
+                exactos.add(id);
+                sketchDia.agregar(id);
+                todos.agregar(id);
+            }
+            union.combinar(sketchDia);
+        }
+
+        assertEquals(todos, union);
+        double error = Math.abs(union.estimar() - exactos.size()) / (double) exactos.size();
+        assertTrue(error <= ERROR_MAXIMO, "Error de " + error + " para " + exactos.size() + " valores");
+    }
+
+    @Test
+    void desdeRegistros_DeberiaReconstruirElMismoSketch() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 0; id < 1_000; id++) {
+            sketch.agregar(id * 31);
+        }
+
+        HyperLogLog reconstruido = HyperLogLog.desdeRegistros(sketch.getRegistros());
+
+        assertEquals(sketch, reconstruido);
+        assertEquals(sketch.estimar(), reconstruido.estimar());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.desdeRegistros(new byte[10]));
+    }
+}
@@ -0,0 +1,75 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para IndiceNGramas.
+ */
+public class IndiceNGramasTest {
+
+    @Test
+    void buscar_DeberiaEncontrarSubcadenasSinDistinguirMayusculas() {
+        IndiceNGramas indice = new IndiceNGramas();
+        indice.agregar(1L, "Cartera de Cuero");
+        indice.agregar(2L, "Mochila");
+        indice.agregar(3L, "Billetera CUERO");
+
+        assertEquals(List.of(3L, 1L), indice.buscar("cuer", 10));
+        assertEquals(List.of(), indice.buscar("nylon", 10));
+    }
+
+    @Test
+    void buscar_DeberiaOrdenarExactoPrefijoPalabraYPosicion() {
+        IndiceNGramas indice = new IndiceNGramas();
+        indice.agregar(1L, "Portamochila");
+        indice.agregar(2L, "Bolso mochila");
+        indice.agregar(3L, "Mochila grande");
+        indice.agregar(4L, "mochila");
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), indice.buscar("mochila", 10));
+    }
+
+    @Test
+    void buscar_DeberiaRespetarElLimite() {
+        IndiceNGramas indice = new IndiceNGramas();
+        for (long id = 1; id <= 10; id++) {
+            indice.agregar(id, "ART-" + id);
+        }
+
+        assertEquals(3, indice.buscar("art", 3).size());
+    }
+
+    @Test
+    void buscar_DeberiaResolverTerminosCortosRecorriendoLosTextos() {
+        IndiceNGramas indice = new IndiceNGramas();
+        indice.agregar(1L, "A1");
+        indice.agregar(2L, "B2");
+
+        assertEquals(List.of(2L), indice.buscar("b", 10));
+    }
+
+    @Test
+    void agregar_DeberiaReemplazarElTextoAnteriorDelMismoId() {
+        IndiceNGramas indice = new IndiceNGramas();
+        indice.agregar(1L, "Mochila");
+        indice.agregar(1L, "Cartera");
+
+        assertEquals(List.of(), indice.buscar("moch", 10));
+        assertEquals(List.of(1L), indice.buscar("cart", 10));
+        assertEquals(1, indice.tamanio());
+    }
+
+    @Test
+    void quitar_DeberiaEliminarElIdDeLasBusquedas() {
+        IndiceNGramas indice = new IndiceNGramas();
+        indice.agregar(1L, "Mochila");
+        indice.quitar(1L);
+
+        assertEquals(List.of(), indice.buscar("moch", 10));
+        assertEquals(0, indice.tamanio());
+    }
+}
@@ -0,0 +1,88 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Benchmark de IndicePrecios sobre un catálogo de 1.000.000 de productos.
+ * 
+ * Compara las consultas por rango del índice con un recorrido completo de los precios,
+ * que es lo que hace la base de datos sin índice sobre precio. No se ejecuta con el
+ * resto de los tests; se corre con:
+ * 
+ * mvn test -Dtest=IndicePreciosBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class IndicePreciosBenchmarkTest {
+
+    private static final int PRODUCTOS = 1_000_000;
+    private static final int PRECIO_MAXIMO = 100_000;
+    private static final int ANCHO_RANGO = 100;
+    private static final int CONSULTAS = 10_000;
+    private static final int RECORRIDOS = 100;
+    private static final int ACTUALIZACIONES = 100;
+
+    @Test
+    void rangoDePrecios_IndiceVsRecorridoCompleto() {
+        Random random = new Random(42);
+        long[] ids = new long[PRODUCTOS];
+        int[] precios = new int[PRODUCTOS];
+        for (int i = 0; i < PRODUCTOS; i++) {
+            ids[i] = i + 1;
+            precios[i] = random.nextInt(PRECIO_MAXIMO);
+        }
+
+        IndicePrecios indice = new IndicePrecios();
+        long inicio = System.nanoTime();
+        indice.cargar(ids, precios);
+        long carga = System.nanoTime() - inicio;
+
+        // Calentamiento y verificación contra el recorrido completo.
+        for (int i = 0; i < RECORRIDOS; i++) {
+            int min = random.nextInt(PRECIO_MAXIMO - ANCHO_RANGO);
+            assertEquals(recorrer(precios, min, min + ANCHO_RANGO), indice.buscar(min, min + ANCHO_RANGO).length);
+        }
+
+        long resultados = 0;
+        inicio = System.nanoTime();
+        for (int i = 0; i < CONSULTAS; i++) {
+            int min = random.nextInt(PRECIO_MAXIMO - ANCHO_RANGO);
+            resultados += indice.buscar(min, min + ANCHO_RANGO).length;
+        }
+        long consultasIndice = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < RECORRIDOS; i++) {
+            int min = random.nextInt(PRECIO_MAXIMO - ANCHO_RANGO);
+            resultados += recorrer(precios, min, min + ANCHO_RANGO);
+        }
+        long consultasRecorrido = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < ACTUALIZACIONES; i++) {
+            indice.actualizar(random.nextInt(PRODUCTOS) + 1, random.nextInt(PRECIO_MAXIMO));
+        }
+        long actualizaciones = System.nanoTime() - inicio;
+
+        System.out.printf("IndicePrecios con %,d productos (rango de %d sobre %d):%n", PRODUCTOS, ANCHO_RANGO, PRECIO_MAXIMO);
+        System.out.printf("  carga:              %,.1f ms%n", carga / 1e6);
+        System.out.printf("  consulta (índice):  %,.1f µs%n", consultasIndice / 1e3 / CONSULTAS);
+        System.out.printf("  consulta (recorrido): %,.1f µs%n", consultasRecorrido / 1e3 / RECORRIDOS);
+        System.out.printf("  actualización:      %,.1f µs%n", actualizaciones / 1e3 / ACTUALIZACIONES);
+        assertTrue(resultados > 0);
+    }
+
+    private static int recorrer(int[] precios, int min, int max) {
+        int cantidad = 0;
+        for (int precio : precios) {
+            if (precio >= min && precio <= max) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+}
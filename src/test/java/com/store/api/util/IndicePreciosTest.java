@@ -0,0 +1,75 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para IndicePrecios.
+ */
+public class IndicePreciosTest {
+
+    @Test
+    void buscar_DeberiaIncluirAmbosExtremosYDesempatarPorId() {
+        IndicePrecios indice = new IndicePrecios();
+        indice.cargar(new long[] {5L, 1L, 3L, 2L}, new int[] {200, 100, 200, 300});
+
+        assertArrayEquals(new long[] {1L, 3L, 5L}, indice.buscar(100, 200));
+        assertArrayEquals(new long[] {3L, 5L, 2L}, indice.buscar(150, Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {}, indice.buscar(201, 299));
+        assertEquals(3, indice.contar(100, 200));
+    }
+
+    @Test
+    void actualizar_DeberiaAgregarOMoverElId() {
+        IndicePrecios indice = new IndicePrecios();
+        indice.cargar(new long[] {1L, 2L}, new int[] {100, 200});
+
+        indice.actualizar(3L, 150);
+        indice.actualizar(1L, 250);
+        indice.actualizar(2L, 200);
+
+        assertArrayEquals(new long[] {3L, 2L, 1L}, indice.buscar(0, 1000));
+        assertEquals(3, indice.tamanio());
+    }
+
+    @Test
+    void quitar_DeberiaEliminarElId() {
+        IndicePrecios indice = new IndicePrecios();
+        indice.cargar(new long[] {1L, 2L, 3L}, new int[] {100, 100, 100});
+
+        indice.quitar(2L);
+        indice.quitar(9L);
+
+        assertArrayEquals(new long[] {1L, 3L}, indice.buscar(100, 100));
+    }
+
+    @Test
+    void buscar_DeberiaCoincidirConUnRecorridoCompletoTrasModificacionesAleatorias() {
+        Random random = new Random(7);
+        Map<Long, Integer> esperado = new HashMap<>();
+        IndicePrecios indice = new IndicePrecios();
+        for (int i = 0; i < 2000; i++) {
+            long id = random.nextInt(100);
+            if (random.nextInt(4) == 0) {
+                indice.quitar(id);
+                esperado.remove(id);
+            } else {
+                int precio = random.nextInt(50);
+                indice.actualizar(id, precio);
+                esperado.put(id, precio);
+            }
+        }
+
+        long[] recorrido = esperado.entrySet().stream()
+                .filter(e -> e.getValue() >= 10 && e.getValue() <= 30)
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+        assertArrayEquals(recorrido, indice.buscar(10, 30));
+    }
+}
@@ -0,0 +1,70 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para IndicePrefijos.
+ */
+public class IndicePrefijosTest {
+
+    @Test
+    void buscar_DeberiaDevolverIdsEnOrdenDeClaveSinTildesNiMayusculas() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.cargar(Map.of(
+                1L, List.of("Cartón"),
+                2L, List.of("CARTERA"),
+                3L, List.of("Mochila")));
+
+        assertEquals(List.of(2L, 1L), indice.buscar("car", 10));
+        assertEquals(List.of(1L), indice.buscar("CARTO", 10));
+        assertEquals(List.of(), indice.buscar("z", 10));
+    }
+
+    @Test
+    void buscar_DeberiaOmitirIdsRepetidosYRespetarElLimite() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.cargar(Map.of(
+                1L, List.of("mochila", "mochilero"),
+                2L, List.of("mochi"),
+                3L, List.of("moto")));
+
+        assertEquals(List.of(2L, 1L), indice.buscar("moch", 10));
+        assertEquals(List.of(2L), indice.buscar("mo", 1));
+    }
+
+    @Test
+    void agregar_DeberiaReemplazarLasClavesDelId() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.cargar(Map.of(1L, List.of("mochila"), 2L, List.of("cartera")));
+
+        indice.agregar(1L, List.of("billetera"));
+        indice.agregar(3L, List.of("bolso"));
+
+        assertEquals(List.of(), indice.buscar("moch", 10));
+        assertEquals(List.of(1L, 3L), indice.buscar("b", 10));
+        assertEquals(3, indice.tamanio());
+    }
+
+    @Test
+    void quitar_DeberiaEliminarTodasLasClavesDelId() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.cargar(Map.of(1L, List.of("mochila", "bolso"), 2L, List.of("mochi")));
+
+        indice.quitar(1L);
+
+        assertEquals(List.of(2L), indice.buscar("m", 10));
+        assertEquals(List.of(), indice.buscar("bol", 10));
+        assertEquals(1, indice.tamanio());
+    }
+
+    @Test
+    void normalizar_DeberiaQuitarTildesYColapsarEspacios() {
+        assertEquals("cartera de cuero", IndicePrefijos.normalizar("  Cartera   de CUÉRO "));
+        assertEquals("", IndicePrefijos.normalizar(null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para IndiceTexto.
+ */
+public class IndiceTextoTest {
+
+    @Test
+    void terminos_DeberiaQuitarTildesPalabrasVaciasPluralesYGenero() {
+        assertEquals(List.of("lapiz", "color"), IndiceTexto.terminos("Lápices de Colores"));
+        assertEquals(List.of("lapiz", "reloj", "mes"), IndiceTexto.terminos("lápiz, RELOJES y meses"));
+        assertEquals(IndiceTexto.terminos("mochila negra"), IndiceTexto.terminos("Mochilas NEGROS"));
+    }
+
+    @Test
+    void buscar_DeberiaExigirTodasLasPalabras() {
+        IndiceTexto indice = new IndiceTexto(2, 1);
+        indice.agregar(1L, "MOCH-1", "Mochila negra de cuero");
+        indice.agregar(2L, "MOCH-2", "Mochilas rojas");
+        indice.agregar(3L, "CART-1", "Cartera negra");
+
+        assertEquals(List.of(1L), indice.buscar("mochilas negras", 0, 10).ids());
+        assertEquals(0, indice.buscar("mochila verde", 0, 10).total());
+        assertEquals(0, indice.buscar("de la", 0, 10).total());
+    }
+
+    @Test
+    void buscar_DeberiaOrdenarPorRelevanciaConMasPesoEnElPrimerCampo() {
+        IndiceTexto indice = new IndiceTexto(2, 1);
+        indice.agregar(1L, "Cartera", "de cuero");
+        indice.agregar(2L, "Cuero-100", "Cartera grande de cuero");
+
+        assertEquals(List.of(2L, 1L), indice.buscar("CUERO", 0, 10).ids());
+    }
+
+    @Test
+    void buscar_DeberiaPaginarEInformarElTotal() {
+        IndiceTexto indice = new IndiceTexto(1);
+        for (long id = 1; id <= 5; id++) {
+            indice.agregar(id, "Mochila " + id);
+        }
+
+        IndiceTexto.Resultado resultado = indice.buscar("mochila", 2, 2);
+
+        assertEquals(5, resultado.total());
+        assertEquals(List.of(3L, 4L), resultado.ids());
+    }
+
+    @Test
+    void agregarYQuitar_DeberianReemplazarLosTerminosDelDocumento() {
+        IndiceTexto indice = new IndiceTexto(1);
+        indice.agregar(1L, "Mochila");
+        indice.agregar(1L, "Cartera");
+
+        assertEquals(0, indice.buscar("mochila", 0, 10).total());
+        assertEquals(List.of(1L), indice.buscar("cartera", 0, 10).ids());
+
+        indice.quitar(1L);
+
+        assertEquals(0, indice.buscar("cartera", 0, 10).total());
+        assertEquals(0, indice.tamanio());
+    }
+}
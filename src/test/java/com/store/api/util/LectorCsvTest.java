@@ -0,0 +1,46 @@
+package com.store.api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario para LectorCsv.
+ */
+public class LectorCsvTest {
+
+    @Test
+    void siguiente_DeberiaLeerRegistrosConComillasYFinalesCrLf() throws IOException {
+        LectorCsv lector = new LectorCsv(new StringReader(
+                "articulo,descripcion\r\nM-1,\"Mochila, grande\"\r\nM-2,\"Dice \"\"hola\"\"\"\r\n"));
+
+        assertEquals(List.of("articulo", "descripcion"), lector.siguiente());
+        assertEquals(List.of("M-1", "Mochila, grande"), lector.siguiente());
+        assertEquals(2, lector.getLinea());
+        assertEquals(List.of("M-2", "Dice \"hola\""), lector.siguiente());
+        assertNull(lector.siguiente());
+    }
+
+    @Test
+    void siguiente_DeberiaAdmitirSaltosDeLineaDentroDeComillasYUltimaLineaSinSalto() throws IOException {
+        LectorCsv lector = new LectorCsv(new StringReader("a,\"linea 1\nlinea 2\"\nb,,"));
+
+        assertEquals(List.of("a", "linea 1\nlinea 2"), lector.siguiente());
+        assertEquals(List.of("b", "", ""), lector.siguiente());
+        assertEquals(3, lector.getLinea());
+        assertNull(lector.siguiente());
+    }
+
+    @Test
+    void siguiente_DeberiaLanzarExcepcionSiLasComillasNoSeCierran() throws IOException {
+        LectorCsv lector = new LectorCsv(new StringReader("a,b\nc,\"sin cerrar\n"));
+
+        lector.siguiente();
+        assertThrows(IllegalArgumentException.class, lector::siguiente);
+        assertEquals(2, lector.getLinea());
+    }
+}